@@ -77,7 +77,8 @@ const NotificationBell: React.FC = () => {
       'COMMENT_REJECTED': '❌',
       'USER_SUSPENDED': '⏸️',
       'USER_ACTIVATED': '▶️',
-      'SYSTEM_ANNOUNCEMENT': '📢'
+      'SYSTEM_ANNOUNCEMENT': '📢',
+      'SAVED_SEARCH_MATCH': '🔎'
     };
     return icons[type as keyof typeof icons] || '🔔';
   };
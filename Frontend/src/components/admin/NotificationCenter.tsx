@@ -7,7 +7,8 @@ import {
   BellRing,
   UserRoundMinus,
   UserRoundPlus,
-  Megaphone
+  Megaphone,
+  Copy
 } from 'lucide-react';
 import { adminService, NotificationResponse } from '../../services/adminService';
 import './NotificationCenter.css';
@@ -56,6 +57,7 @@ const NotificationCenter: React.FC = () => {
       PAPER_SUBMITTED: <FileText size={18} />,
       PAPER_APPROVED: <CheckCircle2 size={18} />,
       PAPER_REJECTED: <XOctagon size={18} />,
+      PAPER_DUPLICATE_SUSPECTED: <Copy size={18} />,
       COMMENT_REPORTED: <MessageCircleWarning size={18} />,
       COMMENT_APPROVED: <CheckCircle2 size={18} />,
       COMMENT_REJECTED: <XOctagon size={18} />,
@@ -72,6 +74,7 @@ const NotificationCenter: React.FC = () => {
       PAPER_SUBMITTED: '#3498db',
       PAPER_APPROVED: '#28a745',
       PAPER_REJECTED: '#dc3545',
+      PAPER_DUPLICATE_SUSPECTED: '#fd7e14',
       COMMENT_REPORTED: '#ffc107',
       COMMENT_APPROVED: '#28a745',
       COMMENT_REJECTED: '#dc3545',
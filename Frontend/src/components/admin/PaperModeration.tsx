@@ -146,6 +146,14 @@ const PaperModeration: React.FC = () => {
                     <div className="paper-meta">
                       Year: {paper.publicationYear} | ID: {paper.id}
                     </div>
+                    {paper.possibleDuplicates && paper.possibleDuplicates.length > 0 && (
+                      <span
+                        className="duplicate-badge"
+                        title={`Similar to "${paper.possibleDuplicates[0].title}"`}
+                      >
+                        Possible duplicate ({Math.round(paper.possibleDuplicates[0].similarity * 100)}%)
+                      </span>
+                    )}
                   </div>
                 </td>
                 <td>{paper.author || 'Unknown'}</td>
@@ -286,6 +294,23 @@ const PaperModal: React.FC<PaperModalProps> = ({ paper, onClose, onAction, loadi
               </div>
             </div>
 
+            {paper.possibleDuplicates && paper.possibleDuplicates.length > 0 && (
+              <div className="detail-section">
+                <h3>Possible Duplicates</h3>
+                <ul className="duplicate-list">
+                  {paper.possibleDuplicates.map((duplicate) => (
+                    <li key={duplicate.paperId}>
+                      <span>{duplicate.title}</span>
+                      <span className="duplicate-similarity">
+                        {Math.round(duplicate.similarity * 100)}% similar
+                        {duplicate.basis === 'CONTENT' ? ' (PDF text)' : ' (title & abstract)'}
+                      </span>
+                    </li>
+                  ))}
+                </ul>
+              </div>
+            )}
+
             {paper.rejectionReason && (
               <div className="detail-section">
                 <h3>Rejection Reason</h3>
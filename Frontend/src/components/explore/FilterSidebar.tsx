@@ -41,7 +41,8 @@ const FilterSidebar: React.FC<FilterSidebarProps> = ({
   };
 
   const handleYearChange = (year: number | null) => {
-    onFilterChange({ year });
+    // Picking a single year replaces a range from AI search
+    onFilterChange({ year, yearFrom: null, yearTo: null });
   };
 
   const handleAuthorChange = (author: string) => {
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate, Link } from 'react-router-dom';
-import { PaperResponse } from '../../types/explore';
+import { PaperResponse, SearchSnippet } from '../../types/explore';
 import { commentService } from '../../services/commentService';
 import './PaperCard.css';
 
@@ -9,8 +9,23 @@ interface PaperCardProps {
   onClick?: (paper: PaperResponse) => void;
 }
 
+// Renders a snippet's text with the matched query words wrapped in <mark>
+const renderSnippet = (snippet: SearchSnippet) => {
+  const parts: React.ReactNode[] = [];
+  let at = 0;
+  snippet.highlights.forEach(([start, end], i) => {
+    parts.push(snippet.text.slice(at, start));
+    parts.push(<mark key={i}>{snippet.text.slice(start, end)}</mark>);
+    at = end;
+  });
+  parts.push(snippet.text.slice(at));
+  return parts;
+};
+
 const PaperCard: React.FC<PaperCardProps> = ({ paper, onClick }) => {
   const navigate = useNavigate();
+  const titleSnippet = paper.snippets?.find(snippet => snippet.field === 'title');
+  const abstractSnippets = paper.snippets?.filter(snippet => snippet.field === 'abstract') ?? [];
   const [commentCount, setCommentCount] = useState<number>(0);
   const [loadingCount, setLoadingCount] = useState(true);
 
@@ -99,7 +114,7 @@ const PaperCard: React.FC<PaperCardProps> = ({ paper, onClick }) => {
 
       <div className="paper-content">
         <h3 className="paper-title" title={paper.title}>
-          {paper.title}
+          {titleSnippet ? renderSnippet(titleSnippet) : paper.title}
         </h3>
         
         <div className="paper-meta">
@@ -128,9 +143,17 @@ const PaperCard: React.FC<PaperCardProps> = ({ paper, onClick }) => {
           )}
         </div>
 
-        <p className="paper-abstract">
-          {paper.abstractSnippet}
-        </p>
+        {abstractSnippets.length > 0 ? (
+          <p className="paper-abstract">
+            {abstractSnippets.map((snippet, i) => (
+              <span key={i}>{renderSnippet(snippet)} </span>
+            ))}
+          </p>
+        ) : (
+          <p className="paper-abstract">
+            {paper.abstractSnippet}
+          </p>
+        )}
 
         {paper.categories && paper.categories.length > 0 && (
           <div className="paper-categories">
@@ -57,6 +57,42 @@ export const useAiSearch = () => {
       .map(cat => cat.id);
   };
 
+  /**
+   * Parse and search on the server in one request. Returns null when the server parser
+   * could not resolve the query, so the caller can fall back to Gemini.
+   */
+  const searchOnServer = async (userQuery: string): Promise<AiSearchResult | null> => {
+    const response = await api.get('explore/nl', {
+      params: { q: userQuery, page: 0, size: 20 }
+    });
+
+    if (!response.data.success) {
+      throw new Error(response.data.message || 'Search failed');
+    }
+
+    const { parsed, results } = response.data.data;
+    if (!parsed.resolved || !results) {
+      return null;
+    }
+
+    const parsedQuery: ParsedSearchQuery = {
+      query: parsed.query || null,
+      categories: parsed.categories && parsed.categories.length > 0 ? parsed.categories : null,
+      year: parsed.year || null,
+      yearFrom: parsed.yearFrom || null,
+      yearTo: parsed.yearTo || null,
+      author: parsed.author || null,
+    };
+    setParsedQuery(parsedQuery);
+
+    return {
+      papers: results.content || [],
+      totalPages: results.totalPages || 0,
+      totalElements: results.totalElements || 0,
+      parsedQuery
+    };
+  };
+
   /**
    * Perform AI-powered search
    */
@@ -68,6 +104,13 @@ export const useAiSearch = () => {
     try {
       console.log('Starting AI search for query:', userQuery);
 
+      // 0. Let the server parser handle it; only unresolved queries go to Gemini
+      const serverResult = await searchOnServer(userQuery);
+      if (serverResult) {
+        console.log('Server parsed query:', serverResult.parsedQuery);
+        return serverResult;
+      }
+
       // 1. Fetch available categories
       const categories = await fetchCategories();
       const categoryNames = categories.map(c => c.name);
@@ -38,6 +38,14 @@ export const useExplore = (): UseExploreReturn => {
       params.append('year', filters.year.toString());
     }
     
+    if (filters.yearFrom) {
+      params.append('yearFrom', filters.yearFrom.toString());
+    }
+
+    if (filters.yearTo) {
+      params.append('yearTo', filters.yearTo.toString());
+    }
+    
     if (filters.author) {
       params.append('author', filters.author);
     }
@@ -65,7 +73,7 @@ export const useExplore = (): UseExploreReturn => {
     try {
       const queryParams = buildQueryParams(filters, 0);
       const response = await api.get(
-        `explore?${queryParams}`,
+        `explore/slice?${queryParams}`,
         { signal: abortControllerRef.current.signal }
       );
 
@@ -111,7 +119,7 @@ export const useExplore = (): UseExploreReturn => {
       const nextPage = currentPage + 1;
       const queryParams = buildQueryParams(currentFilters, nextPage);
       const response = await api.get(
-        `explore?${queryParams}`,
+        `explore/slice?${queryParams}`,
         { signal: abortControllerRef.current.signal }
       );
 
@@ -150,7 +158,7 @@ export const useExplore = (): UseExploreReturn => {
     const loadRecommended = async () => {
       try {
         const response = await api.get(
-          'explore?page=0&size=20'
+          'explore/slice?page=0&size=20'
         );
 
         if (response.data.success) {
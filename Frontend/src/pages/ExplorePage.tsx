@@ -9,11 +9,14 @@ import { useAiSearch } from '../hooks/useAiSearch';
 import { CategoryResponse } from '../types/explore';
 import './ExplorePage.css';
 import { api } from '../services/api';
+import { savedSearchService } from '../services/savedSearchService';
 
 interface ExploreFilters {
   query: string;
   categories: string[];
   year: number | null;
+  yearFrom?: number | null;
+  yearTo?: number | null;
   author: string;
 }
 
@@ -69,7 +72,8 @@ const ExplorePage: React.FC = () => {
 
   // Search papers when filters change
   useEffect(() => {
-    const hasActiveFilters = filters.query || filters.categories.length > 0 || filters.year || filters.author;
+    const hasActiveFilters = filters.query || filters.categories.length > 0 || filters.year ||
+      filters.yearFrom || filters.yearTo || filters.author;
     
     if (hasActiveFilters) {
       searchPapers(filters);
@@ -116,6 +120,8 @@ const ExplorePage: React.FC = () => {
         query: parsed.query || '',
         categories: categoryUUIDs,
         year: parsed.year || null,
+        yearFrom: parsed.yearFrom || null,
+        yearTo: parsed.yearTo || null,
         author: parsed.author || ''
       });
       
@@ -170,6 +176,26 @@ const ExplorePage: React.FC = () => {
     });
   };
 
+  const handleSaveSearch = async () => {
+    const name = window.prompt('Name this search to get notified about new matching papers:', filters.query);
+    if (!name || !name.trim()) {
+      return;
+    }
+    try {
+      await savedSearchService.createSavedSearch(name.trim(), {
+        query: filters.query,
+        categoryIds: filters.categories,
+        year: filters.year,
+        yearFrom: filters.yearFrom,
+        yearTo: filters.yearTo,
+        author: filters.author
+      });
+      alert('Search saved. You will be notified when new papers match it.');
+    } catch (error: any) {
+      alert(error?.response?.data?.message || 'Failed to save search');
+    }
+  };
+
   const handleBackToDashboard = () => {
     navigate('/dashboard');
   };
@@ -223,6 +249,15 @@ const ExplorePage: React.FC = () => {
           >
             🔍 Filters
           </button>
+
+          <button
+            className="filter-toggle"
+            onClick={handleSaveSearch}
+            disabled={!(filters.query || filters.categories.length > 0 || filters.year || filters.yearFrom || filters.yearTo || filters.author)}
+            title="Get notified when new papers match this search"
+          >
+            🔔 Save search
+          </button>
         </div>
 
         <div className="explore-main">
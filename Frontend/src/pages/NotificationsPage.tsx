@@ -73,7 +73,8 @@ const NotificationsPage: React.FC = () => {
       'COMMENT_REJECTED': '❌',
       'USER_SUSPENDED': '⏸️',
       'USER_ACTIVATED': '▶️',
-      'SYSTEM_ANNOUNCEMENT': '📢'
+      'SYSTEM_ANNOUNCEMENT': '📢',
+      'SAVED_SEARCH_MATCH': '🔎'
     };
     return icons[type as keyof typeof icons] || '🔔';
   };
@@ -86,7 +87,8 @@ const NotificationsPage: React.FC = () => {
       'COMMENT_REJECTED': '#dc3545',
       'USER_SUSPENDED': '#6c757d',
       'USER_ACTIVATED': '#28a745',
-      'SYSTEM_ANNOUNCEMENT': '#6f42c1'
+      'SYSTEM_ANNOUNCEMENT': '#6f42c1',
+      'SAVED_SEARCH_MATCH': '#4285f4'
     };
     return colors[type as keyof typeof colors] || '#6c757d';
   };
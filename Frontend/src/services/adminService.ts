@@ -16,6 +16,13 @@ export interface AdminUser {
   createdAt: string;
 }
 
+export interface DuplicateCandidate {
+  paperId: string;
+  title: string;
+  similarity: number;
+  basis: 'METADATA' | 'CONTENT';
+}
+
 export interface AdminPaper {
   id: string;
   title: string;
@@ -27,6 +34,7 @@ export interface AdminPaper {
   status: 'PENDING' | 'APPROVED' | 'REJECTED';
   rejectionReason?: string;
   reviewedAt?: string;
+  possibleDuplicates?: DuplicateCandidate[];
 }
 
 export interface AdminComment {
@@ -121,6 +129,15 @@ export const adminService = {
     await api.post(`/admin/papers/${paperId}/reject`, reason);
   },
 
+  async scanForDuplicates(): Promise<void> {
+    await api.post('/admin/papers/duplicates/scan');
+  },
+
+  async getDuplicateReport(): Promise<Record<string, unknown>> {
+    const response = await api.get('/admin/papers/duplicates');
+    return response.data.data;
+  },
+
   // Comment Moderation
   async getAllComments(page = 0, size = 10, status?: string, sortBy = 'createdAt', sortDir = 'desc'): Promise<PaginatedResponse<AdminComment>> {
     const params = new URLSearchParams({
@@ -13,6 +13,8 @@ export interface ParsedSearchQuery {
   query: string | null;
   categories: string[] | null;
   year: number | null;
+  yearFrom?: number | null;
+  yearTo?: number | null;
   author: string | null;
 }
 
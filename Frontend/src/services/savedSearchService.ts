@@ -0,0 +1,34 @@
+import { api } from './api';
+
+export interface SavedSearchFilters {
+  query?: string;
+  categoryIds?: string[];
+  categoryMatch?: 'ANY' | 'ALL';
+  year?: number | null;
+  yearFrom?: number | null;
+  yearTo?: number | null;
+  author?: string;
+}
+
+export interface SavedSearchResponse {
+  id: string;
+  name: string;
+  filters: SavedSearchFilters;
+  createdAt: string;
+}
+
+export const savedSearchService = {
+  async getSavedSearches(): Promise<SavedSearchResponse[]> {
+    const response = await api.get('/saved-searches');
+    return response.data.data;
+  },
+
+  async createSavedSearch(name: string, filters: SavedSearchFilters): Promise<SavedSearchResponse> {
+    const response = await api.post('/saved-searches', { name, filters });
+    return response.data.data;
+  },
+
+  async deleteSavedSearch(id: string): Promise<void> {
+    await api.delete(`/saved-searches/${id}`);
+  }
+};
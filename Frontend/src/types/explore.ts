@@ -10,6 +10,12 @@ export interface AuthorInfo {
   maskedEmail: string | null;
 }
 
+export interface SearchSnippet {
+  field: 'title' | 'abstract';
+  text: string;
+  highlights: [number, number][];
+}
+
 export interface PaperResponse {
   id: string;
   title: string;
@@ -23,12 +29,15 @@ export interface PaperResponse {
   uploadedByName: string;
   canEdit: boolean;
   authorInfo?: AuthorInfo | null;
+  snippets?: SearchSnippet[] | null;
 }
 
 export interface ExploreFilters {
   query: string;
   categories: string[];
   year: number | null;
+  yearFrom?: number | null;
+  yearTo?: number | null;
   author: string;
 }
 
@@ -11,7 +11,9 @@ import java.nio.file.Paths;
 public class StaticResourceConfig implements WebMvcConfigurer {
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Resolve absolute path to the uploads directory (matches PaperService default relative path)
+        // Resolve absolute path to the uploads directory (matches PaperService default relative path).
+        // Content-addressed files (<sha256>.pdf) are served immutable by PaperFileController, which is matched
+        // first; this handler is left with the older random-named uploads.
         Path uploadDir = Paths.get("uploads").toAbsolutePath().normalize();
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + uploadDir + "/")
@@ -2,8 +2,14 @@ package com.researchhub.backend.controller;
 
 import com.researchhub.backend.dto.*;
 import com.researchhub.backend.model.Notification;
+import com.researchhub.backend.model.Role;
+import com.researchhub.backend.repository.UserRepository;
 import com.researchhub.backend.service.AdminService;
+import com.researchhub.backend.service.DuplicateDetectionService;
 import com.researchhub.backend.service.NotificationService;
+import com.researchhub.backend.service.PaperFileMigration;
+import com.researchhub.backend.service.PdfTextExtractionService;
+import com.researchhub.backend.service.SearchAnalytics;
 import com.researchhub.backend.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,6 +32,21 @@ public class AdminController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private PdfTextExtractionService textExtractionService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private SearchAnalytics searchAnalytics;
+
+    @Autowired
+    private PaperFileMigration paperFileMigration;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -201,6 +223,107 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/papers/extract-text")
+    public ResponseEntity<ApiResponse<Void>> backfillPaperText(
+            @RequestParam(defaultValue = "false") boolean force,
+            HttpServletRequest request) {
+        try {
+            if (!isAdmin(request)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            if (!textExtractionService.startBackfill(force)) {
+                return ResponseEntity.status(409).body(ApiResponse.error("Text extraction backfill already running"));
+            }
+            return ResponseEntity.accepted().body(ApiResponse.success("Text extraction backfill started", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to start text extraction: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Moves uploads from the old random file names to content-addressed ones; {@code dryRun} only reports.
+     * Progress and the summary are at /api/diagnostics/paper-files.
+     */
+    @PostMapping("/papers/files/migrate")
+    public ResponseEntity<ApiResponse<Void>> migratePaperFiles(
+            @RequestParam(defaultValue = "true") boolean dryRun,
+            HttpServletRequest request) {
+        try {
+            if (!isAdmin(request)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            if (!paperFileMigration.start(dryRun)) {
+                return ResponseEntity.status(409).body(ApiResponse.error("Upload migration already running"));
+            }
+            return ResponseEntity.accepted().body(ApiResponse.success(
+                    dryRun ? "Upload migration dry run started" : "Upload migration started", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to start upload migration: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/papers/duplicates/scan")
+    public ResponseEntity<ApiResponse<Void>> scanForDuplicates(HttpServletRequest request) {
+        try {
+            if (!isAdmin(request)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            if (!duplicateDetectionService.startScan()) {
+                return ResponseEntity.status(409).body(ApiResponse.error("Duplicate scan already running"));
+            }
+            return ResponseEntity.accepted().body(ApiResponse.success("Duplicate scan started", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to start duplicate scan: " + e.getMessage()));
+        }
+    }
+
+    // Index size, lookup latency and the clusters found by the last scan
+    @GetMapping("/papers/duplicates")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDuplicateReport(HttpServletRequest request) {
+        try {
+            if (!isAdmin(request)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            return ResponseEntity.ok(ApiResponse.success(duplicateDetectionService.getStats()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch duplicate report: " + e.getMessage()));
+        }
+    }
+
+    // Search analytics: top and zero-result queries, latency percentiles per query shape
+    @GetMapping("/search/analytics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSearchAnalytics(
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+        try {
+            if (!isAdmin(request)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            return ResponseEntity.ok(ApiResponse.success(searchAnalytics.getStats(Math.max(1, Math.min(limit, 200)))));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch search analytics: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/search/analytics")
+    public ResponseEntity<ApiResponse<Void>> resetSearchAnalytics(HttpServletRequest request) {
+        try {
+            if (!isAdmin(request)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            searchAnalytics.reset();
+            return ResponseEntity.ok(ApiResponse.success("Search analytics reset", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to reset search analytics: " + e.getMessage()));
+        }
+    }
+
     // Comment Moderation
     @GetMapping("/comments")
     public ResponseEntity<ApiResponse<Page<CommentResponse>>> getAllComments(
@@ -299,6 +422,16 @@ public class AdminController {
         return true;
     }
 
+    // Role check for the maintenance and analytics endpoints
+    private boolean isAdmin(HttpServletRequest request) {
+        try {
+            UUID userId = jwtUtil.extractUserIdFromRequest(request);
+            return userRepository.findById(userId).map(user -> user.getRole() == Role.ADMIN).orElse(false);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     private NotificationResponse toNotificationResponse(Notification notification) {
         NotificationResponse response = new NotificationResponse();
         response.setId(notification.getId());
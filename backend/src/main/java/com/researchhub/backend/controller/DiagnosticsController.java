@@ -1,9 +1,25 @@
 package com.researchhub.backend.controller;
 
 import com.researchhub.backend.dto.ApiResponse;
+import com.researchhub.backend.dto.SearchSort;
 import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.model.Role;
 import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.UserRepository;
+import com.researchhub.backend.service.ExploreResultCache;
+import com.researchhub.backend.service.PaperFileMigration;
+import com.researchhub.backend.service.PaperFileStore;
+import com.researchhub.backend.service.PaperIndexService;
+import com.researchhub.backend.service.PaperListBenchmark;
+import com.researchhub.backend.service.PaperQueryBenchmark;
+import com.researchhub.backend.service.PdfTextExtractionService;
+import com.researchhub.backend.service.RecentPapersCache;
+import com.researchhub.backend.service.SavedSearchService;
+import com.researchhub.backend.service.SearchWarmer;
+import com.researchhub.backend.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +38,48 @@ public class DiagnosticsController {
     @Autowired
     private PaperRepository paperRepository;
 
+    @Autowired
+    private PaperIndexService paperIndexService;
+
+    @Autowired
+    private PdfTextExtractionService textExtractionService;
+
+    @Autowired
+    private ExploreResultCache exploreResultCache;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private SearchWarmer searchWarmer;
+
+    @Autowired
+    private PaperQueryBenchmark paperQueryBenchmark;
+
+    @Autowired
+    private PaperListBenchmark paperListBenchmark;
+
+    @Autowired
+    private RecentPapersCache recentPapersCache;
+
+    @Autowired
+    private PaperFileStore paperFileStore;
+
+    @Autowired
+    private PaperFileMigration paperFileMigration;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${app.diagnostics.database-benchmarks.enabled:false}")
+    private boolean databaseBenchmarksEnabled;
+
+    @Value("${app.diagnostics.similar-benchmark.max-synthetic-size:20000}")
+    private int maxSimilarSyntheticSize;
+
     /**
      * Check all papers for missing categories
      */
@@ -97,4 +155,182 @@ public class DiagnosticsController {
 
         return ResponseEntity.ok(ApiResponse.success(health));
     }
+
+    /**
+     * Full-text search index status
+     */
+    @GetMapping("/search-index")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSearchIndexStats() {
+        return ResponseEntity.ok(ApiResponse.success(paperIndexService.getStats()));
+    }
+
+    /**
+     * Startup warm-up with the popular explore queries: state, replayed queries and time-to-warm
+     */
+    @GetMapping("/search-warmup")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSearchWarmupStats() {
+        return ResponseEntity.ok(ApiResponse.success(searchWarmer.getStats()));
+    }
+
+    /**
+     * Search ranking latency with the matches split across 1, 2, 4 ... N partitions of the search pool; the
+     * default (no query, newest first) ranks every paper. Admins only: each round runs the ranking once per
+     * partition count on the search pool
+     */
+    @GetMapping("/search-index/benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkSearchIndex(
+            @RequestParam(required = false) String query,
+            @RequestParam(defaultValue = "NEWEST") SearchSort sort,
+            @RequestParam(defaultValue = "20") int rounds,
+            HttpServletRequest request) {
+        if (!isAdmin(request)) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(paperIndexService.benchmarkPartitionedSearch(
+                query, sort, Math.max(1, Math.min(rounds, 500)))));
+    }
+
+    /**
+     * Similar-papers index recall@k and latency against an exact scan; {@code syntheticSize} benchmarks a
+     * throwaway index of that many generated vectors instead of the live papers. Admins only: the exact scans hold
+     * the index's read lock and a synthetic build takes a core for as long as it runs
+     */
+    @GetMapping("/similar-index/benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkSimilarIndex(
+            @RequestParam(defaultValue = "200") int queries,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "0") int syntheticSize,
+            HttpServletRequest request) {
+        if (!isAdmin(request)) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(paperIndexService.benchmarkSimilarity(
+                Math.max(1, Math.min(queries, 2000)), Math.max(1, Math.min(k, 100)),
+                Math.max(0, Math.min(syntheticSize, maxSimilarSyntheticSize)))));
+    }
+
+    /**
+     * Database search plans and latency, the old catch-all statement against the per-request one, for common
+     * filter combinations; {@code syntheticPapers} generated papers are added for the run and rolled back after
+     */
+    @GetMapping("/paper-query/benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkPaperQuery(
+            @RequestParam(defaultValue = "0") int syntheticPapers,
+            @RequestParam(defaultValue = "5") int rounds,
+            HttpServletRequest request) {
+        ResponseEntity<ApiResponse<Map<String, Object>>> denied = denyDatabaseBenchmark(request);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success(paperQueryBenchmark.run(
+                    Math.max(0, syntheticPapers), Math.max(1, Math.min(rounds, 50)))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * List views (explore, recent, "my papers", admin papers) read as entities against the list-row projections:
+     * time, allocation and database bytes per page; {@code syntheticPapers} are added for the run and rolled back
+     */
+    @GetMapping("/paper-list/benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkPaperList(
+            @RequestParam(defaultValue = "0") int syntheticPapers,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(defaultValue = "5") int rounds,
+            HttpServletRequest request) {
+        ResponseEntity<ApiResponse<Map<String, Object>>> denied = denyDatabaseBenchmark(request);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success(paperListBenchmark.run(Math.max(0, syntheticPapers),
+                    Math.max(1, Math.min(pageSize, 100)), Math.max(1, Math.min(rounds, 50)))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Text analysis (tokenizer and token filter chain) throughput over stored papers, next to the bare tokenizer.
+     * Admins only: it loads the full text of up to 5000 papers and analyzes it up to 50 times
+     */
+    @GetMapping("/text-analysis/benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkTextAnalysis(
+            @RequestParam(defaultValue = "200") int papers,
+            @RequestParam(defaultValue = "5") int rounds,
+            HttpServletRequest request) {
+        if (!isAdmin(request)) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(paperIndexService.benchmarkAnalyzer(
+                Math.max(1, Math.min(papers, 5000)), Math.max(1, Math.min(rounds, 50)))));
+    }
+
+    /**
+     * PDF text extraction progress and throughput
+     */
+    @GetMapping("/text-extraction")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTextExtractionStats() {
+        return ResponseEntity.ok(ApiResponse.success(textExtractionService.getStats()));
+    }
+
+    /**
+     * Saved-search alert matching: searches checked and time spent per uploaded paper
+     */
+    @GetMapping("/saved-searches")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSavedSearchStats() {
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getStats()));
+    }
+
+    /**
+     * Recent papers list: size, reloads and reads answered from memory
+     */
+    @GetMapping("/recent-papers")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecentPapersStats() {
+        return ResponseEntity.ok(ApiResponse.success(recentPapersCache.getStats()));
+    }
+
+    /**
+     * Content-addressed uploads: stored files, references, deduplicated uploads, and the last upload migration
+     */
+    @GetMapping("/paper-files")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPaperFileStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(paperFileStore.getStats());
+        stats.put("migration", paperFileMigration.getStats());
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    /**
+     * Anonymous explore result cache hit/miss rates
+     */
+    @GetMapping("/explore-cache")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getExploreCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(exploreResultCache.getStats()));
+    }
+
+    /**
+     * The database benchmarks write generated papers into the live tables for the length of their transaction, so
+     * they are for admins only and off unless enabled, which is meant for a copy of the database, not production
+     */
+    private ResponseEntity<ApiResponse<Map<String, Object>>> denyDatabaseBenchmark(HttpServletRequest request) {
+        if (!isAdmin(request)) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+        }
+        if (!databaseBenchmarksEnabled) {
+            return ResponseEntity.status(403).body(ApiResponse.error(
+                    "Database benchmarks are disabled (app.diagnostics.database-benchmarks.enabled)"));
+        }
+        return null;
+    }
+
+    private boolean isAdmin(HttpServletRequest request) {
+        try {
+            UUID userId = jwtUtil.extractUserIdFromRequest(request);
+            return userRepository.findById(userId).map(user -> user.getRole() == Role.ADMIN).orElse(false);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
 }
@@ -1,21 +1,40 @@
 package com.researchhub.backend.controller;
 
 import com.researchhub.backend.dto.ApiResponse;
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.CursorPage;
+import com.researchhub.backend.dto.NaturalLanguageSearchResponse;
+import com.researchhub.backend.dto.ParsedSearchQuery;
 import com.researchhub.backend.dto.PaperResponse;
 import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SearchSort;
+import com.researchhub.backend.dto.SlicePage;
+import com.researchhub.backend.dto.SuggestionResponse;
 import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.model.PaperStatus;
+import com.researchhub.backend.repository.PaperListRow;
+import com.researchhub.backend.service.ExplorePageService;
+import com.researchhub.backend.service.ExploreResultCache;
+import com.researchhub.backend.service.NaturalLanguageQueryParser;
+import com.researchhub.backend.service.PaperExportService;
+import com.researchhub.backend.service.PaperIndexService;
 import com.researchhub.backend.service.PaperSearchService; // Direct service
 import com.researchhub.backend.service.PaperResponseService;
+import com.researchhub.backend.service.SearchAnalytics;
+import com.researchhub.backend.service.SearchWarmer;
+import com.researchhub.backend.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,35 +51,66 @@ public class ExploreController {
     @Autowired
     private PaperResponseService paperResponseService;
 
+    @Autowired
+    private PaperIndexService paperIndexService;
+
+    @Autowired
+    private ExploreResultCache exploreResultCache;
+
+    @Autowired
+    private NaturalLanguageQueryParser naturalLanguageQueryParser;
+
+    @Autowired
+    private SearchAnalytics searchAnalytics;
+
+    @Autowired
+    private ExplorePageService explorePageService;
+
+    @Autowired
+    private SearchWarmer searchWarmer;
+
+    @Autowired
+    private PaperExportService paperExportService;
+
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @GetMapping
     public ResponseEntity<ApiResponse<Page<PaperResponse>>> getExplorePage(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) List<UUID> categories,
+            @RequestParam(defaultValue = "any") String categoryMatch,
             @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) PaperStatus status,
             @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "newest") String sort,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
 
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by("uploadedAt").descending());
+            long start = System.nanoTime();
+            int pageSize = PageCursor.clampSize(size);
             UUID userId = getUserIdFromAuthentication(authentication);
 
             PaperSearchRequest searchRequest = new PaperSearchRequest();
             searchRequest.setQuery(query);
             searchRequest.setCategoryIds(categories);
+            searchRequest.setCategoryMatch(CategoryMatch.fromParam(categoryMatch));
             searchRequest.setYear(year);
+            searchRequest.setYearFrom(yearFrom);
+            searchRequest.setYearTo(yearTo);
+            searchRequest.setStatus(status);
             searchRequest.setAuthor(author);
+            searchRequest.setSort(SearchSort.fromParam(sort));
 
-            Page<Paper> papers;
-            if (searchRequest.hasFilters()) {
-                papers = paperSearchService.searchPapers(searchRequest, pageable);
-            } else {
-                // For public access, get all papers instead of recommendations
-                papers = paperSearchService.getAllPapers(pageable);
+            Page<PaperResponse> response = explorePageService.getPage(searchRequest, page, pageSize, userId);
+            recordSearch(searchRequest, "page", start, response.getTotalElements() == 0);
+            if (page == 0) {
+                searchWarmer.record(searchRequest, pageSize);
             }
-
-            Page<PaperResponse> response = paperResponseService.toPaperResponse(papers, userId);
             return ResponseEntity.ok(ApiResponse.success(response));
 
         } catch (Exception e) {
@@ -70,6 +120,247 @@ public class ExploreController {
         }
     }
 
+    /**
+     * Explore listing without the count query: {@code last} says whether another page exists and
+     * {@code totalEstimate} is only computed when {@code includeTotal=true}.
+     */
+    @GetMapping("/slice")
+    public ResponseEntity<ApiResponse<SlicePage<PaperResponse>>> getExploreSlice(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) List<UUID> categories,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) PaperStatus status,
+            @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            Authentication authentication) {
+
+        try {
+            long start = System.nanoTime();
+            int pageSize = PageCursor.clampSize(size);
+            Pageable pageable = PageRequest.of(page, pageSize);
+            UUID userId = getUserIdFromAuthentication(authentication);
+
+            PaperSearchRequest searchRequest = new PaperSearchRequest();
+            searchRequest.setQuery(query);
+            searchRequest.setCategoryIds(categories);
+            searchRequest.setCategoryMatch(CategoryMatch.fromParam(categoryMatch));
+            searchRequest.setYear(year);
+            searchRequest.setYearFrom(yearFrom);
+            searchRequest.setYearTo(yearTo);
+            searchRequest.setStatus(status);
+            searchRequest.setAuthor(author);
+            searchRequest.setSort(SearchSort.fromParam(sort));
+
+            SlicePage<PaperResponse> response = userId == null
+                    ? exploreResultCache.get(includeTotal ? "slice+total" : "slice", searchRequest, page, pageSize,
+                            () -> loadSlice(searchRequest, pageable, includeTotal, null), result -> ExplorePageService.paperIds(result.getContent()))
+                    : loadSlice(searchRequest, pageable, includeTotal, userId);
+            recordSearch(searchRequest, "slice", start, page == 0 && response.getContent().isEmpty());
+            return ResponseEntity.ok(ApiResponse.success(response));
+
+        } catch (Exception e) {
+            logger.error("Error in explore slice endpoint", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to fetch papers: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Cursor-paged explore listing (newest first, no total count or facets). Same filters as the paged endpoint.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<CursorPage<PaperResponse>>> getExploreFeed(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) List<UUID> categories,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) PaperStatus status,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        try {
+            long start = System.nanoTime();
+            UUID userId = getUserIdFromAuthentication(authentication);
+            PageCursor after = PageCursor.decode(cursor);
+            int pageSize = PageCursor.clampSize(size);
+
+            PaperSearchRequest searchRequest = new PaperSearchRequest();
+            searchRequest.setQuery(query);
+            searchRequest.setCategoryIds(categories);
+            searchRequest.setCategoryMatch(CategoryMatch.fromParam(categoryMatch));
+            searchRequest.setYear(year);
+            searchRequest.setYearFrom(yearFrom);
+            searchRequest.setYearTo(yearTo);
+            searchRequest.setStatus(status);
+            searchRequest.setAuthor(author);
+
+            CursorPage<PaperListRow> papers = searchRequest.hasFilters()
+                    ? paperSearchService.searchPapersAfter(searchRequest, after, pageSize)
+                    : paperSearchService.getAllPapersAfter(after, pageSize);
+            recordSearch(searchRequest, "cursor", start, after == null && papers.getContent().isEmpty());
+
+            return ResponseEntity.ok(ApiResponse.success(papers.map(content ->
+                    explorePageService.withSnippets(query, content, paperResponseService.toListResponse(content, userId)))));
+
+        } catch (Exception e) {
+            logger.error("Error in explore feed endpoint", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to fetch papers: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Every paper matching the filters as newline-delimited JSON, one paper per line, newest first. Streamed in
+     * batches from the database, so memory use does not grow with the result; text and author filters match
+     * substrings as in the database search.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportPapers(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) List<UUID> categories,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) PaperStatus status,
+            @RequestParam(required = false) String author) {
+
+        try {
+            PaperSearchRequest searchRequest = new PaperSearchRequest();
+            searchRequest.setQuery(query);
+            searchRequest.setCategoryIds(categories);
+            searchRequest.setCategoryMatch(CategoryMatch.fromParam(categoryMatch));
+            searchRequest.setYear(year);
+            searchRequest.setYearFrom(yearFrom);
+            searchRequest.setYearTo(yearTo);
+            searchRequest.setStatus(status);
+            searchRequest.setAuthor(author);
+
+            StreamingResponseBody body = out -> paperExportService.export(searchRequest, out);
+            return ResponseEntity.ok()
+                    .contentType(NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"papers.ndjson\"")
+                    .body(body);
+
+        } catch (Exception e) {
+            logger.error("Error in explore export endpoint", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to export papers: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Free-text search ("NLP papers by Chen since 2020"): the query is parsed into filters on the server and the
+     * first page is returned with the parse. When the parser leaves too much unexplained ({@code resolved=false})
+     * no search is run and the client may fall back to a language model.
+     */
+    @GetMapping("/nl")
+    public ResponseEntity<ApiResponse<NaturalLanguageSearchResponse>> naturalLanguageSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        try {
+            long start = System.nanoTime();
+            int pageSize = PageCursor.clampSize(size);
+            UUID userId = getUserIdFromAuthentication(authentication);
+            ParsedSearchQuery parsed = naturalLanguageQueryParser.parse(q);
+            if (!parsed.isResolved()) {
+                return ResponseEntity.ok(ApiResponse.success(new NaturalLanguageSearchResponse(parsed, null)));
+            }
+
+            PaperSearchRequest searchRequest = parsed.toSearchRequest();
+
+            // Same cache entries as the equivalent /api/explore request
+            Page<PaperResponse> results = explorePageService.getPage(searchRequest, page, pageSize, userId);
+            recordSearch(searchRequest, "nl", start, results.getTotalElements() == 0);
+            if (page == 0) {
+                searchWarmer.record(searchRequest, pageSize);
+            }
+            return ResponseEntity.ok(ApiResponse.success(new NaturalLanguageSearchResponse(parsed, results)));
+
+        } catch (Exception e) {
+            logger.error("Error in natural language search endpoint", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to search papers: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Cursor-paged recommendations from the caller's interest categories (recent papers when there are none)
+     */
+    @GetMapping("/recommended/feed")
+    public ResponseEntity<ApiResponse<CursorPage<PaperResponse>>> getRecommendedFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        try {
+            UUID userId = getUserIdFromAuthentication(authentication);
+            CursorPage<Paper> papers = paperSearchService.getRecommendedPapersAfter(
+                    userId, PageCursor.decode(cursor), PageCursor.clampSize(size));
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    papers.map(content -> paperResponseService.toPaperResponse(content, userId))));
+
+        } catch (Exception e) {
+            logger.error("Error in recommended feed endpoint", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to fetch papers: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Typeahead for the explore search box: titles, authors and categories starting with the typed prefix
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        try {
+            List<SuggestionResponse> suggestions = paperIndexService
+                    .suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))
+                    .stream()
+                    .map(entry -> new SuggestionResponse(entry.text(), entry.type().name(), entry.weight(), entry.refId()))
+                    .toList();
+            return ResponseEntity.ok(ApiResponse.success(suggestions));
+
+        } catch (Exception e) {
+            logger.error("Error in suggest endpoint", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to fetch suggestions: " + e.getMessage()));
+        }
+    }
+
+    private SlicePage<PaperResponse> loadSlice(PaperSearchRequest searchRequest, Pageable pageable,
+                                               boolean includeTotal, UUID userId) {
+        SlicePage<PaperListRow> papers = paperSearchService.searchPapersSlice(searchRequest, pageable, includeTotal);
+        return papers.map(content -> explorePageService.withSnippets(searchRequest.getQuery(), content,
+                paperResponseService.toListResponse(content, userId)));
+    }
+
+    /**
+     * Counts a search (not a plain listing without filters) in the search analytics, with its latency as served,
+     * cache hits included.
+     */
+    private void recordSearch(PaperSearchRequest searchRequest, String view, long start, boolean empty) {
+        if (searchRequest.hasFilters()) {
+            searchAnalytics.record(searchRequest, view, System.nanoTime() - start, empty);
+        }
+    }
+
     private UUID getUserIdFromAuthentication(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return null; // Return null for public access
@@ -1,12 +1,18 @@
 package com.researchhub.backend.controller;
 
 import com.researchhub.backend.dto.ApiResponse;
+import com.researchhub.backend.dto.CursorPage;
 import com.researchhub.backend.dto.PaperCategoryRequest;
 import com.researchhub.backend.dto.PaperResponse;
+import com.researchhub.backend.exception.ResourceNotFoundException;
 import com.researchhub.backend.model.Category;
 import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.repository.PaperListRow;
 import com.researchhub.backend.service.PaperResponseService;
+import com.researchhub.backend.service.PaperSearchService;
 import com.researchhub.backend.service.PaperService;
+import com.researchhub.backend.service.RecentPapersCache;
+import com.researchhub.backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +38,14 @@ public class PaperController {
     @Autowired
     private PaperResponseService paperResponseService;
 
+    @Autowired
+    private PaperSearchService paperSearchService;
+
+    @Autowired
+    private RecentPapersCache recentPapersCache;
+
+    private static final int MAX_SIMILAR = 50;
+
     /**
      * EXISTING: Upload a paper (your original functionality)
      */
@@ -146,7 +160,31 @@ public class PaperController {
     }
 
     /**
-     * EXISTING: Get all papers
+     * Related papers by text similarity (same-category papers while the similarity index is building)
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<ApiResponse<List<PaperResponse>>> getSimilarPapers(
+            @PathVariable("id") UUID id,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        try {
+            UUID userId = authentication != null && authentication.isAuthenticated()
+                    ? UUID.fromString(authentication.getName())
+                    : null;
+            List<Paper> papers = paperSearchService.getSimilarPapers(id, Math.max(1, Math.min(limit, MAX_SIMILAR)));
+            return ResponseEntity.ok(ApiResponse.success(paperResponseService.toPaperResponse(papers, userId)));
+
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Paper not found: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to fetch similar papers: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * EXISTING: Get all papers (loaded in one list; GET /api/explore/export streams them instead)
      */
     @GetMapping
     public ResponseEntity<ApiResponse<List<PaperResponse>>> getAllPapers() {
@@ -203,16 +241,14 @@ public class PaperController {
     }
 
     /**
-     * NEW: Get recent papers (for explore system)
+     * NEW: Get recent papers (for explore system), served from memory by the recent papers cache
      */
     @GetMapping("/recent")
     public ResponseEntity<ApiResponse<List<PaperResponse>>> getRecentPapers(
             @RequestParam(defaultValue = "10") int limit) {
 
         try {
-            List<Paper> papers = paperService.getRecentPapers(limit);
-            List<PaperResponse> responses = paperResponseService.toPaperResponse(papers);
-            return ResponseEntity.ok(ApiResponse.success(responses));
+            return ResponseEntity.ok(ApiResponse.success(recentPapersCache.get(Math.max(1, limit))));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -250,8 +286,8 @@ public class PaperController {
         try {
             UUID userId = getUserIdFromAuthentication(authentication);
             Pageable pageable = PageRequest.of(page, size);
-            Page<Paper> papers = paperService.getUserPapers(userId, pageable);
-            Page<PaperResponse> responses = paperResponseService.toPaperResponse(papers, userId);
+            Page<PaperListRow> papers = paperService.getUserPapers(userId, pageable);
+            Page<PaperResponse> responses = paperResponseService.toListResponse(papers, userId);
             
             return ResponseEntity.ok(ApiResponse.success(responses));
 
@@ -261,6 +297,31 @@ public class PaperController {
         }
     }
 
+    /**
+     * Authenticated user's uploaded papers, cursor-paged (newest first, no total count)
+     */
+    @GetMapping("/mine/feed")
+    public ResponseEntity<ApiResponse<CursorPage<PaperResponse>>> getMyPublicationsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+
+        try {
+            UUID userId = getUserIdFromAuthentication(authentication);
+            CursorPage<PaperListRow> papers = paperService.getUserPapersAfter(userId, PageCursor.decode(cursor), PageCursor.clampSize(size));
+            CursorPage<PaperResponse> responses = papers.map(content -> paperResponseService.toListResponse(content, userId));
+
+            return ResponseEntity.ok(ApiResponse.success(responses));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch publications: " + e.getMessage()));
+        }
+    }
+
     /**
      * Helper method to get user ID from authentication
      */
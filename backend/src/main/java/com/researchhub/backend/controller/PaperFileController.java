@@ -0,0 +1,48 @@
+package com.researchhub.backend.controller;
+
+import com.researchhub.backend.service.PaperFileStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves content-addressed uploads ({@code /uploads/<sha256>.<ext>}). The name is the hash of the bytes, so a URL
+ * never changes content: responses may be cached for a year without revalidation, and the hash is the ETag.
+ * Range requests (PDF viewers) and If-None-Match are handled by Spring for {@link Resource} bodies.
+ *
+ * Older random-named uploads do not match the pattern and stay with the one-hour static handler
+ * (StaticResourceConfig) until {@code PaperFileMigration} has converted them.
+ */
+@RestController
+public class PaperFileController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Autowired
+    private PaperFileStore paperFileStore;
+
+    @GetMapping("/uploads/{fileName:[0-9a-f]{64}\\.[a-z0-9]{1,10}}")
+    public ResponseEntity<Resource> getFile(@PathVariable String fileName) {
+        Path file = paperFileStore.resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(IMMUTABLE)
+                .eTag(PaperFileStore.hashOf(fileName))
+                .contentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,65 @@
+package com.researchhub.backend.controller;
+
+import com.researchhub.backend.dto.ApiResponse;
+import com.researchhub.backend.dto.SavedSearchRequest;
+import com.researchhub.backend.dto.SavedSearchResponse;
+import com.researchhub.backend.exception.ResourceNotFoundException;
+import com.researchhub.backend.service.SavedSearchService;
+import com.researchhub.backend.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The current user's saved searches; new papers matching one arrive as notifications.
+ */
+@RestController
+@RequestMapping("/api/saved-searches")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SavedSearchResponse>>> getSavedSearches(HttpServletRequest request) {
+        try {
+            UUID userId = jwtUtil.extractUserIdFromRequest(request);
+            return ResponseEntity.ok(ApiResponse.success(savedSearchService.getSavedSearches(userId)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch saved searches: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearchResponse>> createSavedSearch(@RequestBody SavedSearchRequest body,
+                                                                              HttpServletRequest request) {
+        try {
+            UUID userId = jwtUtil.extractUserIdFromRequest(request);
+            SavedSearchResponse saved = savedSearchService.createSavedSearch(userId, body);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Search saved", saved));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to save search: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{searchId}")
+    public ResponseEntity<ApiResponse<Void>> deleteSavedSearch(@PathVariable UUID searchId, HttpServletRequest request) {
+        try {
+            UUID userId = jwtUtil.extractUserIdFromRequest(request);
+            savedSearchService.deleteSavedSearch(userId, searchId);
+            return ResponseEntity.ok(ApiResponse.success("Saved search deleted", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to delete saved search: " + e.getMessage()));
+        }
+    }
+}
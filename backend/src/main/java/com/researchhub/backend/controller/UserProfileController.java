@@ -1,9 +1,11 @@
 package com.researchhub.backend.controller;
 
 import com.researchhub.backend.dto.ApiResponse;
+import com.researchhub.backend.dto.CursorPage;
 import com.researchhub.backend.dto.PaperResponse;
 import com.researchhub.backend.dto.UserProfileResponse;
 import com.researchhub.backend.service.UserProfileQueryService;
+import com.researchhub.backend.util.PageCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -48,6 +50,20 @@ public class UserProfileController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{userId}/papers/feed")
+    public ResponseEntity<ApiResponse<CursorPage<PaperResponse>>> getUserPapersFeed(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        UUID currentUserId = getUserIdFromAuthentication(authentication);
+        CursorPage<PaperResponse> response = userProfileQueryService.getUserPapersAfter(
+                userId, PageCursor.decode(cursor), PageCursor.clampSize(size), currentUserId);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     private UUID getUserIdFromAuthentication(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return null;
@@ -0,0 +1,23 @@
+package com.researchhub.backend.dto;
+
+/**
+ * How several selected categories combine: a paper in any of them, or in all of them.
+ */
+public enum CategoryMatch {
+    ANY,
+    ALL;
+
+    /**
+     * Parses the {@code categoryMatch} request parameter ("any", "all"), case-insensitively.
+     */
+    public static CategoryMatch fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ANY;
+        }
+        try {
+            return CategoryMatch.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported categoryMatch '" + value + "', expected any or all");
+        }
+    }
+}
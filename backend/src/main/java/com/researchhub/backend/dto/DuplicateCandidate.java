@@ -0,0 +1,20 @@
+package com.researchhub.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * An existing paper that a paper under moderation likely duplicates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidate {
+    private UUID paperId;
+    private String title;
+    private double similarity; // estimated Jaccard similarity, 0..1
+    private String basis;      // METADATA (title and abstract) or CONTENT (PDF text)
+}
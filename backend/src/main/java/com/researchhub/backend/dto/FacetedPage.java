@@ -0,0 +1,25 @@
+package com.researchhub.backend.dto;
+
+import com.researchhub.backend.search.SearchFacets;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of results that also carries facet counts over the whole result set.
+ * Serializes like a regular page with an extra {@code facets} property.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final SearchFacets facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, SearchFacets facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    public SearchFacets getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,14 @@
+package com.researchhub.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NaturalLanguageSearchResponse {
+    private ParsedSearchQuery parsed;
+    private Page<PaperResponse> results; // null when the query could not be resolved
+}
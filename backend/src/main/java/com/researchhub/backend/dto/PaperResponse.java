@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+import java.util.List;
 import java.util.Set;
 
 import java.util.UUID;
@@ -33,6 +34,10 @@ public class PaperResponse {
     private String status;
     private String rejectionReason;
     private LocalDateTime reviewedAt;
+    // Moderation only: existing papers this one likely duplicates
+    private List<DuplicateCandidate> possibleDuplicates;
+    // Search hits only: title and abstract pieces with the query words marked
+    private List<SearchSnippet> snippets;
 
     public PaperResponse(UUID id, String title, String author, String abstractText,
                          LocalDateTime uploadedAt, Integer publicationYear,
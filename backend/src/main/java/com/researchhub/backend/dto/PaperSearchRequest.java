@@ -1,25 +1,55 @@
 package com.researchhub.backend.dto;
 
+import com.researchhub.backend.model.PaperStatus;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
 public class PaperSearchRequest {
     private String query;
     private List<UUID> categoryIds;
+    private CategoryMatch categoryMatch = CategoryMatch.ANY;
     private Integer year;
+    private Integer yearFrom; // inclusive
+    private Integer yearTo; // inclusive
+    private PaperStatus status;
     private String author;
     private Integer page = 0;
     private Integer size = 20;
+    private SearchSort sort = SearchSort.NEWEST;
+
+    /**
+     * Canonical form of the filters (not paging or sort), for caching per result set.
+     */
+    public String filterKey() {
+        String categories = categoryIds == null ? "" : categoryIds.stream()
+                .map(UUID::toString)
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
+        return String.join("|",
+                query == null ? "" : query.trim().toLowerCase(),
+                categories,
+                String.valueOf(categoryMatch),
+                year == null ? "" : year.toString(),
+                yearFrom == null ? "" : yearFrom.toString(),
+                yearTo == null ? "" : yearTo.toString(),
+                status == null ? "" : status.name(),
+                author == null ? "" : author.trim().toLowerCase());
+    }
 
     public boolean hasFilters() {
         return query != null ||
                 (categoryIds != null && !categoryIds.isEmpty()) ||
                 year != null ||
+                yearFrom != null ||
+                yearTo != null ||
+                status != null ||
                 author != null;
     }
 }
@@ -0,0 +1,36 @@
+package com.researchhub.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filters read out of a free-text search ("deep learning papers by Chen since 2020").
+ * {@code resolved} is false when too much of the text was left over to trust a keyword search with it.
+ */
+@Data
+@NoArgsConstructor
+public class ParsedSearchQuery {
+    private String query;
+    private List<String> categories = new ArrayList<>();
+    private List<UUID> categoryIds = new ArrayList<>();
+    private Integer year;
+    private Integer yearFrom;
+    private Integer yearTo;
+    private String author;
+    private boolean resolved;
+
+    public PaperSearchRequest toSearchRequest() {
+        PaperSearchRequest request = new PaperSearchRequest();
+        request.setQuery(query);
+        request.setCategoryIds(categoryIds.isEmpty() ? null : categoryIds);
+        request.setYear(year);
+        request.setYearFrom(yearFrom);
+        request.setYearTo(yearTo);
+        request.setAuthor(author);
+        return request;
+    }
+}
@@ -0,0 +1,12 @@
+package com.researchhub.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SavedSearchRequest {
+    private String name;
+    // Query, categories, category match, year or year range and author; paging, sort and status are ignored
+    private PaperSearchRequest filters;
+}
@@ -0,0 +1,16 @@
+package com.researchhub.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+public class SavedSearchResponse {
+    private UUID id;
+    private String name;
+    private PaperSearchRequest filters;
+    private LocalDateTime createdAt;
+}
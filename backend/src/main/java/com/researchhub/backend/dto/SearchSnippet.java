@@ -0,0 +1,19 @@
+package com.researchhub.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A piece of a search hit's title or abstract with the query words in it marked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSnippet {
+    private String field;            // "title" or "abstract"
+    private String text;             // whole title, or an abstract fragment with "…" where it was cut
+    private List<int[]> highlights;  // [start, end) char offsets into text, ascending
+}
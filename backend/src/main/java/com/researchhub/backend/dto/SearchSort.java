@@ -0,0 +1,20 @@
+package com.researchhub.backend.dto;
+
+public enum SearchSort {
+    NEWEST,
+    RELEVANCE;
+
+    /**
+     * Parses the {@code sort} request parameter ("newest", "relevance"), case-insensitively.
+     */
+    public static SearchSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return SearchSort.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort '" + value + "', expected newest or relevance");
+        }
+    }
+}
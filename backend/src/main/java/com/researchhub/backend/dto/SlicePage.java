@@ -0,0 +1,27 @@
+package com.researchhub.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Offset page without an exact total. {@code last} comes from fetching one row more than the page size;
+ * {@code totalEstimate} is only filled in when the caller asks for it and may lag recent changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlicePage<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean last;
+    private Long totalEstimate;
+
+    public <R> SlicePage<R> map(Function<List<T>, List<R>> converter) {
+        return new SlicePage<>(converter.apply(content), number, size, last, totalEstimate);
+    }
+}
@@ -0,0 +1,17 @@
+package com.researchhub.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String text;
+    private String type; // TITLE, AUTHOR or CATEGORY
+    private int weight;
+    private UUID id; // paper id for titles, category id for categories, null for authors
+}
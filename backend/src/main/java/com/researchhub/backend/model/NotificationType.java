@@ -4,6 +4,8 @@ public enum NotificationType {
     PAPER_SUBMITTED,
     PAPER_APPROVED,
     PAPER_REJECTED,
+    PAPER_DUPLICATE_SUSPECTED,
+    SAVED_SEARCH_MATCH,
     COMMENT_REPORTED,
     COMMENT_APPROVED,
     COMMENT_REJECTED,
@@ -16,7 +16,14 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "papers")
+// Composite indexes for the database search (used until the search index is ready) and the newest-first listings:
+// each starts with an equality filter and ends in the sort column, so a filtered page reads rows in order
+@Table(name = "papers", indexes = {
+        @Index(name = "idx_papers_uploaded", columnList = "uploaded_at, id"),
+        @Index(name = "idx_papers_year_uploaded", columnList = "publication_year, uploaded_at"),
+        @Index(name = "idx_papers_status_uploaded", columnList = "status, uploaded_at"),
+        @Index(name = "idx_papers_uploader_uploaded", columnList = "uploaded_by, uploaded_at")
+})
 public class Paper {
 
     @Id
@@ -71,7 +78,9 @@ public class Paper {
     @JoinTable(
             name = "paper_categories",
             joinColumns = @JoinColumn(name = "paper_id", columnDefinition = "BINARY(16)"),
-            inverseJoinColumns = @JoinColumn(name = "category_id", columnDefinition = "BINARY(16)")
+            inverseJoinColumns = @JoinColumn(name = "category_id", columnDefinition = "BINARY(16)"),
+            // Category filters probe by category; the primary key leads with paper_id
+            indexes = @Index(name = "idx_paper_categories_category", columnList = "category_id, paper_id")
     )
     private Set<Category> categories = new HashSet<>();
 
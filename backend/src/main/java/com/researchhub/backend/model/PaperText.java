@@ -0,0 +1,37 @@
+package com.researchhub.backend.model;
+
+import com.researchhub.backend.util.UuidBinaryConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Full text extracted from a paper's PDF, deflate-compressed (see TextCompression).
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "paper_texts")
+public class PaperText {
+
+    @Id
+    @Column(name = "paper_id", columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidBinaryConverter.class)
+    private UUID paperId;
+
+    @Lob
+    @Column(name = "content", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] content;
+
+    @Column(name = "page_count", nullable = false)
+    private int pageCount;
+
+    @Column(name = "text_length", nullable = false)
+    private int textLength;
+
+    @Column(name = "extracted_at", nullable = false)
+    private LocalDateTime extractedAt;
+}
@@ -0,0 +1,69 @@
+package com.researchhub.backend.model;
+
+import com.researchhub.backend.util.UuidBinaryConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Explore filters a user asked to be alerted about; new papers matching them produce a notification.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "saved_searches")
+public class SavedSearch {
+
+    @Id
+    @Column(name = "id", columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidBinaryConverter.class)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "query", length = 500)
+    private String query;
+
+    @ManyToMany
+    @JoinTable(
+            name = "saved_search_categories",
+            joinColumns = @JoinColumn(name = "saved_search_id", columnDefinition = "BINARY(16)"),
+            inverseJoinColumns = @JoinColumn(name = "category_id", columnDefinition = "BINARY(16)")
+    )
+    private Set<Category> categories = new HashSet<>();
+
+    // Papers must be in every selected category rather than any of them
+    @Column(name = "match_all_categories", nullable = false)
+    private boolean matchAllCategories;
+
+    @Column(name = "publication_year")
+    private Integer year;
+
+    @Column(name = "year_from")
+    private Integer yearFrom;
+
+    @Column(name = "year_to")
+    private Integer yearTo;
+
+    @Column
+    private String author;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.id = UUID.randomUUID();
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,36 @@
+package com.researchhub.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An uploaded file stored once under its SHA-256, with the number of papers that point at it
+ * (see PaperFileStore). The file is deleted when the last of them is.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "stored_files")
+public class StoredFile {
+
+    // Lower-case hex SHA-256 of the content
+    @Id
+    @Column(name = "hash", length = 64, columnDefinition = "CHAR(64)")
+    private String hash;
+
+    // Name in the upload directory: the hash plus the extension of the first upload
+    @Column(name = "file_name", nullable = false, length = 80)
+    private String fileName;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
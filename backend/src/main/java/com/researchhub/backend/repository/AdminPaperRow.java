@@ -0,0 +1,22 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.model.PaperStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A paper as the moderation lists show it. Moderators read the whole abstract and the rejection reason, so both
+ * are kept; the uploader, which the entity loads eagerly and the moderation view never shows, is not.
+ */
+public record AdminPaperRow(UUID id,
+                            String title,
+                            String author,
+                            String filePath,
+                            LocalDateTime uploadedAt,
+                            Integer publicationYear,
+                            String abstractText,
+                            PaperStatus status,
+                            String rejectionReason,
+                            LocalDateTime reviewedAt) {
+}
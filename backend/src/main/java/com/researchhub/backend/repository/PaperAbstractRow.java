@@ -0,0 +1,9 @@
+package com.researchhub.backend.repository;
+
+import java.util.UUID;
+
+/**
+ * A paper's full abstract, read only for the search hits whose abstract has query words to highlight.
+ */
+public record PaperAbstractRow(UUID id, String abstractText) {
+}
@@ -0,0 +1,11 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.model.Category;
+
+import java.util.UUID;
+
+/**
+ * One paper-category pair, for attaching categories to a page of {@link PaperListRow}s.
+ */
+public record PaperCategoryRow(UUID paperId, Category category) {
+}
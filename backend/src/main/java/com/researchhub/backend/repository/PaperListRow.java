@@ -0,0 +1,45 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.model.Paper;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns a paper list item needs (explore, recent, "my papers"), selected straight into a record by the
+ * JPQL constructor expressions in {@link PaperRepository}. Leaves out {@code rejection_reason} and all but the
+ * start of {@code abstract_text}, and takes the uploader's id and email from a join instead of loading the
+ * {@code User}. Categories are read separately, for a whole page at once ({@link PaperCategoryRow}).
+ */
+public record PaperListRow(UUID id,
+                           String title,
+                           String author,
+                           String abstractPreview,
+                           LocalDateTime uploadedAt,
+                           Integer publicationYear,
+                           String filePath,
+                           UUID uploadedById,
+                           String uploadedByEmail) {
+
+    // Characters of the abstract selected; one more than the response snippet, so it knows when to add "..."
+    public static final int PREVIEW_LENGTH = 201;
+
+    /**
+     * The same row from an already loaded entity (database search while the index is building).
+     */
+    public static PaperListRow of(Paper paper) {
+        String abstractText = paper.getAbstractText();
+        return new PaperListRow(
+                paper.getId(),
+                paper.getTitle(),
+                paper.getAuthor(),
+                abstractText != null && abstractText.length() > PREVIEW_LENGTH
+                        ? abstractText.substring(0, PREVIEW_LENGTH)
+                        : abstractText,
+                paper.getUploadedAt(),
+                paper.getPublicationYear(),
+                paper.getFilePath(),
+                paper.getUploadedBy() != null ? paper.getUploadedBy().getId() : null,
+                paper.getUploadedBy() != null ? paper.getUploadedBy().getEmail() : null);
+    }
+}
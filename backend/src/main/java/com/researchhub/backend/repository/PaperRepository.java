@@ -2,58 +2,130 @@ package com.researchhub.backend.repository;
 
 import com.researchhub.backend.model.Paper;
 import com.researchhub.backend.model.PaperStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface PaperRepository extends JpaRepository<Paper, UUID> {
-
-    // Search papers with filters
-    @Query("SELECT DISTINCT p FROM Paper p " +
-            "LEFT JOIN p.categories c " +
-            "WHERE (:query IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "      OR LOWER(p.abstractText) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-            "AND (:categoryIds IS NULL OR c.id IN :categoryIds) " +
-            "AND (:year IS NULL OR p.publicationYear = :year) " +
-            "AND (:author IS NULL OR LOWER(p.author) LIKE LOWER(CONCAT('%', :author, '%'))) " +
-            "ORDER BY p.uploadedAt DESC")
-    Page<Paper> searchPapers(@Param("query") String query,
-                             @Param("categoryIds") List<UUID> categoryIds,
-                             @Param("year") Integer year,
-                             @Param("author") String author,
-                             Pageable pageable);
-
-    // Find papers by category IDs (for recommendations)
-    @Query("SELECT DISTINCT p FROM Paper p " +
-            "JOIN p.categories c " +
-            "WHERE c.id IN :categoryIds " +
-            "ORDER BY p.uploadedAt DESC")
-    Page<Paper> findByCategoryIds(@Param("categoryIds") List<UUID> categoryIds, Pageable pageable);
+public interface PaperRepository extends JpaRepository<Paper, UUID>, JpaSpecificationExecutor<Paper> {
+
+    // Filtered searches, category listings and keyset pages of entities are built per request with
+    // PaperSpecifications (JpaSpecificationExecutor)
+
+    // List views read PaperListRow / AdminPaperRow records instead of entities: no full abstract, no User load
+    String LIST_ROW = "SELECT new com.researchhub.backend.repository.PaperListRow(" +
+            "p.id, p.title, p.author, SUBSTRING(p.abstractText, 1, " + PaperListRow.PREVIEW_LENGTH + "), " +
+            "p.uploadedAt, p.publicationYear, p.filePath, u.id, u.email) " +
+            "FROM Paper p LEFT JOIN p.uploadedBy u ";
+
+    String ADMIN_ROW = "SELECT new com.researchhub.backend.repository.AdminPaperRow(" +
+            "p.id, p.title, p.author, p.filePath, p.uploadedAt, p.publicationYear, " +
+            "p.abstractText, p.status, p.rejectionReason, p.reviewedAt) " +
+            "FROM Paper p ";
 
     // Find recent papers (fallback for new users)
     Page<Paper> findByOrderByUploadedAtDesc(Pageable pageable);
 
+    // Newest papers, read along the (uploaded_at, id) index
+    @Query(LIST_ROW + "ORDER BY p.uploadedAt DESC, p.id DESC")
+    List<PaperListRow> findRecentListRows(Pageable pageable);
+
+    @Query(value = LIST_ROW + "ORDER BY p.uploadedAt DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Paper p")
+    Page<PaperListRow> findNewestListRows(Pageable pageable);
+
+    // A page of search hits as list rows, in no particular order
+    @Query(LIST_ROW + "WHERE p.id IN :ids")
+    List<PaperListRow> findListRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Full abstracts of the hits that get abstract snippets
+    @Query("SELECT new com.researchhub.backend.repository.PaperAbstractRow(p.id, p.abstractText) " +
+            "FROM Paper p WHERE p.id IN :ids")
+    List<PaperAbstractRow> findAbstractsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Categories for a page of list rows, in one query
+    @Query("SELECT new com.researchhub.backend.repository.PaperCategoryRow(p.id, c) " +
+            "FROM Paper p JOIN p.categories c WHERE p.id IN :ids")
+    List<PaperCategoryRow> findCategoryRowsByPaperIdIn(@Param("ids") Collection<UUID> ids);
+
     // Find papers by author name (case-insensitive)
     List<Paper> findByAuthorContainingIgnoreCase(String author);
 
-    // Find papers by uploader
-    Page<Paper> findByUploadedBy_IdOrderByUploadedAtDesc(UUID userId, Pageable pageable);
+    // Papers by uploader, newest first
+    @Query(value = LIST_ROW + "WHERE p.uploadedBy.id = :userId ORDER BY p.uploadedAt DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Paper p WHERE p.uploadedBy.id = :userId")
+    Page<PaperListRow> findListRowsByUploader(@Param("userId") UUID userId, Pageable pageable);
 
     long countByUploadedBy_Id(UUID userId);
 
+    long countByFilePathIn(Collection<String> filePaths);
+
     // Find paper by ID with categories eagerly loaded
     @Query("SELECT p FROM Paper p LEFT JOIN FETCH p.categories WHERE p.id = :id")
     java.util.Optional<Paper> findByIdWithCategories(@Param("id") UUID id);
 
+    // Hydrate a page of search hits with categories in one round trip
+    @Query("SELECT DISTINCT p FROM Paper p LEFT JOIN FETCH p.categories WHERE p.id IN :ids")
+    List<Paper> findAllWithCategoriesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id FROM Paper p")
+    List<UUID> findAllIds();
+
+    // Takes a shared lock on the paper row until the caller commits: a delete of the paper waits until then, and
+    // rows written for the paper in the same transaction are visible to the delete's cleanup
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT p FROM Paper p WHERE p.id = :id")
+    java.util.Optional<Paper> findByIdForShare(@Param("id") UUID id);
+
+    // Walk all paper ids in upload order (search index rebuild)
+    @Query("SELECT p.id FROM Paper p ORDER BY p.uploadedAt ASC, p.id ASC")
+    Slice<UUID> findAllIdsOrderByUploadedAt(Pageable pageable);
+
+    // Keyset pages of list rows, newest first: rows strictly after (afterAt, afterId). The first page is
+    // findRecentListRows / findRecentListRowsByUploader. Callers pass a Pageable of size + 1.
+    @Query(LIST_ROW +
+            "WHERE p.uploadedAt < :afterAt OR (p.uploadedAt = :afterAt AND p.id < :afterId) " +
+            "ORDER BY p.uploadedAt DESC, p.id DESC")
+    List<PaperListRow> findListRowsAfter(@Param("afterAt") LocalDateTime afterAt,
+                                         @Param("afterId") UUID afterId,
+                                         Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE p.uploadedBy.id = :userId ORDER BY p.uploadedAt DESC, p.id DESC")
+    List<PaperListRow> findRecentListRowsByUploader(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(LIST_ROW +
+            "WHERE p.uploadedBy.id = :userId " +
+            "AND (p.uploadedAt < :afterAt OR (p.uploadedAt = :afterAt AND p.id < :afterId)) " +
+            "ORDER BY p.uploadedAt DESC, p.id DESC")
+    List<PaperListRow> findListRowsByUploaderAfter(@Param("userId") UUID userId,
+                                                   @Param("afterAt") LocalDateTime afterAt,
+                                                   @Param("afterId") UUID afterId,
+                                                   Pageable pageable);
+
+    // [paperId, number of users who saved it] for every saved paper (suggestion weights)
+    @Query("SELECT p.id, COUNT(u) FROM User u JOIN u.library p GROUP BY p.id")
+    List<Object[]> countLibrarySaves();
+
     // Admin moderation
-    Page<Paper> findByStatus(PaperStatus status, Pageable pageable);
+    @Query(value = ADMIN_ROW, countQuery = "SELECT COUNT(p) FROM Paper p")
+    Page<AdminPaperRow> findAdminRows(Pageable pageable);
+
+    @Query(value = ADMIN_ROW + "WHERE p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Paper p WHERE p.status = :status")
+    Page<AdminPaperRow> findAdminRowsByStatus(@Param("status") PaperStatus status, Pageable pageable);
+
     long countByStatus(PaperStatus status);
 
     // find by author
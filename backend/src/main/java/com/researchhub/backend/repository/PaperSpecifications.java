@@ -0,0 +1,100 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.util.PageCursor;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Database search filters, built from the filters actually set on a request: an unset filter adds no predicate
+ * and categories are matched with a correlated {@code EXISTS} on the join table, so a search without categories
+ * has no join and no {@code DISTINCT}. Used while the in-memory search index is not ready, and for category
+ * recommendations and keyset pages of papers.
+ */
+public final class PaperSpecifications {
+
+    // Newest first, id breaking ties so keyset pages are stable
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("uploadedAt"), Sort.Order.desc("id"));
+
+    private PaperSpecifications() {
+    }
+
+    public static Specification<Paper> matching(PaperSearchRequest request) {
+        List<Specification<Paper>> filters = new ArrayList<>();
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            filters.add(textContains(request.getQuery().trim()));
+        }
+        List<UUID> categoryIds = request.getCategoryIds();
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            if (request.getCategoryMatch() == CategoryMatch.ALL) {
+                categoryIds.stream().distinct().forEach(id -> filters.add(inAnyCategory(List.of(id))));
+            } else {
+                filters.add(inAnyCategory(categoryIds));
+            }
+        }
+        if (request.getYear() != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("publicationYear"), request.getYear()));
+        }
+        if (request.getYearFrom() != null) {
+            filters.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("publicationYear"), request.getYearFrom()));
+        }
+        if (request.getYearTo() != null) {
+            filters.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("publicationYear"), request.getYearTo()));
+        }
+        if (request.getStatus() != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("status"), request.getStatus()));
+        }
+        if (request.getAuthor() != null && !request.getAuthor().isBlank()) {
+            filters.add(contains("author", request.getAuthor().trim()));
+        }
+        return Specification.allOf(filters);
+    }
+
+    /**
+     * Rows strictly after the cursor in {@link #NEWEST_FIRST} order; no restriction without a cursor.
+     */
+    public static Specification<Paper> after(PageCursor cursor) {
+        if (cursor == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("uploadedAt"), cursor.uploadedAt()),
+                cb.and(cb.equal(root.get("uploadedAt"), cursor.uploadedAt()),
+                        cb.lessThan(root.<UUID>get("id"), cursor.id())));
+    }
+
+    /**
+     * Papers in at least one of the categories, as a correlated {@code EXISTS}: no join on the paper rows, so
+     * no duplicates to remove with {@code DISTINCT}.
+     */
+    public static Specification<Paper> inAnyCategory(List<UUID> categoryIds) {
+        return (root, query, cb) -> {
+            Subquery<Integer> categories = query.subquery(Integer.class);
+            Root<Paper> paper = categories.correlate(root);
+            categories.select(cb.literal(1))
+                    .where(paper.join("categories").get("id").in(categoryIds));
+            return cb.exists(categories);
+        };
+    }
+
+    private static Specification<Paper> textContains(String text) {
+        return contains("title", text).or(contains("abstractText", text));
+    }
+
+    private static Specification<Paper> contains(String attribute, String text) {
+        String pattern = "%" + escapeLike(text.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, '\\');
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,27 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.model.PaperText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PaperTextRepository extends JpaRepository<PaperText, UUID> {
+
+    // Papers whose PDF text has not been extracted yet (backfill)
+    @Query("SELECT p.id FROM Paper p WHERE NOT EXISTS " +
+            "(SELECT t.paperId FROM PaperText t WHERE t.paperId = p.id) " +
+            "ORDER BY p.uploadedAt DESC")
+    List<UUID> findPaperIdsWithoutText();
+
+    // Run after the paper's own delete (flushed first), so it sees text an extraction committed while holding
+    // the paper lock (PaperRepository#findByIdForShare); a bulk delete reads current rows, not the snapshot
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PaperText t WHERE t.paperId = :paperId")
+    int deleteByPaperId(@Param("paperId") UUID paperId);
+}
@@ -0,0 +1,26 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, UUID> {
+
+    @Query("SELECT DISTINCT s FROM SavedSearch s LEFT JOIN FETCH s.categories WHERE s.user.id = :userId ORDER BY s.createdAt DESC")
+    List<SavedSearch> findByUserIdWithCategories(@Param("userId") UUID userId);
+
+    // Every saved search with its categories and owner (percolator load at startup)
+    @Query("SELECT DISTINCT s FROM SavedSearch s LEFT JOIN FETCH s.categories JOIN FETCH s.user")
+    List<SavedSearch> findAllWithCategories();
+
+    Optional<SavedSearch> findByIdAndUser_Id(UUID id, UUID userId);
+
+    long countByUser_Id(UUID userId);
+}
@@ -0,0 +1,38 @@
+package com.researchhub.backend.repository;
+
+import com.researchhub.backend.model.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // One more reference, creating the row for new content. The row stays locked until the caller commits,
+    // which keeps a concurrent reclaim of the same hash from deleting the file under it.
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (hash, file_name, size_bytes, ref_count, created_at) " +
+            "VALUES (:hash, :fileName, :sizeBytes, 1, NOW()) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int acquire(@Param("hash") String hash, @Param("fileName") String fileName, @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount - 1 WHERE f.hash = :hash AND f.refCount > 0")
+    int release(@Param("hash") String hash);
+
+    // Removes the row only if nothing points at the file any more; 1 when it did
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.hash = :hash AND f.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    @Query("SELECT f.fileName FROM StoredFile f WHERE f.hash = :hash")
+    String findFileName(@Param("hash") String hash);
+
+    @Query("SELECT COALESCE(SUM(f.sizeBytes), 0) FROM StoredFile f")
+    long sumSizeBytes();
+
+    @Query("SELECT COALESCE(SUM(f.refCount), 0) FROM StoredFile f")
+    long sumRefCount();
+}
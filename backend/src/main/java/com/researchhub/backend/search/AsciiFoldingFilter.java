@@ -0,0 +1,76 @@
+package com.researchhub.backend.search;
+
+import java.text.Normalizer;
+
+/**
+ * Folds Latin letters with diacritics and ligatures to plain ASCII ("müller" -> "muller", "straße" -> "strasse"),
+ * so names and words match whether or not they were typed with their accents.
+ *
+ * Folding is a table lookup per char over the Latin-1 Supplement and Latin Extended-A/B blocks, built once from the
+ * Unicode decompositions; tokens that are already ASCII are left untouched without any copying. Other scripts are
+ * kept as they are.
+ */
+final class AsciiFoldingFilter implements TokenFilter {
+
+    private static final char FIRST = 'À';
+    private static final char LAST = 'ɏ';
+    private static final String[] FOLDED = new String[LAST - FIRST + 1];
+
+    static {
+        for (char c = FIRST; c <= LAST; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            StringBuilder base = new StringBuilder();
+            for (int i = 0; i < decomposed.length(); i++) {
+                if (Character.getType(decomposed.charAt(i)) != Character.NON_SPACING_MARK) {
+                    base.append(decomposed.charAt(i));
+                }
+            }
+            if (base.length() > 0 && base.chars().allMatch(ch -> ch < 0x80)) {
+                FOLDED[c - FIRST] = base.toString().toLowerCase();
+            }
+        }
+        // Letters without a decomposition
+        String[][] extra = {
+                {"ß", "ss"}, {"æ", "ae"}, {"Æ", "ae"}, {"ø", "o"}, {"Ø", "o"}, {"œ", "oe"}, {"Œ", "oe"},
+                {"đ", "d"}, {"Đ", "d"}, {"ł", "l"}, {"Ł", "l"}, {"þ", "th"}, {"Þ", "th"}, {"ð", "d"}, {"Ð", "d"},
+                {"ı", "i"}, {"ħ", "h"}, {"Ħ", "h"}, {"ŋ", "n"}, {"Ŋ", "n"}, {"ĳ", "ij"}, {"Ĳ", "ij"}
+        };
+        for (String[] pair : extra) {
+            FOLDED[pair[0].charAt(0) - FIRST] = pair[1];
+        }
+    }
+
+    @Override
+    public String name() {
+        return "ascii-folding";
+    }
+
+    @Override
+    public boolean apply(TermBuffer token) {
+        char[] chars = token.chars();
+        int length = token.length();
+        int first = 0;
+        while (first < length && chars[first] < 0x80) {
+            first++;
+        }
+        if (first == length) {
+            return true;
+        }
+
+        // Fold the rest into a copy: replacements may be longer than the char they replace
+        char[] rest = new char[length - first];
+        System.arraycopy(chars, first, rest, 0, rest.length);
+        token.setLength(first);
+        for (char c : rest) {
+            String folded = c >= FIRST && c <= LAST ? FOLDED[c - FIRST] : null;
+            if (folded == null) {
+                token.append(c);
+            } else {
+                for (int i = 0; i < folded.length(); i++) {
+                    token.append(folded.charAt(i));
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,190 @@
+package com.researchhub.backend.search;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Author-name keys to doc bitmaps, behind the search {@code author} filter.
+ *
+ * Every word of every name in a paper's author field (normalized by {@link AuthorNames}) is stored under the word
+ * itself and its initial, and the word is listed under its Double Metaphone codes (primary and alternate). An
+ * initial in the filter ("J.") matches any name word starting with that letter. A longer word matches that exact
+ * word; only when no paper has it does it fall back to sound-alike words ("Smyth" for "Smith"). Phonetic codes
+ * collapse short surnames (Li, Lee, Liu, Lu and Lowe all code to "L"; Wang, Wong, Yang and Young to "ANK"), so the
+ * fallback is limited to filter words of at least {@value #MIN_SOUND_ALIKE_LENGTH} letters and to words within a
+ * quarter of their length in edits. A paper passes when all filter words match. Not thread-safe;
+ * {@link SearchIndex} guards it with its lock.
+ */
+final class AuthorIndex {
+
+    static final int MIN_SOUND_ALIKE_LENGTH = 5;
+
+    private static final String WORD = "w:";
+    private static final String INITIAL = "i:";
+
+    private final DoubleMetaphone metaphone = new DoubleMetaphone();
+    private final Map<String, RoaringBitmap> docsByKey = new HashMap<>();
+    // Phonetic code -> indexed words with that code
+    private final Map<String, Set<String>> wordsBySound = new HashMap<>();
+
+    void add(int doc, String authorField) {
+        for (String word : distinctWords(authorField)) {
+            docsByKey.computeIfAbsent(INITIAL + word.charAt(0), k -> new RoaringBitmap()).add(doc);
+            if (word.length() > 1) {
+                RoaringBitmap docs = docsByKey.get(WORD + word);
+                if (docs == null) {
+                    docs = new RoaringBitmap();
+                    docsByKey.put(WORD + word, docs);
+                    for (String sound : sounds(word)) {
+                        wordsBySound.computeIfAbsent(sound, k -> new HashSet<>()).add(word);
+                    }
+                }
+                docs.add(doc);
+            }
+        }
+    }
+
+    void remove(int doc, String authorField) {
+        for (String word : distinctWords(authorField)) {
+            removeKey(INITIAL + word.charAt(0), doc);
+            if (word.length() > 1 && removeKey(WORD + word, doc)) {
+                for (String sound : sounds(word)) {
+                    Set<String> words = wordsBySound.get(sound);
+                    if (words != null && words.remove(word) && words.isEmpty()) {
+                        wordsBySound.remove(sound);
+                    }
+                }
+            }
+        }
+    }
+
+    void clear() {
+        docsByKey.clear();
+        wordsBySound.clear();
+    }
+
+    int keyCount() {
+        return docsByKey.size();
+    }
+
+    /**
+     * Docs whose authors match every word of {@code filter}; all of {@code candidates} pass a filter without words.
+     */
+    RoaringBitmap match(String filter, RoaringBitmap candidates) {
+        RoaringBitmap result = candidates.clone();
+        for (String word : words(filter)) {
+            result.and(docs(word));
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether one author field passes {@code filter}, without indexing it. The rules are those of {@link #match}
+     * with the field as the whole corpus: a word falls back to sound-alikes when the field lacks it, whatever
+     * other papers contain.
+     */
+    boolean matches(String filter, String authorField) {
+        Set<String> fieldWords = distinctWords(authorField);
+        for (String word : words(filter)) {
+            boolean matched;
+            if (word.length() == 1) {
+                matched = fieldWords.stream().anyMatch(fieldWord -> fieldWord.charAt(0) == word.charAt(0));
+            } else {
+                matched = fieldWords.contains(word)
+                        || fieldWords.stream().anyMatch(fieldWord -> soundsAlike(word, fieldWord));
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private RoaringBitmap docs(String word) {
+        if (word.length() == 1) {
+            return docsByKey.getOrDefault(INITIAL + word, new RoaringBitmap());
+        }
+        RoaringBitmap exact = docsByKey.get(WORD + word);
+        if (exact != null) {
+            return exact;
+        }
+        RoaringBitmap docs = new RoaringBitmap();
+        if (word.length() < MIN_SOUND_ALIKE_LENGTH) {
+            return docs;
+        }
+        for (String sound : sounds(word)) {
+            for (String candidate : wordsBySound.getOrDefault(sound, Set.of())) {
+                if (withinEdits(word, candidate)) {
+                    docs.or(docsByKey.get(WORD + candidate));
+                }
+            }
+        }
+        return docs;
+    }
+
+    private boolean soundsAlike(String word, String candidate) {
+        if (word.length() < MIN_SOUND_ALIKE_LENGTH || candidate.length() < 2 || !withinEdits(word, candidate)) {
+            return false;
+        }
+        Set<String> candidateSounds = new HashSet<>(sounds(candidate));
+        return sounds(word).stream().anyMatch(candidateSounds::contains);
+    }
+
+    private static boolean withinEdits(String word, String candidate) {
+        int maxEdits = Math.max(1, word.length() / 4);
+        return FuzzyTermIndex.distance(word, candidate, maxEdits) <= maxEdits;
+    }
+
+    private boolean removeKey(String key, int doc) {
+        RoaringBitmap docs = docsByKey.get(key);
+        if (docs == null) {
+            return false;
+        }
+        docs.remove(doc);
+        if (docs.isEmpty()) {
+            docsByKey.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private List<String> sounds(String word) {
+        String primary = metaphone.doubleMetaphone(word);
+        String alternate = metaphone.doubleMetaphone(word, true);
+        if (primary == null || primary.isEmpty()) {
+            return List.of();
+        }
+        return primary.equals(alternate) || alternate == null || alternate.isEmpty()
+                ? List.of(primary)
+                : List.of(primary, alternate);
+    }
+
+    private static Set<String> distinctWords(String authorField) {
+        return new LinkedHashSet<>(words(authorField));
+    }
+
+    /**
+     * Normalized words of all names in an author field or filter, honorifics left out.
+     */
+    private static List<String> words(String authorField) {
+        List<String> words = new ArrayList<>();
+        for (String name : AuthorNames.split(authorField)) {
+            String normalized = AuthorNames.normalize(name);
+            if (!normalized.isEmpty()) {
+                words.addAll(List.of(normalized.split(" ")));
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,55 @@
+package com.researchhub.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for the free-text {@code Paper.author} column, which may hold several names
+ * ("Dr. Sarah Chen, J. Rodriguez and Emily Wang").
+ */
+public final class AuthorNames {
+
+    private static final Pattern SEPARATORS = Pattern.compile("\\s*(?:[,;&]|\\band\\b)\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> HONORIFICS = Set.of("dr", "prof", "professor", "mr", "mrs", "ms", "phd", "md");
+
+    private AuthorNames() {
+    }
+
+    /**
+     * Individual names with honorifics stripped, in their original spelling ("Sarah Chen").
+     */
+    public static List<String> split(String authorField) {
+        List<String> names = new ArrayList<>();
+        if (authorField == null || authorField.isBlank()) {
+            return names;
+        }
+        for (String part : SEPARATORS.split(authorField.trim())) {
+            List<String> words = new ArrayList<>();
+            for (String word : part.trim().split("\\s+")) {
+                String bare = word.replace(".", "");
+                if (!bare.isEmpty() && !HONORIFICS.contains(bare.toLowerCase())) {
+                    words.add(word);
+                }
+            }
+            if (!words.isEmpty()) {
+                names.add(String.join(" ", words));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Lower-case, accent-free, single-spaced form used as the lookup key ("José  Núñez" -> "jose nunez").
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
@@ -0,0 +1,277 @@
+package com.researchhub.backend.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Locality-sensitive hashing index of {@link MinHasher} signatures for spotting near-duplicate uploads.
+ *
+ * Every paper gets up to two signatures: one over its title and abstract, available at upload time, and one over
+ * its extracted PDF text once that exists. Each signature is cut into {@link #BANDS} bands and the paper is filed
+ * under a hash of every band, so finding candidates takes {@link #BANDS} bucket lookups however large the corpus
+ * is. Papers sharing a bucket are then compared on their full signatures, and only those at or above
+ * {@code app.dedupe.similarity-threshold} are reported. With 32 bands of 4 rows a pair at similarity 0.6 shares
+ * a bucket with probability above 0.99, a pair at 0.3 with probability about 0.2.
+ *
+ * Signatures are computed outside the lock, so several threads can feed the index at once.
+ */
+@Component
+public class DuplicateIndex {
+
+    public enum Basis {
+        METADATA, // title and abstract
+        CONTENT   // extracted PDF text
+    }
+
+    public record Match(UUID paperId, String title, double similarity, Basis basis) {
+    }
+
+    private static final int BANDS = 32;
+    private static final int ROWS = MinHasher.HASHES / BANDS;
+    // About two sentences: less text than this matches too easily to mean anything
+    private static final int MIN_SHINGLES = 20;
+    private static final int MAX_CONTENT_TOKENS = 20_000;
+    // A bucket this crowded holds shared boilerplate (licence text, templates), not evidence of duplication
+    private static final int MAX_BUCKET_SCAN = 200;
+
+    private record Entry(long fingerprint, String title, int[] metadata, int[] content) {
+
+        int[] signature(Basis basis) {
+            return basis == Basis.METADATA ? metadata : content;
+        }
+    }
+
+    private final TextAnalyzer analyzer;
+    private final double threshold;
+    private final MinHasher hasher = new MinHasher();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<Long, List<UUID>> buckets = new HashMap<>();
+
+    public DuplicateIndex(TextAnalyzer analyzer,
+                          @Value("${app.dedupe.similarity-threshold:0.6}") double threshold) {
+        this.analyzer = analyzer;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Inserts or replaces the paper's signatures; returns false when its text is unchanged since the last insert.
+     */
+    public boolean upsert(PaperDocument document) {
+        long fingerprint = document.textFingerprint();
+        lock.readLock().lock();
+        try {
+            Entry current = entries.get(document.id());
+            if (current != null && current.fingerprint() == fingerprint) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Entry entry = signatures(document, fingerprint);
+        lock.writeLock().lock();
+        try {
+            unlink(document.id(), entries.put(document.id(), entry));
+            link(document.id(), entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts the paper unless it is already present; a present entry came from a live update and is newer.
+     */
+    public boolean addIfAbsent(PaperDocument document) {
+        if (contains(document.id())) {
+            return false;
+        }
+        Entry entry = signatures(document, document.textFingerprint());
+        lock.writeLock().lock();
+        try {
+            if (entries.putIfAbsent(document.id(), entry) != null) {
+                return false;
+            }
+            link(document.id(), entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID paperId) {
+        lock.writeLock().lock();
+        try {
+            unlink(paperId, entries.remove(paperId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every paper that {@code keep} rejects; returns how many were dropped.
+     */
+    public int retainAll(Predicate<UUID> keep) {
+        lock.writeLock().lock();
+        try {
+            List<UUID> stale = entries.keySet().stream().filter(keep.negate()).toList();
+            stale.forEach(paperId -> unlink(paperId, entries.remove(paperId)));
+            return stale.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID paperId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(paperId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<UUID> paperIds() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entries.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed papers likely to duplicate {@code document}, which need not be indexed itself; most similar first.
+     */
+    public List<Match> find(PaperDocument document) {
+        Entry entry = signatures(document, document.textFingerprint());
+        lock.readLock().lock();
+        try {
+            return matches(document.id(), entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed papers likely to duplicate the indexed paper {@code paperId}, most similar first.
+     */
+    public List<Match> duplicatesOf(UUID paperId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(paperId);
+            return entry == null ? List.of() : matches(paperId, entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Internals ---
+
+    private Entry signatures(PaperDocument document, long fingerprint) {
+        List<String> metadataTokens = new ArrayList<>(analyzer.analyze(document.title()));
+        metadataTokens.addAll(analyzer.analyze(document.abstractText()));
+        return new Entry(fingerprint, document.title(),
+                hasher.signature(metadataTokens, Integer.MAX_VALUE, MIN_SHINGLES),
+                hasher.signature(analyzer.analyze(document.fullText()), MAX_CONTENT_TOKENS, MIN_SHINGLES));
+    }
+
+    // Best match per other paper over both bases; caller holds the lock
+    private List<Match> matches(UUID self, Entry entry) {
+        Map<UUID, Match> best = new HashMap<>();
+        for (Basis basis : Basis.values()) {
+            int[] signature = entry.signature(basis);
+            if (signature == null) {
+                continue;
+            }
+            Set<UUID> compared = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<UUID> bucket = buckets.get(bucketKey(basis, band, signature));
+                if (bucket == null || bucket.size() > MAX_BUCKET_SCAN) {
+                    continue;
+                }
+                for (UUID other : bucket) {
+                    if (other.equals(self) || !compared.add(other)) {
+                        continue;
+                    }
+                    Entry candidate = entries.get(other);
+                    double similarity = MinHasher.similarity(signature, candidate.signature(basis));
+                    Match previous = best.get(other);
+                    if (similarity >= threshold && (previous == null || similarity > previous.similarity())) {
+                        best.put(other, new Match(other, candidate.title(), similarity, basis));
+                    }
+                }
+            }
+        }
+        List<Match> result = new ArrayList<>(best.values());
+        result.sort(Comparator.comparingDouble(Match::similarity).reversed());
+        return result;
+    }
+
+    private void link(UUID paperId, Entry entry) {
+        for (Basis basis : Basis.values()) {
+            int[] signature = entry.signature(basis);
+            if (signature != null) {
+                for (int band = 0; band < BANDS; band++) {
+                    buckets.computeIfAbsent(bucketKey(basis, band, signature), key -> new ArrayList<>(2)).add(paperId);
+                }
+            }
+        }
+    }
+
+    private void unlink(UUID paperId, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (Basis basis : Basis.values()) {
+            int[] signature = entry.signature(basis);
+            if (signature == null) {
+                continue;
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long key = bucketKey(basis, band, signature);
+                List<UUID> bucket = buckets.get(key);
+                if (bucket != null) {
+                    bucket.remove(paperId);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    // Band number and basis are part of the key, so equal rows in different bands never share a bucket
+    private static long bucketKey(Basis basis, int band, int[] signature) {
+        long key = (basis.ordinal() * BANDS + band + 1) * 0x9E3779B97F4A7C15L;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = (key ^ signature[row]) * 0x100000001b3L;
+        }
+        return key ^ (key >>> 29);
+    }
+}
@@ -0,0 +1,171 @@
+package com.researchhub.backend.search;
+
+import java.util.*;
+
+/**
+ * Trigram index over a term vocabulary, used to find terms within a small edit distance of a misspelt token
+ * ("rodrigues" -> "rodriguez").
+ *
+ * Candidates are terms sharing enough trigrams with the token. The work per lookup is capped twice:
+ * trigram lists are scanned shortest first until {@link #MAX_SCANNED_POSTINGS} entries have been read, and at
+ * most {@link #MAX_VERIFIED_CANDIDATES} of the best-overlapping terms are checked with a banded Levenshtein.
+ * Not thread-safe; {@link SearchIndex} guards it with its own lock.
+ */
+final class FuzzyTermIndex {
+
+    private static final int MAX_SCANNED_POSTINGS = 50_000;
+    private static final int MAX_VERIFIED_CANDIDATES = 256;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>(); // by term id, null once removed
+    private final Map<String, int[]> grams = new HashMap<>(); // trigram -> [size, termId...]
+
+    void add(String term) {
+        if (termIds.containsKey(term)) {
+            return;
+        }
+        int id = terms.size();
+        terms.add(term);
+        termIds.put(term, id);
+        for (String gram : trigrams(term)) {
+            int[] list = grams.get(gram);
+            if (list == null) {
+                list = new int[5];
+            } else if (list[0] + 1 == list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+            }
+            list[++list[0]] = id;
+            grams.put(gram, list);
+        }
+    }
+
+    /**
+     * Forgets a term. Its id stays in the trigram lists and is skipped on lookup until the next {@link #clear()}.
+     */
+    void remove(String term) {
+        Integer id = termIds.remove(term);
+        if (id != null) {
+            terms.set(id, null);
+        }
+    }
+
+    void clear() {
+        termIds.clear();
+        terms.clear();
+        grams.clear();
+    }
+
+    int size() {
+        return termIds.size();
+    }
+
+    /**
+     * Up to {@code limit} vocabulary terms other than {@code token} within {@code maxEdits} edits, closest first.
+     */
+    List<String> lookup(String token, int maxEdits, int limit) {
+        if (maxEdits <= 0 || limit <= 0) {
+            return List.of();
+        }
+
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : new HashSet<>(trigrams(token))) {
+            int[] list = grams.get(gram);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        lists.sort(Comparator.comparingInt(list -> list[0]));
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        int scanned = 0;
+        for (int[] list : lists) {
+            if (scanned + list[0] > MAX_SCANNED_POSTINGS) {
+                break;
+            }
+            for (int i = 1; i <= list[0]; i++) {
+                shared.merge(list[i], 1, Integer::sum);
+            }
+            scanned += list[0];
+        }
+
+        // One edit changes at most four trigrams of the token (a transposition; other edits three)
+        int minShared = Math.max(1, trigrams(token).size() - 4 * maxEdits);
+        List<Map.Entry<Integer, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            String term = terms.get(entry.getKey());
+            if (term != null && entry.getValue() >= minShared && Math.abs(term.length() - token.length()) <= maxEdits) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed());
+
+        List<Match> matches = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> candidate : candidates.subList(0, Math.min(candidates.size(), MAX_VERIFIED_CANDIDATES))) {
+            String term = terms.get(candidate.getKey());
+            int distance = distance(token, term, maxEdits);
+            if (distance > 0 && distance <= maxEdits) {
+                matches.add(new Match(term, distance));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::distance))
+                .limit(limit)
+                .map(Match::term)
+                .toList();
+    }
+
+    private record Match(String term, int distance) {
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and adjacent transpositions ("protien"),
+     * restricted to a band of width {@code 2 * maxEdits + 1}; anything beyond {@code maxEdits} is reported
+     * as {@code maxEdits + 1}.
+     */
+    static int distance(String a, String b, int maxEdits) {
+        int n = a.length();
+        int m = b.length();
+        int over = maxEdits + 1;
+        if (Math.abs(n - m) > maxEdits) {
+            return over;
+        }
+        int[] twoBack = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = Math.min(j, over);
+        }
+        for (int i = 1; i <= n; i++) {
+            Arrays.fill(current, over);
+            current[0] = Math.min(i, over);
+            int rowMin = current[0];
+            for (int j = Math.max(1, i - maxEdits); j <= Math.min(m, i + maxEdits); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return over;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m];
+    }
+
+    // Padded twice on each side so short words keep a few trigrams that survive an edit in the middle
+    private static List<String> trigrams(String term) {
+        String padded = "$$" + term + "$$";
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,8 @@
+package com.researchhub.backend.search;
+
+/**
+ * A query word in a paper's title or abstract: the char offset where it starts in the field text as it was indexed.
+ * Terms are folded and stemmed, so the word ends wherever its run of letters and digits ends in the text.
+ */
+public record Highlight(IndexField field, int start) {
+}
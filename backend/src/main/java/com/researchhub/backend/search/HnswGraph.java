@@ -0,0 +1,330 @@
+package com.researchhub.backend.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical navigable small world graph over unit-length vectors, scored by dot product (cosine similarity).
+ *
+ * Each node sits on a random number of layers; a search descends greedily through the sparse upper layers and
+ * runs a best-first search of width {@code ef} on the bottom layer. A new node picks its neighbours with the
+ * diversity heuristic from the HNSW paper; a neighbour whose list is full keeps its closest links. Deleted nodes stay in the graph
+ * as stepping stones and are only filtered out of results; callers rebuild once too many accumulate.
+ * Not thread-safe; {@link SimilarityIndex} guards it with its own lock.
+ */
+final class HnswGraph {
+
+    record Neighbor(int node, float similarity) {
+    }
+
+    private static final Comparator<Neighbor> CLOSEST_FIRST = Comparator.comparingDouble(Neighbor::similarity).reversed();
+
+    private final int dimensions;
+    private final int maxLinks;
+    private final int maxLinksLayer0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    private float[][] vectors = new float[64][];
+    private int[][][] links = new int[64][][]; // [node][layer] = {count, neighbour...}
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int topLayer = -1;
+
+    HnswGraph(int dimensions, int maxLinks, int efConstruction) {
+        this.dimensions = dimensions;
+        this.maxLinks = maxLinks;
+        this.maxLinksLayer0 = maxLinks * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxLinks);
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int deletedCount() {
+        return deletedCount;
+    }
+
+    float[] vector(int node) {
+        return vectors[node];
+    }
+
+    boolean isDeleted(int node) {
+        return deleted.get(node);
+    }
+
+    /**
+     * Inserts a unit-length vector and returns its node id.
+     */
+    int add(float[] vector) {
+        int layer = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        int node = size++;
+        if (node == vectors.length) {
+            vectors = Arrays.copyOf(vectors, node * 2);
+            links = Arrays.copyOf(links, node * 2);
+        }
+        vectors[node] = vector;
+        links[node] = new int[layer + 1][];
+        for (int l = 0; l <= layer; l++) {
+            links[node][l] = new int[1 + linksAllowed(l)];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLayer = layer;
+            return node;
+        }
+
+        int closest = entryPoint;
+        for (int l = topLayer; l > layer; l--) {
+            closest = greedyClosest(vector, closest, l);
+        }
+        for (int l = Math.min(layer, topLayer); l >= 0; l--) {
+            List<Neighbor> candidates = searchLayer(vector, closest, efConstruction, l);
+            for (Neighbor neighbor : selectNeighbors(candidates, maxLinks)) {
+                append(node, l, neighbor.node());
+                connectBack(neighbor.node(), l, node);
+            }
+            closest = candidates.get(0).node();
+        }
+        if (layer > topLayer) {
+            entryPoint = node;
+            topLayer = layer;
+        }
+        return node;
+    }
+
+    void markDeleted(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Up to {@code k} accepted nodes closest to {@code query}, closest first, from a bottom-layer search of width {@code ef}.
+     */
+    List<Neighbor> search(float[] query, int k, int ef, IntPredicate accept) {
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        int closest = entryPoint;
+        for (int l = topLayer; l > 0; l--) {
+            closest = greedyClosest(query, closest, l);
+        }
+        List<Neighbor> results = new ArrayList<>(k);
+        for (Neighbor neighbor : searchLayer(query, closest, Math.max(ef, k), 0)) {
+            if (!deleted.get(neighbor.node()) && accept.test(neighbor.node())) {
+                results.add(neighbor);
+                if (results.size() == k) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    // Four running sums let the JIT overlap the multiply-adds; lengths are multiples of 64
+    static float dot(float[] a, float[] b) {
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        for (int i = 0; i < a.length; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // --- Snapshot ---
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(dimensions);
+        out.writeInt(maxLinks);
+        out.writeInt(efConstruction);
+        out.writeInt(size);
+        out.writeInt(entryPoint);
+        out.writeInt(topLayer);
+        for (int node = 0; node < size; node++) {
+            out.writeBoolean(deleted.get(node));
+            for (float value : vectors[node]) {
+                out.writeFloat(value);
+            }
+            out.writeByte(links[node].length);
+            for (int[] layer : links[node]) {
+                out.writeShort(layer[0]);
+                for (int i = 1; i <= layer[0]; i++) {
+                    out.writeInt(layer[i]);
+                }
+            }
+        }
+    }
+
+    static HnswGraph read(DataInput in) throws IOException {
+        HnswGraph graph = new HnswGraph(in.readInt(), in.readInt(), in.readInt());
+        int size = in.readInt();
+        graph.entryPoint = in.readInt();
+        graph.topLayer = in.readInt();
+        graph.vectors = new float[Math.max(64, size)][];
+        graph.links = new int[Math.max(64, size)][][];
+        for (int node = 0; node < size; node++) {
+            if (in.readBoolean()) {
+                graph.deleted.set(node);
+                graph.deletedCount++;
+            }
+            float[] vector = new float[graph.dimensions];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = in.readFloat();
+            }
+            graph.vectors[node] = vector;
+            int layers = in.readByte();
+            graph.links[node] = new int[layers][];
+            for (int l = 0; l < layers; l++) {
+                int[] layer = new int[1 + graph.linksAllowed(l)];
+                layer[0] = in.readShort();
+                for (int i = 1; i <= layer[0]; i++) {
+                    layer[i] = in.readInt();
+                }
+                graph.links[node][l] = layer;
+            }
+        }
+        graph.size = size;
+        return graph;
+    }
+
+    // --- Internals ---
+
+    private int linksAllowed(int layer) {
+        return layer == 0 ? maxLinksLayer0 : maxLinks;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = dot(query, vectors[current]);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbors = links[current][layer];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                float similarity = dot(query, vectors[neighbors[i]]);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbors[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer; returns up to {@code ef} nodes, closest first.
+     */
+    private List<Neighbor> searchLayer(float[] query, int start, int ef, int layer) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Neighbor> candidates = new PriorityQueue<>(CLOSEST_FIRST);
+        PriorityQueue<Neighbor> found = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::similarity)); // worst on top
+
+        Neighbor first = new Neighbor(start, dot(query, vectors[start]));
+        visited.set(start);
+        candidates.add(first);
+        found.add(first);
+
+        while (!candidates.isEmpty()) {
+            Neighbor current = candidates.poll();
+            if (found.size() >= ef && current.similarity() < found.peek().similarity()) {
+                break;
+            }
+            int[] neighbors = links[current.node()][layer];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int next = neighbors[i];
+                if (visited.get(next)) {
+                    continue;
+                }
+                visited.set(next);
+                float similarity = dot(query, vectors[next]);
+                if (found.size() < ef || similarity > found.peek().similarity()) {
+                    Neighbor neighbor = new Neighbor(next, similarity);
+                    candidates.add(neighbor);
+                    found.add(neighbor);
+                    if (found.size() > ef) {
+                        found.poll();
+                    }
+                }
+            }
+        }
+
+        List<Neighbor> result = new ArrayList<>(found);
+        result.sort(CLOSEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Diversity heuristic: a candidate is kept only if it is closer to the target than to every neighbour kept so
+     * far, so links spread out instead of clustering; skipped candidates fill any remaining slots.
+     */
+    private List<Neighbor> selectNeighbors(List<Neighbor> closestFirst, int limit) {
+        List<Neighbor> selected = new ArrayList<>(limit);
+        List<Neighbor> skipped = new ArrayList<>();
+        for (Neighbor candidate : closestFirst) {
+            if (selected.size() == limit) {
+                break;
+            }
+            boolean diverse = true;
+            for (Neighbor kept : selected) {
+                if (dot(vectors[candidate.node()], vectors[kept.node()]) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : skipped).add(candidate);
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < limit; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private void append(int node, int layer, int neighbor) {
+        int[] list = links[node][layer];
+        list[++list[0]] = neighbor;
+    }
+
+    private void connectBack(int node, int layer, int newNeighbor) {
+        int[] list = links[node][layer];
+        if (list[0] < list.length - 1) {
+            list[++list[0]] = newNeighbor;
+            return;
+        }
+        // Full: the new link replaces the farthest one if it is closer. Re-running the diversity heuristic
+        // here would cost a quadratic number of dot products per neighbour on every insert.
+        float[] vector = vectors[node];
+        int farthest = -1;
+        float farthestSimilarity = dot(vector, vectors[newNeighbor]);
+        for (int i = 1; i <= list[0]; i++) {
+            float similarity = dot(vector, vectors[list[i]]);
+            if (similarity < farthestSimilarity) {
+                farthest = i;
+                farthestSimilarity = similarity;
+            }
+        }
+        if (farthest > 0) {
+            list[farthest] = newNeighbor;
+        }
+    }
+}
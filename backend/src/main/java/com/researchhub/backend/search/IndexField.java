@@ -0,0 +1,12 @@
+package com.researchhub.backend.search;
+
+/**
+ * Paper fields covered by the full-text index. The ordinal is used as the slot in each term's posting array.
+ */
+public enum IndexField {
+    TITLE,
+    ABSTRACT,
+    AUTHOR,
+    CATEGORY,
+    FULL_TEXT
+}
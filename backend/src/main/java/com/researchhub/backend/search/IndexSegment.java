@@ -0,0 +1,723 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.model.PaperStatus;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * An immutable index file holding the postings and stored fields of a set of docs, read through a memory mapping.
+ *
+ * Opening a segment copies only its ranking columns (upload time and field lengths, read for every match) into the
+ * heap, so they take heap in proportion to the docs the segment holds and are dropped with it after a merge.
+ * Postings and the other stored fields are read straight from the mapping, so the operating system pages in what
+ * queries touch and can drop it again under memory pressure.
+ * Segments hold ascending, disjoint ranges of doc ids, which keeps a term's postings over several segments in doc
+ * order when they are chained (see {@link Postings#chain}).
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   stored docs     per doc: id, uploadedAt, year, status, field lengths, author, title, categories
+ *   terms           per term, ascending: term record, then one postings block per field the term occurs in
+ *                   record: term (UTF-8), field mask, positional mask, per field: entry count and block offset
+ *                   block: doc ids, frequencies and, for positional fields, occurrence starts and varint bytes
+ *   doc table       global doc ids (ascending), stored doc offsets
+ *   term table      term record offsets
+ *   footer          doc table offset, term table offset, doc count, term count, format, magic
+ * </pre>
+ * Offsets are ints, so a segment stays below 2 GB; the merge policy keeps them well under that.
+ */
+final class IndexSegment {
+
+    static final int FORMAT = 1;
+    private static final int MAGIC = 0x52485347; // "RHSG"
+    private static final int FOOTER_BYTES = 6 * 4;
+    private static final int FIELD_COUNT = IndexField.values().length;
+    private static final IndexField[] FIELDS = IndexField.values();
+    private static final PaperStatus[] STATUSES = PaperStatus.values();
+
+    /**
+     * Code point order, the order of the terms' UTF-8 bytes in a segment. Every source of terms written into a
+     * segment, and every set of terms gathered from several, must be sorted by it.
+     */
+    static final Comparator<String> TERM_ORDER = (a, b) -> {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    };
+
+    /**
+     * Walks a source's terms in ascending order with their per-field postings (null where absent).
+     */
+    interface TermCursor {
+        boolean next();
+
+        String term();
+
+        Postings[] postings();
+    }
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final int docTable;
+    private final int termTable;
+    private final int docCount;
+    private final int termCount;
+    // Ranking columns by local index: upload time, and field lengths at [local * FIELD_COUNT + field]
+    private final long[] uploadedAtColumn;
+    private final int[] fieldLengthColumn;
+
+    private IndexSegment(Path path, ByteBuffer data) throws IOException {
+        this.path = path;
+        this.data = data;
+        int footer = data.capacity() - FOOTER_BYTES;
+        if (footer < 0 || data.getInt(footer + 20) != MAGIC) {
+            throw new IOException("Not an index segment: " + path);
+        }
+        if (data.getInt(footer + 16) != FORMAT) {
+            throw new IOException("Unsupported index segment format " + data.getInt(footer + 16) + ": " + path);
+        }
+        this.docTable = data.getInt(footer);
+        this.termTable = data.getInt(footer + 4);
+        this.docCount = data.getInt(footer + 8);
+        this.termCount = data.getInt(footer + 12);
+        this.uploadedAtColumn = new long[docCount];
+        this.fieldLengthColumn = new int[docCount * FIELD_COUNT];
+        for (int local = 0; local < docCount; local++) {
+            int at = record(local);
+            uploadedAtColumn[local] = data.getLong(at + 16);
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                fieldLengthColumn[local * FIELD_COUNT + f] = data.getInt(at + 29 + 4 * f);
+            }
+        }
+    }
+
+    static IndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new IndexSegment(path, mapped);
+        }
+    }
+
+    String name() {
+        return path.getFileName().toString();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long sizeBytes() {
+        return data.capacity();
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    int termCount() {
+        return termCount;
+    }
+
+    int minDoc() {
+        return docCount == 0 ? Integer.MAX_VALUE : doc(0);
+    }
+
+    int maxDoc() {
+        return docCount == 0 ? -1 : doc(docCount - 1);
+    }
+
+    /**
+     * Global doc id of the segment's {@code local}-th doc.
+     */
+    int doc(int local) {
+        return data.getInt(docTable + 4 * local);
+    }
+
+    /**
+     * Position of global doc id {@code doc} in this segment, or a negative number when it is not here.
+     */
+    int localIndex(int doc) {
+        return localIndex(doc, 0);
+    }
+
+    /**
+     * {@link #localIndex(int)} searching from position {@code from} on, for callers walking docs in ascending order.
+     */
+    int localIndex(int doc, int from) {
+        if (from < docCount && doc(from) == doc) {
+            return from;
+        }
+        int low = from;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = doc(mid);
+            if (value < doc) {
+                low = mid + 1;
+            } else if (value > doc) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // --- Stored fields ---
+
+    UUID paperId(int local) {
+        int at = record(local);
+        return new UUID(data.getLong(at), data.getLong(at + 8));
+    }
+
+    long uploadedAt(int local) {
+        return uploadedAtColumn[local];
+    }
+
+    int fieldLength(int local, int field) {
+        return fieldLengthColumn[local * FIELD_COUNT + field];
+    }
+
+    String author(int local) {
+        return readString(record(local) + 29 + 4 * FIELD_COUNT);
+    }
+
+    /**
+     * The doc as it was indexed, without abstract and full text.
+     */
+    PaperDocument document(int local) {
+        int at = record(local);
+        UUID id = new UUID(data.getLong(at), data.getLong(at + 8));
+        long uploadedAt = data.getLong(at + 16);
+        int year = data.getInt(at + 24);
+        byte status = data.get(at + 28);
+        at += 29 + 4 * FIELD_COUNT;
+
+        String author = readString(at);
+        at += stringBytes(at);
+        String title = readString(at);
+        at += stringBytes(at);
+
+        int categoryCount = data.getInt(at);
+        at += 4;
+        Set<UUID> categoryIds = new LinkedHashSet<>();
+        List<String> categoryNames = new ArrayList<>(categoryCount);
+        for (int c = 0; c < categoryCount; c++) {
+            categoryIds.add(new UUID(data.getLong(at), data.getLong(at + 8)));
+            at += 16;
+            categoryNames.add(readString(at));
+            at += stringBytes(at);
+        }
+        return new PaperDocument(id, title, null, null, author, categoryIds, categoryNames,
+                year == Integer.MIN_VALUE ? null : year, uploadedAt, status < 0 ? null : STATUSES[status]);
+    }
+
+    private int record(int local) {
+        return data.getInt(docTable + 4 * (docCount + local));
+    }
+
+    // --- Terms ---
+
+    /**
+     * The term's postings per field (null where it does not occur), or null when the segment lacks the term.
+     */
+    Postings[] postings(String term) {
+        int index = lowerBound(term.getBytes(StandardCharsets.UTF_8));
+        if (index >= termCount || !termAt(index).equals(term)) {
+            return null;
+        }
+        return postingsAt(index);
+    }
+
+    /**
+     * Terms from {@code from} (inclusive) on, in ascending order.
+     */
+    TermCursor termsFrom(String from) {
+        int start = from == null ? 0 : lowerBound(from.getBytes(StandardCharsets.UTF_8));
+        return new TermCursor() {
+            private int index = start - 1;
+
+            @Override
+            public boolean next() {
+                return ++index < termCount;
+            }
+
+            @Override
+            public String term() {
+                return termAt(index);
+            }
+
+            @Override
+            public Postings[] postings() {
+                return postingsAt(index);
+            }
+        };
+    }
+
+    /**
+     * Passes every term occurring in at least one of {@code fields} to the action, without decoding postings.
+     */
+    void forEachTerm(Set<IndexField> fields, Consumer<String> action) {
+        int wanted = 0;
+        for (IndexField field : fields) {
+            wanted |= 1 << field.ordinal();
+        }
+        for (int index = 0; index < termCount; index++) {
+            int record = data.getInt(termTable + 4 * index);
+            if ((data.get(record + 4 + data.getInt(record)) & wanted) != 0) {
+                action.accept(readString(record));
+            }
+        }
+    }
+
+    private String termAt(int index) {
+        return readString(data.getInt(termTable + 4 * index));
+    }
+
+    private Postings[] postingsAt(int index) {
+        int record = data.getInt(termTable + 4 * index);
+        int at = record + 4 + data.getInt(record);
+        int fieldMask = data.get(at);
+        int positionalMask = data.get(at + 1);
+        at += 2;
+        Postings[] slots = new Postings[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            if ((fieldMask & (1 << f)) != 0) {
+                slots[f] = new MappedPostings(data, data.getInt(at + 4), data.getInt(at), (positionalMask & (1 << f)) != 0);
+                at += 8;
+            }
+        }
+        return slots;
+    }
+
+    // First term index whose UTF-8 bytes are >= key (unsigned byte order, which is also code point order)
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = termCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareTerm(data.getInt(termTable + 4 * mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareTerm(int record, byte[] key) {
+        int length = data.getInt(record);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int diff = (data.get(record + 4 + i) & 0xff) - (key[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String readString(int at) {
+        int length = data.getInt(at);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int stringBytes(int at) {
+        return 4 + Math.max(0, data.getInt(at));
+    }
+
+    /**
+     * Postings block inside the mapping: doc ids, frequencies and, when positional, occurrence starts followed by
+     * the occurrence bytes' length and the bytes themselves.
+     */
+    private static final class MappedPostings implements Postings {
+
+        private final ByteBuffer data;
+        private final int block;
+        private final int size;
+        private final boolean positional;
+
+        MappedPostings(ByteBuffer data, int block, int size, boolean positional) {
+            this.data = data;
+            this.block = block;
+            this.size = size;
+            this.positional = positional;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int doc(int i) {
+            return data.getInt(block + 4 * i);
+        }
+
+        @Override
+        public int freq(int i) {
+            return data.getInt(block + 4 * (size + i));
+        }
+
+        @Override
+        public boolean positional() {
+            return positional;
+        }
+
+        @Override
+        public int indexOf(int doc) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int value = doc(mid);
+                if (value < doc) {
+                    low = mid + 1;
+                } else if (value > doc) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        @Override
+        public int occurrences(int i, int[] positions, int[] offsets) {
+            int count = Math.min(freq(i), positions.length);
+            int at = block + 12 * size + 4 + data.getInt(block + 4 * (2 * size + i));
+            int position = 0;
+            int offset = 0;
+            for (int n = 0; n < count; n++) {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data.get(at++);
+                    value |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                position += value;
+
+                value = 0;
+                shift = 0;
+                do {
+                    b = data.get(at++);
+                    value |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                offset += value;
+
+                positions[n] = position;
+                offsets[n] = offset;
+            }
+            return count;
+        }
+
+        @Override
+        public void orInto(RoaringBitmap target) {
+            int[] chunk = new int[Math.min(size, 4096)];
+            for (int from = 0; from < size; from += chunk.length) {
+                int count = Math.min(chunk.length, size - from);
+                for (int i = 0; i < count; i++) {
+                    chunk[i] = data.getInt(block + 4 * (from + i));
+                }
+                target.addN(chunk, 0, count);
+            }
+        }
+
+        @Override
+        public long bytes() {
+            return 8L * size + (positional ? 4L * size + 4 + data.getInt(block + 12 * size) : 0);
+        }
+    }
+
+    // --- Writing ---
+
+    /**
+     * Writes a segment holding {@code docs} (ascending global ids) and their postings from {@code sources}, which
+     * must be ordered by the doc ranges they cover. Postings of docs not in {@code live} are dropped. Written to a
+     * temporary file first, so a crash never leaves a torn segment under the final name.
+     */
+    static void write(Path path, int[] docs, IntFunction<PaperDocument> documents, int[] fieldLengths,
+                      List<TermCursor> sources, RoaringBitmap live) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            int[] recordOffsets = new int[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                recordOffsets[i] = out.size();
+                writeDocument(out, documents.apply(docs[i]), fieldLengths, i);
+            }
+
+            int[] termOffsets = new int[1024];
+            int termCount = 0;
+            BlockWriter blocks = new BlockWriter();
+            PriorityQueue<Head> heads = new PriorityQueue<>();
+            for (int s = 0; s < sources.size(); s++) {
+                TermCursor cursor = sources.get(s);
+                if (cursor.next()) {
+                    heads.add(new Head(cursor, s));
+                }
+            }
+            while (!heads.isEmpty()) {
+                String term = heads.peek().term;
+                List<Postings[]> parts = new ArrayList<>();
+                while (!heads.isEmpty() && heads.peek().term.equals(term)) {
+                    Head head = heads.poll();
+                    parts.add(head.postings());
+                    if (head.cursor.next()) {
+                        heads.add(new Head(head.cursor, head.source));
+                    }
+                }
+                if (blocks.collect(parts, live)) {
+                    if (termCount == termOffsets.length) {
+                        termOffsets = Arrays.copyOf(termOffsets, termCount * 2);
+                    }
+                    termOffsets[termCount++] = out.size();
+                    blocks.write(out, term);
+                }
+            }
+
+            int docTable = out.size();
+            for (int doc : docs) {
+                out.writeInt(doc);
+            }
+            for (int offset : recordOffsets) {
+                out.writeInt(offset);
+            }
+            int termTable = out.size();
+            for (int t = 0; t < termCount; t++) {
+                out.writeInt(termOffsets[t]);
+            }
+            if (out.size() < 0 || out.size() > Integer.MAX_VALUE - FOOTER_BYTES) {
+                throw new IOException("Index segment too large: " + path);
+            }
+            out.writeInt(docTable);
+            out.writeInt(termTable);
+            out.writeInt(docs.length);
+            out.writeInt(termCount);
+            out.writeInt(FORMAT);
+            out.writeInt(MAGIC);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // fieldLengths holds FIELD_COUNT lengths for each written doc, in write order
+    private static void writeDocument(DataOutputStream out, PaperDocument document, int[] fieldLengths, int index)
+            throws IOException {
+        out.writeLong(document.id().getMostSignificantBits());
+        out.writeLong(document.id().getLeastSignificantBits());
+        out.writeLong(document.uploadedAt());
+        out.writeInt(document.publicationYear() == null ? Integer.MIN_VALUE : document.publicationYear());
+        out.writeByte(document.status() == null ? -1 : document.status().ordinal());
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            out.writeInt(fieldLengths[index * FIELD_COUNT + f]);
+        }
+        writeString(out, document.author());
+        writeString(out, document.title());
+        out.writeInt(document.categoryIds().size());
+        Iterator<String> names = document.categoryNames().iterator();
+        for (UUID categoryId : document.categoryIds()) {
+            out.writeLong(categoryId.getMostSignificantBits());
+            out.writeLong(categoryId.getLeastSignificantBits());
+            writeString(out, names.hasNext() ? names.next() : "");
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private record Head(TermCursor cursor, int source, String term) implements Comparable<Head> {
+
+        Head(TermCursor cursor, int source) {
+            this(cursor, source, cursor.term());
+        }
+
+        Postings[] postings() {
+            return cursor.postings();
+        }
+
+        // Equal terms come out in source order, which is doc order
+        @Override
+        public int compareTo(Head other) {
+            int byTerm = TERM_ORDER.compare(term, other.term);
+            return byTerm != 0 ? byTerm : Integer.compare(source, other.source);
+        }
+    }
+
+    /**
+     * Gathers one term's live postings per field from its parts, then writes the term record and the blocks.
+     */
+    private static final class BlockWriter {
+
+        private final int[][] docs = new int[FIELD_COUNT][];
+        private final int[][] freqs = new int[FIELD_COUNT][];
+        private final int[][] starts = new int[FIELD_COUNT][];
+        private final byte[][] bytes = new byte[FIELD_COUNT][];
+        private final int[] sizes = new int[FIELD_COUNT];
+        private final int[] byteCounts = new int[FIELD_COUNT];
+        private final boolean[] positional = new boolean[FIELD_COUNT];
+        private int[] positions = new int[64];
+        private int[] offsets = new int[64];
+
+        BlockWriter() {
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                docs[f] = new int[64];
+                freqs[f] = new int[64];
+                starts[f] = new int[64];
+                bytes[f] = new byte[256];
+            }
+        }
+
+        /**
+         * Returns false when none of the term's docs is live.
+         */
+        boolean collect(List<Postings[]> parts, RoaringBitmap live) {
+            boolean any = false;
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                sizes[f] = 0;
+                byteCounts[f] = 0;
+                positional[f] = false;
+                for (Postings[] slots : parts) {
+                    Postings postings = slots[f];
+                    if (postings == null) {
+                        continue;
+                    }
+                    positional[f] = postings.positional();
+                    for (int i = 0; i < postings.size(); i++) {
+                        int doc = postings.doc(i);
+                        if (live.contains(doc)) {
+                            append(f, postings, i, doc);
+                        }
+                    }
+                }
+                any |= sizes[f] > 0;
+            }
+            return any;
+        }
+
+        void write(DataOutputStream out, String term) throws IOException {
+            int fieldMask = 0;
+            int positionalMask = 0;
+            int present = 0;
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                if (sizes[f] > 0) {
+                    fieldMask |= 1 << f;
+                    present++;
+                    if (positional[f]) {
+                        positionalMask |= 1 << f;
+                    }
+                }
+            }
+            byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+            int block = out.size() + 4 + termBytes.length + 2 + 8 * present;
+
+            out.writeInt(termBytes.length);
+            out.write(termBytes);
+            out.writeByte(fieldMask);
+            out.writeByte(positionalMask);
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                if (sizes[f] > 0) {
+                    out.writeInt(sizes[f]);
+                    out.writeInt(block);
+                    block += 8 * sizes[f] + (positional[f] ? 4 * sizes[f] + 4 + byteCounts[f] : 0);
+                }
+            }
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                if (sizes[f] == 0) {
+                    continue;
+                }
+                for (int i = 0; i < sizes[f]; i++) {
+                    out.writeInt(docs[f][i]);
+                }
+                for (int i = 0; i < sizes[f]; i++) {
+                    out.writeInt(freqs[f][i]);
+                }
+                if (positional[f]) {
+                    for (int i = 0; i < sizes[f]; i++) {
+                        out.writeInt(starts[f][i]);
+                    }
+                    out.writeInt(byteCounts[f]);
+                    out.write(bytes[f], 0, byteCounts[f]);
+                }
+            }
+        }
+
+        private void append(int f, Postings postings, int i, int doc) {
+            int n = sizes[f];
+            if (n == docs[f].length) {
+                docs[f] = Arrays.copyOf(docs[f], n * 2);
+                freqs[f] = Arrays.copyOf(freqs[f], n * 2);
+                starts[f] = Arrays.copyOf(starts[f], n * 2);
+            }
+            int freq = postings.freq(i);
+            docs[f][n] = doc;
+            freqs[f][n] = freq;
+            sizes[f] = n + 1;
+            if (!postings.positional()) {
+                return;
+            }
+
+            starts[f][n] = byteCounts[f];
+            if (freq > positions.length) {
+                positions = new int[Math.max(freq, positions.length * 2)];
+                offsets = new int[positions.length];
+            }
+            int count = postings.occurrences(i, positions, offsets);
+            int previousPosition = 0;
+            int previousOffset = 0;
+            for (int k = 0; k < count; k++) {
+                writeVarint(f, positions[k] - previousPosition);
+                writeVarint(f, offsets[k] - previousOffset);
+                previousPosition = positions[k];
+                previousOffset = offsets[k];
+            }
+        }
+
+        private void writeVarint(int f, int value) {
+            if (byteCounts[f] + 5 > bytes[f].length) {
+                bytes[f] = Arrays.copyOf(bytes[f], bytes[f].length * 2);
+            }
+            while ((value & ~0x7f) != 0) {
+                bytes[f][byteCounts[f]++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[f][byteCounts[f]++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.researchhub.backend.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles: two texts agree on each signature position with probability equal to the
+ * Jaccard similarity of their shingle sets, so comparing signatures estimates it in {@link #HASHES} steps whatever
+ * the text length.
+ *
+ * Each shingle is hashed once and then permuted {@link #HASHES} times with a multiply-add, which is much cheaper
+ * than rehashing the shingle per permutation. Stateless after construction and safe to share between threads.
+ */
+final class MinHasher {
+
+    static final int HASHES = 128;
+    private static final int SHINGLE_WORDS = 3;
+
+    private final long[] multipliers = new long[HASHES];
+    private final long[] increments = new long[HASHES];
+
+    MinHasher() {
+        SplittableRandom random = new SplittableRandom(0x5EEDL); // fixed, so signatures stay comparable across restarts
+        for (int i = 0; i < HASHES; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Signature of the first {@code maxTokens} tokens, or null when they make fewer than {@code minShingles}
+     * shingles (too little text to say anything about duplication).
+     */
+    int[] signature(List<String> tokens, int maxTokens, int minShingles) {
+        int count = Math.min(tokens.size(), maxTokens);
+        if (count - SHINGLE_WORDS + 1 < minShingles) {
+            return null;
+        }
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        long h0 = hash(tokens.get(0));
+        long h1 = hash(tokens.get(1));
+        for (int i = SHINGLE_WORDS - 1; i < count; i++) {
+            long h2 = hash(tokens.get(i));
+            long shingle = mix(h0 ^ Long.rotateLeft(h1, 21) ^ Long.rotateLeft(h2, 42));
+            for (int j = 0; j < HASHES; j++) {
+                int value = (int) ((multipliers[j] * shingle + increments[j]) >>> 33);
+                if (value < signature[j]) {
+                    signature[j] = value;
+                }
+            }
+            h0 = h1;
+            h1 = h2;
+        }
+        return signature;
+    }
+
+    /**
+     * Fraction of positions on which the signatures agree: the estimated Jaccard similarity.
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
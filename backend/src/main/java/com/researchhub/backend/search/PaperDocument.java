@@ -0,0 +1,53 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.model.PaperStatus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the paper fields the search index needs.
+ * Taken inside the writing transaction so the index never touches lazy JPA state afterwards.
+ */
+public record PaperDocument(UUID id,
+                            String title,
+                            String abstractText,
+                            String fullText,
+                            String author,
+                            Set<UUID> categoryIds,
+                            List<String> categoryNames,
+                            Integer publicationYear,
+                            long uploadedAt,
+                            PaperStatus status) {
+
+    public String text(IndexField field) {
+        return switch (field) {
+            case TITLE -> title;
+            case ABSTRACT -> abstractText;
+            case AUTHOR -> author;
+            case CATEGORY -> String.join(" ", categoryNames);
+            case FULL_TEXT -> fullText;
+        };
+    }
+
+    /**
+     * Copy kept per document once its terms are indexed; long texts are only needed while analysing.
+     */
+    PaperDocument withoutLongText() {
+        return new PaperDocument(id, title, null, null, author, categoryIds, categoryNames,
+                publicationYear, uploadedAt, status);
+    }
+
+    /**
+     * Hash of the title, abstract and extracted text, so derived indexes can skip papers whose text is unchanged.
+     */
+    long textFingerprint() {
+        long hash = 17;
+        for (String text : new String[]{title, abstractText, fullText}) {
+            hash = hash * 1_000_003 + (text == null ? 0 : text.hashCode());
+            hash = hash * 1_000_003 + (text == null ? -1 : text.length());
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,347 @@
+package com.researchhub.backend.search;
+
+/**
+ * Reduces English words to their stem with Martin Porter's algorithm ("learning", "learned", "learns" -> "learn";
+ * "networks" -> "network"), so a search matches other forms of its words.
+ *
+ * Works in place on the token's chars. Only tokens of plain a-z letters longer than two chars are stemmed; numbers,
+ * mixed tokens and other scripts are left alone.
+ */
+final class PorterStemFilter implements TokenFilter {
+
+    @Override
+    public String name() {
+        return "porter-stemmer";
+    }
+
+    @Override
+    public boolean apply(TermBuffer token) {
+        int length = token.length();
+        if (length <= 2) {
+            return true;
+        }
+        char[] chars = token.chars();
+        for (int i = 0; i < length; i++) {
+            if (chars[i] < 'a' || chars[i] > 'z') {
+                return true;
+            }
+        }
+        token.setLength(new Stemmer(chars, length).stem());
+        return true;
+    }
+
+    /**
+     * One word's run through the algorithm: {@code b[0..k]} is the current word, {@code j} the end of the stem
+     * left by the last successful {@link #ends} test. The word never grows beyond its original length.
+     */
+    private static final class Stemmer {
+
+        private final char[] b;
+        private int k;
+        private int j;
+
+        Stemmer(char[] b, int length) {
+            this.b = b;
+            this.k = length - 1;
+        }
+
+        int stem() {
+            step1ab();
+            step1c();
+            step2();
+            step3();
+            step4();
+            step5();
+            return k + 1;
+        }
+
+        private boolean cons(int i) {
+            return switch (b[i]) {
+                case 'a', 'e', 'i', 'o', 'u' -> false;
+                case 'y' -> i == 0 || !cons(i - 1);
+                default -> true;
+            };
+        }
+
+        // Number of vowel-consonant sequences in b[0..j]
+        private int m() {
+            int n = 0;
+            int i = 0;
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (!cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+            while (true) {
+                while (true) {
+                    if (i > j) {
+                        return n;
+                    }
+                    if (cons(i)) {
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                n++;
+                while (true) {
+                    if (i > j) {
+                        return n;
+                    }
+                    if (!cons(i)) {
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+            }
+        }
+
+        private boolean vowelInStem() {
+            for (int i = 0; i <= j; i++) {
+                if (!cons(i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean doubleConsonant(int i) {
+            return i >= 1 && b[i] == b[i - 1] && cons(i);
+        }
+
+        // consonant-vowel-consonant ending at i, the last consonant not w, x or y ("hop", not "snow")
+        private boolean cvc(int i) {
+            if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) {
+                return false;
+            }
+            return b[i] != 'w' && b[i] != 'x' && b[i] != 'y';
+        }
+
+        private boolean ends(String suffix) {
+            int length = suffix.length();
+            int offset = k - length + 1;
+            if (offset < 0) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (b[offset + i] != suffix.charAt(i)) {
+                    return false;
+                }
+            }
+            j = k - length;
+            return true;
+        }
+
+        private void setTo(String suffix) {
+            for (int i = 0; i < suffix.length(); i++) {
+                b[j + 1 + i] = suffix.charAt(i);
+            }
+            k = j + suffix.length();
+        }
+
+        private void replace(String suffix) {
+            if (m() > 0) {
+                setTo(suffix);
+            }
+        }
+
+        // Plurals and -ed, -ing: caresses -> caress, ponies -> poni, agreed -> agree, hopping -> hop, filing -> file
+        private void step1ab() {
+            if (b[k] == 's') {
+                if (ends("sses")) {
+                    k -= 2;
+                } else if (ends("ies")) {
+                    setTo("i");
+                } else if (b[k - 1] != 's') {
+                    k--;
+                }
+            }
+            if (ends("eed")) {
+                if (m() > 0) {
+                    k--;
+                }
+            } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+                k = j;
+                if (ends("at")) {
+                    setTo("ate");
+                } else if (ends("bl")) {
+                    setTo("ble");
+                } else if (ends("iz")) {
+                    setTo("ize");
+                } else if (doubleConsonant(k)) {
+                    if (b[k] != 'l' && b[k] != 's' && b[k] != 'z') {
+                        k--;
+                    }
+                } else {
+                    j = k;
+                    if (m() == 1 && cvc(k)) {
+                        setTo("e");
+                    }
+                }
+            }
+        }
+
+        // Terminal y to i when there is another vowel: happy -> happi
+        private void step1c() {
+            if (ends("y") && vowelInStem()) {
+                b[k] = 'i';
+            }
+        }
+
+        // Double suffixes to single ones: relational -> relate, digitizer -> digitize
+        private void step2() {
+            if (k == 0) {
+                return;
+            }
+            switch (b[k - 1]) {
+                case 'a' -> {
+                    if (ends("ational")) {
+                        replace("ate");
+                    } else if (ends("tional")) {
+                        replace("tion");
+                    }
+                }
+                case 'c' -> {
+                    if (ends("enci")) {
+                        replace("ence");
+                    } else if (ends("anci")) {
+                        replace("ance");
+                    }
+                }
+                case 'e' -> {
+                    if (ends("izer")) {
+                        replace("ize");
+                    }
+                }
+                case 'l' -> {
+                    if (ends("bli")) {
+                        replace("ble");
+                    } else if (ends("alli")) {
+                        replace("al");
+                    } else if (ends("entli")) {
+                        replace("ent");
+                    } else if (ends("eli")) {
+                        replace("e");
+                    } else if (ends("ousli")) {
+                        replace("ous");
+                    }
+                }
+                case 'o' -> {
+                    if (ends("ization")) {
+                        replace("ize");
+                    } else if (ends("ation")) {
+                        replace("ate");
+                    } else if (ends("ator")) {
+                        replace("ate");
+                    }
+                }
+                case 's' -> {
+                    if (ends("alism")) {
+                        replace("al");
+                    } else if (ends("iveness")) {
+                        replace("ive");
+                    } else if (ends("fulness")) {
+                        replace("ful");
+                    } else if (ends("ousness")) {
+                        replace("ous");
+                    }
+                }
+                case 't' -> {
+                    if (ends("aliti")) {
+                        replace("al");
+                    } else if (ends("iviti")) {
+                        replace("ive");
+                    } else if (ends("biliti")) {
+                        replace("ble");
+                    }
+                }
+                case 'g' -> {
+                    if (ends("logi")) {
+                        replace("log");
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        // -ic-, -full, -ness etc.: electrical -> electric, hopeful -> hope
+        private void step3() {
+            switch (b[k]) {
+                case 'e' -> {
+                    if (ends("icate")) {
+                        replace("ic");
+                    } else if (ends("ative")) {
+                        replace("");
+                    } else if (ends("alize")) {
+                        replace("al");
+                    }
+                }
+                case 'i' -> {
+                    if (ends("iciti")) {
+                        replace("ic");
+                    }
+                }
+                case 'l' -> {
+                    if (ends("ical")) {
+                        replace("ic");
+                    } else if (ends("ful")) {
+                        replace("");
+                    }
+                }
+                case 's' -> {
+                    if (ends("ness")) {
+                        replace("");
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        // -ant, -ence etc. when the stem is long enough: adjustment -> adjust, adoption -> adopt
+        private void step4() {
+            if (k == 0) {
+                return;
+            }
+            boolean found = switch (b[k - 1]) {
+                case 'a' -> ends("al");
+                case 'c' -> ends("ance") || ends("ence");
+                case 'e' -> ends("er");
+                case 'i' -> ends("ic");
+                case 'l' -> ends("able") || ends("ible");
+                case 'n' -> ends("ant") || ends("ement") || ends("ment") || ends("ent");
+                case 'o' -> (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) || ends("ou");
+                case 's' -> ends("ism");
+                case 't' -> ends("ate") || ends("iti");
+                case 'u' -> ends("ous");
+                case 'v' -> ends("ive");
+                case 'z' -> ends("ize");
+                default -> false;
+            };
+            if (found && m() > 1) {
+                k = j;
+            }
+        }
+
+        // Final -e and -ll: probate -> probat, controll -> control
+        private void step5() {
+            j = k;
+            if (b[k] == 'e') {
+                int measure = m();
+                if (measure > 1 || (measure == 1 && !cvc(k - 1))) {
+                    k--;
+                }
+            }
+            if (b[k] == 'l' && doubleConsonant(k) && m() > 1) {
+                k--;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.researchhub.backend.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+
+/**
+ * In-heap postings of one term in one field, as built in the write buffer.
+ * Doc ids are handed out monotonically, so appending keeps the list sorted.
+ *
+ * Positional lists (title and abstract) also keep every occurrence of the term in each doc: its token position,
+ * for phrase and proximity matching, and the char offset where it starts in the field text, for highlighting.
+ * Both are stored as delta-encoded varints, usually two or three bytes per occurrence.
+ */
+final class PostingList implements Postings {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    // Entry i's occurrences start at occurrenceStarts[i] in occurrences; null for non-positional lists
+    private int[] occurrenceStarts;
+    private byte[] occurrences;
+    private int occurrenceBytes;
+
+    PostingList() {
+    }
+
+    PostingList(boolean positional) {
+        if (positional) {
+            occurrenceStarts = new int[4];
+            occurrences = new byte[16];
+        }
+    }
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+            if (occurrenceStarts != null) {
+                occurrenceStarts = Arrays.copyOf(occurrenceStarts, size * 2);
+            }
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        if (occurrenceStarts != null) {
+            occurrenceStarts[size] = occurrenceBytes;
+        }
+        size++;
+    }
+
+    /**
+     * Appends a doc with the token positions and char offsets of its {@code count} occurrences, both ascending.
+     */
+    void add(int doc, int[] positions, int[] offsets, int count) {
+        add(doc, count);
+        int previousPosition = 0;
+        int previousOffset = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarint(positions[i] - previousPosition);
+            writeVarint(offsets[i] - previousOffset);
+            previousPosition = positions[i];
+            previousOffset = offsets[i];
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int doc(int i) {
+        return docs[i];
+    }
+
+    @Override
+    public int freq(int i) {
+        return freqs[i];
+    }
+
+    @Override
+    public boolean positional() {
+        return occurrenceStarts != null;
+    }
+
+    @Override
+    public int indexOf(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc);
+    }
+
+    @Override
+    public int occurrences(int i, int[] positions, int[] offsets) {
+        int count = Math.min(freqs[i], positions.length);
+        int at = occurrenceStarts[i];
+        int position = 0;
+        int offset = 0;
+        for (int n = 0; n < count; n++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = occurrences[at++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            position += value;
+
+            value = 0;
+            shift = 0;
+            do {
+                b = occurrences[at++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            offset += value;
+
+            positions[n] = position;
+            offsets[n] = offset;
+        }
+        return count;
+    }
+
+    @Override
+    public long bytes() {
+        long bytes = 8L * docs.length;
+        if (occurrenceStarts != null) {
+            bytes += 4L * occurrenceStarts.length + occurrences.length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public void orInto(RoaringBitmap target) {
+        target.addN(docs, 0, size);
+    }
+
+    private void writeVarint(int value) {
+        ensureBytes(5);
+        while ((value & ~0x7f) != 0) {
+            occurrences[occurrenceBytes++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        occurrences[occurrenceBytes++] = (byte) value;
+    }
+
+    private void ensureBytes(int extra) {
+        if (occurrenceBytes + extra > occurrences.length) {
+            occurrences = Arrays.copyOf(occurrences, Math.max(occurrences.length * 2, occurrenceBytes + extra));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.researchhub.backend.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+/**
+ * Read access to the doc ids (ascending), term frequencies and, for positional fields, occurrences of one term
+ * in one field. Implemented by the in-heap {@link PostingList} of the write buffer and by the memory-mapped lists
+ * of {@link IndexSegment}s; {@link #chain} joins the parts a term has in several of them.
+ */
+interface Postings {
+
+    int size();
+
+    int doc(int i);
+
+    int freq(int i);
+
+    boolean positional();
+
+    /**
+     * Entry index of {@code doc}, or a negative number when the term does not occur in it.
+     */
+    int indexOf(int doc);
+
+    /**
+     * Index of the first entry whose doc id is at least {@code doc}, or {@link #size()} when there is none.
+     */
+    default int firstAtOrAfter(int doc) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (doc(mid) < doc) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Decodes up to {@code positions.length} occurrences of entry {@code i} (token position and char offset, both
+     * ascending) into the two arrays; returns how many.
+     */
+    int occurrences(int i, int[] positions, int[] offsets);
+
+    void orInto(RoaringBitmap target);
+
+    /**
+     * Approximate size in bytes, for diagnostics.
+     */
+    long bytes();
+
+    /**
+     * One list over {@code parts}, which must cover ascending, disjoint doc id ranges; null when there are none.
+     */
+    static Postings chain(List<Postings> parts) {
+        if (parts.isEmpty()) {
+            return null;
+        }
+        return parts.size() == 1 ? parts.get(0) : new Chained(parts.toArray(new Postings[0]));
+    }
+
+    final class Chained implements Postings {
+
+        private final Postings[] parts;
+        private final int[] starts; // entry index where each part begins
+
+        private Chained(Postings[] parts) {
+            this.parts = parts;
+            this.starts = new int[parts.length + 1];
+            for (int p = 0; p < parts.length; p++) {
+                starts[p + 1] = starts[p] + parts[p].size();
+            }
+        }
+
+        @Override
+        public int size() {
+            return starts[parts.length];
+        }
+
+        @Override
+        public int doc(int i) {
+            int p = part(i);
+            return parts[p].doc(i - starts[p]);
+        }
+
+        @Override
+        public int freq(int i) {
+            int p = part(i);
+            return parts[p].freq(i - starts[p]);
+        }
+
+        @Override
+        public boolean positional() {
+            return parts[0].positional();
+        }
+
+        @Override
+        public int indexOf(int doc) {
+            for (int p = 0; p < parts.length; p++) {
+                Postings part = parts[p];
+                if (part.size() > 0 && doc <= part.doc(part.size() - 1)) {
+                    int local = part.indexOf(doc);
+                    return local >= 0 ? starts[p] + local : -1;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int occurrences(int i, int[] positions, int[] offsets) {
+            int p = part(i);
+            return parts[p].occurrences(i - starts[p], positions, offsets);
+        }
+
+        @Override
+        public void orInto(RoaringBitmap target) {
+            for (Postings part : parts) {
+                part.orInto(target);
+            }
+        }
+
+        @Override
+        public long bytes() {
+            long bytes = 0;
+            for (Postings part : parts) {
+                bytes += part.bytes();
+            }
+            return bytes;
+        }
+
+        private int part(int i) {
+            int p = 0;
+            while (starts[p + 1] <= i) {
+                p++;
+            }
+            return p;
+        }
+    }
+}
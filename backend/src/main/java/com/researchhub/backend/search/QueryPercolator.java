@@ -0,0 +1,269 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse index of saved searches: given a new paper, finds the saved searches it matches without running every
+ * one of them.
+ *
+ * Each saved search is filed under a single anchor that any matching paper must produce: its longest query word,
+ * else its categories (each one for "any", one of them for "all"), else its publication year or the years of a
+ * short range. A paper looks up the anchors it produces (its words and their prefixes, its categories and year),
+ * and only the searches found there are checked in full, so the cost of an upload follows the number of
+ * plausible searches rather than the number saved. Searches with none of these (author or open year range only)
+ * are checked for every paper.
+ *
+ * Matching follows {@link SearchIndex}: every query word must occur in the title, abstract, author or category
+ * names, exactly or as a prefix of at least {@link #MIN_PREFIX_LENGTH} letters, and the author filter goes by the
+ * same name words and phonetic codes ({@link AuthorIndex}). Spelling-tolerant matching of query words and the
+ * extracted PDF text, which does not exist yet when a paper is uploaded, are not considered.
+ */
+@Component
+public class QueryPercolator {
+
+    public record Match(UUID searchId, UUID ownerId, String name) {
+    }
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+    // Longer ranges are checked for every paper instead of being filed under each year
+    private static final int MAX_ANCHORED_YEARS = 50;
+    private static final String UNANCHORED = "*";
+    // Only used to match single author fields, which keeps no state
+    private static final AuthorIndex AUTHOR_NAMES = new AuthorIndex();
+    private static final IndexField[] MATCHED_FIELDS = {
+            IndexField.TITLE, IndexField.ABSTRACT, IndexField.AUTHOR, IndexField.CATEGORY};
+
+    private record SavedQuery(UUID searchId, UUID ownerId, String name, List<String> tokens, Set<UUID> categoryIds,
+                              boolean allCategories, Integer year, Integer yearFrom, Integer yearTo, String author,
+                              List<String> anchors) {
+    }
+
+    private final TextAnalyzer analyzer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, SavedQuery> queries = new HashMap<>();
+    private final Map<String, List<SavedQuery>> anchored = new HashMap<>();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder percolatedPapers = new LongAdder();
+    private final LongAdder evaluatedQueries = new LongAdder();
+    private final LongAdder matchedQueries = new LongAdder();
+
+    public QueryPercolator(TextAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * Adds or replaces a saved search.
+     */
+    public void register(UUID searchId, UUID ownerId, String name, PaperSearchRequest filters) {
+        List<String> tokens = filters.getQuery() == null ? List.of() : analyzer.analyze(filters.getQuery());
+        Set<UUID> categoryIds = filters.getCategoryIds() == null ? Set.of() : new LinkedHashSet<>(filters.getCategoryIds());
+        boolean allCategories = filters.getCategoryMatch() == CategoryMatch.ALL;
+        String author = filters.getAuthor() == null || filters.getAuthor().isBlank()
+                ? null
+                : filters.getAuthor().trim();
+        SavedQuery query = new SavedQuery(searchId, ownerId, name, tokens, categoryIds, allCategories,
+                filters.getYear(), filters.getYearFrom(), filters.getYearTo(), author,
+                anchors(tokens, categoryIds, allCategories, filters));
+
+        lock.writeLock().lock();
+        try {
+            unlink(queries.put(searchId, query));
+            for (String anchor : query.anchors()) {
+                anchored.computeIfAbsent(anchor, key -> new ArrayList<>()).add(query);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unregister(UUID searchId) {
+        lock.writeLock().lock();
+        try {
+            unlink(queries.remove(searchId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            queries.clear();
+            anchored.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return queries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saved searches the paper matches.
+     */
+    public List<Match> percolate(PaperDocument document) {
+        long start = System.nanoTime();
+
+        // Every word of the paper and every prefix a query word could be
+        Set<String> words = new HashSet<>();
+        Set<String> prefixes = new HashSet<>();
+        for (IndexField field : MATCHED_FIELDS) {
+            for (String token : analyzer.analyze(document.text(field))) {
+                if (words.add(token)) {
+                    for (int length = MIN_PREFIX_LENGTH; length < token.length(); length++) {
+                        prefixes.add(token.substring(0, length));
+                    }
+                }
+            }
+        }
+
+        List<String> keys = new ArrayList<>(words.size() + prefixes.size() + 8);
+        words.forEach(word -> keys.add(termAnchor(word)));
+        prefixes.forEach(prefix -> keys.add(termAnchor(prefix)));
+        document.categoryIds().forEach(categoryId -> keys.add(categoryAnchor(categoryId)));
+        if (document.publicationYear() != null) {
+            keys.add(yearAnchor(document.publicationYear()));
+        }
+        keys.add(UNANCHORED);
+
+        List<Match> matches = new ArrayList<>();
+        int evaluated = 0;
+        lock.readLock().lock();
+        try {
+            Set<UUID> seen = new HashSet<>();
+            for (String key : keys) {
+                List<SavedQuery> candidates = anchored.get(key);
+                if (candidates == null) {
+                    continue;
+                }
+                for (SavedQuery query : candidates) {
+                    if (!seen.add(query.searchId())) {
+                        continue; // filed under several of the paper's categories
+                    }
+                    evaluated++;
+                    if (matches(query, document, words, prefixes)) {
+                        matches.add(new Match(query.searchId(), query.ownerId(), query.name()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        latency.record(System.nanoTime() - start);
+        percolatedPapers.increment();
+        evaluatedQueries.add(evaluated);
+        matchedQueries.add(matches.size());
+        return matches;
+    }
+
+    public Map<String, Object> getStats() {
+        long papers = percolatedPapers.sum();
+        int saved = size();
+        double evaluated = papers == 0 ? 0 : evaluatedQueries.sum() / (double) papers;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("savedSearches", saved);
+        stats.put("papers", papers);
+        stats.put("avgEvaluatedPerPaper", Math.round(evaluated * 10) / 10.0);
+        // Share of saved searches a paper had to check; running them all would be 1
+        stats.put("evaluatedShare", saved == 0 ? 0 : Math.round(evaluated / saved * 1000) / 1000.0);
+        stats.put("avgMatchedPerPaper", papers == 0 ? 0 : Math.round(matchedQueries.sum() * 10.0 / papers) / 10.0);
+        stats.put("latency", latency.snapshotMicros());
+        return stats;
+    }
+
+    // --- Internals ---
+
+    private static boolean matches(SavedQuery query, PaperDocument document, Set<String> words, Set<String> prefixes) {
+        for (String token : query.tokens()) {
+            if (!words.contains(token) && !(token.length() >= MIN_PREFIX_LENGTH && prefixes.contains(token))) {
+                return false;
+            }
+        }
+        if (!query.categoryIds().isEmpty()) {
+            boolean matched = query.allCategories()
+                    ? document.categoryIds().containsAll(query.categoryIds())
+                    : query.categoryIds().stream().anyMatch(document.categoryIds()::contains);
+            if (!matched) {
+                return false;
+            }
+        }
+        Integer year = document.publicationYear();
+        if (query.year() != null && !query.year().equals(year)) {
+            return false;
+        }
+        if ((query.yearFrom() != null || query.yearTo() != null) && (year == null
+                || (query.yearFrom() != null && year < query.yearFrom())
+                || (query.yearTo() != null && year > query.yearTo()))) {
+            return false;
+        }
+        return query.author() == null || AUTHOR_NAMES.matches(query.author(), document.author());
+    }
+
+    private static List<String> anchors(List<String> tokens, Set<UUID> categoryIds, boolean allCategories,
+                                        PaperSearchRequest filters) {
+        if (!tokens.isEmpty()) {
+            // Longer words tend to be rarer, so fewer papers reach this search
+            String longest = tokens.stream().max(Comparator.comparingInt(String::length)).get();
+            return List.of(termAnchor(longest));
+        }
+        if (!categoryIds.isEmpty()) {
+            return allCategories
+                    ? List.of(categoryAnchor(categoryIds.iterator().next()))
+                    : categoryIds.stream().map(QueryPercolator::categoryAnchor).toList();
+        }
+        if (filters.getYear() != null) {
+            return List.of(yearAnchor(filters.getYear()));
+        }
+        Integer from = filters.getYearFrom();
+        Integer to = filters.getYearTo();
+        if (from != null && to != null && to >= from && to - from < MAX_ANCHORED_YEARS) {
+            List<String> years = new ArrayList<>();
+            for (int year = from; year <= to; year++) {
+                years.add(yearAnchor(year));
+            }
+            return years;
+        }
+        return List.of(UNANCHORED);
+    }
+
+    private void unlink(SavedQuery query) {
+        if (query == null) {
+            return;
+        }
+        for (String anchor : query.anchors()) {
+            List<SavedQuery> filed = anchored.get(anchor);
+            if (filed != null) {
+                filed.removeIf(other -> other.searchId().equals(query.searchId()));
+                if (filed.isEmpty()) {
+                    anchored.remove(anchor);
+                }
+            }
+        }
+    }
+
+    private static String termAnchor(String term) {
+        return "t:" + term;
+    }
+
+    private static String categoryAnchor(UUID categoryId) {
+        return "c:" + categoryId;
+    }
+
+    private static String yearAnchor(int year) {
+        return "y:" + year;
+    }
+}
@@ -0,0 +1,19 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.model.PaperStatus;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Number of matching papers per category id, publication year and status.
+ * Only values with at least one match are present; categories are ordered by count, years newest first.
+ */
+public record SearchFacets(Map<UUID, Integer> categories,
+                           Map<Integer, Integer> years,
+                           Map<PaperStatus, Integer> statuses) {
+
+    public static SearchFacets empty() {
+        return new SearchFacets(Map.of(), Map.of(), Map.of());
+    }
+}
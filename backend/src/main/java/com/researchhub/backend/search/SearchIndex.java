@@ -0,0 +1,1676 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SearchSort;
+import com.researchhub.backend.model.PaperStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over paper title, abstract, author, category names and extracted PDF text.
+ *
+ * Every indexed version of a paper gets a fresh internal doc id, so posting lists stay append-only and sorted.
+ * Re-indexing or deleting a paper only tombstones its old doc id; doc ids are never reused or renumbered. Nothing
+ * in the heap is sized by the doc id space, though: the per-doc ranking columns belong to the segment or buffer
+ * holding the doc, so merges that drop tombstoned docs drop their columns too, and relevance scores are kept per
+ * match rather than per doc id.
+ *
+ * New docs go into an in-heap write buffer. With a storage path configured, a full buffer is written in the
+ * background as an immutable {@link IndexSegment} that is read through a memory mapping, so postings and stored
+ * fields need not fit in the heap; only the ranking columns (upload time, field lengths) of stored docs and the
+ * filter bitmaps of live docs stay there. Segments are merged in the background when there are too many of them, dropping tombstoned docs. A clean
+ * {@link #close()} writes a manifest that lets the next start {@link #open()} the segments instead of re-reading
+ * every paper; without one (first start, crash, analyzer change) the index is built from scratch.
+ *
+ * Results are ordered newest first, or by BM25 relevance with per-field boosts. Either way only the
+ * top {@code offset + limit} candidates are selected (bounded heap); the full match set is never sorted. Large match
+ * sets are ranked in partitions (doc id ranges holding equal shares of the matches) on a dedicated fork-join pool,
+ * each keeping its own top candidates, which are then merged; one query uses at most
+ * {@code app.search.parallel.max-partitions} threads, so a heavy query leaves cores to the others.
+ *
+ * Query tokens that match no indexed term are retried against the title and author vocabulary with a
+ * bounded edit distance (see {@link FuzzyTermIndex}), so misspelt names still find their papers.
+ *
+ * Title and abstract postings are positional: they record where each occurrence sits, which serves quoted phrase
+ * and proximity queries (see {@link SearchQuery}) and lets {@link #highlights} locate the query words in a page of
+ * hits without reading the texts again.
+ *
+ * Category, year and status are also kept as compressed bitmaps of doc ids. Structured filters are bitmap
+ * intersections/unions, and facet counts are the cardinalities of the match set ANDed with each bitmap. The author
+ * filter probes an {@link AuthorIndex} of name words and their phonetic codes, so it too is a few bitmap lookups.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    // Query tokens at least this long also match indexed terms that start with them ("learn" -> "learning")
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // A prefix expansion counts for less than an exact term match when ranking
+    private static final float PREFIX_MATCH_WEIGHT = 0.5f;
+    // Tokens that match nothing at all fall back to title/author terms within 1 edit (2 from 8 characters on)
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_EDITS_LENGTH = 8;
+    private static final int MAX_FUZZY_EXPANSIONS = 8;
+    private static final float FUZZY_MATCH_WEIGHT = 0.3f;
+    private static final int FIELD_COUNT = IndexField.values().length;
+    private static final IndexField[] POSITIONAL_FIELDS = {IndexField.TITLE, IndexField.ABSTRACT};
+
+    // Highlighting cost per page is capped at hits x terms x occurrences, whatever the texts' length
+    private static final int MAX_HIGHLIGHTED_HITS = 50;
+    private static final int MAX_HIGHLIGHT_TERMS = 24;
+    private static final int MAX_HIGHLIGHT_OCCURRENCES = 32;
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Segment storage
+    private static final String MANIFEST = "manifest.bin";
+    private static final int MANIFEST_MAGIC = 0x5248494D; // "RHIM"
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // Adjacent segments merged at once when there are too many
+    private static final int MERGE_WIDTH = 4;
+    // Merges never produce a segment bigger than this (a mapping and the format's offsets are limited to 2 GB)
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    // A segment is rewritten without its tombstoned docs once they make up this share of it
+    private static final double MAX_DEAD_SHARE = 0.5;
+
+    @Value("${app.search.boost.title:3.0}")
+    private float titleBoost = 3.0f;
+
+    @Value("${app.search.boost.author:2.0}")
+    private float authorBoost = 2.0f;
+
+    @Value("${app.search.boost.abstract:1.0}")
+    private float abstractBoost = 1.0f;
+
+    @Value("${app.search.boost.category:1.5}")
+    private float categoryBoost = 1.5f;
+
+    @Value("${app.search.boost.full-text:0.5}")
+    private float fullTextBoost = 0.5f;
+
+    // Directory for segment files; empty keeps the whole index in the heap
+    @Value("${app.search.index.path:index/search}")
+    private String indexPath = "";
+
+    @Value("${app.search.index.buffer-docs:1000}")
+    private int bufferDocs = 1000;
+
+    @Value("${app.search.index.max-segments:10}")
+    private int maxSegments = 10;
+
+    // Ranking threads shared by all queries; 0 = one per core
+    @Value("${app.search.parallel.threads:0}")
+    private int searchThreads;
+
+    // Partitions (threads, counting the caller's) one query may rank on at once; 1 ranks every query on its own thread
+    @Value("${app.search.parallel.max-partitions:4}")
+    private int maxPartitions = 4;
+
+    // Match sets are only split when every partition gets at least this many docs
+    @Value("${app.search.parallel.min-partition-docs:20000}")
+    private int minPartitionDocs = 20000;
+
+    private final TextAnalyzer analyzer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Flushes and merges, one at a time
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Ascending, disjoint doc id ranges: segments, then the buffer being flushed (if any), then the write buffer
+    private final List<IndexSegment> segments = new ArrayList<>();
+    private Buffer flushing;
+    private Buffer buffer = new Buffer(0);
+    private int nextDoc;
+    private final AtomicLong segmentGeneration = new AtomicLong();
+
+    private final Map<UUID, Integer> docIds = new HashMap<>(); // live docs only
+    private final FuzzyTermIndex fuzzyTerms = new FuzzyTermIndex();
+
+    // Token count of every field over live docs; the per-doc counts are kept by segments and buffers
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+
+    // Facet bitmaps over live doc ids
+    private final RoaringBitmap liveDocs = new RoaringBitmap();
+    private final Map<UUID, RoaringBitmap> categoryDocs = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> yearDocs = new HashMap<>();
+    private final Map<PaperStatus, RoaringBitmap> statusDocs = new EnumMap<>(PaperStatus.class);
+    private final AuthorIndex authorIndex = new AuthorIndex();
+
+    // Null until started by Spring, which leaves a hand-built index ranking on the caller's thread
+    private ForkJoinPool searchPool;
+    private final LongAdder partitionedQueries = new LongAdder();
+    private final LongAdder partitionsUsed = new LongAdder();
+
+    private int flushes;
+    private int merges;
+    private boolean openedFromDisk;
+    private long openMillis;
+
+    public SearchIndex(TextAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    @PostConstruct
+    void startSearchPool() {
+        int threads = searchThreads > 0 ? searchThreads : Runtime.getRuntime().availableProcessors();
+        searchPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("search-worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public void upsert(PaperDocument document) {
+        lock.writeLock().lock();
+        try {
+            tombstone(document.id());
+
+            int doc = nextDoc++;
+            int[] lengths = new int[FIELD_COUNT];
+            for (IndexField field : IndexField.values()) {
+                int tokenCount = isPositionalField(field.ordinal())
+                        ? indexPositional(doc, field, document.text(field))
+                        : indexFrequencies(doc, field, document.text(field));
+                lengths[field.ordinal()] = tokenCount;
+                totalFieldLengths[field.ordinal()] += tokenCount;
+            }
+            buffer.add(document.withoutLongText(), lengths);
+            docIds.put(document.id(), doc);
+            addToBitmaps(doc, document);
+            scheduleFlushIfFull();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID paperId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(paperId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstones every paper whose id fails {@code keep}; returns how many.
+     */
+    public int retainAll(Predicate<UUID> keep) {
+        lock.writeLock().lock();
+        try {
+            List<UUID> dropped = docIds.keySet().stream().filter(keep.negate()).toList();
+            dropped.forEach(this::tombstone);
+            return dropped.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the index, deleting its segment files.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (IndexSegment segment : segments) {
+                deleteQuietly(segment.path());
+            }
+            segments.clear();
+            flushing = null; // a flush still running sees this and discards its segment
+            buffer = new Buffer(0);
+            nextDoc = 0;
+            docIds.clear();
+            fuzzyTerms.clear();
+            Arrays.fill(totalFieldLengths, 0);
+            liveDocs.clear();
+            categoryDocs.clear();
+            yearDocs.clear();
+            statusDocs.clear();
+            authorIndex.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed version of the paper (without abstract and full text), if any.
+     */
+    public Optional<PaperDocument> find(UUID paperId) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docIds.get(paperId);
+            return doc == null ? Optional.empty() : Optional.of(document(doc));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID paperId) {
+        lock.readLock().lock();
+        try {
+            return docIds.containsKey(paperId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes the indexed version (without abstract and full text) of every live paper to the action.
+     */
+    public void forEachDocument(Consumer<PaperDocument> action) {
+        lock.readLock().lock();
+        try {
+            for (IntIterator it = liveDocs.getIntIterator(); it.hasNext(); ) {
+                action.accept(document(it.next()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates the text query (every free token must match some field, every phrase the title or abstract) and the structured filters,
+     * ranks the matches by the requested sort, and returns the ids for {@code [offset, offset + limit)}
+     * along with facet counts over all matches. Relevance sort without query text falls back to newest first.
+     */
+    public SearchResult search(PaperSearchRequest request, long offset, int limit) {
+        return search(request, offset, limit, maxPartitions, minPartitionDocs);
+    }
+
+    private SearchResult search(PaperSearchRequest request, long offset, int limit, int partitionCap, int minDocs) {
+        SearchQuery query = SearchQuery.parse(request.getQuery(), analyzer);
+        boolean byRelevance = request.getSort() == SearchSort.RELEVANCE && !query.isEmpty();
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = match(request, query);
+            int total = matches.getCardinality();
+            SearchFacets facets = facets(matches);
+            if (total == 0 || offset >= total) {
+                return new SearchResult(List.of(), total, 0, facets);
+            }
+
+            long start = System.nanoTime();
+            int k = (int) Math.min(offset + limit, total);
+            List<ScoredTerm> terms = byRelevance ? scoredTerms(query.allTokens()) : null;
+            // By position in the match set
+            float[] scores = byRelevance ? new float[total] : null;
+            int partitions = searchPool == null ? 1 : Math.max(1, Math.min(partitionCap, total / Math.max(1, minDocs)));
+            int[] ranked = (partitions == 1
+                    ? rankRange(matches, terms, scores, k, 0, nextDoc)
+                    : rankPartitioned(matches, terms, scores, k, total, partitions)).drainBestFirst();
+            long rankingNanos = System.nanoTime() - start;
+
+            List<UUID> page = new ArrayList<>(ranked.length - (int) offset);
+            for (int i = (int) offset; i < ranked.length; i++) {
+                page.add(paperId(ranked[i]));
+            }
+            return new SearchResult(page, total, rankingNanos, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the doc id space into {@code partitions} ranges holding about the same number of matches, ranks all
+     * but the last on the search pool and the last on the calling thread, then merges the partitions' top
+     * {@code k}. Each partition only writes the scores of its own docs. Runs under the caller's read lock.
+     */
+    private TopDocs rankPartitioned(RoaringBitmap matches, List<ScoredTerm> terms, float[] scores, int k, int total,
+                                    int partitions) {
+        int[] bounds = new int[partitions + 1];
+        for (int p = 1; p < partitions; p++) {
+            bounds[p] = matches.select((int) ((long) p * total / partitions));
+        }
+        bounds[partitions] = nextDoc;
+
+        List<ForkJoinTask<TopDocs>> forked = new ArrayList<>(partitions - 1);
+        for (int p = 0; p < partitions - 1; p++) {
+            int from = bounds[p];
+            int to = bounds[p + 1];
+            forked.add(searchPool.submit(() -> rankRange(matches, terms, scores, k, from, to)));
+        }
+        TopDocs top = rankRange(matches, terms, scores, k, bounds[partitions - 1], nextDoc);
+        for (ForkJoinTask<TopDocs> task : forked) {
+            top.offerAll(task.join());
+        }
+        partitionedQueries.increment();
+        partitionsUsed.add(partitions);
+        return top;
+    }
+
+    /**
+     * Top {@code k} matches with doc ids in {@code [from, to)}, best first: by BM25 score when {@code terms} are
+     * given (computed into {@code scores} for that range), else newest first.
+     */
+    private TopDocs rankRange(RoaringBitmap matches, List<ScoredTerm> terms, float[] scores, int k, int from, int to) {
+        if (terms != null) {
+            score(terms, matches, scores, from, to);
+        }
+        TopDocs top = new TopDocs(k);
+        ColumnCursor columns = scores == null ? new ColumnCursor() : null;
+        PeekableIntIterator it = matches.getIntIterator();
+        it.advanceIfNeeded(from);
+        for (int match = from == 0 ? 0 : (int) matches.rank(from - 1); it.hasNext() && it.peekNext() < to; match++) {
+            int doc = it.next();
+            top.offer(doc, scores != null ? scores[match] : columns.uploadedAt(doc));
+        }
+        return top;
+    }
+
+    /**
+     * Ranking latency of {@code request} with its matches split into 1, 2, 4, ... partitions, up to the search
+     * pool's size: the average of {@code rounds} runs each after one warm-up run, whatever the match count.
+     */
+    public Map<String, Object> benchmarkPartitions(PaperSearchRequest request, int limit, int rounds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        int threads = searchPool == null ? 1 : searchPool.getParallelism();
+        result.put("poolThreads", threads);
+        result.put("maxPartitions", maxPartitions);
+        List<Map<String, Object>> runs = new ArrayList<>();
+        double singleMicros = 0;
+        List<Integer> counts = new ArrayList<>();
+        for (int partitions = 1; partitions < threads; partitions *= 2) {
+            counts.add(partitions);
+        }
+        counts.add(threads);
+        for (int partitions : counts) {
+            SearchResult warmUp = search(request, 0, limit, partitions, 1);
+            long rankingNanos = 0;
+            long totalNanos = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                rankingNanos += search(request, 0, limit, partitions, 1).rankingNanos();
+                totalNanos += System.nanoTime() - start;
+            }
+            double rankingMicros = rankingNanos / 1000.0 / rounds;
+            if (partitions == 1) {
+                singleMicros = rankingMicros;
+                result.put("matches", warmUp.total());
+            }
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("partitions", partitions);
+            run.put("rankingMicros", Math.round(rankingMicros));
+            run.put("searchMicros", Math.round(totalNanos / 1000.0 / rounds));
+            run.put("speedup", rankingMicros == 0 ? 0 : Math.round(singleMicros / rankingMicros * 100) / 100.0);
+            runs.add(run);
+        }
+        result.put("runs", runs);
+        return result;
+    }
+
+    /**
+     * Search pool size and how often queries were ranked in partitions, for diagnostics.
+     */
+    public Map<String, Object> parallelStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long queries = partitionedQueries.sum();
+        stats.put("poolThreads", searchPool == null ? 0 : searchPool.getParallelism());
+        stats.put("maxPartitions", maxPartitions);
+        stats.put("minPartitionDocs", minPartitionDocs);
+        stats.put("partitionedQueries", queries);
+        stats.put("avgPartitions", queries == 0 ? 0 : partitionsUsed.sum() / (double) queries);
+        stats.put("activeWorkers", searchPool == null ? 0 : searchPool.getActiveThreadCount());
+        stats.put("steals", searchPool == null ? 0 : searchPool.getStealCount());
+        return stats;
+    }
+
+    /**
+     * Keyset page in newest-first order: up to {@code limit} matches strictly after the paper
+     * {@code (afterUploadedAt, afterId)} in {@code (uploadedAt, id)} descending order, or from the newest
+     * when {@code afterId} is null. Neither a total nor facets are computed.
+     */
+    public List<UUID> searchAfter(PaperSearchRequest request, long afterUploadedAt, UUID afterId, int limit) {
+        SearchQuery query = SearchQuery.parse(request.getQuery(), analyzer);
+
+        lock.readLock().lock();
+        try {
+            // Ids are only read on equal upload times
+            Comparator<Candidate> newestFirst = Comparator
+                    .comparingLong(Candidate::uploadedAt)
+                    .thenComparing(candidate -> paperId(candidate.doc()))
+                    .reversed();
+            // Bounded heap whose head is the oldest of the newest `limit` docs seen so far
+            PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, newestFirst.reversed());
+            ColumnCursor columns = new ColumnCursor();
+            for (IntIterator it = match(request, query).getIntIterator(); it.hasNext(); ) {
+                int doc = it.next();
+                long uploadedAt = columns.uploadedAt(doc);
+                boolean pastCursor = afterId == null
+                        || uploadedAt < afterUploadedAt
+                        || (uploadedAt == afterUploadedAt && paperId(doc).compareTo(afterId) < 0);
+                if (!pastCursor) {
+                    continue;
+                }
+                top.offer(new Candidate(doc, uploadedAt));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Candidate> page = new ArrayList<>(top);
+            page.sort(newestFirst);
+            return page.stream().map(candidate -> paperId(candidate.doc())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of terms, counting a term once per segment (and buffer) it occurs in.
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (IndexSegment segment : segments) {
+                count += segment.termCount();
+            }
+            for (Buffer source : buffers()) {
+                count += source.terms.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap taken by the write buffer's posting lists, and by the positions stored in them, for
+     * diagnostics. Postings in segments are mapped, see {@link #storageStats()}.
+     */
+    public Map<String, Long> postingBytes() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            long positional = 0;
+            for (Buffer source : buffers()) {
+                for (PostingList[] slots : source.terms.values()) {
+                    for (PostingList postings : slots) {
+                        if (postings != null) {
+                            total += postings.bytes();
+                            if (postings.positional()) {
+                                positional += postings.bytes();
+                            }
+                        }
+                    }
+                }
+            }
+            return Map.of("total", total, "positionalFields", positional);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Segment count and size, buffered docs, flush/merge counts, how the index was loaded and the number of
+     * author-name keys, for diagnostics.
+     */
+    public Map<String, Object> storageStats() {
+        lock.readLock().lock();
+        try {
+            long mappedBytes = 0;
+            int segmentDocs = 0;
+            for (IndexSegment segment : segments) {
+                mappedBytes += segment.sizeBytes();
+                segmentDocs += segment.docCount();
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("path", persistent() ? indexPath : null);
+            stats.put("openedFromDisk", openedFromDisk);
+            stats.put("openMillis", openMillis);
+            stats.put("segments", segments.size());
+            stats.put("segmentDocs", segmentDocs);
+            stats.put("mappedBytes", mappedBytes);
+            stats.put("bufferedDocs", buffer.docs.size() + (flushing != null ? flushing.docs.size() : 0));
+            stats.put("flushes", flushes);
+            stats.put("merges", merges);
+            stats.put("authorKeys", authorIndex.keyCount());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Where the query's words occur in the title and abstract of each of the given papers (at most
+     * {@link #MAX_HIGHLIGHTED_HITS}), read from the stored positions. Free words count with their prefix and
+     * spelling expansions, phrase words exactly; one highlight per word, in text order. Papers that are not indexed
+     * or contain none of the words are left out.
+     */
+    public Map<UUID, List<Highlight>> highlights(String queryText, List<UUID> paperIds) {
+        SearchQuery query = SearchQuery.parse(queryText, analyzer);
+        if (query.isEmpty() || paperIds.isEmpty()) {
+            return Map.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // The words to mark are resolved once per page, not per hit
+            Map<String, Postings[]> marked = new LinkedHashMap<>();
+            for (String token : query.terms()) {
+                forEachMatchingTerm(token, (term, slots, weight) -> {
+                    if (marked.size() < MAX_HIGHLIGHT_TERMS) {
+                        marked.putIfAbsent(term, slots);
+                    }
+                });
+            }
+            for (SearchQuery.Phrase phrase : query.phrases()) {
+                for (String token : phrase.tokens()) {
+                    Postings[] slots = postings(token);
+                    if (slots != null && marked.size() < MAX_HIGHLIGHT_TERMS) {
+                        marked.putIfAbsent(token, slots);
+                    }
+                }
+            }
+
+            int[] positions = new int[MAX_HIGHLIGHT_OCCURRENCES];
+            int[] offsets = new int[MAX_HIGHLIGHT_OCCURRENCES];
+            Map<UUID, List<Highlight>> result = new HashMap<>();
+            for (UUID paperId : paperIds.subList(0, Math.min(paperIds.size(), MAX_HIGHLIGHTED_HITS))) {
+                Integer doc = docIds.get(paperId);
+                if (doc == null) {
+                    continue;
+                }
+                List<Highlight> highlights = new ArrayList<>();
+                for (IndexField field : POSITIONAL_FIELDS) {
+                    // Sorted and distinct, so one word found by two query words is marked once
+                    TreeSet<Integer> found = new TreeSet<>();
+                    marked.forEach((term, slots) -> {
+                        Postings postings = slots[field.ordinal()];
+                        int entry = postings == null ? -1 : postings.indexOf(doc);
+                        if (entry >= 0) {
+                            int count = postings.occurrences(entry, positions, offsets);
+                            for (int i = 0; i < count; i++) {
+                                found.add(offsets[i]);
+                            }
+                        }
+                    });
+                    for (int start : found) {
+                        highlights.add(new Highlight(field, start));
+                    }
+                }
+                if (!highlights.isEmpty()) {
+                    result.put(paperId, highlights);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Storage ---
+
+    /**
+     * Replaces the index contents with the segments listed in the manifest left by the last clean {@link #close()}
+     * and returns true. Returns false, with the index empty and leftover files deleted, when there is no usable
+     * manifest (first start, crash, format or analyzer change) or no storage path; the caller then indexes every
+     * paper again. The manifest is deleted once read, so a crash before the next clean close also forces a build.
+     */
+    public boolean open() {
+        clear();
+        if (!persistent()) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        Path directory = Path.of(indexPath);
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            Path manifest = directory.resolve(MANIFEST);
+            boolean usable = false;
+            if (Files.isRegularFile(manifest)) {
+                usable = loadManifest(directory, manifest);
+                Files.delete(manifest);
+            }
+            if (!usable) {
+                clear();
+            }
+            deleteUnlistedFiles(directory);
+
+            openedFromDisk = usable;
+            openMillis = System.currentTimeMillis() - start;
+            if (usable) {
+                logger.info("Search index opened from {}: {} papers in {} segments in {} ms",
+                        indexPath, docIds.size(), segments.size(), openMillis);
+            }
+            return usable;
+        } catch (IOException e) {
+            logger.warn("Could not open search index directory {}: {}", indexPath, e.getMessage());
+            clear();
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for running flushes and merges, writes the rest of the buffer as a segment and records the segments
+     * and live docs in the manifest for the next {@link #open()}.
+     */
+    @PreDestroy
+    public void close() {
+        if (searchPool != null) {
+            searchPool.shutdown();
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Search index writer still busy at shutdown, index will be rebuilt on next start");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!persistent()) {
+            return;
+        }
+
+        Buffer last;
+        lock.writeLock().lock();
+        try {
+            if (flushing != null) {
+                return; // an earlier flush failed, so the segments do not hold every doc
+            }
+            last = buffer.docs.isEmpty() ? null : freezeBuffer();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (last != null && !flush(last)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            writeManifest(Path.of(indexPath));
+            logger.info("Search index saved to {}: {} papers in {} segments", indexPath, docIds.size(), segments.size());
+        } catch (IOException e) {
+            logger.warn("Could not write search index manifest in {}: {}", indexPath, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean persistent() {
+        return indexPath != null && !indexPath.isBlank();
+    }
+
+    /**
+     * Reads the manifest and opens its segments; false when it was written by another format or analyzer, or is
+     * unreadable.
+     */
+    private boolean loadManifest(Path directory, Path manifest) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifest), 1 << 16))) {
+            if (in.readInt() != MANIFEST_MAGIC || in.readInt() != IndexSegment.FORMAT
+                    || !in.readUTF().equals(analyzer.signature())) {
+                logger.info("Search index in {} was written by another version, rebuilding", indexPath);
+                return false;
+            }
+            int manifestNextDoc = in.readInt();
+            segmentGeneration.set(in.readLong());
+            int segmentCount = in.readInt();
+            List<String> names = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                names.add(in.readUTF());
+            }
+            RoaringBitmap live = new RoaringBitmap();
+            live.deserialize(in);
+
+            for (String name : names) {
+                IndexSegment segment = IndexSegment.open(directory.resolve(name));
+                if (!segments.isEmpty() && segment.docCount() > 0 && segment.minDoc() <= lastSegmentMaxDoc()) {
+                    throw new IOException("Segment " + name + " overlaps the one before it");
+                }
+                segments.add(segment);
+            }
+            nextDoc = Math.max(manifestNextDoc, lastSegmentMaxDoc() + 1);
+            buffer = new Buffer(nextDoc);
+            loadColumns(live);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable search index in {}: {}", indexPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Rebuilds the field length totals, live doc bitmaps, id map and fuzzy vocabulary from the opened segments.
+     */
+    private void loadColumns(RoaringBitmap live) {
+        Set<IndexField> fuzzyFields = EnumSet.of(IndexField.TITLE, IndexField.AUTHOR);
+        for (IndexSegment segment : segments) {
+            for (int local = 0; local < segment.docCount(); local++) {
+                int doc = segment.doc(local);
+                if (live.contains(doc)) {
+                    PaperDocument document = segment.document(local);
+                    docIds.put(document.id(), doc);
+                    addToBitmaps(doc, document);
+                    for (int f = 0; f < FIELD_COUNT; f++) {
+                        totalFieldLengths[f] += segment.fieldLength(local, f);
+                    }
+                }
+            }
+            segment.forEachTerm(fuzzyFields, fuzzyTerms::add);
+        }
+    }
+
+    private void writeManifest(Path directory) throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        Path temp = manifest.resolveSibling(MANIFEST + ".tmp");
+        liveDocs.runOptimize();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MANIFEST_MAGIC);
+            out.writeInt(IndexSegment.FORMAT);
+            out.writeUTF(analyzer.signature());
+            out.writeInt(nextDoc);
+            out.writeLong(segmentGeneration.get());
+            out.writeInt(segments.size());
+            for (IndexSegment segment : segments) {
+                out.writeUTF(segment.name());
+            }
+            liveDocs.serialize(out);
+        }
+        Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Segments and temporary files left by a crash or by merges that finished after the last manifest
+    private void deleteUnlistedFiles(Path directory) throws IOException {
+        Set<String> listed = new HashSet<>();
+        segments.forEach(segment -> listed.add(segment.name()));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if ((name.endsWith(SEGMENT_SUFFIX) || name.endsWith(".tmp")) && !listed.contains(name)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private int lastSegmentMaxDoc() {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).docCount() > 0) {
+                return segments.get(i).maxDoc();
+            }
+        }
+        return -1;
+    }
+
+    // Called with the write lock held
+    private void scheduleFlushIfFull() {
+        if (persistent() && flushing == null && buffer.docs.size() >= bufferDocs && !writer.isShutdown()) {
+            Buffer frozen = freezeBuffer();
+            writer.execute(() -> {
+                if (flush(frozen)) {
+                    mergeSegments();
+                    lock.writeLock().lock();
+                    try {
+                        scheduleFlushIfFull(); // the buffer may have filled up meanwhile
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            });
+        }
+    }
+
+    // Called with the write lock held
+    private Buffer freezeBuffer() {
+        flushing = buffer;
+        buffer = new Buffer(nextDoc);
+        return flushing;
+    }
+
+    /**
+     * Writes the frozen buffer's live docs as a segment, outside the lock, and swaps it in. On failure the buffer
+     * stays in the heap (and searchable) and no further flushes are started.
+     */
+    private boolean flush(Buffer frozen) {
+        Path file;
+        int[] docs;
+        int[] lengths;
+        RoaringBitmap live;
+        lock.readLock().lock();
+        try {
+            if (flushing != frozen) {
+                return false;
+            }
+            file = Path.of(indexPath).resolve(nextSegmentName());
+            live = new RoaringBitmap();
+            live.add((long) frozen.baseDoc, (long) frozen.baseDoc + frozen.docs.size());
+            live.and(liveDocs);
+            docs = live.toArray();
+            lengths = copyLengths(docs);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (docs.length == 0) {
+            lock.writeLock().lock();
+            try {
+                if (flushing == frozen) {
+                    flushing = null; // everything in it was deleted again
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return true;
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            IndexSegment.write(file, docs, doc -> frozen.docs.get(doc - frozen.baseDoc), lengths,
+                    List.of(frozen.cursor(null)), live);
+            IndexSegment segment = IndexSegment.open(file);
+
+            lock.writeLock().lock();
+            try {
+                if (flushing != frozen) {
+                    deleteQuietly(file); // cleared meanwhile
+                    return false;
+                }
+                segments.add(segment);
+                flushing = null;
+                flushes++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.debug("Search index flushed {} docs to {}", docs.length, file.getFileName());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Search index flush failed, keeping new papers in memory: {}", e.getMessage(), e);
+            deleteQuietly(file);
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites mostly-dead segments and, while there are more than {@code maxSegments}, merges the adjacent run of
+     * {@link #MERGE_WIDTH} segments with the smallest total size. Runs on the writer thread.
+     */
+    private void mergeSegments() {
+        while (true) {
+            List<IndexSegment> run;
+            int[] docs;
+            int[] lengths;
+            RoaringBitmap live;
+            Path file;
+            lock.readLock().lock();
+            try {
+                run = pickMerge();
+                if (run == null) {
+                    return;
+                }
+                live = new RoaringBitmap();
+                live.add((long) run.get(0).minDoc(), (long) run.get(run.size() - 1).maxDoc() + 1);
+                live.and(liveDocs);
+                docs = live.toArray();
+                lengths = copyLengths(docs);
+                file = Path.of(indexPath).resolve(nextSegmentName());
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            try {
+                IndexSegment merged = null;
+                if (docs.length > 0) {
+                    List<IndexSegment.TermCursor> sources = run.stream().map(segment -> segment.termsFrom(null)).toList();
+                    IndexSegment.write(file, docs, doc -> {
+                        IndexSegment segment = segmentOf(run, doc);
+                        return segment.document(segment.localIndex(doc));
+                    }, lengths, sources, live);
+                    merged = IndexSegment.open(file);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    int first = segments.indexOf(run.get(0));
+                    if (first < 0 || !segments.subList(first, Math.min(segments.size(), first + run.size())).equals(run)) {
+                        deleteQuietly(file); // cleared meanwhile
+                        return;
+                    }
+                    segments.subList(first, first + run.size()).clear();
+                    if (merged != null) {
+                        segments.add(first, merged);
+                    }
+                    merges++;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                // Readers are done with the old mappings; unlinked files stay readable until they are unmapped
+                run.forEach(segment -> deleteQuietly(segment.path()));
+                logger.debug("Search index merged {} segments into {} ({} docs)", run.size(), file.getFileName(), docs.length);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Search index merge failed: {}", e.getMessage(), e);
+                deleteQuietly(file);
+                return;
+            }
+        }
+    }
+
+    // Called with the read lock held
+    private List<IndexSegment> pickMerge() {
+        for (IndexSegment segment : segments) {
+            long live = liveDocs.rangeCardinality(segment.minDoc(), (long) segment.maxDoc() + 1);
+            if (live < segment.docCount() * (1 - MAX_DEAD_SHARE)) {
+                return List.of(segment);
+            }
+        }
+        if (segments.size() <= maxSegments) {
+            return null;
+        }
+
+        int best = -1;
+        long bestBytes = Long.MAX_VALUE;
+        for (int i = 0; i + MERGE_WIDTH <= segments.size(); i++) {
+            long bytes = 0;
+            for (int j = i; j < i + MERGE_WIDTH; j++) {
+                bytes += segments.get(j).sizeBytes();
+            }
+            if (bytes < bestBytes && bytes <= MAX_SEGMENT_BYTES) {
+                best = i;
+                bestBytes = bytes;
+            }
+        }
+        return best < 0 ? null : List.copyOf(segments.subList(best, best + MERGE_WIDTH));
+    }
+
+    private String nextSegmentName() {
+        return String.format("segment-%08d%s", segmentGeneration.incrementAndGet(), SEGMENT_SUFFIX);
+    }
+
+    // Field lengths of the given docs (ascending) in order, as the segment writer takes them
+    private int[] copyLengths(int[] docs) {
+        int[] lengths = new int[docs.length * FIELD_COUNT];
+        ColumnCursor columns = new ColumnCursor();
+        for (int i = 0; i < docs.length; i++) {
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                lengths[i * FIELD_COUNT + f] = columns.fieldLength(docs[i], f);
+            }
+        }
+        return lengths;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete search index file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // --- Internals (callers hold the appropriate lock) ---
+
+    /**
+     * Docs indexed since the last flush, with their in-heap postings; frozen (no longer written) while its segment
+     * is being written.
+     */
+    private static final class Buffer {
+        final int baseDoc;
+        final NavigableMap<String, PostingList[]> terms = new TreeMap<>(IndexSegment.TERM_ORDER);
+        // By doc id - baseDoc, tombstoned ones included: the docs and their ranking columns
+        final List<PaperDocument> docs = new ArrayList<>();
+        long[] uploadedAt = new long[64];
+        int[] fieldLengths = new int[64 * FIELD_COUNT];
+
+        Buffer(int baseDoc) {
+            this.baseDoc = baseDoc;
+        }
+
+        void add(PaperDocument document, int[] lengths) {
+            int local = docs.size();
+            if (local == uploadedAt.length) {
+                uploadedAt = Arrays.copyOf(uploadedAt, local * 2);
+                fieldLengths = Arrays.copyOf(fieldLengths, local * 2 * FIELD_COUNT);
+            }
+            uploadedAt[local] = document.uploadedAt();
+            System.arraycopy(lengths, 0, fieldLengths, local * FIELD_COUNT, FIELD_COUNT);
+            docs.add(document);
+        }
+
+        IndexSegment.TermCursor cursor(String from) {
+            Iterator<Map.Entry<String, PostingList[]>> it =
+                    (from == null ? terms : terms.tailMap(from, true)).entrySet().iterator();
+            return new IndexSegment.TermCursor() {
+                private Map.Entry<String, PostingList[]> current;
+
+                @Override
+                public boolean next() {
+                    current = it.hasNext() ? it.next() : null;
+                    return current != null;
+                }
+
+                @Override
+                public String term() {
+                    return current.getKey();
+                }
+
+                @Override
+                public Postings[] postings() {
+                    return current.getValue();
+                }
+            };
+        }
+    }
+
+    private List<Buffer> buffers() {
+        return flushing == null ? List.of(buffer) : List.of(flushing, buffer);
+    }
+
+    private Buffer bufferOf(int doc) {
+        if (doc >= buffer.baseDoc) {
+            return buffer;
+        }
+        return flushing != null && doc >= flushing.baseDoc ? flushing : null;
+    }
+
+    // The segment among `candidates` (ascending) whose range holds the doc
+    private static IndexSegment segmentOf(List<IndexSegment> candidates, int doc) {
+        int low = 0;
+        int high = candidates.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (candidates.get(mid).minDoc() <= doc) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidates.get(low);
+    }
+
+    /**
+     * The stored version of a doc that was live when its segment was written.
+     */
+    private PaperDocument document(int doc) {
+        Buffer owner = bufferOf(doc);
+        if (owner != null) {
+            return owner.docs.get(doc - owner.baseDoc);
+        }
+        IndexSegment segment = segmentOf(segments, doc);
+        return segment.document(segment.localIndex(doc));
+    }
+
+    // A doc and its upload time, for the keyset search
+    private record Candidate(int doc, long uploadedAt) {
+    }
+
+    /**
+     * Reads the ranking columns of docs visited in ascending order from the segment or buffer holding each, keeping
+     * its place in the current segment so the next lookup usually starts at the right entry.
+     */
+    private final class ColumnCursor {
+        private IndexSegment segment;
+        private Buffer owner;
+        private int local;
+
+        long uploadedAt(int doc) {
+            seek(doc);
+            return owner != null ? owner.uploadedAt[local] : segment.uploadedAt(local);
+        }
+
+        int fieldLength(int doc, int field) {
+            seek(doc);
+            return owner != null ? owner.fieldLengths[local * FIELD_COUNT + field] : segment.fieldLength(local, field);
+        }
+
+        private void seek(int doc) {
+            owner = bufferOf(doc);
+            if (owner != null) {
+                local = doc - owner.baseDoc;
+                return;
+            }
+            if (segment == null || doc < segment.minDoc() || doc > segment.maxDoc()) {
+                segment = segmentOf(segments, doc);
+                local = 0;
+            }
+            local = segment.localIndex(doc, local);
+        }
+    }
+
+    private UUID paperId(int doc) {
+        Buffer owner = bufferOf(doc);
+        if (owner != null) {
+            return owner.docs.get(doc - owner.baseDoc).id();
+        }
+        IndexSegment segment = segmentOf(segments, doc);
+        return segment.paperId(segment.localIndex(doc));
+    }
+
+    /**
+     * The term's postings per field (null where it does not occur) across segments and buffers, in doc order;
+     * null when the term occurs nowhere.
+     */
+    private Postings[] postings(String term) {
+        List<Postings[]> parts = new ArrayList<>(2);
+        for (IndexSegment segment : segments) {
+            Postings[] slots = segment.postings(term);
+            if (slots != null) {
+                parts.add(slots);
+            }
+        }
+        for (Buffer source : buffers()) {
+            PostingList[] slots = source.terms.get(term);
+            if (slots != null) {
+                parts.add(slots);
+            }
+        }
+        if (parts.size() <= 1) {
+            return parts.isEmpty() ? null : parts.get(0);
+        }
+
+        Postings[] chained = new Postings[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            List<Postings> inField = new ArrayList<>(parts.size());
+            for (Postings[] slots : parts) {
+                if (slots[f] != null) {
+                    inField.add(slots[f]);
+                }
+            }
+            chained[f] = Postings.chain(inField);
+        }
+        return chained;
+    }
+
+    /**
+     * Up to {@link #MAX_PREFIX_EXPANSIONS} terms that start with (and are longer than) {@code prefix}, smallest
+     * first.
+     */
+    private NavigableSet<String> termsWithPrefix(String prefix) {
+        TreeSet<String> found = new TreeSet<>(IndexSegment.TERM_ORDER);
+        for (IndexSegment segment : segments) {
+            collectPrefixed(segment.termsFrom(prefix), prefix, found);
+        }
+        for (Buffer source : buffers()) {
+            collectPrefixed(source.cursor(prefix), prefix, found);
+        }
+        return found;
+    }
+
+    private static void collectPrefixed(IndexSegment.TermCursor cursor, String prefix, TreeSet<String> found) {
+        int taken = 0;
+        while (taken < MAX_PREFIX_EXPANSIONS && cursor.next()) {
+            String term = cursor.term();
+            if (!term.startsWith(prefix)) {
+                break;
+            }
+            if (term.length() > prefix.length()) {
+                taken++;
+                found.add(term);
+                if (found.size() > MAX_PREFIX_EXPANSIONS) {
+                    found.pollLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Live docs matching every free query token, every phrase and the structured filters.
+     */
+    private RoaringBitmap match(PaperSearchRequest request, SearchQuery query) {
+        boolean hasText = request.getQuery() != null && !request.getQuery().isBlank();
+        if (hasText && query.isEmpty()) {
+            return new RoaringBitmap();
+        }
+
+        RoaringBitmap candidates = null;
+        List<RoaringBitmap> required = new ArrayList<>();
+        for (String token : query.terms()) {
+            required.add(matchToken(token));
+        }
+        for (SearchQuery.Phrase phrase : query.phrases()) {
+            required.add(matchPhrase(phrase));
+        }
+        for (RoaringBitmap matches : required) {
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.and(matches);
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+        }
+        return applyFilters(candidates, request);
+    }
+
+    private interface TermVisitor {
+        void accept(String term, Postings[] slots, double weight);
+    }
+
+    /**
+     * Visits the exact term and, for long enough tokens, up to {@link #MAX_PREFIX_EXPANSIONS} terms it prefixes,
+     * together with the weight the match carries for ranking.
+     */
+    private void forEachMatchingTerm(String token, TermVisitor visitor) {
+        Postings[] exact = postings(token);
+        if (exact != null) {
+            visitor.accept(token, exact, 1.0);
+        }
+
+        int expansions = 0;
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (String term : termsWithPrefix(token)) {
+                expansions++;
+                visitor.accept(term, postings(term), PREFIX_MATCH_WEIGHT);
+            }
+        }
+
+        if (exact == null && expansions == 0) {
+            for (String term : fuzzyMatches(token)) {
+                Postings[] slots = postings(term); // null once merges dropped the term's last doc
+                if (slots != null) {
+                    visitor.accept(term, slots, FUZZY_MATCH_WEIGHT);
+                }
+            }
+        }
+    }
+
+    private List<String> fuzzyMatches(String token) {
+        if (token.length() < MIN_FUZZY_LENGTH) {
+            return List.of();
+        }
+        int maxEdits = token.length() >= TWO_EDITS_LENGTH ? 2 : 1;
+        return fuzzyTerms.lookup(token, maxEdits, MAX_FUZZY_EXPANSIONS);
+    }
+
+    private static boolean isFuzzyField(int field) {
+        return field == IndexField.TITLE.ordinal() || field == IndexField.AUTHOR.ordinal();
+    }
+
+    private static boolean isPositionalField(int field) {
+        return field == IndexField.TITLE.ordinal() || field == IndexField.ABSTRACT.ordinal();
+    }
+
+    private RoaringBitmap matchToken(String token) {
+        RoaringBitmap matches = new RoaringBitmap();
+        forEachMatchingTerm(token, (term, slots, weight) -> {
+            for (Postings postings : slots) {
+                if (postings != null) {
+                    postings.orInto(matches);
+                }
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Docs whose title or abstract contains the phrase. Only docs holding every phrase word in the same field have
+     * their positions read. A single quoted word matches exactly, in any field.
+     */
+    private RoaringBitmap matchPhrase(SearchQuery.Phrase phrase) {
+        RoaringBitmap matches = new RoaringBitmap();
+        List<String> tokens = phrase.tokens();
+        if (tokens.size() == 1) {
+            Postings[] slots = postings(tokens.get(0));
+            if (slots != null) {
+                for (Postings postings : slots) {
+                    if (postings != null) {
+                        postings.orInto(matches);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        for (IndexField field : POSITIONAL_FIELDS) {
+            Postings[] lists = new Postings[tokens.size()];
+            RoaringBitmap candidates = null;
+            for (int t = 0; t < tokens.size(); t++) {
+                Postings[] slots = postings(tokens.get(t));
+                lists[t] = slots == null ? null : slots[field.ordinal()];
+                if (lists[t] == null) {
+                    candidates = null;
+                    break;
+                }
+                RoaringBitmap docsWithToken = new RoaringBitmap();
+                lists[t].orInto(docsWithToken);
+                candidates = candidates == null ? docsWithToken : RoaringBitmap.and(candidates, docsWithToken);
+            }
+            if (candidates == null) {
+                continue;
+            }
+            candidates.andNot(matches);
+            for (IntIterator it = candidates.getIntIterator(); it.hasNext(); ) {
+                int doc = it.next();
+                if (phraseOccurs(lists, doc, phrase.slop())) {
+                    matches.add(doc);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Whether the lists' terms occur in {@code doc} in order and adjacent or, with a slop, all within a window
+     * {@code slop} positions wider than the phrase, in any order.
+     */
+    private static boolean phraseOccurs(Postings[] lists, int doc, int slop) {
+        int[][] positions = new int[lists.length][];
+        for (int t = 0; t < lists.length; t++) {
+            int entry = lists[t].indexOf(doc);
+            positions[t] = new int[lists[t].freq(entry)];
+            lists[t].occurrences(entry, positions[t], new int[positions[t].length]);
+        }
+
+        if (slop == 0) {
+            for (int start : positions[0]) {
+                boolean all = true;
+                for (int t = 1; t < lists.length && all; t++) {
+                    all = Arrays.binarySearch(positions[t], start + t) >= 0;
+                }
+                if (all) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Smallest window holding one occurrence of every term: keep advancing the list at the window's left edge
+        int width = lists.length - 1 + slop;
+        int[] next = new int[lists.length];
+        while (true) {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            int minList = 0;
+            for (int t = 0; t < lists.length; t++) {
+                int position = positions[t][next[t]];
+                if (position < min) {
+                    min = position;
+                    minList = t;
+                }
+                max = Math.max(max, position);
+            }
+            if (max - min <= width) {
+                return true;
+            }
+            if (++next[minList] == positions[minList].length) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Live docs from {@code candidates} (all docs when null) that pass the category, year (or year range), status and author filters.
+     */
+    private RoaringBitmap applyFilters(RoaringBitmap candidates, PaperSearchRequest request) {
+        RoaringBitmap matches = candidates == null ? liveDocs.clone() : RoaringBitmap.and(candidates, liveDocs);
+
+        List<UUID> categoryIds = request.getCategoryIds();
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            List<RoaringBitmap> selected = new ArrayList<>(categoryIds.size());
+            for (UUID categoryId : new LinkedHashSet<>(categoryIds)) {
+                selected.add(categoryDocs.getOrDefault(categoryId, new RoaringBitmap()));
+            }
+            if (request.getCategoryMatch() == CategoryMatch.ALL) {
+                for (RoaringBitmap category : selected) {
+                    matches.and(category);
+                }
+            } else {
+                matches.and(FastAggregation.or(selected.iterator()));
+            }
+        }
+        if (request.getYear() != null) {
+            matches.and(yearDocs.getOrDefault(request.getYear(), new RoaringBitmap()));
+        }
+        if (request.getYearFrom() != null || request.getYearTo() != null) {
+            int from = request.getYearFrom() != null ? request.getYearFrom() : Integer.MIN_VALUE;
+            int to = request.getYearTo() != null ? request.getYearTo() : Integer.MAX_VALUE;
+            List<RoaringBitmap> inRange = new ArrayList<>();
+            yearDocs.forEach((year, yearBitmap) -> {
+                if (year >= from && year <= to) {
+                    inRange.add(yearBitmap);
+                }
+            });
+            matches.and(inRange.isEmpty() ? new RoaringBitmap() : FastAggregation.or(inRange.iterator()));
+        }
+        if (request.getStatus() != null) {
+            matches.and(statusDocs.getOrDefault(request.getStatus(), new RoaringBitmap()));
+        }
+
+        // Name words and their phonetic codes, so spelling variants of an author match alike
+        if (request.getAuthor() != null && !matches.isEmpty()) {
+            matches = authorIndex.match(request.getAuthor(), matches);
+        }
+        return matches;
+    }
+
+    private SearchFacets facets(RoaringBitmap matches) {
+        Map<UUID, Integer> categories = new HashMap<>();
+        Map<Integer, Integer> years = new TreeMap<>(Comparator.reverseOrder());
+        Map<PaperStatus, Integer> statuses = new EnumMap<>(PaperStatus.class);
+        if (!matches.isEmpty()) {
+            categoryDocs.forEach((id, bitmap) -> putCount(categories, id, RoaringBitmap.andCardinality(matches, bitmap)));
+            yearDocs.forEach((year, bitmap) -> putCount(years, year, RoaringBitmap.andCardinality(matches, bitmap)));
+            statusDocs.forEach((status, bitmap) -> putCount(statuses, status, RoaringBitmap.andCardinality(matches, bitmap)));
+        }
+
+        Map<UUID, Integer> byCount = new LinkedHashMap<>();
+        categories.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Integer>comparingByValue().reversed())
+                .forEach(entry -> byCount.put(entry.getKey(), entry.getValue()));
+        return new SearchFacets(byCount, years, statuses);
+    }
+
+    private static <K> void putCount(Map<K, Integer> counts, K key, int count) {
+        if (count > 0) {
+            counts.put(key, count);
+        }
+    }
+
+    /**
+     * One field's postings of a query term with the BM25 weight {@code boost(f) * idf(t, f)} (times the prefix or
+     * fuzzy match weight) and the field's average length.
+     */
+    private record ScoredTerm(Postings postings, int field, float fieldWeight, float avgLength) {
+    }
+
+    private List<ScoredTerm> scoredTerms(List<String> tokens) {
+        List<ScoredTerm> terms = new ArrayList<>();
+        int liveDocs = docIds.size();
+        float[] boosts = {titleBoost, abstractBoost, authorBoost, categoryBoost, fullTextBoost};
+
+        for (String token : tokens) {
+            forEachMatchingTerm(token, (term, slots, weight) -> {
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    Postings postings = slots[f];
+                    if (postings == null || totalFieldLengths[f] == 0) {
+                        continue;
+                    }
+                    int df = Math.min(postings.size(), liveDocs);
+                    float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                    terms.add(new ScoredTerm(postings, f, (float) weight * boosts[f] * idf,
+                            (float) totalFieldLengths[f] / liveDocs));
+                }
+            });
+        }
+        return terms;
+    }
+
+    /**
+     * BM25 score of every doc in {@code matches} with a doc id in {@code [from, to)}, summed over query terms and
+     * fields: {@code boost(f) * idf(t, f) * tf * (k1 + 1) / (tf + k1 * (1 - b + b * len / avgLen(f)))}. A doc's
+     * score goes to {@code scores} at its position in {@code matches}.
+     */
+    private void score(List<ScoredTerm> terms, RoaringBitmap matches, float[] scores, int from, int to) {
+        for (ScoredTerm term : terms) {
+            Postings postings = term.postings();
+            ColumnCursor columns = new ColumnCursor();
+            for (int i = from == 0 ? 0 : postings.firstAtOrAfter(from); i < postings.size(); i++) {
+                int doc = postings.doc(i);
+                if (doc >= to) {
+                    break;
+                }
+                if (!matches.contains(doc)) {
+                    continue;
+                }
+                int tf = postings.freq(i);
+                int length = columns.fieldLength(doc, term.field());
+                scores[(int) matches.rank(doc) - 1] += term.fieldWeight() * tf * (K1 + 1)
+                        / (tf + K1 * (1 - B + B * length / term.avgLength()));
+            }
+        }
+    }
+
+    /**
+     * Appends the doc to the field's posting lists with term frequencies; returns the field's token count.
+     */
+    private int indexFrequencies(int doc, IndexField field, String text) {
+        List<String> tokens = analyzer.analyze(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postingsFor(entry.getKey(), field).add(doc, entry.getValue());
+        }
+        return tokens.size();
+    }
+
+    /**
+     * Appends the doc to the field's posting lists with every occurrence's position and char offset; returns
+     * the field's token count.
+     */
+    private int indexPositional(int doc, IndexField field, String text) {
+        TextAnalyzer.Tokens tokens = analyzer.tokenize(text);
+        Map<String, Occurrences> occurrences = new HashMap<>();
+        for (int position = 0; position < tokens.terms().size(); position++) {
+            occurrences.computeIfAbsent(tokens.terms().get(position), t -> new Occurrences())
+                    .add(position, tokens.starts()[position]);
+        }
+        for (Map.Entry<String, Occurrences> entry : occurrences.entrySet()) {
+            Occurrences found = entry.getValue();
+            postingsFor(entry.getKey(), field).add(doc, found.positions, found.offsets, found.count);
+        }
+        return tokens.terms().size();
+    }
+
+    private PostingList postingsFor(String term, IndexField field) {
+        PostingList[] slots = buffer.terms.computeIfAbsent(term, t -> new PostingList[FIELD_COUNT]);
+        if (slots[field.ordinal()] == null) {
+            slots[field.ordinal()] = new PostingList(isPositionalField(field.ordinal()));
+            if (isFuzzyField(field.ordinal())) {
+                fuzzyTerms.add(term);
+            }
+        }
+        return slots[field.ordinal()];
+    }
+
+    private static final class Occurrences {
+        int[] positions = new int[2];
+        int[] offsets = new int[2];
+        int count;
+
+        void add(int position, int offset) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            positions[count] = position;
+            offsets[count] = offset;
+            count++;
+        }
+    }
+
+    private void addToBitmaps(int doc, PaperDocument document) {
+        liveDocs.add(doc);
+        for (UUID categoryId : document.categoryIds()) {
+            categoryDocs.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(doc);
+        }
+        if (document.publicationYear() != null) {
+            yearDocs.computeIfAbsent(document.publicationYear(), y -> new RoaringBitmap()).add(doc);
+        }
+        if (document.status() != null) {
+            statusDocs.computeIfAbsent(document.status(), st -> new RoaringBitmap()).add(doc);
+        }
+        authorIndex.add(doc, document.author());
+    }
+
+    private void removeFromBitmaps(int doc, PaperDocument document) {
+        liveDocs.remove(doc);
+        for (UUID categoryId : document.categoryIds()) {
+            removeDoc(categoryDocs, categoryId, doc);
+        }
+        if (document.publicationYear() != null) {
+            removeDoc(yearDocs, document.publicationYear(), doc);
+        }
+        if (document.status() != null) {
+            removeDoc(statusDocs, document.status(), doc);
+        }
+        authorIndex.remove(doc, document.author());
+    }
+
+    private static <K> void removeDoc(Map<K, RoaringBitmap> bitmaps, K key, int doc) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(doc);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private void tombstone(UUID paperId) {
+        Integer previous = docIds.remove(paperId);
+        if (previous == null) {
+            return;
+        }
+        removeFromBitmaps(previous, document(previous));
+        ColumnCursor columns = new ColumnCursor();
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalFieldLengths[f] -= columns.fieldLength(previous, f);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.researchhub.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query text split into free words and quoted phrases.
+ *
+ * Free words match as before: in any field, exactly, as a prefix or, failing both, with a spelling tolerance.
+ * {@code "neural network"} must occur word for word in the title or the abstract. {@code "neural network"~3}
+ * lets the words sit up to three positions further apart than written, in any order. A quoted single word only
+ * matches exactly. An unclosed quote runs to the end of the query.
+ */
+record SearchQuery(List<String> terms, List<Phrase> phrases) {
+
+    static final int MAX_SLOP = 20;
+
+    record Phrase(List<String> tokens, int slop) {
+    }
+
+    static SearchQuery parse(String text, TextAnalyzer analyzer) {
+        List<String> terms = new ArrayList<>();
+        List<Phrase> phrases = new ArrayList<>();
+        if (text == null) {
+            return new SearchQuery(terms, phrases);
+        }
+
+        int at = 0;
+        while (at < text.length()) {
+            int open = text.indexOf('"', at);
+            if (open < 0) {
+                terms.addAll(analyzer.analyze(text.substring(at)));
+                break;
+            }
+            terms.addAll(analyzer.analyze(text.substring(at, open)));
+
+            int close = text.indexOf('"', open + 1);
+            int end = close < 0 ? text.length() : close;
+            at = close < 0 ? text.length() : close + 1;
+
+            int slop = 0;
+            if (at < text.length() && text.charAt(at) == '~') {
+                int digits = at + 1;
+                while (digits < text.length() && Character.isDigit(text.charAt(digits)) && digits - at <= 3) {
+                    digits++;
+                }
+                if (digits > at + 1) {
+                    slop = Math.min(Integer.parseInt(text.substring(at + 1, digits)), MAX_SLOP);
+                }
+                at = digits;
+            }
+
+            List<String> tokens = analyzer.analyze(text.substring(open + 1, end));
+            if (!tokens.isEmpty()) {
+                phrases.add(new Phrase(tokens, slop));
+            }
+        }
+        return new SearchQuery(terms, phrases);
+    }
+
+    boolean isEmpty() {
+        return terms.isEmpty() && phrases.isEmpty();
+    }
+
+    /**
+     * Free words followed by every phrase word, for ranking.
+     */
+    List<String> allTokens() {
+        List<String> tokens = new ArrayList<>(terms);
+        phrases.forEach(phrase -> tokens.addAll(phrase.tokens()));
+        return tokens;
+    }
+}
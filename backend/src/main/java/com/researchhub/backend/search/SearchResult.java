@@ -0,0 +1,15 @@
+package com.researchhub.backend.search;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Paper ids for the requested page, in result order, plus the total number of matches and their facet counts.
+ * {@code rankingNanos} is the time spent scoring and selecting the top hits over {@code total} candidates.
+ */
+public record SearchResult(List<UUID> ids, long total, long rankingNanos, SearchFacets facets) {
+
+    static SearchResult empty() {
+        return new SearchResult(List.of(), 0, 0, SearchFacets.empty());
+    }
+}
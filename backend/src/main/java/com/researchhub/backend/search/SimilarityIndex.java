@@ -0,0 +1,530 @@
+package com.researchhub.backend.search;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Nearest-neighbour index of paper text vectors behind "similar papers".
+ *
+ * Each paper gets a {@link TextVectorizer} vector inserted into an {@link HnswGraph}. A fingerprint of the
+ * vectorized text is kept per paper so a paper whose text has not changed is not re-inserted, which is what makes
+ * loading a {@link #save snapshot} and reconciling it with the database cheap after a restart. Replaced and
+ * removed papers leave deleted nodes behind; the graph is rebuilt from the live vectors once they outnumber them.
+ * The rebuild runs on its own thread without the lock, so writers and {@link #similar} readers carry on against the
+ * old graph; papers changed meanwhile are replayed onto the new graph when it is swapped in under a short write lock.
+ */
+@Component
+public class SimilarityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityIndex.class);
+
+    public record Match(UUID paperId, float score) {
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x53494D32; // "SIM2"
+    private static final int MAX_LINKS = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int MIN_DELETES_BEFORE_REBUILD = 1000;
+    // Synthetic benchmark points: noise relative to the cluster centre, high enough that clusters overlap
+    private static final double SYNTHETIC_NOISE = 2.0;
+
+    private final TextAnalyzer analyzer;
+    private final int dimensions;
+    private final int efSearch;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TextVectorizer vectorizer;
+    private HnswGraph graph;
+    private final Map<UUID, Integer> nodes = new HashMap<>();
+    private final List<UUID> nodePapers = new ArrayList<>(); // by node, including deleted nodes
+    private final Map<UUID, Long> fingerprints = new HashMap<>(); // every paper whose terms were learned
+
+    // Rebuilds, one at a time, off the lock
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similarity-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean rebuilding;
+    // Bumped by clear() and load(), so a rebuild of the graph they replaced is thrown away
+    private long generation;
+    private final Set<UUID> changedDuringRebuild = new HashSet<>();
+    private int rebuilds;
+
+    public SimilarityIndex(TextAnalyzer analyzer,
+                           @Value("${app.similar.dimensions:256}") int dimensions,
+                           @Value("${app.similar.ef-search:64}") int efSearch) {
+        this.analyzer = analyzer;
+        this.dimensions = dimensions;
+        this.efSearch = efSearch;
+        this.vectorizer = new TextVectorizer(analyzer, dimensions);
+        this.graph = new HnswGraph(dimensions, MAX_LINKS, EF_CONSTRUCTION);
+    }
+
+    /**
+     * Counts the paper's terms into the document frequencies without inserting it. A cold build runs this over
+     * every paper first so the first vectors already get corpus-wide IDF weights.
+     */
+    public void learn(PaperDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (fingerprints.putIfAbsent(document.id(), document.textFingerprint()) == null) {
+                vectorizer.learn(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the paper's vector; returns false when its text is unchanged since the last insert.
+     */
+    public boolean upsert(PaperDocument document) {
+        lock.writeLock().lock();
+        try {
+            long fingerprint = document.textFingerprint();
+            Long previous = fingerprints.put(document.id(), fingerprint);
+            if (previous == null) {
+                vectorizer.learn(document);
+            } else if (previous == fingerprint && nodes.containsKey(document.id())) {
+                return false;
+            }
+
+            tombstone(document.id());
+            float[] vector = vectorizer.vectorize(document);
+            if (vector != null) {
+                nodes.put(document.id(), graph.add(vector));
+                nodePapers.add(document.id());
+            }
+            rebuildIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID paperId) {
+        lock.writeLock().lock();
+        try {
+            fingerprints.remove(paperId);
+            tombstone(paperId);
+            rebuildIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every paper that {@code keep} rejects (papers deleted while a snapshot was on disk).
+     */
+    public int retainAll(Predicate<UUID> keep) {
+        lock.writeLock().lock();
+        try {
+            List<UUID> stale = fingerprints.keySet().stream().filter(keep.negate()).toList();
+            stale.forEach(paperId -> {
+                fingerprints.remove(paperId);
+                tombstone(paperId);
+            });
+            rebuildIfNeeded();
+            return stale.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            vectorizer = new TextVectorizer(analyzer, dimensions);
+            graph = new HnswGraph(dimensions, MAX_LINKS, EF_CONSTRUCTION);
+            nodes.clear();
+            nodePapers.clear();
+            fingerprints.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID paperId) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(paperId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Deleted nodes still in the graph, whether a rebuild is running and how many have completed.
+     */
+    public Map<String, Object> getRebuildStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("deletedNodes", graph.deletedCount());
+            stats.put("rebuilding", rebuilding);
+            stats.put("rebuilds", rebuilds);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Up to {@code limit} papers most similar to the given one, most similar first; empty if it has no vector.
+     */
+    public List<Match> similar(UUID paperId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodes.get(paperId);
+            if (node == null) {
+                return List.of();
+            }
+            return graph.search(graph.vector(node), limit, efSearch, other -> other != node).stream()
+                    .map(neighbor -> new Match(nodePapers.get(neighbor.node()), neighbor.similarity()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Snapshot ---
+
+    /**
+     * Writes the whole index to {@code path} (via a temporary file, so a crash never leaves a torn snapshot).
+     */
+    public void save(Path path) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeUTF(analyzer.signature());
+                vectorizer.write(out);
+                graph.write(out);
+                for (UUID paperId : nodePapers) {
+                    writeUuid(out, paperId);
+                }
+                out.writeInt(fingerprints.size());
+                for (Map.Entry<UUID, Long> entry : fingerprints.entrySet()) {
+                    writeUuid(out, entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the snapshot at {@code path}; returns false when there is none.
+     */
+    public boolean load(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a similarity index snapshot: " + path);
+            }
+            String signature = in.readUTF();
+            if (!signature.equals(analyzer.signature())) {
+                throw new IOException("Similarity index snapshot was built with analyzer " + signature + ": " + path);
+            }
+            TextVectorizer loadedVectorizer = new TextVectorizer(analyzer, dimensions);
+            loadedVectorizer.read(in);
+            HnswGraph loadedGraph = HnswGraph.read(in);
+            List<UUID> loadedPapers = new ArrayList<>(loadedGraph.size());
+            Map<UUID, Integer> loadedNodes = new HashMap<>();
+            for (int node = 0; node < loadedGraph.size(); node++) {
+                UUID paperId = readUuid(in);
+                loadedPapers.add(paperId);
+                if (!loadedGraph.isDeleted(node)) {
+                    loadedNodes.put(paperId, node);
+                }
+            }
+            int fingerprintCount = in.readInt();
+            Map<UUID, Long> loadedFingerprints = new HashMap<>(fingerprintCount * 2);
+            for (int i = 0; i < fingerprintCount; i++) {
+                loadedFingerprints.put(readUuid(in), in.readLong());
+            }
+
+            lock.writeLock().lock();
+            try {
+                generation++;
+                vectorizer = loadedVectorizer;
+                graph = loadedGraph;
+                nodes.clear();
+                nodes.putAll(loadedNodes);
+                nodePapers.clear();
+                nodePapers.addAll(loadedPapers);
+                fingerprints.clear();
+                fingerprints.putAll(loadedFingerprints);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return true;
+        }
+    }
+
+    // --- Benchmark ---
+
+    /**
+     * Recall@k of the graph against an exact scan, and search latency, using {@code queries} random indexed papers.
+     */
+    public Map<String, Object> benchmark(int queries, int k) {
+        lock.readLock().lock();
+        try {
+            List<Integer> live = new ArrayList<>(nodes.values());
+            Collections.shuffle(live, new Random(7));
+            List<Integer> sample = live.subList(0, Math.min(queries, live.size()));
+            float[][] vectors = new float[sample.size()][];
+            int[] exclude = new int[sample.size()];
+            for (int i = 0; i < sample.size(); i++) {
+                vectors[i] = graph.vector(sample.get(i));
+                exclude[i] = sample.get(i);
+            }
+            Map<String, Object> result = measure(graph, vectors, exclude, k, efSearch);
+            result.put("papers", nodes.size());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The same measurement on a throwaway graph of {@code size} clustered random vectors, for sizes the live
+     * corpus does not reach yet. Queries are fresh points from the same clusters.
+     */
+    public Map<String, Object> syntheticBenchmark(int size, int queries, int k) {
+        Random random = new Random(11);
+        int clusters = Math.max(10, size / 100);
+        float[][] centroids = new float[clusters][];
+        for (int c = 0; c < clusters; c++) {
+            centroids[c] = randomUnitVector(random, null, 0);
+        }
+
+        HnswGraph synthetic = new HnswGraph(dimensions, MAX_LINKS, EF_CONSTRUCTION);
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            synthetic.add(randomUnitVector(random, centroids[random.nextInt(clusters)], SYNTHETIC_NOISE));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        float[][] vectors = new float[queries][];
+        int[] exclude = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            vectors[i] = randomUnitVector(random, centroids[random.nextInt(clusters)], SYNTHETIC_NOISE);
+            exclude[i] = -1;
+        }
+        Map<String, Object> result = measure(synthetic, vectors, exclude, k, efSearch);
+        result.put("papers", size);
+        result.put("buildMillis", buildMillis);
+        return result;
+    }
+
+    // --- Internals ---
+
+    private void tombstone(UUID paperId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(paperId);
+        }
+        Integer node = nodes.remove(paperId);
+        if (node != null) {
+            graph.markDeleted(node);
+        }
+    }
+
+    /**
+     * Starts a background rebuild once deleted nodes outnumber live ones. Called with the write lock held; only the
+     * live papers and their vectors (which are never modified) are copied here.
+     */
+    private void rebuildIfNeeded() {
+        int deleted = graph.deletedCount();
+        if (rebuilding || deleted < MIN_DELETES_BEFORE_REBUILD || deleted * 2 <= graph.size()) {
+            return;
+        }
+        List<UUID> papers = new ArrayList<>(nodes.size());
+        List<float[]> vectors = new ArrayList<>(nodes.size());
+        for (int node = 0; node < graph.size(); node++) {
+            if (!graph.isDeleted(node)) {
+                papers.add(nodePapers.get(node));
+                vectors.add(graph.vector(node));
+            }
+        }
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        long startedGeneration = generation;
+        rebuilder.execute(() -> rebuild(papers, vectors, startedGeneration));
+    }
+
+    private void rebuild(List<UUID> papers, List<float[]> vectors, long startedGeneration) {
+        long start = System.currentTimeMillis();
+        HnswGraph rebuilt = new HnswGraph(dimensions, MAX_LINKS, EF_CONSTRUCTION);
+        List<UUID> rebuiltPapers = new ArrayList<>(papers.size());
+        Map<UUID, Integer> rebuiltNodes = new HashMap<>();
+        try {
+            for (int i = 0; i < papers.size(); i++) {
+                rebuiltNodes.put(papers.get(i), rebuilt.add(vectors.get(i)));
+                rebuiltPapers.add(papers.get(i));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Similarity index rebuild failed: {}", e.getMessage(), e);
+            finishRebuild();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (generation != startedGeneration) {
+                return;
+            }
+            // Replaced or removed since the copy: drop the copied node and add the current vector, if any
+            for (UUID paperId : changedDuringRebuild) {
+                Integer copied = rebuiltNodes.remove(paperId);
+                if (copied != null) {
+                    rebuilt.markDeleted(copied);
+                }
+                Integer current = nodes.get(paperId);
+                if (current != null) {
+                    rebuiltNodes.put(paperId, rebuilt.add(graph.vector(current)));
+                    rebuiltPapers.add(paperId);
+                }
+            }
+            graph = rebuilt;
+            nodes.clear();
+            nodes.putAll(rebuiltNodes);
+            nodePapers.clear();
+            nodePapers.addAll(rebuiltPapers);
+            rebuilds++;
+            logger.info("Similarity index rebuilt: {} papers in {} ms ({} changed meanwhile)",
+                    nodes.size(), System.currentTimeMillis() - start, changedDuringRebuild.size());
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+            lock.writeLock().unlock();
+        }
+        // Enough changes may have piled up during the build for another one
+        lock.writeLock().lock();
+        try {
+            rebuildIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Object> measure(HnswGraph graph, float[][] queries, int[] exclude, int k, int ef) {
+        LatencyHistogram approximate = new LatencyHistogram();
+        long exactNanos = 0;
+        long found = 0;
+        long expected = 0;
+        for (int i = 0; i < queries.length; i++) {
+            int excluded = exclude[i];
+            long start = System.nanoTime();
+            List<HnswGraph.Neighbor> hits = graph.search(queries[i], k, ef, node -> node != excluded);
+            approximate.record(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Set<Integer> exact = exactTopK(graph, queries[i], k, excluded);
+            exactNanos += System.nanoTime() - start;
+
+            expected += exact.size();
+            found += hits.stream().filter(hit -> exact.contains(hit.node())).count();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queries", queries.length);
+        result.put("k", k);
+        result.put("efSearch", ef);
+        result.put("dimensions", graph.dimensions());
+        result.put("recall", expected == 0 ? 1.0 : (double) found / expected);
+        result.put("latency", approximate.snapshotMicros());
+        result.put("exactScanMeanMicros", queries.length == 0 ? 0 : exactNanos / queries.length / 1000.0);
+        return result;
+    }
+
+    private static Set<Integer> exactTopK(HnswGraph graph, float[] query, int k, int excluded) {
+        PriorityQueue<HnswGraph.Neighbor> top = new PriorityQueue<>(Comparator.comparingDouble(HnswGraph.Neighbor::similarity));
+        for (int node = 0; node < graph.size(); node++) {
+            if (node == excluded || graph.isDeleted(node)) {
+                continue;
+            }
+            float similarity = HnswGraph.dot(query, graph.vector(node));
+            if (top.size() < k) {
+                top.add(new HnswGraph.Neighbor(node, similarity));
+            } else if (similarity > top.peek().similarity()) {
+                top.poll();
+                top.add(new HnswGraph.Neighbor(node, similarity));
+            }
+        }
+        Set<Integer> nodes = new HashSet<>();
+        top.forEach(neighbor -> nodes.add(neighbor.node()));
+        return nodes;
+    }
+
+    // Unit vector around {@code center} with per-dimension Gaussian noise (pure noise when center is null)
+    private float[] randomUnitVector(Random random, float[] center, double noise) {
+        float[] vector = new float[dimensions];
+        double scale = 1 / Math.sqrt(dimensions);
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) ((center != null ? center[i] : 0) + random.nextGaussian() * scale * (center != null ? noise : 1));
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+    private static void writeUuid(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
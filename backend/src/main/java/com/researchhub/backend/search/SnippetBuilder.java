@@ -0,0 +1,198 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.dto.SearchSnippet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cuts highlighted snippets out of a hit's title and abstract from the {@link Highlight}s found by
+ * {@link SearchIndex#highlights}.
+ *
+ * The texts are never scanned for the query words: the highlights already say where they start, and only the
+ * highlighted words themselves (to find their ends) and the few chars around a fragment's edges are looked at. The title is returned whole when it
+ * has a highlight; the abstract as up to {@link #MAX_FRAGMENTS} fragments of about {@link #FRAGMENT_CHARS} chars
+ * around the densest groups of highlights. A field whose text no longer lines up with its highlights (edited since
+ * it was indexed) gets no snippet.
+ */
+public final class SnippetBuilder {
+
+    private static final int FRAGMENT_CHARS = 180;
+    // How much of the text before a fragment's first highlight to keep
+    private static final int CONTEXT_CHARS = 40;
+    private static final int MAX_FRAGMENTS = 2;
+    private static final int MAX_SNAP_CHARS = 20;
+    private static final String ELLIPSIS = "…";
+
+    private SnippetBuilder() {
+    }
+
+    public static List<SearchSnippet> build(String title, String abstractText, List<Highlight> highlights) {
+        List<SearchSnippet> snippets = new ArrayList<>();
+        List<Span> inTitle = lineUp(title, highlights, IndexField.TITLE);
+        if (!inTitle.isEmpty()) {
+            snippets.add(new SearchSnippet("title", title, offsets(inTitle, 0, 0)));
+        }
+        List<Span> inAbstract = lineUp(abstractText, highlights, IndexField.ABSTRACT);
+        if (!inAbstract.isEmpty()) {
+            snippets.addAll(fragments(abstractText, inAbstract));
+        }
+        return snippets;
+    }
+
+    /**
+     * The field's highlighted words as char spans in text order, words separated only by whitespace joined into one;
+     * none if any highlight no longer starts a word of the text.
+     */
+    private static List<Span> lineUp(String text, List<Highlight> highlights, IndexField field) {
+        if (text == null) {
+            return List.of();
+        }
+        List<Span> words = new ArrayList<>();
+        for (Highlight highlight : highlights) {
+            if (highlight.field() != field) {
+                continue;
+            }
+            if (!isWordStart(text, highlight.start())) {
+                return List.of();
+            }
+            int end = highlight.start();
+            while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            words.add(new Span(highlight.start(), end));
+        }
+        words.sort(Comparator.comparingInt(Span::start));
+
+        List<Span> spans = new ArrayList<>();
+        for (Span word : words) {
+            Span last = spans.isEmpty() ? null : spans.get(spans.size() - 1);
+            if (last != null && text.substring(last.end(), word.start()).isBlank()) {
+                spans.set(spans.size() - 1, new Span(last.start(), word.end()));
+            } else {
+                spans.add(word);
+            }
+        }
+        return spans;
+    }
+
+    private static boolean isWordStart(String text, int at) {
+        return at < text.length() && Character.isLetterOrDigit(text.charAt(at))
+                && (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1)));
+    }
+
+    private static List<SearchSnippet> fragments(String text, List<Span> highlights) {
+        if (text.length() <= FRAGMENT_CHARS) {
+            return List.of(new SearchSnippet("abstract", text, offsets(highlights, 0, 0)));
+        }
+
+        // Greedily take the window starting at a highlight that covers the most highlights not yet shown;
+        // each attempt is one sliding-window pass over the highlights
+        List<int[]> windows = new ArrayList<>();
+        int count = highlights.size();
+        boolean[] shown = new boolean[count];
+        int[] unshownBefore = new int[count + 1];
+        for (int attempt = 0; attempt < MAX_FRAGMENTS * 2 && windows.size() < MAX_FRAGMENTS; attempt++) {
+            for (int i = 0; i < count; i++) {
+                unshownBefore[i + 1] = unshownBefore[i] + (shown[i] ? 0 : 1);
+            }
+            int best = -1;
+            int bestCovered = 0;
+            int end = 0;
+            for (int i = 0; i < count; i++) {
+                int limit = highlights.get(i).start() + FRAGMENT_CHARS - CONTEXT_CHARS;
+                end = Math.max(end, i);
+                while (end < count && highlights.get(end).end() <= limit) {
+                    end++;
+                }
+                int covered = unshownBefore[end] - unshownBefore[i];
+                if (!shown[i] && covered > bestCovered) {
+                    best = i;
+                    bestCovered = covered;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+
+            int[] window = window(text, highlights, best);
+            boolean overlaps = windows.stream().anyMatch(other -> window[0] < other[1] && other[0] < window[1]);
+            for (int j = 0; j < highlights.size(); j++) {
+                if (highlights.get(j).start() >= window[0] && highlights.get(j).end() <= window[1]) {
+                    shown[j] = true;
+                }
+            }
+            shown[best] = true;
+            if (!overlaps) {
+                windows.add(window);
+            }
+        }
+
+        windows.sort(Comparator.comparingInt(window -> window[0]));
+        List<SearchSnippet> fragments = new ArrayList<>();
+        for (int[] window : windows) {
+            String prefix = window[0] > 0 ? ELLIPSIS : "";
+            String suffix = window[1] < text.length() ? ELLIPSIS : "";
+            List<Span> inside = highlights.stream()
+                    .filter(span -> span.start() >= window[0] && span.end() <= window[1])
+                    .toList();
+            fragments.add(new SearchSnippet("abstract", prefix + text.substring(window[0], window[1]) + suffix,
+                    offsets(inside, window[0], prefix.length())));
+        }
+        return fragments;
+    }
+
+    /**
+     * {@code [from, to)} of a fragment starting a little before highlight {@code first}, cut at word boundaries.
+     */
+    private static int[] window(String text, List<Span> highlights, int first) {
+        int anchor = highlights.get(first).start();
+        int from = Math.max(0, anchor - CONTEXT_CHARS);
+        if (from > 0) {
+            int space = indexOfSpace(text, from, Math.min(anchor, from + MAX_SNAP_CHARS));
+            from = space >= 0 ? space + 1 : from;
+        }
+
+        int to = Math.min(text.length(), from + FRAGMENT_CHARS);
+        int lastEnd = anchor;
+        for (int j = first; j < highlights.size() && highlights.get(j).end() <= to; j++) {
+            lastEnd = highlights.get(j).end();
+        }
+        if (to < text.length()) {
+            int space = lastIndexOfSpace(text, Math.max(lastEnd, to - MAX_SNAP_CHARS), to);
+            to = space >= 0 ? space : to;
+        }
+        return new int[]{from, Math.max(to, highlights.get(first).end())};
+    }
+
+    private static int indexOfSpace(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOfSpace(String text, int from, int to) {
+        for (int i = to; i >= from; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<int[]> offsets(List<Span> highlights, int from, int shift) {
+        return highlights.stream()
+                .map(span -> new int[]{span.start() - from + shift, span.end() - from + shift})
+                .toList();
+    }
+
+    /**
+     * Chars {@code [start, end)} of the field text covered by a highlight.
+     */
+    private record Span(int start, int end) {
+    }
+}
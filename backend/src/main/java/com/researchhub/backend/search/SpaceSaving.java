@@ -0,0 +1,145 @@
+package com.researchhub.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Space-Saving sketch of the most frequent keys in a stream, in a fixed number of counters.
+ *
+ * A key that has a counter increments it. A new key takes over the counter with the smallest count and starts
+ * from that count plus one, remembering the inherited part as its error; so every key seen more than
+ * {@code total / capacity} times is guaranteed a counter, and a counter's count overstates its key's true
+ * frequency by at most its error. Counters live in a fixed array claimed by compare-and-set, with a concurrent map
+ * from key to counter. A hit costs one map lookup and one atomic increment and a miss one pass over the array, so
+ * the cost per offer is bounded by the capacity however long the stream is. Increments racing with an eviction
+ * may be lost, which only adds to the approximation.
+ */
+public class SpaceSaving {
+
+    /**
+     * A tracked key: its true frequency lies between {@code count - error} and {@code count}.
+     */
+    public record Item(String key, long count, long error) {
+
+        public long guaranteed() {
+            return count - error;
+        }
+    }
+
+    private static final int MAX_CLAIM_ATTEMPTS = 4;
+
+    private static final class Counter {
+        final String key;
+        final long error;
+        final AtomicLong count;
+
+        Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = new AtomicLong(count);
+            this.error = error;
+        }
+    }
+
+    private final AtomicReferenceArray<Counter> slots;
+    private final ConcurrentHashMap<String, Counter> counters;
+    private final LongAdder total = new LongAdder();
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.counters = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    public void offer(String key) {
+        offer(key, 1);
+    }
+
+    /**
+     * Counts {@code weight} occurrences of {@code key} at once, e.g. to seed the sketch with counts kept from
+     * an earlier run.
+     */
+    public void offer(String key, long weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        total.add(weight);
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count.addAndGet(weight);
+            return;
+        }
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            int victim = -1;
+            Counter smallest = null;
+            for (int i = 0; i < slots.length(); i++) {
+                Counter slot = slots.get(i);
+                if (slot == null) {
+                    victim = i;
+                    smallest = null;
+                    break;
+                }
+                if (smallest == null || slot.count.get() < smallest.count.get()) {
+                    victim = i;
+                    smallest = slot;
+                }
+            }
+
+            long inherited = smallest == null ? 0 : smallest.count.get();
+            Counter claimed = new Counter(key, inherited + weight, inherited);
+            Counter existing = counters.putIfAbsent(key, claimed);
+            if (existing != null) {
+                // Another thread added the key meanwhile
+                existing.count.addAndGet(weight);
+                return;
+            }
+            if (slots.compareAndSet(victim, smallest, claimed)) {
+                if (smallest != null) {
+                    counters.remove(smallest.key, smallest);
+                }
+                return;
+            }
+            counters.remove(key, claimed);
+        }
+    }
+
+    /**
+     * Total number of offers.
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Up to {@code limit} tracked keys, most frequent first by guaranteed count (a key that just took over a
+     * counter has a high count but a low guarantee), then by count.
+     */
+    public List<Item> top(int limit) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Counter slot = slots.get(i);
+            if (slot != null) {
+                items.add(new Item(slot.key, slot.count.get(), slot.error));
+            }
+        }
+        items.sort(Comparator.comparingLong(Item::guaranteed).reversed()
+                .thenComparing(Comparator.comparingLong(Item::count).reversed())
+                .thenComparing(Item::key));
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        counters.clear();
+        total.reset();
+    }
+}
@@ -0,0 +1,70 @@
+package com.researchhub.backend.search;
+
+/**
+ * Drops common English function words ("the", "of", "and", ...), which match nearly every paper and say nothing
+ * about it. Dropped words take no position, so a quoted phrase matches across them.
+ *
+ * Words are looked up by their chars in a small open-addressing table, without creating a string per token.
+ */
+final class StopWordFilter implements TokenFilter {
+
+    private static final String[] WORDS = {
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these", "they",
+            "this", "to", "was", "will", "with"
+    };
+    private static final int MAX_LENGTH = 5;
+    private static final char[][] TABLE = new char[128][];
+
+    static {
+        for (String word : WORDS) {
+            char[] chars = word.toCharArray();
+            int slot = hash(chars, chars.length) & (TABLE.length - 1);
+            while (TABLE[slot] != null) {
+                slot = (slot + 1) & (TABLE.length - 1);
+            }
+            TABLE[slot] = chars;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "stop-words";
+    }
+
+    @Override
+    public boolean apply(TermBuffer token) {
+        return token.length() > MAX_LENGTH || !contains(token.chars(), token.length());
+    }
+
+    private static boolean contains(char[] chars, int length) {
+        int slot = hash(chars, length) & (TABLE.length - 1);
+        while (TABLE[slot] != null) {
+            if (equals(TABLE[slot], chars, length)) {
+                return true;
+            }
+            slot = (slot + 1) & (TABLE.length - 1);
+        }
+        return false;
+    }
+
+    private static boolean equals(char[] word, char[] chars, int length) {
+        if (word.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (word[i] != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(char[] chars, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = hash * 31 + chars[i];
+        }
+        return hash ^ (hash >>> 7);
+    }
+}
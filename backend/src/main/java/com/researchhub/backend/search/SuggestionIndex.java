@@ -0,0 +1,362 @@
+package com.researchhub.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Prefix index behind the explore typeahead: paper titles, author names and category names,
+ * each with a popularity weight.
+ *
+ * Readers work on an immutable {@link Snapshot}: a sorted array of entries plus a max-weight segment tree,
+ * so the top-k for a prefix costs two binary searches and O(k log n) tree probes however many entries share
+ * the prefix. Writers record changes in a small sorted delta that overrides the base array; once the delta
+ * passes {@link #MAX_DELTA} entries it is merged into a new base in one linear pass.
+ */
+@Component
+public class SuggestionIndex {
+
+    public enum Type { TITLE, AUTHOR, CATEGORY }
+
+    /**
+     * One suggestion. {@code refId} is the paper id for titles and the category id for categories.
+     */
+    public record Entry(String key, Type type, String text, String normalized, int weight, UUID refId) {
+
+        Entry withWeight(int newWeight) {
+            return new Entry(key, type, text, normalized, newWeight, refId);
+        }
+    }
+
+    private static final int MAX_DELTA = 1024;
+    private static final Comparator<Entry> BY_TEXT = Comparator
+            .comparing(Entry::normalized)
+            .thenComparing(Entry::key);
+
+    /**
+     * What one paper contributed, so it can be taken back on update or delete.
+     */
+    private record Contribution(String titleKey, List<String> authorKeys, List<String> categoryKeys) {
+    }
+
+    // --- Writer state, guarded by "this" ---
+    private final Map<String, Entry> live = new HashMap<>();
+    private final Map<String, Entry> delta = new HashMap<>(); // changed since the base was built; weight 0 = removed
+    private final Map<UUID, Contribution> contributions = new HashMap<>();
+    private final Map<UUID, Integer> saveCounts = new HashMap<>();
+    private boolean bulkLoading;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile int size;
+
+    // --- Writes ---
+
+    /**
+     * Starts a full reload. Queries keep seeing the previous snapshot until {@link #finishBulkLoad()}.
+     */
+    public synchronized void startBulkLoad() {
+        live.clear();
+        delta.clear();
+        contributions.clear();
+        saveCounts.clear();
+        bulkLoading = true;
+    }
+
+    public synchronized void finishBulkLoad() {
+        bulkLoading = false;
+        delta.clear();
+        snapshot = Snapshot.build(live.values().stream().sorted(BY_TEXT).toArray(Entry[]::new));
+        size = live.size();
+    }
+
+    public synchronized void addCategory(UUID categoryId, String name) {
+        String key = "C:" + categoryId;
+        if (!live.containsKey(key)) {
+            // Categories are suggested even before any paper uses them
+            put(new Entry(key, Type.CATEGORY, name, AuthorNames.normalize(name), 1, categoryId));
+            publish();
+        }
+    }
+
+    public synchronized void upsert(PaperDocument document) {
+        takeBack(document.id());
+
+        String titleKey = null;
+        if (document.title() != null && !document.title().isBlank()) {
+            titleKey = "T:" + document.id();
+            int weight = 1 + saveCounts.getOrDefault(document.id(), 0);
+            put(new Entry(titleKey, Type.TITLE, document.title(), AuthorNames.normalize(document.title()), weight, document.id()));
+        }
+
+        List<String> authorKeys = new ArrayList<>();
+        for (String name : AuthorNames.split(document.author())) {
+            String normalized = AuthorNames.normalize(name);
+            if (!normalized.isEmpty()) {
+                authorKeys.add(bump("A:" + normalized, Type.AUTHOR, name, normalized, null));
+                // Also reachable by surname: "chen" -> "Sarah Chen"
+                int space = normalized.lastIndexOf(' ');
+                if (space > 0) {
+                    authorKeys.add(bump("S:" + normalized, Type.AUTHOR, name, normalized.substring(space + 1) + " " + normalized, null));
+                }
+            }
+        }
+
+        List<String> categoryKeys = new ArrayList<>();
+        Iterator<String> names = document.categoryNames().iterator();
+        for (UUID categoryId : document.categoryIds()) {
+            String name = names.hasNext() ? names.next() : "";
+            categoryKeys.add(bump("C:" + categoryId, Type.CATEGORY, name, AuthorNames.normalize(name), categoryId));
+        }
+
+        contributions.put(document.id(), new Contribution(titleKey, authorKeys, categoryKeys));
+        publish();
+    }
+
+    public synchronized void remove(UUID paperId) {
+        if (takeBack(paperId)) {
+            publish();
+        }
+        saveCounts.remove(paperId);
+    }
+
+    /**
+     * Adjusts a title's weight when a user saves it to (+1) or removes it from (-1) their library.
+     */
+    public synchronized void adjustSaves(UUID paperId, int change) {
+        int saves = Math.max(0, saveCounts.getOrDefault(paperId, 0) + change);
+        saveCounts.put(paperId, saves);
+        Entry title = live.get("T:" + paperId);
+        if (title != null) {
+            put(title.withWeight(1 + saves));
+            publish();
+        }
+    }
+
+    // --- Reads ---
+
+    /**
+     * Up to {@code limit} suggestions whose normalized text starts with the normalized prefix,
+     * heaviest first, one per distinct text and type.
+     */
+    public List<Entry> suggest(String prefix, int limit) {
+        String normalized = AuthorNames.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return snapshot.topK(normalized, limit);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // --- Internals ---
+
+    private String bump(String key, Type type, String text, String normalized, UUID refId) {
+        Entry existing = live.get(key);
+        put(existing == null
+                ? new Entry(key, type, text, normalized, 1, refId)
+                : existing.withWeight(existing.weight() + 1));
+        return key;
+    }
+
+    private void drop(String key) {
+        Entry existing = live.get(key);
+        if (existing != null) {
+            // Categories stay suggestible with their minimum weight
+            int floor = existing.type() == Type.CATEGORY ? 1 : 0;
+            put(existing.withWeight(Math.max(floor, existing.weight() - 1)));
+        }
+    }
+
+    private boolean takeBack(UUID paperId) {
+        Contribution previous = contributions.remove(paperId);
+        if (previous == null) {
+            return false;
+        }
+        if (previous.titleKey() != null) {
+            Entry title = live.get(previous.titleKey());
+            if (title != null) {
+                put(title.withWeight(0));
+            }
+        }
+        previous.authorKeys().forEach(this::drop);
+        previous.categoryKeys().forEach(this::drop);
+        return true;
+    }
+
+    private void put(Entry entry) {
+        if (entry.weight() > 0) {
+            live.put(entry.key(), entry);
+        } else {
+            live.remove(entry.key());
+        }
+        if (!bulkLoading) {
+            delta.put(entry.key(), entry);
+        }
+    }
+
+    private void publish() {
+        if (bulkLoading) {
+            return;
+        }
+        if (delta.size() > MAX_DELTA) {
+            snapshot = snapshot.merge(delta);
+            delta.clear();
+        } else {
+            snapshot = snapshot.withDelta(delta);
+        }
+        size = live.size();
+    }
+
+    /**
+     * Immutable read view: base entries sorted by text with a max-weight segment tree, plus an override delta.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = build(new Entry[0]);
+
+        private final Entry[] base;
+        private final int[] tree; // tree[node] = index into base of the heaviest entry under that node
+        private final int leaves;
+        private final Entry[] delta; // sorted by text, may contain weight-0 removals
+        private final Set<String> overridden;
+
+        private Snapshot(Entry[] base, int[] tree, int leaves, Entry[] delta, Set<String> overridden) {
+            this.base = base;
+            this.tree = tree;
+            this.leaves = leaves;
+            this.delta = delta;
+            this.overridden = overridden;
+        }
+
+        static Snapshot build(Entry[] sorted) {
+            int leaves = 1;
+            while (leaves < sorted.length) {
+                leaves <<= 1;
+            }
+            int[] tree = new int[2 * leaves];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < sorted.length; i++) {
+                tree[leaves + i] = i;
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                tree[node] = heavier(sorted, tree[2 * node], tree[2 * node + 1]);
+            }
+            return new Snapshot(sorted, tree, leaves, new Entry[0], Set.of());
+        }
+
+        Snapshot withDelta(Map<String, Entry> changes) {
+            Entry[] sortedDelta = changes.values().stream().sorted(BY_TEXT).toArray(Entry[]::new);
+            return new Snapshot(base, tree, leaves, sortedDelta, Set.copyOf(changes.keySet()));
+        }
+
+        /**
+         * New base from this base with {@code changes} applied, via a linear merge of two sorted runs.
+         */
+        Snapshot merge(Map<String, Entry> changes) {
+            Entry[] additions = changes.values().stream()
+                    .filter(e -> e.weight() > 0)
+                    .sorted(BY_TEXT)
+                    .toArray(Entry[]::new);
+            List<Entry> merged = new ArrayList<>(base.length + additions.length);
+            int a = 0;
+            for (Entry entry : base) {
+                if (changes.containsKey(entry.key())) {
+                    continue;
+                }
+                while (a < additions.length && BY_TEXT.compare(additions[a], entry) < 0) {
+                    merged.add(additions[a++]);
+                }
+                merged.add(entry);
+            }
+            while (a < additions.length) {
+                merged.add(additions[a++]);
+            }
+            return build(merged.toArray(new Entry[0]));
+        }
+
+        List<Entry> topK(String prefix, int limit) {
+            List<Entry> results = new ArrayList<>(limit);
+            Set<String> seen = new HashSet<>();
+
+            // Delta matches, heaviest first (the delta is small)
+            List<Entry> fresh = new ArrayList<>();
+            for (int i = lowerBound(delta, prefix); i < delta.length && delta[i].normalized().startsWith(prefix); i++) {
+                if (delta[i].weight() > 0) {
+                    fresh.add(delta[i]);
+                }
+            }
+            fresh.sort(Comparator.comparingInt(Entry::weight).reversed());
+            int f = 0;
+
+            // Base matches come out of the segment tree heaviest first
+            int from = lowerBound(base, prefix);
+            int to = lowerBound(base, prefix + Character.MAX_VALUE);
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((x, y) -> base[y[0]].weight() - base[x[0]].weight());
+            if (from < to) {
+                ranges.add(new int[]{argMax(from, to), from, to});
+            }
+
+            while (results.size() < limit && (!ranges.isEmpty() || f < fresh.size())) {
+                Entry next;
+                if (ranges.isEmpty() || (f < fresh.size() && fresh.get(f).weight() >= base[ranges.peek()[0]].weight())) {
+                    next = fresh.get(f++);
+                } else {
+                    int[] range = ranges.poll();
+                    int best = range[0];
+                    next = overridden.contains(base[best].key()) ? null : base[best];
+                    if (range[1] < best) {
+                        ranges.add(new int[]{argMax(range[1], best), range[1], best});
+                    }
+                    if (best + 1 < range[2]) {
+                        ranges.add(new int[]{argMax(best + 1, range[2]), best + 1, range[2]});
+                    }
+                }
+                // The surname alias shares its author's display text, so this also folds it away
+                if (next != null && seen.add(next.type() + "|" + next.text().toLowerCase())) {
+                    results.add(next);
+                }
+            }
+            return results;
+        }
+
+        // Index of the heaviest base entry in [from, to)
+        private int argMax(int from, int to) {
+            int best = -1;
+            for (int lo = from + leaves, hi = to + leaves; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    best = heavier(base, best, tree[lo++]);
+                }
+                if ((hi & 1) == 1) {
+                    best = heavier(base, best, tree[--hi]);
+                }
+            }
+            return best;
+        }
+
+        private static int heavier(Entry[] entries, int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return entries[b].weight() > entries[a].weight() ? b : a;
+        }
+
+        private static int lowerBound(Entry[] entries, String text) {
+            int lo = 0;
+            int hi = entries.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (entries[mid].normalized().compareTo(text) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.researchhub.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * The token being analysed, as a growable char array that {@link TokenFilter}s rewrite in place. One buffer is
+ * reused for every token of a text, so only tokens that survive the chain become strings.
+ */
+public final class TermBuffer {
+
+    private char[] chars = new char[32];
+    private int length;
+
+    public char[] chars() {
+        return chars;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Truncates to, or (after {@link #ensureCapacity}) extends to, {@code length} chars.
+     */
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+        }
+    }
+
+    public void append(char c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+        chars[length++] = c;
+    }
+
+    public void clear() {
+        length = 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
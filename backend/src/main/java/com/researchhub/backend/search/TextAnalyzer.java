@@ -0,0 +1,176 @@
+package com.researchhub.backend.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits free text into lower-cased runs of letters and digits, then passes each through a configurable chain of
+ * {@link TokenFilter}s: ASCII folding, stop-word removal and Porter stemming by default
+ * ({@code app.search.analysis.filters}). The same analyzer is used at index time and at query time so both sides
+ * agree on terms.
+ *
+ * Tokens are built in one reusable {@link TermBuffer} per text and filtered in place; a string is only created for
+ * a token that survives the chain.
+ */
+@Component
+public class TextAnalyzer {
+
+    private static final String DEFAULT_FILTERS = "ascii-folding,stop-words,porter-stemmer";
+    // Bump when the tokenizer or a filter changes what it produces
+    private static final int VERSION = 2;
+
+    private final TokenFilter[] filters;
+
+    /**
+     * Tokens of a text with the char offset each one's word starts at; a term's position is its index. Folding and
+     * stemming change a word's length, so where it ends is found in the text (it runs while letters or digits do).
+     */
+    public record Tokens(List<String> terms, int[] starts) {
+    }
+
+    public TextAnalyzer() {
+        this(DEFAULT_FILTERS);
+    }
+
+    @Autowired
+    public TextAnalyzer(@Value("${app.search.analysis.filters:ascii-folding,stop-words,porter-stemmer}") String filterNames) {
+        this(parseFilters(filterNames));
+    }
+
+    public TextAnalyzer(List<TokenFilter> filters) {
+        this.filters = filters.toArray(new TokenFilter[0]);
+    }
+
+    /**
+     * Identifies the analysis rules. Indexes stored with another signature hold other terms and must be rebuilt.
+     */
+    public String signature() {
+        StringBuilder signature = new StringBuilder("v").append(VERSION);
+        for (TokenFilter filter : filters) {
+            signature.append(',').append(filter.name());
+        }
+        return signature.toString();
+    }
+
+    public List<String> analyze(String text) {
+        return tokenize(text, false).terms();
+    }
+
+    public Tokens tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * Analyzer throughput over the given texts: each is analysed {@code rounds} times, after one warm-up round.
+     * Reported in MB of UTF-8 input per second and tokens per second, with the bare tokenizer alongside.
+     */
+    public Map<String, Object> benchmark(List<String> texts, int rounds) {
+        long bytes = 0;
+        for (String text : texts) {
+            bytes += text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("signature", signature());
+        result.put("texts", texts.size());
+        result.put("inputBytes", bytes);
+        result.put("rounds", rounds);
+        result.put("chain", throughput(this, texts, rounds, bytes));
+        result.put("tokenizerOnly", throughput(new TextAnalyzer(List.of()), texts, rounds, bytes));
+        return result;
+    }
+
+    private static Map<String, Object> throughput(TextAnalyzer analyzer, List<String> texts, int rounds, long bytes) {
+        long tokens = 0;
+        for (String text : texts) {
+            tokens += analyzer.analyze(text).size();
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (String text : texts) {
+                analyzer.analyze(text);
+            }
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mbPerSecond", Math.round(bytes * rounds / seconds / 1e6 * 10) / 10.0);
+        stats.put("tokensPerSecond", Math.round(tokens * rounds / seconds));
+        stats.put("tokensPerText", texts.isEmpty() ? 0 : tokens / texts.size());
+        return stats;
+    }
+
+    private Tokens tokenize(String text, boolean withOffsets) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return new Tokens(tokens, new int[0]);
+        }
+
+        int[] starts = withOffsets ? new int[16] : null;
+        TermBuffer term = new TermBuffer();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean letterOrDigit;
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                letterOrDigit = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+            } else {
+                letterOrDigit = Character.isLetterOrDigit(c);
+                c = Character.toLowerCase(c);
+            }
+
+            if (letterOrDigit) {
+                if (term.length() == 0) {
+                    start = i;
+                }
+                term.append(c);
+            } else if (term.length() > 0) {
+                if (filter(term)) {
+                    if (withOffsets) {
+                        if (tokens.size() == starts.length) {
+                            starts = Arrays.copyOf(starts, starts.length * 2);
+                        }
+                        starts[tokens.size()] = start;
+                    }
+                    tokens.add(term.toString());
+                }
+                term.clear();
+            }
+        }
+        return new Tokens(tokens, withOffsets ? starts : null);
+    }
+
+    private boolean filter(TermBuffer term) {
+        for (TokenFilter filter : filters) {
+            if (!filter.apply(term)) {
+                return false;
+            }
+        }
+        return term.length() > 0;
+    }
+
+    private static List<TokenFilter> parseFilters(String names) {
+        List<TokenFilter> filters = new ArrayList<>();
+        for (String name : names.split(",")) {
+            switch (name.trim()) {
+                case "" -> {
+                }
+                case "ascii-folding" -> filters.add(new AsciiFoldingFilter());
+                case "stop-words" -> filters.add(new StopWordFilter());
+                case "porter-stemmer" -> filters.add(new PorterStemFilter());
+                default -> throw new IllegalArgumentException("Unknown token filter '" + name.trim()
+                        + "', expected ascii-folding, stop-words or porter-stemmer");
+            }
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,155 @@
+package com.researchhub.backend.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns a paper's title, abstract and extracted text into a dense unit vector: TF-IDF weights over
+ * hashed terms, reduced to {@code dimensions} by a random sign projection.
+ *
+ * The projection matrix is never stored; each term's row of ±1 entries is regenerated from a hash of the term,
+ * so two texts sharing weighted terms land close together in cosine distance. Document frequencies are
+ * counted in {@link #DF_BUCKETS} hashed buckets and only grow, so vectors built earlier keep the weights of
+ * their time. Not thread-safe; {@link SimilarityIndex} guards it with its own lock.
+ */
+final class TextVectorizer {
+
+    private static final int DF_BUCKETS = 1 << 20;
+    private static final int MAX_FULL_TEXT_TOKENS = 20_000;
+    private static final float TITLE_WEIGHT = 3;
+    private static final float ABSTRACT_WEIGHT = 2;
+    private static final float FULL_TEXT_WEIGHT = 1;
+
+    private final TextAnalyzer analyzer;
+    private final int dimensions;
+    private final int[] documentFrequency = new int[DF_BUCKETS];
+    private long documents;
+
+    TextVectorizer(TextAnalyzer analyzer, int dimensions) {
+        if (dimensions % 64 != 0) {
+            throw new IllegalArgumentException("Vector dimensions must be a multiple of 64: " + dimensions);
+        }
+        this.analyzer = analyzer;
+        this.dimensions = dimensions;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Adds the document's distinct terms to the document frequencies.
+     */
+    void learn(PaperDocument document) {
+        for (String term : termWeights(document).keySet()) {
+            documentFrequency[bucket(hash(term))]++;
+        }
+        documents++;
+    }
+
+    /**
+     * Unit vector for the document under the current frequencies, or null when it has no usable terms.
+     */
+    float[] vectorize(PaperDocument document) {
+        float[] vector = new float[dimensions];
+        for (Map.Entry<String, Float> entry : termWeights(document).entrySet()) {
+            long hash = hash(entry.getKey());
+            double idf = Math.log((documents + 1.0) / (documentFrequency[bucket(hash)] + 1.0));
+            float weight = (float) ((1 + Math.log(entry.getValue())) * idf);
+            if (weight > 0) {
+                project(hash, weight, vector);
+            }
+        }
+
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return null;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(dimensions);
+        out.writeLong(documents);
+        for (int count : documentFrequency) {
+            out.writeInt(count);
+        }
+    }
+
+    void read(DataInput in) throws IOException {
+        int storedDimensions = in.readInt();
+        if (storedDimensions != dimensions) {
+            throw new IOException("Snapshot has " + storedDimensions + " dimensions, expected " + dimensions);
+        }
+        documents = in.readLong();
+        for (int i = 0; i < DF_BUCKETS; i++) {
+            documentFrequency[i] = in.readInt();
+        }
+    }
+
+    // Field-weighted term frequencies; short tokens and bare numbers carry no topic
+    private Map<String, Float> termWeights(PaperDocument document) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, document.title(), TITLE_WEIGHT, Integer.MAX_VALUE);
+        addTerms(weights, document.abstractText(), ABSTRACT_WEIGHT, Integer.MAX_VALUE);
+        addTerms(weights, document.fullText(), FULL_TEXT_WEIGHT, MAX_FULL_TEXT_TOKENS);
+        return weights;
+    }
+
+    private void addTerms(Map<String, Float> weights, String text, float weight, int maxTokens) {
+        int seen = 0;
+        for (String token : analyzer.analyze(text)) {
+            if (seen++ == maxTokens) {
+                break;
+            }
+            if (token.length() > 2 && !Character.isDigit(token.charAt(0))) {
+                weights.merge(token, weight, Float::sum);
+            }
+        }
+    }
+
+    // Adds weight * (the term's ±1 projection row) to the vector, 64 signs per generated long.
+    // Each bit is moved into the float's sign bit: the signs are random, so a branch would mispredict half the time.
+    private void project(long hash, float weight, float[] vector) {
+        int weightBits = Float.floatToRawIntBits(weight);
+        for (int block = 0; block < dimensions / 64; block++) {
+            long signs = mix(hash + block * 0x9E3779B97F4A7C15L);
+            int base = block * 64;
+            for (int bit = 0; bit < 64; bit++) {
+                int signBit = (int) (signs >>> bit) << 31;
+                vector[base + bit] += Float.intBitsToFloat(weightBits ^ signBit);
+            }
+        }
+    }
+
+    private static int bucket(long hash) {
+        return (int) (hash & (DF_BUCKETS - 1));
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(String term) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            hash ^= term.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,18 @@
+package com.researchhub.backend.search;
+
+/**
+ * One step of {@link TextAnalyzer}'s chain. Filters see lower-cased runs of letters and digits and must be
+ * stateless, as one analyzer serves every thread.
+ */
+public interface TokenFilter {
+
+    /**
+     * Name used in {@code app.search.analysis.filters} and in the analyzer's signature.
+     */
+    String name();
+
+    /**
+     * Rewrites the token in place; returns false to drop it.
+     */
+    boolean apply(TermBuffer token);
+}
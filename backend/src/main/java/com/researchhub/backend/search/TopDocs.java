@@ -0,0 +1,100 @@
+package com.researchhub.backend.search;
+
+/**
+ * Bounded min-heap that keeps the k best (highest key) docs seen so far, so ranking a candidate set
+ * costs O(n log k) instead of sorting all n candidates. Equal keys prefer the lower doc id.
+ */
+final class TopDocs {
+
+    private final int[] docs;
+    private final double[] keys;
+    private int size;
+
+    TopDocs(int k) {
+        this.docs = new int[k];
+        this.keys = new double[k];
+    }
+
+    void offer(int doc, double key) {
+        if (docs.length == 0) {
+            return;
+        }
+        if (size < docs.length) {
+            docs[size] = doc;
+            keys[size] = key;
+            siftUp(size++);
+        } else if (worse(docs[0], keys[0], doc, key)) {
+            docs[0] = doc;
+            keys[0] = key;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offers every doc kept by {@code other} with its key (merging partitions ranked separately).
+     */
+    void offerAll(TopDocs other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.docs[i], other.keys[i]);
+        }
+    }
+
+    /**
+     * Empties the heap, returning doc ids best first.
+     */
+    int[] drainBestFirst() {
+        int[] ranked = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ranked[i] = docs[0];
+            size--;
+            docs[0] = docs[size];
+            keys[0] = keys[size];
+            siftDown(0);
+        }
+        return ranked;
+    }
+
+    // true if (docA, keyA) ranks below (docB, keyB)
+    private static boolean worse(int docA, double keyA, int docB, double keyB) {
+        return keyA < keyB || (keyA == keyB && docA > docB);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(docs[i], keys[i], docs[parent], keys[parent])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left;
+            int right = left + 1;
+            if (right < size && worse(docs[right], keys[right], docs[left], keys[left])) {
+                child = right;
+            }
+            if (!worse(docs[child], keys[child], docs[i], keys[i])) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int doc = docs[a];
+        docs[a] = docs[b];
+        docs[b] = doc;
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+    }
+}
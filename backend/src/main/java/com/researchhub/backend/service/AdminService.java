@@ -4,6 +4,7 @@ import com.researchhub.backend.dto.*;
 import com.researchhub.backend.model.*;
 import com.researchhub.backend.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +32,27 @@ public class AdminService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private PaperIndexService paperIndexService;
+
+    @Autowired
+    private PaperTextRepository paperTextRepository;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private PaperSearchService paperSearchService;
+
+    @Autowired
+    private PaperFileStore paperFileStore;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Value("${app.search.basic.max-results:1000}")
+    private int maxAuthorPapers;
+
     // ================= USER MANAGEMENT =================
     public Page<UserResponse> getAllUsers(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc")
@@ -91,6 +113,11 @@ public class AdminService {
 
         List<Paper> userPapers = paperRepository.findByAuthor(user.getEmail()); // changed to String author
         paperRepository.deleteAll(userPapers);
+        userPapers.forEach(paper -> {
+            paperTextRepository.deleteByPaperId(paper.getId());
+            paperIndexService.remove(paper.getId());
+            paperFileStore.release(paper.getFilePath());
+        });
 
         List<Comment> userComments = commentRepository.findByAuthorId(userId);
         commentRepository.deleteAll(userComments);
@@ -101,7 +128,7 @@ public class AdminService {
     // ================= PAPER MODERATION =================
     public Page<PaperResponse> getPendingPapers(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("uploadedAt").descending());
-        Page<Paper> papers = paperRepository.findByStatus(PaperStatus.PENDING, pageable);
+        Page<AdminPaperRow> papers = paperRepository.findAdminRowsByStatus(PaperStatus.PENDING, pageable);
         return papers.map(this::toPaperResponse);
     }
 
@@ -112,16 +139,25 @@ public class AdminService {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Paper> papers = (status != null && !status.isEmpty())
-                ? paperRepository.findByStatus(PaperStatus.valueOf(status.toUpperCase()), pageable)
-                : paperRepository.findAll(pageable);
+        Page<AdminPaperRow> papers = (status != null && !status.isEmpty())
+                ? paperRepository.findAdminRowsByStatus(PaperStatus.valueOf(status.toUpperCase()), pageable)
+                : paperRepository.findAdminRows(pageable);
 
         return papers.map(this::toPaperResponse);
     }
 
     // ====== New method to fetch papers by author (String) ======
+    // Answered by the author-name index (spelling variants and initials match, newest first) once it is built;
+    // until then by a substring match on the author column
     public List<PaperResponse> getPapersByAuthor(String author) {
-        List<Paper> papers = paperRepository.findByAuthor(author); // author is now String
+        List<Paper> papers;
+        if (paperIndexService.isReady()) {
+            PaperSearchRequest request = new PaperSearchRequest();
+            request.setAuthor(author);
+            papers = paperSearchService.searchPapers(request, PageRequest.of(0, maxAuthorPapers)).getContent();
+        } else {
+            papers = paperRepository.findByAuthorContainingIgnoreCase(author);
+        }
         return papers.stream().map(this::toPaperResponse).collect(Collectors.toList());
     }
 
@@ -131,11 +167,17 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("Paper not found"));
         User admin = userRepository.findById(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
+        boolean newlyApproved = paper.getStatus() != PaperStatus.APPROVED;
 
         paper.setStatus(PaperStatus.APPROVED);
         paper.setReviewedAt(LocalDateTime.now());
         paper.setReviewedBy(admin);
         paperRepository.save(paper);
+        paperIndexService.index(paper); // status facet and filter
+        if (newlyApproved) {
+            // Saved-search alerts only go out for papers readers can see
+            savedSearchService.alertAfterCommit(paper.getId());
+        }
 
         notificationService.createNotification(
                 null, // authorId unknown, author is String
@@ -159,6 +201,7 @@ public class AdminService {
         paper.setReviewedAt(LocalDateTime.now());
         paper.setReviewedBy(admin);
         paperRepository.save(paper);
+        paperIndexService.index(paper); // status facet and filter
 
         notificationService.createNotification(
                 null, // authorId unknown
@@ -261,9 +304,37 @@ public class AdminService {
         response.setStatus(paper.getStatus().toString());
         response.setRejectionReason(paper.getRejectionReason());
         response.setReviewedAt(paper.getReviewedAt());
+        if (paper.getStatus() == PaperStatus.PENDING) {
+            response.setPossibleDuplicates(possibleDuplicates(paper.getId()));
+        }
         return response;
     }
 
+    private PaperResponse toPaperResponse(AdminPaperRow paper) {
+        PaperResponse response = new PaperResponse();
+        response.setId(paper.id());
+        response.setTitle(paper.title());
+        response.setAuthor(paper.author());
+        response.setFilePath(paper.filePath());
+        response.setUploadedAt(paper.uploadedAt());
+        response.setPublicationYear(paper.publicationYear());
+        response.setAbstractText(paper.abstractText());
+        response.setStatus(paper.status().toString());
+        response.setRejectionReason(paper.rejectionReason());
+        response.setReviewedAt(paper.reviewedAt());
+        if (paper.status() == PaperStatus.PENDING) {
+            response.setPossibleDuplicates(possibleDuplicates(paper.id()));
+        }
+        return response;
+    }
+
+    private List<DuplicateCandidate> possibleDuplicates(UUID paperId) {
+        return duplicateDetectionService.duplicatesOf(paperId).stream()
+                .map(match -> new DuplicateCandidate(match.paperId(), match.title(),
+                        Math.round(match.similarity() * 100) / 100.0, match.basis().name()))
+                .collect(Collectors.toList());
+    }
+
     private CommentResponse toCommentResponse(Comment comment) {
         CommentResponse response = new CommentResponse();
         response.setId(comment.getId());
@@ -0,0 +1,277 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.model.NotificationType;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.model.RelatedEntityType;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.search.DuplicateIndex;
+import com.researchhub.backend.search.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Near-duplicate detection on top of {@link DuplicateIndex}: checks uploads as they arrive, answers the moderation
+ * queue's "possible duplicate" lookups and runs the batch scan over the whole corpus.
+ *
+ * The scan computes the signatures of every paper not yet in the index on a pool of {@code app.dedupe.workers}
+ * threads, then groups papers that match each other, also in parallel, into clusters for moderators to resolve.
+ * Nothing is deleted automatically. A scan runs at startup, which is what fills the index after a restart; live
+ * uploads, edits and deletes keep it current through {@link PaperIndexService}.
+ */
+@Service
+public class DuplicateDetectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateDetectionService.class);
+    private static final int MAX_REPORTED_CLUSTERS = 200;
+
+    private final DuplicateIndex duplicateIndex;
+    private final PaperIndexService paperIndexService;
+    private final PaperRepository paperRepository;
+    private final NotificationService notificationService;
+
+    private final int workers;
+    private final AtomicBoolean scanRunning = new AtomicBoolean();
+    private final LatencyHistogram lookupLatency = new LatencyHistogram();
+    private final LongAdder flaggedUploads = new LongAdder();
+    private volatile Map<String, Object> lastScan = Map.of();
+
+    public DuplicateDetectionService(DuplicateIndex duplicateIndex,
+                                     PaperIndexService paperIndexService,
+                                     PaperRepository paperRepository,
+                                     NotificationService notificationService,
+                                     @Value("${app.dedupe.workers:0}") int workers) {
+        this.duplicateIndex = duplicateIndex;
+        this.paperIndexService = paperIndexService;
+        this.paperRepository = paperRepository;
+        this.notificationService = notificationService;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scanOnStartup() {
+        startScan();
+    }
+
+    /**
+     * Compares a just-saved upload's title and abstract against the index and tells the admins when it looks like
+     * a copy of an existing paper. Its PDF text is not extracted yet; matches on that show up in the moderation
+     * queue once it is.
+     */
+    public List<DuplicateIndex.Match> checkUpload(Paper paper) {
+        long start = System.nanoTime();
+        List<DuplicateIndex.Match> matches = duplicateIndex.find(PaperIndexService.toDocument(paper, null));
+        lookupLatency.record(System.nanoTime() - start);
+
+        if (!matches.isEmpty()) {
+            DuplicateIndex.Match closest = matches.get(0);
+            flaggedUploads.increment();
+            logger.info("Upload {} looks like a duplicate of {} ({} similar)", paper.getId(), closest.paperId(),
+                    Math.round(closest.similarity() * 100) + "%");
+            notificationService.createAdminNotification(
+                    "Possible Duplicate Upload",
+                    "'" + paper.getTitle() + "' is " + Math.round(closest.similarity() * 100)
+                            + "% similar to the existing paper '" + closest.title() + "'.",
+                    NotificationType.PAPER_DUPLICATE_SUSPECTED,
+                    paper.getId(),
+                    RelatedEntityType.PAPER
+            );
+        }
+        return matches;
+    }
+
+    /**
+     * Indexed papers that the given paper likely duplicates, most similar first.
+     */
+    public List<DuplicateIndex.Match> duplicatesOf(UUID paperId) {
+        long start = System.nanoTime();
+        List<DuplicateIndex.Match> matches = duplicateIndex.duplicatesOf(paperId);
+        lookupLatency.record(System.nanoTime() - start);
+        return matches;
+    }
+
+    /**
+     * Starts a corpus-wide scan in the background. Returns false if one is already running.
+     */
+    public boolean startScan() {
+        if (!scanRunning.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Thread coordinator = new Thread(() -> {
+            try {
+                runScan();
+            } catch (Exception e) {
+                logger.error("Duplicate scan failed: {}", e.getMessage(), e);
+            } finally {
+                scanRunning.set(false);
+            }
+        }, "duplicate-scan");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("papers", duplicateIndex.size());
+        stats.put("workers", workers);
+        stats.put("flaggedUploads", flaggedUploads.sum());
+        stats.put("lookupLatency", lookupLatency.snapshotMicros());
+        stats.put("scanRunning", scanRunning.get());
+        stats.put("lastScan", lastScan);
+        return stats;
+    }
+
+    private void runScan() throws InterruptedException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "duplicate-scan-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+        try {
+            long start = System.nanoTime();
+            LongAdder read = new LongAdder();
+            LongAdder signed = new LongAdder();
+            // Each queued document holds its full text, so only a few per worker are in flight
+            Semaphore inFlight = new Semaphore(workers * 2);
+            paperIndexService.forEachStoredDocument(document -> {
+                read.increment();
+                inFlight.acquireUninterruptibly();
+                pool.execute(() -> {
+                    try {
+                        if (duplicateIndex.addIfAbsent(document)) {
+                            signed.increment();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            });
+            inFlight.acquire(workers * 2); // wait for the tail
+
+            // Papers deleted after the scan read them
+            Set<UUID> stored = new HashSet<>(paperRepository.findAllIds());
+            int stale = duplicateIndex.retainAll(stored::contains);
+            long signedAt = System.nanoTime();
+
+            List<Set<UUID>> clusters = cluster(pool);
+            long clusteredAt = System.nanoTime();
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("papers", read.sum());
+            summary.put("signed", signed.sum());
+            summary.put("staleDropped", stale);
+            summary.put("workers", workers);
+            summary.put("signingSeconds", Math.round((signedAt - start) / 1e8) / 10.0);
+            summary.put("clusteringSeconds", Math.round((clusteredAt - signedAt) / 1e8) / 10.0);
+            summary.put("clusterCount", clusters.size());
+            summary.put("duplicatePapers", clusters.stream().mapToInt(cluster -> cluster.size() - 1).sum());
+            summary.put("clusters", describe(clusters));
+            summary.put("finishedAt", LocalDateTime.now().toString());
+            lastScan = summary;
+            logger.info("Duplicate scan finished: {} papers, {} newly signed, {} clusters in {} s",
+                    read.sum(), signed.sum(), clusters.size(), summary.get("signingSeconds"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Groups indexed papers into sets that are connected by likely-duplicate matches, largest first.
+     */
+    private List<Set<UUID>> cluster(ExecutorService pool) throws InterruptedException {
+        List<UUID> paperIds = duplicateIndex.paperIds();
+        Map<UUID, List<DuplicateIndex.Match>> matches = new ConcurrentHashMap<>();
+        int chunk = Math.max(1, (paperIds.size() + workers - 1) / workers);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < paperIds.size(); from += chunk) {
+            List<UUID> part = paperIds.subList(from, Math.min(from + chunk, paperIds.size()));
+            tasks.add(() -> {
+                for (UUID paperId : part) {
+                    List<DuplicateIndex.Match> found = duplicateIndex.duplicatesOf(paperId);
+                    if (!found.isEmpty()) {
+                        matches.put(paperId, found);
+                    }
+                }
+                return null;
+            });
+        }
+        pool.invokeAll(tasks);
+
+        // Union-find over the match pairs
+        Map<UUID, UUID> parent = new HashMap<>();
+        matches.forEach((paperId, found) -> found.forEach(match -> {
+            UUID a = root(parent, paperId);
+            UUID b = root(parent, match.paperId());
+            if (!a.equals(b)) {
+                parent.put(a, b);
+            }
+        }));
+        Map<UUID, Set<UUID>> groups = new HashMap<>();
+        for (UUID paperId : parent.keySet()) {
+            groups.computeIfAbsent(root(parent, paperId), key -> new HashSet<>()).add(paperId);
+        }
+        List<Set<UUID>> clusters = new ArrayList<>(groups.values());
+        clusters.removeIf(cluster -> cluster.size() < 2);
+        clusters.sort(Comparator.comparingInt((Set<UUID> cluster) -> cluster.size()).reversed());
+        return clusters;
+    }
+
+    private static UUID root(Map<UUID, UUID> parent, UUID paperId) {
+        UUID current = paperId;
+        UUID next;
+        while ((next = parent.putIfAbsent(current, current)) != null && !next.equals(current)) {
+            UUID grandparent = parent.get(next);
+            parent.put(current, grandparent); // path halving
+            current = grandparent;
+        }
+        return current;
+    }
+
+    /**
+     * The earliest upload of each cluster as the one to keep, the rest as its duplicates.
+     */
+    private List<Map<String, Object>> describe(List<Set<UUID>> clusters) {
+        List<Set<UUID>> reported = clusters.subList(0, Math.min(clusters.size(), MAX_REPORTED_CLUSTERS));
+        Map<UUID, Paper> papers = new HashMap<>();
+        List<UUID> ids = reported.stream().flatMap(Set::stream).toList();
+        paperRepository.findAllById(ids).forEach(paper -> papers.put(paper.getId(), paper));
+
+        List<Map<String, Object>> described = new ArrayList<>();
+        for (Set<UUID> cluster : reported) {
+            List<Paper> members = cluster.stream().map(papers::get).filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(Paper::getUploadedAt)).toList();
+            if (members.size() < 2) {
+                continue; // deleted since
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("keep", describe(members.get(0)));
+            entry.put("duplicates", members.subList(1, members.size()).stream().map(this::describe).toList());
+            described.add(entry);
+        }
+        return described;
+    }
+
+    private Map<String, Object> describe(Paper paper) {
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("id", paper.getId());
+        described.put("title", paper.getTitle());
+        described.put("status", paper.getStatus().toString());
+        described.put("uploadedAt", paper.getUploadedAt());
+        return described;
+    }
+}
@@ -0,0 +1,85 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.FacetedPage;
+import com.researchhub.backend.dto.PaperResponse;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SearchSnippet;
+import com.researchhub.backend.repository.PaperListRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the paged explore response (search, response mapping, snippets, facets) shared by the explore endpoints
+ * and the startup warm-up, so a replayed query fills the same cache entry a visitor would.
+ */
+@Service
+public class ExplorePageService {
+
+    private final PaperSearchService paperSearchService;
+    private final PaperResponseService paperResponseService;
+    private final PaperIndexService paperIndexService;
+    private final ExploreResultCache exploreResultCache;
+
+    public ExplorePageService(PaperSearchService paperSearchService,
+                              PaperResponseService paperResponseService,
+                              PaperIndexService paperIndexService,
+                              ExploreResultCache exploreResultCache) {
+        this.paperSearchService = paperSearchService;
+        this.paperResponseService = paperResponseService;
+        this.paperIndexService = paperIndexService;
+        this.exploreResultCache = exploreResultCache;
+    }
+
+    /**
+     * A page of results as {@code userId} sees it. Anonymous responses carry no per-user fields, so they are
+     * served from {@link ExploreResultCache}.
+     */
+    public Page<PaperResponse> getPage(PaperSearchRequest request, int page, int size, UUID userId) {
+        return userId == null
+                ? exploreResultCache.get("page", request, page, size,
+                        () -> loadPage(request, page, size, null), result -> paperIds(result.getContent()))
+                : loadPage(request, page, size, userId);
+    }
+
+    /**
+     * Same as {@link #getPage} but always runs the search, bypassing the result cache.
+     */
+    public Page<PaperResponse> loadPage(PaperSearchRequest request, int page, int size, UUID userId) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("uploadedAt").descending());
+        Page<PaperListRow> papers;
+        if (request.hasFilters() || paperIndexService.isReady()) {
+            // The index also serves the unfiltered page so it comes with facet counts
+            papers = paperSearchService.searchPaperList(request, pageable);
+        } else {
+            // For public access, get all papers instead of recommendations
+            papers = paperSearchService.getAllPapers(pageable);
+        }
+
+        Page<PaperResponse> response = paperResponseService.toListResponse(papers, userId);
+        withSnippets(request.getQuery(), papers.getContent(), response.getContent());
+        if (papers instanceof FacetedPage<PaperListRow> faceted) {
+            response = new FacetedPage<>(response.getContent(), pageable, response.getTotalElements(), faceted.getFacets());
+        }
+        return response;
+    }
+
+    /**
+     * Attaches highlighted snippets for the query to each hit's response; returns the responses.
+     */
+    public List<PaperResponse> withSnippets(String query, List<PaperListRow> hits, List<PaperResponse> responses) {
+        Map<UUID, List<SearchSnippet>> snippets = paperIndexService.snippets(query, hits);
+        responses.forEach(response -> response.setSnippets(snippets.get(response.getId())));
+        return responses;
+    }
+
+    public static List<UUID> paperIds(List<PaperResponse> papers) {
+        return papers.stream().map(PaperResponse::getId).toList();
+    }
+}
@@ -0,0 +1,197 @@
+package com.researchhub.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.search.PaperDocument;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fully mapped explore responses for anonymous visitors, keyed by the normalized filters, sort and page.
+ *
+ * Concurrent misses on the same key share one load (the first caller loads, the rest wait on its future, for at
+ * most {@code app.search.result-cache.wait-ms} before loading for themselves). A load that fails, with an
+ * exception or an error, fails its waiters and leaves the key uncached.
+ * When a paper is added, changed or removed, {@link #invalidate} drops only the entries that show that paper
+ * or whose structured filters (categories, year or year range, status) it satisfies before or after the change; text and
+ * author filters are treated as possibly matching. Entries still loading are dropped by their filters alone.
+ */
+@Component
+public class ExploreResultCache {
+
+    @Value("${app.search.result-cache.max-entries:1000}")
+    private long maxEntries;
+
+    @Value("${app.search.result-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.search.result-cache.wait-ms:10000}")
+    private long waitMs;
+
+    private AsyncCache<Key, Entry> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder waitTimeouts = new LongAdder();
+
+    /**
+     * Cache key. Equality uses the canonical filter key only; {@code request} is kept for invalidation checks.
+     */
+    private record Key(String view, String filterKey, String sort, int page, int size, PaperSearchRequest request) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && view.equals(key.view) && filterKey.equals(key.filterKey) && sort.equals(key.sort)
+                    && page == key.page && size == key.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(view, filterKey, sort, page, size);
+        }
+    }
+
+    private record Entry(Object value, Set<UUID> paperIds) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Cached response for this view ("page", "slice", ...) of the request, loading it on a miss.
+     * {@code paperIds} extracts the ids of the papers shown in the response.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String view, PaperSearchRequest request, int page, int size,
+                     Supplier<T> loader, Function<T, Collection<UUID>> paperIds) {
+        Key key = new Key(view, request.filterKey(), String.valueOf(request.getSort()), page, size, request);
+
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = cache.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            Entry entry = await(existing);
+            if (entry != null) {
+                hits.increment();
+                return (T) entry.value();
+            }
+            // The shared load is taking too long; answer this request without it
+            waitTimeouts.increment();
+            misses.increment();
+            return loader.get();
+        }
+
+        misses.increment();
+        try {
+            T value = loader.get();
+            created.complete(new Entry(value, new HashSet<>(paperIds.apply(value))));
+            return value;
+        } catch (Throwable e) {
+            // Errors too: waiters must not hang on a future that is never completed
+            created.completeExceptionally(e);
+            cache.asMap().remove(key, created);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops entries that could change because a paper went from {@code before} to {@code after}
+     * (either may be null for an insert or delete).
+     */
+    public void invalidate(UUID paperId, PaperDocument before, PaperDocument after) {
+        cache.asMap().entrySet().removeIf(mapping -> {
+            CompletableFuture<Entry> future = mapping.getValue();
+            Entry entry = future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+            PaperSearchRequest request = mapping.getKey().request();
+            boolean affected = (entry != null && entry.paperIds().contains(paperId))
+                    || mayMatch(request, before)
+                    || mayMatch(request, after);
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.synchronous().estimatedSize());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("invalidations", invalidations.sum());
+        stats.put("waitTimeouts", waitTimeouts.sum());
+        stats.put("evictions", cache.synchronous().stats().evictionCount());
+        return stats;
+    }
+
+    /**
+     * The entry another request is loading, or null if it is not ready within {@code waitMs}. A load that failed
+     * with a runtime exception rethrows it.
+     */
+    private Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            // An error stays with the request that hit it; the waiters just fail
+            throw new IllegalStateException("Shared explore result load failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cached explore result", e);
+        }
+    }
+
+    /**
+     * Whether the paper passes the request's structured filters; text and author filters are assumed to match.
+     */
+    private static boolean mayMatch(PaperSearchRequest request, PaperDocument document) {
+        if (document == null) {
+            return false;
+        }
+        List<UUID> categoryIds = request.getCategoryIds();
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            boolean matches = request.getCategoryMatch() == CategoryMatch.ALL
+                    ? document.categoryIds().containsAll(categoryIds)
+                    : categoryIds.stream().anyMatch(document.categoryIds()::contains);
+            if (!matches) {
+                return false;
+            }
+        }
+        Integer year = document.publicationYear();
+        if (request.getYear() != null && !request.getYear().equals(year)) {
+            return false;
+        }
+        if ((request.getYearFrom() != null && (year == null || year < request.getYearFrom()))
+                || (request.getYearTo() != null && (year == null || year > request.getYearTo()))) {
+            return false;
+        }
+        return request.getStatus() == null || request.getStatus() == document.status();
+    }
+}
@@ -22,6 +22,9 @@ public class LibraryService {
     @Autowired
     private PaperRepository paperRepository;
 
+    @Autowired
+    private PaperIndexService paperIndexService;
+
     @Transactional
     public void addToLibrary(UUID userId, UUID paperId) {
         User user = userRepository.findById(userId)
@@ -29,7 +32,9 @@ public class LibraryService {
         Paper paper = paperRepository.findById(paperId)
                 .orElseThrow(() -> new ResourceNotFoundException("Paper not found"));
 
-        user.getLibrary().add(paper);
+        if (user.getLibrary().add(paper)) {
+            paperIndexService.librarySaveChanged(paperId, true);
+        }
         userRepository.save(user);
     }
 
@@ -40,7 +45,9 @@ public class LibraryService {
         Paper paper = paperRepository.findById(paperId)
                 .orElseThrow(() -> new ResourceNotFoundException("Paper not found"));
 
-        user.getLibrary().remove(paper);
+        if (user.getLibrary().remove(paper)) {
+            paperIndexService.librarySaveChanged(paperId, false);
+        }
         userRepository.save(user);
     }
 
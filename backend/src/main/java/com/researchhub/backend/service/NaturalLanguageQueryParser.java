@@ -0,0 +1,243 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.ParsedSearchQuery;
+import com.researchhub.backend.model.Category;
+import com.researchhub.backend.repository.CategoryRepository;
+import com.researchhub.backend.search.AuthorNames;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based parser for the explore "AI search" box: pulls years and year ranges ("since 2019",
+ * "2018-2020", "last 3 years"), authors ("by Sarah Chen") and category names or their acronyms ("NLP")
+ * out of a free-text query and keeps what is left as keywords.
+ *
+ * Categories are matched against a copy of the category table refreshed every
+ * {@code app.search.nl.category-refresh-seconds}. A query is reported as unresolved when more than
+ * {@link #MAX_KEYWORDS} keywords are left over, which is when the caller should fall back to a language model.
+ */
+@Component
+public class NaturalLanguageQueryParser {
+
+    private static final int MAX_KEYWORDS = 4;
+    private static final int MAX_NAME_WORDS = 4;
+
+    private static final String YEAR = "((?:19|20)\\d{2})";
+    private static final Pattern YEAR_RANGE = Pattern.compile(
+            "\\b(?:between\\s+|from\\s+)?" + YEAR + "\\s*(?:-|–|to|and|until)\\s*" + YEAR + "\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern YEAR_FROM = Pattern.compile(
+            "\\b(since|from|after|starting(?:\\s+in)?)\\s+" + YEAR + "\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern YEAR_TO = Pattern.compile(
+            "\\b(before|until|till|up\\s+to|prior\\s+to)\\s+" + YEAR + "\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LAST_YEARS = Pattern.compile(
+            "\\b(?:in\\s+|from\\s+)?(?:the\\s+)?(?:last|past)\\s+(\\d{1,2})\\s+years?\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RELATIVE_YEAR = Pattern.compile(
+            "\\b(?:from\\s+|in\\s+)?(this|last)\\s+year\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SINGLE_YEAR = Pattern.compile(
+            "\\b(?:(?:published\\s+)?(?:in|during|of|from)\\s+)?" + YEAR + "\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern AUTHOR = Pattern.compile(
+            "\\b(?:authored\\s+by|written\\s+by|published\\s+by|by|authors?:?)\\s+"
+                    + "(\\p{L}[\\p{L}.'\\-]*(?:\\s+\\p{L}[\\p{L}.'\\-]*)*)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WORD = Pattern.compile("\\S+");
+
+    // Words that end an author name ("by Chen in 2020")
+    private static final Set<String> NAME_STOP_WORDS = Set.of(
+            "in", "on", "about", "from", "since", "before", "after", "between", "during", "published",
+            "with", "for", "of", "regarding", "related", "and", "or", "until", "papers", "paper", "that", "using");
+
+    // Words that carry no search meaning on their own ("show me recent papers about ...")
+    private static final Set<String> FILLER_WORDS = Set.of(
+            "a", "an", "the", "and", "or", "of", "in", "on", "at", "to", "for", "with", "about", "regarding",
+            "related", "from", "by", "during", "published", "written", "authored", "paper", "papers", "article",
+            "articles", "research", "study", "studies", "publication", "publications", "work", "works", "show",
+            "me", "find", "get", "give", "list", "search", "looking", "look", "i", "want", "need", "please",
+            "some", "any", "all", "recent", "latest", "new", "newest", "that", "which", "are", "is", "topic");
+
+    // Joining words skipped when building acronyms ("Science and Technology" -> "st")
+    private static final Set<String> ACRONYM_SKIP = Set.of("and", "of", "the", "for", "in");
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Value("${app.search.nl.category-refresh-seconds:300}")
+    private long categoryRefreshSeconds;
+
+    private record CategoryAlias(String[] tokens, UUID categoryId, String name) {
+    }
+
+    private volatile List<CategoryAlias> aliases;
+    private volatile long aliasesLoadedAt;
+
+    public ParsedSearchQuery parse(String text) {
+        ParsedSearchQuery parsed = new ParsedSearchQuery();
+        StringBuilder rest = new StringBuilder(text == null ? "" : text.trim());
+        List<CategoryAlias> categoryAliases = categoryAliases();
+        int currentYear = Year.now().getValue();
+
+        consume(rest, YEAR_RANGE, m -> {
+            int first = Integer.parseInt(m.group(1));
+            int second = Integer.parseInt(m.group(2));
+            parsed.setYearFrom(Math.min(first, second));
+            parsed.setYearTo(Math.max(first, second));
+        });
+        consume(rest, YEAR_FROM, m -> {
+            int year = Integer.parseInt(m.group(2));
+            parsed.setYearFrom(m.group(1).equalsIgnoreCase("after") ? year + 1 : year);
+        });
+        consume(rest, YEAR_TO, m -> {
+            int year = Integer.parseInt(m.group(2));
+            String word = m.group(1).toLowerCase();
+            parsed.setYearTo(word.equals("before") || word.startsWith("prior") ? year - 1 : year);
+        });
+        // The current year counts as one of them: "last 3 years" in 2026 is 2024-2026
+        consume(rest, LAST_YEARS, m -> parsed.setYearFrom(currentYear - Math.max(1, Integer.parseInt(m.group(1))) + 1));
+        consume(rest, RELATIVE_YEAR, m -> parsed.setYear(
+                m.group(1).equalsIgnoreCase("this") ? currentYear : currentYear - 1));
+
+        List<Integer> years = new ArrayList<>();
+        consume(rest, SINGLE_YEAR, m -> years.add(Integer.parseInt(m.group(1))));
+        if (years.size() == 1 && parsed.getYear() == null) {
+            parsed.setYear(years.get(0));
+        } else if (years.size() > 1) {
+            // "2019 or 2021": take the span
+            parsed.setYearFrom(Collections.min(years));
+            parsed.setYearTo(Collections.max(years));
+        }
+
+        Matcher author = AUTHOR.matcher(rest);
+        if (author.find()) {
+            String name = leadingName(author.group(1), categoryAliases);
+            if (!name.isEmpty()) {
+                parsed.setAuthor(name);
+                blank(rest, author.start(), author.start(1) + name.length());
+            }
+        }
+
+        List<String> tokens = new ArrayList<>(List.of(AuthorNames.normalize(rest.toString()).split(" ")));
+        tokens.removeIf(String::isEmpty);
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); ) {
+            CategoryAlias alias = aliasAt(tokens, i, categoryAliases);
+            if (alias != null) {
+                if (!parsed.getCategoryIds().contains(alias.categoryId())) {
+                    parsed.getCategoryIds().add(alias.categoryId());
+                    parsed.getCategories().add(alias.name());
+                }
+                i += alias.tokens().length;
+                continue;
+            }
+            String token = tokens.get(i++);
+            if (!FILLER_WORDS.contains(token)) {
+                keywords.add(token);
+            }
+        }
+
+        parsed.setQuery(keywords.isEmpty() ? null : String.join(" ", keywords));
+        parsed.setResolved(keywords.size() <= MAX_KEYWORDS);
+        return parsed;
+    }
+
+    // --- Internals ---
+
+    private static void consume(StringBuilder rest, Pattern pattern, Consumer<Matcher> action) {
+        Matcher matcher = pattern.matcher(rest);
+        List<int[]> spans = new ArrayList<>();
+        while (matcher.find()) {
+            action.accept(matcher);
+            spans.add(new int[]{matcher.start(), matcher.end()});
+        }
+        spans.forEach(span -> blank(rest, span[0], span[1]));
+    }
+
+    // Spaces keep the offsets of later matches valid
+    private static void blank(StringBuilder rest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            rest.setCharAt(i, ' ');
+        }
+    }
+
+    /**
+     * The words of a captured name up to the first word that starts something else (a stop word or a category).
+     */
+    private static String leadingName(String captured, List<CategoryAlias> categoryAliases) {
+        Matcher word = WORD.matcher(captured);
+        int end = 0;
+        for (int words = 0; words < MAX_NAME_WORDS && word.find(); words++) {
+            String normalized = singular(AuthorNames.normalize(word.group()));
+            if (NAME_STOP_WORDS.contains(normalized)
+                    || categoryAliases.stream().anyMatch(alias -> alias.tokens()[0].equals(normalized))) {
+                break;
+            }
+            end = word.end();
+        }
+        return captured.substring(0, end);
+    }
+
+    // Longest category alias starting at tokens[i], or null
+    private static CategoryAlias aliasAt(List<String> tokens, int i, List<CategoryAlias> categoryAliases) {
+        for (CategoryAlias alias : categoryAliases) {
+            String[] aliasTokens = alias.tokens();
+            if (i + aliasTokens.length > tokens.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int j = 0; j < aliasTokens.length && matches; j++) {
+                matches = aliasTokens[j].equals(singular(tokens.get(i + j)));
+            }
+            if (matches) {
+                return alias;
+            }
+        }
+        return null;
+    }
+
+    private static String singular(String token) {
+        return token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")
+                ? token.substring(0, token.length() - 1)
+                : token;
+    }
+
+    /**
+     * Full names and acronyms of multi-word names, longest first so "machine learning" wins over "learning".
+     */
+    private List<CategoryAlias> categoryAliases() {
+        List<CategoryAlias> current = aliases;
+        if (current != null && System.currentTimeMillis() - aliasesLoadedAt < categoryRefreshSeconds * 1000) {
+            return current;
+        }
+
+        List<CategoryAlias> loaded = new ArrayList<>();
+        for (Category category : categoryRepository.findAllOrderByName()) {
+            String[] words = AuthorNames.normalize(category.getName()).split(" ");
+            if (words[0].isEmpty()) {
+                continue;
+            }
+            loaded.add(new CategoryAlias(
+                    Arrays.stream(words).map(NaturalLanguageQueryParser::singular).toArray(String[]::new),
+                    category.getId(), category.getName()));
+
+            StringBuilder acronym = new StringBuilder();
+            for (String word : words) {
+                if (!ACRONYM_SKIP.contains(word)) {
+                    acronym.append(word.charAt(0));
+                }
+            }
+            if (acronym.length() >= 2) {
+                loaded.add(new CategoryAlias(new String[]{acronym.toString()}, category.getId(), category.getName()));
+            }
+        }
+        loaded.sort(Comparator.comparingInt((CategoryAlias alias) -> alias.tokens().length).reversed());
+
+        aliases = List.copyOf(loaded);
+        aliasesLoadedAt = System.currentTimeMillis();
+        return aliases;
+    }
+}
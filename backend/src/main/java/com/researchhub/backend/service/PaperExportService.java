@@ -0,0 +1,138 @@
+package com.researchhub.backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.researchhub.backend.dto.PaperResponse;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperSpecifications;
+import com.researchhub.backend.util.PageCursor;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writes every paper matching a set of filters as newline-delimited JSON, one {@link PaperResponse} per line,
+ * newest first.
+ *
+ * Papers are read in keyset batches ({@link PaperSpecifications#after}). Each batch is read, hydrated with its
+ * categories and uploader profiles and mapped to responses in its own read-only transaction, whose persistence
+ * context and connection are released before the responses are serialized through one Jackson generator and
+ * flushed. Memory is bounded by the batch size whatever the number of rows, and a client that reads slowly blocks
+ * the flush, not a connection. This relies on the export path being left out of open-in-view
+ * ({@link com.researchhub.backend.config.WebConfig}): a request-scoped persistence context would otherwise be
+ * joined by every batch and hold its connection for the whole download.
+ */
+@Service
+public class PaperExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaperExportService.class);
+
+    private final PaperRepository paperRepository;
+    private final PaperResponseService paperResponseService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final EntityManager entityManager;
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    public PaperExportService(PaperRepository paperRepository,
+                              PaperResponseService paperResponseService,
+                              ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.paperRepository = paperRepository;
+        this.paperResponseService = paperResponseService;
+        this.objectMapper = objectMapper;
+        // Flushed per batch rather than per row; root values one per line
+        this.writer = objectMapper.writerFor(PaperResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        this.entityManager = entityManager;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setReadOnly(true);
+    }
+
+    private record Batch(List<PaperResponse> responses, int size, PageCursor next) {
+    }
+
+    /**
+     * Streams the matching papers to {@code out}; returns how many were written.
+     */
+    public long export(PaperSearchRequest request, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Specification<Paper> filters = PaperSpecifications.matching(request);
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // the container owns the response stream
+            PageCursor cursor = null;
+            while (true) {
+                Batch batch = readBatch(filters, cursor);
+                for (PaperResponse response : batch.responses()) {
+                    writer.writeValue(generator, response);
+                    rows++;
+                }
+                generator.flush();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                cursor = batch.next();
+            }
+            if (rows > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        logger.info("Exported {} papers in {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * The batch after {@code cursor} as responses. Nothing read here outlives the transaction; the clear only
+     * matters if a persistence context was bound by the caller after all.
+     */
+    private Batch readBatch(Specification<Paper> filters, PageCursor cursor) {
+        return batchTransaction.execute(status -> {
+            Specification<Paper> page = filters.and(PaperSpecifications.after(cursor));
+            List<Paper> papers = paperRepository.findBy(page,
+                    query -> query.sortBy(PaperSpecifications.NEWEST_FIRST).limit(batchSize).all());
+            if (papers.isEmpty()) {
+                return new Batch(List.of(), 0, null);
+            }
+            List<PaperResponse> responses = paperResponseService.toPaperResponse(withCategories(papers));
+            PageCursor next = PageCursor.of(papers.get(papers.size() - 1));
+            entityManager.clear();
+            return new Batch(responses, papers.size(), next);
+        });
+    }
+
+    /**
+     * The batch again, in the same order, with categories fetched in one query.
+     */
+    private List<Paper> withCategories(List<Paper> batch) {
+        Map<UUID, Paper> byId = new HashMap<>();
+        for (Paper paper : paperRepository.findAllWithCategoriesByIdIn(batch.stream().map(Paper::getId).toList())) {
+            byId.put(paper.getId(), paper);
+        }
+        // Deleted since the batch was read: left out
+        return batch.stream().map(paper -> byId.get(paper.getId())).filter(Objects::nonNull).toList();
+    }
+}
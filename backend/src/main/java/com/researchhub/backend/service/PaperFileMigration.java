@@ -0,0 +1,244 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Converts the flat upload directory of random file names into {@link PaperFileStore}'s content-addressed layout.
+ *
+ * Each paper still pointing at an old name is handled in its own transaction: the file is copied in under its
+ * hash (or matched to the copy already there), the reference counted and the paper repointed and re-indexed, so
+ * cached responses pick up the new URL. The old file is deleted only after that commits and once no other paper
+ * names it, so the migration can be stopped at any point and run again. A dry run hashes the files and reports
+ * what would happen without changing anything. Files in the directory that no paper names are counted, never
+ * deleted.
+ */
+@Service
+public class PaperFileMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaperFileMigration.class);
+
+    private final PaperRepository paperRepository;
+    private final PaperFileStore paperFileStore;
+    private final PaperIndexService paperIndexService;
+    private final TransactionTemplate transaction;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public PaperFileMigration(PaperRepository paperRepository,
+                              PaperFileStore paperFileStore,
+                              PaperIndexService paperIndexService,
+                              PlatformTransactionManager transactionManager) {
+        this.paperRepository = paperRepository;
+        this.paperFileStore = paperFileStore;
+        this.paperIndexService = paperIndexService;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs the migration on a background thread; false if one is already running.
+     */
+    public boolean start(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Thread worker = new Thread(() -> {
+            try {
+                run(dryRun);
+            } catch (Exception e) {
+                logger.error("Upload migration failed: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        }, "upload-migration");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        stats.put("lastRun", lastRun);
+        return stats;
+    }
+
+    private void run(boolean dryRun) {
+        long start = System.currentTimeMillis();
+        int papers = 0;
+        int migrated = 0;
+        int alreadyMigrated = 0;
+        int missing = 0;
+        int failed = 0;
+        long bytesBefore = 0;
+        // hash -> size of each distinct content, to report what the store keeps
+        Map<String, Long> distinct = new HashMap<>();
+        Set<String> named = new HashSet<>();
+
+        for (UUID paperId : paperRepository.findAllIds()) {
+            papers++;
+            try {
+                Outcome outcome = dryRun ? inspect(paperId) : migrate(paperId);
+                if (outcome.fileName() != null) {
+                    named.add(outcome.fileName());
+                }
+                switch (outcome.result()) {
+                    case MIGRATED -> {
+                        migrated++;
+                        bytesBefore += outcome.sizeBytes();
+                        distinct.put(outcome.hash(), outcome.sizeBytes());
+                    }
+                    case ALREADY_MIGRATED -> alreadyMigrated++;
+                    case MISSING -> missing++;
+                    case NONE -> {
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                logger.warn("Could not migrate the file of paper {}: {}", paperId, e.getMessage());
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("dryRun", dryRun);
+        summary.put("papers", papers);
+        summary.put(dryRun ? "toMigrate" : "migrated", migrated);
+        summary.put("alreadyMigrated", alreadyMigrated);
+        summary.put("missingFiles", missing);
+        summary.put("failed", failed);
+        summary.put("distinctContents", distinct.size());
+        summary.put("bytesBefore", bytesBefore);
+        summary.put("bytesAfter", distinct.values().stream().mapToLong(Long::longValue).sum());
+        summary.put("unreferencedFiles", countUnreferenced(named));
+        summary.put("durationMs", System.currentTimeMillis() - start);
+        summary.put("finishedAt", LocalDateTime.now().toString());
+        lastRun = summary;
+        logger.info("Upload migration finished: {}", summary);
+    }
+
+    private enum Result { MIGRATED, ALREADY_MIGRATED, MISSING, NONE }
+
+    // fileName is what the paper points at afterwards
+    private record Outcome(Result result, String fileName, String hash, long sizeBytes) {
+    }
+
+    private Outcome inspect(UUID paperId) throws IOException {
+        Paper paper = paperRepository.findById(paperId).orElse(null);
+        if (paper == null || paper.getFilePath() == null) {
+            return new Outcome(Result.NONE, null, null, 0);
+        }
+        Path file = paperFileStore.resolve(paper.getFilePath());
+        if (PaperFileStore.isContentAddressed(file.getFileName().toString())) {
+            return new Outcome(Result.ALREADY_MIGRATED, file.getFileName().toString(), null, 0);
+        }
+        if (!Files.isRegularFile(file)) {
+            return new Outcome(Result.MISSING, file.getFileName().toString(), null, 0);
+        }
+        return new Outcome(Result.MIGRATED, file.getFileName().toString(), PaperFileStore.hash(file), Files.size(file));
+    }
+
+    private Outcome migrate(UUID paperId) throws IOException {
+        try {
+            return transaction.execute(status -> {
+                Paper paper = paperRepository.findById(paperId).orElse(null);
+                if (paper == null || paper.getFilePath() == null) {
+                    return new Outcome(Result.NONE, null, null, 0);
+                }
+                Path file = paperFileStore.resolve(paper.getFilePath());
+                String oldName = file.getFileName().toString();
+                if (PaperFileStore.isContentAddressed(oldName)) {
+                    return new Outcome(Result.ALREADY_MIGRATED, oldName, null, 0);
+                }
+                if (!Files.isRegularFile(file)) {
+                    return new Outcome(Result.MISSING, oldName, null, 0);
+                }
+
+                PaperFileStore.StoredUpload stored;
+                try {
+                    stored = paperFileStore.store(file);
+                } catch (IOException e) {
+                    throw new MigrationIOException(e);
+                }
+                paper.setFilePath(stored.fileName());
+                paperRepository.save(paper);
+                paperIndexService.index(paper);
+                TransactionHooks.afterCommit(() -> deleteIfUnused(file, oldName));
+                return new Outcome(Result.MIGRATED, stored.fileName(), stored.hash(), stored.sizeBytes());
+            });
+        } catch (MigrationIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Deletes an old upload once no paper names it any more (mock data shares some).
+     */
+    private void deleteIfUnused(Path file, String oldName) {
+        if (paperRepository.countByFilePathIn(List.of(oldName, "uploads/" + oldName, "/uploads/" + oldName)) > 0) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete migrated upload {}: {}", file, e.getMessage());
+        }
+    }
+
+    private int countUnreferenced(Set<String> named) {
+        Path directory = Paths.get(uploadDir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int unreferenced = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(".") && !named.contains(name)) {
+                    unreferenced++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list {}: {}", directory, e.getMessage());
+        }
+        return unreferenced;
+    }
+
+    // Carries an IOException out of the transaction callback
+    private static final class MigrationIOException extends RuntimeException {
+        MigrationIOException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.repository.StoredFileRepository;
+import com.researchhub.backend.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage for uploaded PDFs: every file is kept once, as {@code <sha256>.<ext>} in the upload
+ * directory, however many papers point at it.
+ *
+ * An upload is hashed while it streams to a temporary file, then counted in {@code stored_files} and moved into
+ * place unless the same content is already there. The reference count is changed inside the paper's transaction;
+ * its row lock is held until commit, and the file of a count that dropped to zero is only deleted after commit,
+ * in a transaction that removes the row under the same lock. An upload of that content racing the delete
+ * therefore either sees the row gone and puts the file back, or keeps it alive.
+ * A file without a row (a rolled-back upload) is harmless: its name says what it contains, so the next upload of
+ * that content simply uses it.
+ *
+ * The names never change meaning, so {@link com.researchhub.backend.controller.PaperFileController} serves them
+ * as immutable. Files uploaded before this store (random names) are converted by {@link PaperFileMigration}.
+ */
+@Service
+public class PaperFileStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaperFileStore.class);
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,10}");
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
+    /**
+     * Where an upload ended up; {@code deduplicated} when the content was already stored.
+     */
+    public record StoredUpload(String hash, String fileName, long sizeBytes, boolean deduplicated) {
+    }
+
+    private final StoredFileRepository storedFileRepository;
+    private final TransactionTemplate newTransaction;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    private final LongAdder storedFiles = new LongAdder();
+    private final LongAdder deduplicatedUploads = new LongAdder();
+    private final LongAdder deduplicatedBytes = new LongAdder();
+    private final LongAdder deletedFiles = new LongAdder();
+
+    public PaperFileStore(StoredFileRepository storedFileRepository, PlatformTransactionManager transactionManager) {
+        this.storedFileRepository = storedFileRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Stores the content and takes a reference to it for the current transaction. {@code originalName} only
+     * supplies the extension (".pdf" when it has none usable).
+     */
+    public StoredUpload store(InputStream content, String originalName) throws IOException {
+        Path directory = directory();
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp);
+            }
+            return place(HexFormat.of().formatHex(digest.digest()), temp, extension(originalName), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * {@link #store} for a file already on disk, which is copied, not moved (migration of old uploads).
+     */
+    StoredUpload store(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return store(in, file.getFileName().toString());
+        }
+    }
+
+    /**
+     * The hex SHA-256 of a file, without storing it.
+     */
+    static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Gives up the reference a paper held on {@code filePath}; the file is deleted after commit if it was the last.
+     * Files from before content addressing belong to one paper and are deleted after commit.
+     */
+    public void release(String filePath) {
+        if (filePath == null) {
+            return;
+        }
+        String name = fileName(filePath);
+        if (!isContentAddressed(name)) {
+            TransactionHooks.afterCommit(() -> deleteFile(name));
+            return;
+        }
+        String hash = hashOf(name);
+        storedFileRepository.release(hash);
+        TransactionHooks.afterCommit(() -> reclaim(hash, name));
+    }
+
+    /**
+     * The file for a stored path, which may carry the "uploads/" prefix of older rows.
+     */
+    public Path resolve(String filePath) {
+        return directory().resolve(fileName(filePath)).normalize();
+    }
+
+    public static boolean isContentAddressed(String fileName) {
+        return fileName != null && CONTENT_ADDRESSED.matcher(fileName).matches();
+    }
+
+    public static String hashOf(String fileName) {
+        return fileName.substring(0, fileName.indexOf('.'));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("files", storedFileRepository.count());
+        stats.put("references", storedFileRepository.sumRefCount());
+        stats.put("storedBytes", storedFileRepository.sumSizeBytes());
+        // Since startup
+        stats.put("storedFiles", storedFiles.sum());
+        stats.put("deduplicatedUploads", deduplicatedUploads.sum());
+        stats.put("deduplicatedBytes", deduplicatedBytes.sum());
+        stats.put("deletedFiles", deletedFiles.sum());
+        return stats;
+    }
+
+    private StoredUpload place(String hash, Path temp, String extension, long size) throws IOException {
+        // Locks the row until the caller commits; from here on the file cannot be reclaimed
+        storedFileRepository.acquire(hash, hash + extension, size);
+        String name = storedFileRepository.findFileName(hash);
+        Path target = directory().resolve(name);
+        if (Files.exists(target)) {
+            deduplicatedUploads.increment();
+            deduplicatedBytes.add(size);
+            return new StoredUpload(hash, name, size, true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            storedFiles.increment();
+        } catch (FileAlreadyExistsException e) {
+            // Another upload of the same content got there first; theirs is byte-for-byte the same
+            deduplicatedUploads.increment();
+            deduplicatedBytes.add(size);
+            return new StoredUpload(hash, name, size, true);
+        }
+        return new StoredUpload(hash, name, size, false);
+    }
+
+    private void reclaim(String hash, String name) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (storedFileRepository.deleteIfUnreferenced(hash) == 1) {
+                    // Still holding the row lock, so no upload can take a reference until the file is gone
+                    deleteFile(name);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not reclaim stored file {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void deleteFile(String name) {
+        try {
+            if (Files.deleteIfExists(directory().resolve(name))) {
+                deletedFiles.increment();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete stored file {}: {}", name, e.getMessage());
+        }
+    }
+
+    private Path directory() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private static String fileName(String filePath) {
+        // Legacy rows store "uploads/<name>" rather than just the file name
+        return filePath.replaceFirst("^/?uploads/", "");
+    }
+
+    private static String extension(String originalName) {
+        if (originalName != null && originalName.contains(".")) {
+            String extension = originalName.substring(originalName.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+            if (EXTENSION.matcher(extension).matches()) {
+                return extension;
+            }
+        }
+        return ".pdf";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
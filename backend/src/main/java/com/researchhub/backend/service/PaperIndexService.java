@@ -0,0 +1,554 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SearchSnippet;
+import com.researchhub.backend.dto.SearchSort;
+import com.researchhub.backend.model.Category;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.model.PaperText;
+import com.researchhub.backend.repository.CategoryRepository;
+import com.researchhub.backend.repository.PaperAbstractRow;
+import com.researchhub.backend.repository.PaperListRow;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperTextRepository;
+import com.researchhub.backend.search.DuplicateIndex;
+import com.researchhub.backend.search.Highlight;
+import com.researchhub.backend.search.IndexField;
+import com.researchhub.backend.search.LatencyHistogram;
+import com.researchhub.backend.search.PaperDocument;
+import com.researchhub.backend.search.SearchIndex;
+import com.researchhub.backend.search.SearchResult;
+import com.researchhub.backend.search.SimilarityIndex;
+import com.researchhub.backend.search.SnippetBuilder;
+import com.researchhub.backend.search.SuggestionIndex;
+import com.researchhub.backend.search.TextAnalyzer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import com.researchhub.backend.util.PageCursor;
+import com.researchhub.backend.util.TextCompression;
+import com.researchhub.backend.util.TransactionHooks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the in-process {@link SearchIndex}, {@link SuggestionIndex}, {@link SimilarityIndex} and
+ * {@link DuplicateIndex} in step with the papers table.
+ *
+ * Once the application is up the search index is opened from the segments it left on disk at the last clean
+ * shutdown and caught up with papers added or deleted since, or else built from the database; it is then
+ * maintained incrementally by {@link PaperService}. Changes made inside a transaction are applied only after it commits, so a rolled-back
+ * upload never becomes searchable. Until the first build finishes {@link #isReady()} is false and callers
+ * should fall back to the database query.
+ *
+ * The similarity index starts from its snapshot on disk when there is one, re-inserting only papers whose text
+ * changed. Without a snapshot its vectors are built on a background thread once search is ready, and
+ * {@link #isSimilarReady()} stays false until then. The snapshot is rewritten after each build and on shutdown.
+ * The duplicate index is filled at startup by {@link DuplicateDetectionService}'s scan and only kept current here.
+ */
+@Service
+public class PaperIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaperIndexService.class);
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Ranking a query's candidates (scoring + top-k selection) should stay within this budget
+    @Value("${app.search.ranking-budget-ms:50}")
+    private long rankingBudgetMs;
+
+    private final SearchIndex searchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final PaperRepository paperRepository;
+    private final PaperTextRepository paperTextRepository;
+    private final CategoryRepository categoryRepository;
+    private final ExploreResultCache exploreResultCache;
+    private final SimilarityIndex similarityIndex;
+    private final DuplicateIndex duplicateIndex;
+    private final TextAnalyzer textAnalyzer;
+    private final RecentPapersCache recentPapersCache;
+
+    @Value("${app.similar.snapshot-path:index/similar-papers.bin}")
+    private String similarSnapshotPath;
+
+    private volatile boolean ready;
+    private volatile boolean similarReady;
+    // Deletes that land while a rebuild is still reading older batches
+    private final Set<UUID> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rankedQueries = new LongAdder();
+    private final LongAdder rankedCandidates = new LongAdder();
+    private final LongAdder rankingNanos = new LongAdder();
+    private final LongAdder overBudgetQueries = new LongAdder();
+    private final AtomicLong maxRankingNanos = new AtomicLong();
+    private final LatencyHistogram suggestLatency = new LatencyHistogram();
+    private final LatencyHistogram similarLatency = new LatencyHistogram();
+    private final LatencyHistogram snippetLatency = new LatencyHistogram();
+
+    public PaperIndexService(SearchIndex searchIndex,
+                             SuggestionIndex suggestionIndex,
+                             PaperRepository paperRepository,
+                             PaperTextRepository paperTextRepository,
+                             CategoryRepository categoryRepository,
+                             ExploreResultCache exploreResultCache,
+                             SimilarityIndex similarityIndex,
+                             DuplicateIndex duplicateIndex,
+                             TextAnalyzer textAnalyzer,
+                             RecentPapersCache recentPapersCache) {
+        this.searchIndex = searchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.paperRepository = paperRepository;
+        this.paperTextRepository = paperTextRepository;
+        this.categoryRepository = categoryRepository;
+        this.exploreResultCache = exploreResultCache;
+        this.similarityIndex = similarityIndex;
+        this.duplicateIndex = duplicateIndex;
+        this.textAnalyzer = textAnalyzer;
+        this.recentPapersCache = recentPapersCache;
+    }
+
+    // Ahead of the other ready listeners, SearchWarmer's replay among them, which need the index built
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        similarReady = false;
+        removedDuringRebuild.clear();
+        boolean opened = searchIndex.open();
+        suggestionIndex.startBulkLoad();
+        boolean similarFromSnapshot = loadSimilaritySnapshot();
+
+        try {
+            for (Object[] row : paperRepository.countLibrarySaves()) {
+                suggestionIndex.adjustSaves((UUID) row[0], ((Number) row[1]).intValue());
+            }
+
+            if (opened) {
+                catchUp();
+            } else {
+                forEachStoredPaper((paper, fullText) -> {
+                    // Anything already present was written by a live update and is newer than this snapshot
+                    if (!searchIndex.contains(paper.getId()) && !removedDuringRebuild.contains(paper.getId())) {
+                        PaperDocument document = toDocument(paper, fullText);
+                        searchIndex.upsert(document);
+                        suggestionIndex.upsert(document);
+                        if (similarFromSnapshot) {
+                            similarityIndex.upsert(document); // no-op unless new or changed since the snapshot
+                        } else {
+                            similarityIndex.learn(document);
+                        }
+                    }
+                });
+            }
+
+            categoryRepository.findAll().forEach(category -> suggestionIndex.addCategory(category.getId(), category.getName()));
+        } catch (Exception e) {
+            logger.error("Search index build failed, explore will keep using database search: {}", e.getMessage(), e);
+            return;
+        } finally {
+            suggestionIndex.finishBulkLoad();
+        }
+
+        ready = true;
+        removedDuringRebuild.clear();
+        logger.info("Search index {}: {} papers, {} terms, {} suggestions in {} ms", opened ? "opened" : "built",
+                searchIndex.size(), searchIndex.termCount(), suggestionIndex.size(), System.currentTimeMillis() - start);
+        finishSimilarityIndex(similarFromSnapshot, !opened);
+    }
+
+    /**
+     * Brings an index opened from disk in line with the papers table: drops papers deleted since it was saved and
+     * indexes the ones added since, then fills the suggestions from the stored documents. Papers edited while the
+     * application was down are not detected.
+     */
+    private void catchUp() {
+        Set<UUID> stored = new HashSet<>(paperRepository.findAllIds());
+        int dropped = searchIndex.retainAll(stored::contains);
+        List<UUID> missing = stored.stream().filter(id -> !searchIndex.contains(id)).toList();
+        forEachPaper(missing, (paper, fullText) -> {
+            if (!searchIndex.contains(paper.getId()) && !removedDuringRebuild.contains(paper.getId())) {
+                searchIndex.upsert(toDocument(paper, fullText));
+            }
+        });
+        searchIndex.forEachDocument(suggestionIndex::upsert);
+        logger.info("Search index caught up with the database: {} papers dropped, {} added", dropped, missing.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isSimilarReady() {
+        return similarReady;
+    }
+
+    @PreDestroy
+    public void saveSimilaritySnapshot() {
+        if (!similarReady) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            similarityIndex.save(Path.of(similarSnapshotPath));
+            logger.info("Similarity index snapshot written: {} papers in {} ms",
+                    similarityIndex.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.warn("Could not write similarity index snapshot {}: {}", similarSnapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds or replaces the paper in the index. Must be called while the paper's categories are still loadable.
+     */
+    public void index(Paper paper) {
+        String fullText = decompress(paperTextRepository.findById(paper.getId()).orElse(null));
+        PaperDocument document = toDocument(paper, fullText);
+        recentPapersCache.paperChanged(paper);
+        TransactionHooks.afterCommit(() -> {
+            PaperDocument previous = searchIndex.find(document.id()).orElse(null);
+            searchIndex.upsert(document);
+            suggestionIndex.upsert(document);
+            similarityIndex.upsert(document);
+            duplicateIndex.upsert(document);
+            exploreResultCache.invalidate(document.id(), previous, document);
+        });
+    }
+
+    /**
+     * Re-reads the paper (e.g. after its PDF text was extracted) and replaces it in the index.
+     */
+    public void reindex(UUID paperId) {
+        paperRepository.findByIdWithCategories(paperId).ifPresent(this::index);
+    }
+
+    public void remove(UUID paperId) {
+        recentPapersCache.paperRemoved(paperId);
+        TransactionHooks.afterCommit(() -> {
+            if (!ready) {
+                removedDuringRebuild.add(paperId);
+            }
+            PaperDocument previous = searchIndex.find(paperId).orElse(null);
+            searchIndex.remove(paperId);
+            suggestionIndex.remove(paperId);
+            similarityIndex.remove(paperId);
+            duplicateIndex.remove(paperId);
+            exploreResultCache.invalidate(paperId, previous, null);
+        });
+    }
+
+    /**
+     * Tracks library saves, which rank title suggestions.
+     */
+    public void librarySaveChanged(UUID paperId, boolean saved) {
+        TransactionHooks.afterCommit(() -> suggestionIndex.adjustSaves(paperId, saved ? 1 : -1));
+    }
+
+    /**
+     * Typeahead matches for a partially typed query, most popular first.
+     */
+    public List<SuggestionIndex.Entry> suggest(String prefix, int limit) {
+        long start = System.nanoTime();
+        List<SuggestionIndex.Entry> entries = suggestionIndex.suggest(prefix, limit);
+        suggestLatency.record(System.nanoTime() - start);
+        return entries;
+    }
+
+    /**
+     * Papers whose text is closest to the given paper's, most similar first; empty until the similarity index is
+     * ready or when the paper has no usable text.
+     */
+    public List<SimilarityIndex.Match> similar(UUID paperId, int limit) {
+        if (!similarReady) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        List<SimilarityIndex.Match> matches = similarityIndex.similar(paperId, limit);
+        similarLatency.record(System.nanoTime() - start);
+        return matches;
+    }
+
+    public SearchResult search(PaperSearchRequest request, Pageable pageable) {
+        SearchResult result = searchIndex.search(request, pageable.getOffset(), pageable.getPageSize());
+        recordRankingCost(request, result);
+        return result;
+    }
+
+    /**
+     * Ids of up to {@code limit} matches after {@code cursor} (null = from the newest), newest first.
+     */
+    public List<UUID> searchAfter(PaperSearchRequest request, PageCursor cursor, int limit) {
+        if (cursor == null) {
+            return searchIndex.searchAfter(request, 0, null, limit);
+        }
+        return searchIndex.searchAfter(request, toEpochMillis(cursor.uploadedAt()), cursor.id(), limit);
+    }
+
+    /**
+     * Highlighted title and abstract snippets for a page of hits of {@code query}, by paper id. Built from the
+     * positions stored in the index, so papers the index does not have yet get none. List rows only carry the
+     * start of the abstract, so the full abstracts of the hits highlighted there are read in one query.
+     */
+    public Map<UUID, List<SearchSnippet>> snippets(String query, List<PaperListRow> hits) {
+        if (!ready || query == null || query.isBlank() || hits.isEmpty()) {
+            return Map.of();
+        }
+        long start = System.nanoTime();
+        Map<UUID, List<Highlight>> highlights = searchIndex.highlights(query, hits.stream().map(PaperListRow::id).toList());
+        List<UUID> inAbstract = highlights.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().anyMatch(highlight -> highlight.field() == IndexField.ABSTRACT))
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<UUID, String> abstracts = new HashMap<>();
+        if (!inAbstract.isEmpty()) {
+            for (PaperAbstractRow row : paperRepository.findAbstractsByIdIn(inAbstract)) {
+                abstracts.put(row.id(), row.abstractText());
+            }
+        }
+        Map<UUID, List<SearchSnippet>> snippets = new HashMap<>();
+        for (PaperListRow paper : hits) {
+            List<Highlight> found = highlights.get(paper.id());
+            if (found != null) {
+                List<SearchSnippet> built = SnippetBuilder.build(paper.title(), abstracts.get(paper.id()), found);
+                if (!built.isEmpty()) {
+                    snippets.put(paper.id(), built);
+                }
+            }
+        }
+        snippetLatency.record(System.nanoTime() - start);
+        return snippets;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("papers", searchIndex.size());
+        stats.put("terms", searchIndex.termCount());
+        stats.put("postingBytes", searchIndex.postingBytes());
+        stats.put("storage", searchIndex.storageStats());
+        stats.put("analyzer", textAnalyzer.signature());
+        stats.put("parallel", searchIndex.parallelStats());
+
+        long queries = rankedQueries.sum();
+        Map<String, Object> ranking = new LinkedHashMap<>();
+        ranking.put("queries", queries);
+        ranking.put("avgCandidates", queries == 0 ? 0 : rankedCandidates.sum() / queries);
+        ranking.put("avgMicros", queries == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(rankingNanos.sum() / queries));
+        ranking.put("maxMicros", TimeUnit.NANOSECONDS.toMicros(maxRankingNanos.get()));
+        ranking.put("budgetMs", rankingBudgetMs);
+        ranking.put("overBudgetQueries", overBudgetQueries.sum());
+        stats.put("ranking", ranking);
+
+        Map<String, Object> suggest = new LinkedHashMap<>();
+        suggest.put("entries", suggestionIndex.size());
+        suggest.put("latency", suggestLatency.snapshotMicros());
+        stats.put("suggest", suggest);
+
+        // Per page of hits
+        stats.put("snippetLatency", snippetLatency.snapshotMicros());
+
+        Map<String, Object> similar = new LinkedHashMap<>();
+        similar.put("ready", similarReady);
+        similar.put("papers", similarityIndex.size());
+        similar.put("rebuild", similarityIndex.getRebuildStats());
+        similar.put("latency", similarLatency.snapshotMicros());
+        stats.put("similar", similar);
+        return stats;
+    }
+
+    /**
+     * Recall and latency of the similarity index against an exact scan, on the live papers or, when
+     * {@code syntheticSize} is positive, on that many generated vectors.
+     */
+    public Map<String, Object> benchmarkSimilarity(int queries, int k, int syntheticSize) {
+        return syntheticSize > 0
+                ? similarityIndex.syntheticBenchmark(syntheticSize, queries, k)
+                : similarityIndex.benchmark(queries, k);
+    }
+
+    /**
+     * Ranking latency of one search with its matches split across 1 to N partitions (search pool threads).
+     */
+    public Map<String, Object> benchmarkPartitionedSearch(String query, SearchSort sort, int rounds) {
+        PaperSearchRequest request = new PaperSearchRequest();
+        request.setQuery(query == null || query.isBlank() ? null : query);
+        request.setSort(sort);
+        return searchIndex.benchmarkPartitions(request, request.getSize(), rounds);
+    }
+
+    /**
+     * Text analysis throughput over the title, abstract and full text of the oldest {@code papers} papers.
+     */
+    public Map<String, Object> benchmarkAnalyzer(int papers, int rounds) {
+        List<String> texts = new ArrayList<>();
+        forEachPaper(paperRepository.findAllIdsOrderByUploadedAt(PageRequest.of(0, papers)).getContent(),
+                (paper, fullText) -> {
+                    for (String text : new String[]{paper.getTitle(), paper.getAbstractText(), fullText}) {
+                        if (text != null && !text.isEmpty()) {
+                            texts.add(text);
+                        }
+                    }
+                });
+        return textAnalyzer.benchmark(texts, rounds);
+    }
+
+    private boolean loadSimilaritySnapshot() {
+        try {
+            if (similarityIndex.load(Path.of(similarSnapshotPath))) {
+                logger.info("Similarity index snapshot loaded: {} papers", similarityIndex.size());
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable similarity index snapshot {}: {}", similarSnapshotPath, e.getMessage());
+        }
+        similarityIndex.clear();
+        return false;
+    }
+
+    /**
+     * Off the startup thread: feeds every paper to the similarity index unless the startup walk already did
+     * (search opened from disk), inserts the vectors when there was no snapshot, drops papers deleted since the
+     * snapshot, then writes a fresh snapshot.
+     */
+    private void finishSimilarityIndex(boolean fromSnapshot, boolean fedDuringStartup) {
+        Thread builder = new Thread(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                if (!fedDuringStartup) {
+                    forEachStoredPaper((paper, fullText) -> {
+                        if (fromSnapshot) {
+                            similarityIndex.upsert(toDocument(paper, fullText));
+                        } else {
+                            similarityIndex.learn(toDocument(paper, fullText));
+                        }
+                    });
+                }
+                if (!fromSnapshot) {
+                    forEachStoredPaper((paper, fullText) -> {
+                        if (searchIndex.contains(paper.getId()) && !similarityIndex.contains(paper.getId())) {
+                            similarityIndex.upsert(toDocument(paper, fullText));
+                        }
+                    });
+                }
+                int stale = similarityIndex.retainAll(searchIndex::contains);
+                similarReady = true;
+                logger.info("Similarity index ready: {} papers ({} stale dropped) in {} ms",
+                        similarityIndex.size(), stale, System.currentTimeMillis() - start);
+                saveSimilaritySnapshot();
+            } catch (Exception e) {
+                logger.error("Similarity index build failed, similar papers will use categories: {}", e.getMessage(), e);
+            }
+        }, "similar-papers-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Every stored paper as an index document, oldest upload first, read in batches.
+     */
+    void forEachStoredDocument(Consumer<PaperDocument> action) {
+        forEachStoredPaper((paper, fullText) -> action.accept(toDocument(paper, fullText)));
+    }
+
+    /**
+     * Walks every stored paper with its decompressed full text, oldest upload first, in batches.
+     */
+    private void forEachStoredPaper(BiConsumer<Paper, String> action) {
+        Pageable pageable = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        Slice<UUID> ids;
+        do {
+            ids = paperRepository.findAllIdsOrderByUploadedAt(pageable);
+            if (ids.hasContent()) {
+                loadBatch(ids.getContent(), action);
+            }
+            pageable = ids.nextPageable();
+        } while (ids.hasNext());
+    }
+
+    /**
+     * Walks the given papers with their decompressed full text, in batches.
+     */
+    private void forEachPaper(List<UUID> paperIds, BiConsumer<Paper, String> action) {
+        for (int from = 0; from < paperIds.size(); from += REBUILD_BATCH_SIZE) {
+            loadBatch(paperIds.subList(from, Math.min(paperIds.size(), from + REBUILD_BATCH_SIZE)), action);
+        }
+    }
+
+    private void loadBatch(List<UUID> paperIds, BiConsumer<Paper, String> action) {
+        Map<UUID, PaperText> texts = new HashMap<>();
+        paperTextRepository.findAllById(paperIds).forEach(text -> texts.put(text.getPaperId(), text));
+
+        for (Paper paper : paperRepository.findAllWithCategoriesByIdIn(paperIds)) {
+            action.accept(paper, decompress(texts.get(paper.getId())));
+        }
+    }
+
+    private void recordRankingCost(PaperSearchRequest request, SearchResult result) {
+        rankedQueries.increment();
+        rankedCandidates.add(result.total());
+        rankingNanos.add(result.rankingNanos());
+        maxRankingNanos.accumulateAndGet(result.rankingNanos(), Math::max);
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(result.rankingNanos());
+        if (micros > rankingBudgetMs * 1000) {
+            overBudgetQueries.increment();
+            logger.warn("Ranking {} candidates by {} took {} us (budget {} ms), query: {}",
+                    result.total(), request.getSort(), micros, rankingBudgetMs, request.getQuery());
+        } else {
+            logger.debug("Ranked {} candidates by {} in {} us", result.total(), request.getSort(), micros);
+        }
+    }
+
+    static PaperDocument toDocument(Paper paper, String fullText) {
+        Set<UUID> categoryIds = new LinkedHashSet<>(); // same order as the names
+        List<String> categoryNames = new ArrayList<>();
+        if (paper.getCategories() != null) {
+            for (Category category : new ArrayList<>(paper.getCategories())) {
+                categoryIds.add(category.getId());
+                categoryNames.add(category.getName());
+            }
+        }
+
+        long uploadedAt = paper.getUploadedAt() != null
+                ? toEpochMillis(paper.getUploadedAt())
+                : System.currentTimeMillis();
+
+        return new PaperDocument(
+                paper.getId(),
+                paper.getTitle(),
+                paper.getAbstractText(),
+                fullText,
+                paper.getAuthor(),
+                categoryIds,
+                categoryNames,
+                paper.getPublicationYear(),
+                uploadedAt,
+                paper.getStatus()
+        );
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static String decompress(PaperText text) {
+        return text != null ? TextCompression.decompress(text.getContent()) : null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.model.User;
+import com.researchhub.backend.repository.CategoryRepository;
+import com.researchhub.backend.repository.PaperListRow;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperSpecifications;
+import com.researchhub.backend.repository.UserRepository;
+import com.researchhub.backend.util.UuidBinaryConverter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Before/after comparison of the list views (explore hits, recent, "my papers", admin papers): full {@link Paper}
+ * entities mapped to responses against the {@link PaperListRow} / {@code AdminPaperRow} projections.
+ *
+ * For each view it reports, per page, the average time, the bytes allocated by the request thread (JDBC decoding,
+ * entities or records, responses) and the bytes MySQL sent for it, from the session's {@code Bytes_sent} counter,
+ * so the figure includes the uploader and lazy category queries the entity path triggers. The persistence context
+ * is cleared between rounds so every round reads from the database.
+ *
+ * With {@code syntheticPapers} that many generated papers, uploaded by existing users, are inserted first in the
+ * benchmark's transaction, which is always rolled back; like {@link PaperQueryBenchmark} the endpoint is admin-only
+ * and off unless {@code app.diagnostics.database-benchmarks.enabled}.
+ */
+@Service
+public class PaperListBenchmark {
+
+    private static final UuidBinaryConverter UUIDS = new UuidBinaryConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PaperRepository paperRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final PaperResponseService paperResponseService;
+    private final com.sun.management.ThreadMXBean threads;
+
+    @Value("${app.diagnostics.query-benchmark.max-synthetic-papers:200000}")
+    private int maxSyntheticPapers;
+
+    public PaperListBenchmark(JdbcTemplate jdbcTemplate,
+                              EntityManager entityManager,
+                              PaperRepository paperRepository,
+                              CategoryRepository categoryRepository,
+                              UserRepository userRepository,
+                              PaperResponseService paperResponseService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.paperRepository = paperRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.paperResponseService = paperResponseService;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    @Transactional
+    public Map<String, Object> run(int syntheticPapers, int pageSize, int rounds) {
+        if (syntheticPapers > maxSyntheticPapers) {
+            throw new IllegalArgumentException("At most " + maxSyntheticPapers + " synthetic papers");
+        }
+        try {
+            List<UUID> users = userRepository.findAll(PageRequest.ofSize(100)).map(User::getId).getContent();
+            SyntheticPapers.insert(jdbcTemplate, syntheticPapers, categoryRepository.findAll(), users);
+
+            PageRequest page = PageRequest.ofSize(pageSize);
+            List<UUID> newest = paperRepository.findRecentListRows(page).stream().map(PaperListRow::id).toList();
+            UUID uploader = busiestUploader();
+            Specification<Paper> byUploader = (root, query, cb) -> cb.equal(root.get("uploadedBy").get("id"), uploader);
+            PageRequest newestFirst = PageRequest.of(0, pageSize, PaperSpecifications.NEWEST_FIRST);
+            PageRequest adminPage = PageRequest.of(0, pageSize, Sort.by("uploadedAt").descending());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("papers", paperRepository.count());
+            result.put("syntheticPapers", syntheticPapers);
+            result.put("pageSize", pageSize);
+            result.put("rounds", rounds);
+            result.put("allocationMeasured", threads.isThreadAllocatedMemorySupported()
+                    && threads.isThreadAllocatedMemoryEnabled());
+
+            Map<String, Object> views = new LinkedHashMap<>();
+            // Explore and recent: a page of known ids (index hits, newest papers) turned into responses
+            views.put("explore", compare(rounds,
+                    () -> paperResponseService.toPaperResponse(ordered(newest)),
+                    () -> paperResponseService.toListResponse(paperRepository.findListRowsByIdIn(newest), null)));
+            if (uploader != null) {
+                views.put("mine", compare(rounds,
+                        () -> paperResponseService.toPaperResponse(paperRepository.findAll(byUploader, newestFirst), uploader).getContent(),
+                        () -> paperResponseService.toListResponse(paperRepository.findListRowsByUploader(uploader, page), uploader).getContent()));
+            }
+            // Mapping to the moderation response is the same field copy on both sides, so only the read is timed
+            views.put("admin", compare(rounds,
+                    () -> paperRepository.findAll(adminPage).getContent(),
+                    () -> paperRepository.findAdminRows(adminPage).getContent()));
+            result.put("views", views);
+            return result;
+        } finally {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    private Map<String, Object> compare(int rounds, Supplier<List<?>> before, Supplier<List<?>> after) {
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("before", measure(rounds, before));
+        comparison.put("after", measure(rounds, after));
+        return comparison;
+    }
+
+    private Map<String, Object> measure(int rounds, Supplier<List<?>> load) {
+        entityManager.clear();
+        load.get(); // warm-up round, not counted
+
+        long overhead = bytesSentOverhead();
+        long allocated = 0;
+        long bytesSent = 0;
+        long nanos = 0;
+        int rows = 0;
+        for (int round = 0; round < rounds; round++) {
+            entityManager.clear();
+            long sentBefore = bytesSent();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            List<?> page = load.get();
+            nanos += System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            bytesSent += bytesSent() - sentBefore - overhead;
+            rows = page.size();
+        }
+
+        Map<String, Object> measured = new LinkedHashMap<>();
+        measured.put("rows", rows);
+        measured.put("avgMs", Math.round(nanos / 1e6 / rounds * 100) / 100.0);
+        measured.put("allocatedBytesPerPage", allocated / rounds);
+        measured.put("dbBytesPerPage", bytesSent / rounds);
+        return measured;
+    }
+
+    /**
+     * The page again in id order, as the entity path hydrated index hits.
+     */
+    private List<Paper> ordered(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Paper> byId = new HashMap<>();
+        for (Paper paper : paperRepository.findAllWithCategoriesByIdIn(ids)) {
+            byId.put(paper.getId(), paper);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private UUID busiestUploader() {
+        return jdbcTemplate.query("SELECT uploaded_by FROM papers WHERE uploaded_by IS NOT NULL "
+                        + "GROUP BY uploaded_by ORDER BY COUNT(*) DESC LIMIT 1",
+                rs -> rs.next() ? UUIDS.convertToEntityAttribute(rs.getBytes(1)) : null);
+    }
+
+    private long bytesSent() {
+        return jdbcTemplate.query("SHOW SESSION STATUS LIKE 'Bytes_sent'", rs -> rs.next() ? rs.getLong(2) : 0L);
+    }
+
+    /**
+     * What reading the counter itself adds to it, taken off every measurement.
+     */
+    private long bytesSentOverhead() {
+        long first = bytesSent();
+        return bytesSent() - first;
+    }
+}
@@ -0,0 +1,240 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.model.Category;
+import com.researchhub.backend.model.PaperStatus;
+import com.researchhub.backend.repository.CategoryRepository;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperSpecifications;
+import com.researchhub.backend.util.UuidBinaryConverter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Before/after comparison of the database search, which explore falls back to while the search index builds.
+ *
+ * "Before" is the single catch-all statement the fallback used to run: every filter written as
+ * {@code :param IS NULL OR ...}, always joined to the categories with {@code DISTINCT}. "After" is what
+ * {@link PaperSpecifications} builds: only the filters that are set, categories as a correlated {@code EXISTS}.
+ * For common filter combinations it reports MySQL's {@code EXPLAIN} of both and the average time of a first page
+ * plus its count, the new side through the repository (entity mapping included).
+ *
+ * With {@code syntheticPapers} that many generated papers, spread over the existing categories, are inserted first
+ * in the benchmark's transaction, which is always rolled back. They still lock and log like real rows until then,
+ * which is why the endpoint is admin-only and off unless {@code app.diagnostics.database-benchmarks.enabled}.
+ */
+@Service
+public class PaperQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String ORDER_BY = " ORDER BY p.uploaded_at DESC, p.id DESC LIMIT " + PAGE_SIZE;
+
+    // The old explore fallback, with a status filter added so every combination below can be expressed
+    private static final String CATCH_ALL_WHERE = " FROM papers p LEFT JOIN paper_categories pc ON pc.paper_id = p.id "
+            + "WHERE (? IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', ?, '%')) "
+            + "      OR LOWER(p.abstract_text) LIKE LOWER(CONCAT('%', ?, '%'))) "
+            + "AND (? IS NULL OR pc.category_id = ?) "
+            + "AND (? IS NULL OR p.publication_year = ?) "
+            + "AND (? IS NULL OR p.publication_year >= ?) "
+            + "AND (? IS NULL OR p.publication_year <= ?) "
+            + "AND (? IS NULL OR p.status = ?) "
+            + "AND (? IS NULL OR LOWER(p.author) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    private static final UuidBinaryConverter UUIDS = new UuidBinaryConverter();
+
+    private record Statement(String select, String sql, List<Object> args) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PaperRepository paperRepository;
+    private final CategoryRepository categoryRepository;
+
+    @Value("${app.diagnostics.query-benchmark.max-synthetic-papers:200000}")
+    private int maxSyntheticPapers;
+
+    public PaperQueryBenchmark(JdbcTemplate jdbcTemplate,
+                               EntityManager entityManager,
+                               PaperRepository paperRepository,
+                               CategoryRepository categoryRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.paperRepository = paperRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Transactional
+    public Map<String, Object> run(int syntheticPapers, int rounds) {
+        if (syntheticPapers > maxSyntheticPapers) {
+            throw new IllegalArgumentException("At most " + maxSyntheticPapers + " synthetic papers");
+        }
+        try {
+            List<Category> categories = categoryRepository.findAll();
+            long insertStart = System.nanoTime();
+            SyntheticPapers.insert(jdbcTemplate, syntheticPapers, categories, List.of());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("papers", paperRepository.count());
+            result.put("syntheticPapers", syntheticPapers);
+            result.put("insertMs", (System.nanoTime() - insertStart) / 1_000_000);
+            result.put("rounds", rounds);
+
+            Map<String, Object> cases = new LinkedHashMap<>();
+            cases(categories).forEach((name, request) -> cases.put(name, compare(request, rounds)));
+            result.put("cases", cases);
+            return result;
+        } finally {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    private Map<String, PaperSearchRequest> cases(List<Category> categories) {
+        Integer year = jdbcTemplate.query("SELECT publication_year FROM papers WHERE publication_year IS NOT NULL "
+                        + "GROUP BY publication_year ORDER BY COUNT(*) DESC LIMIT 1",
+                rs -> rs.next() ? rs.getInt(1) : 2020);
+        UUID category = categories.isEmpty() ? null : categories.get(0).getId();
+
+        Map<String, PaperSearchRequest> cases = new LinkedHashMap<>();
+        cases.put("none", request(r -> {
+        }));
+        cases.put("year", request(r -> r.setYear(year)));
+        cases.put("yearRange", request(r -> {
+            r.setYearFrom(year - 5);
+            r.setYearTo(year);
+        }));
+        cases.put("status", request(r -> r.setStatus(PaperStatus.APPROVED)));
+        cases.put("author", request(r -> r.setAuthor("chen")));
+        cases.put("text", request(r -> r.setQuery("learning")));
+        if (category != null) {
+            cases.put("category", request(r -> r.setCategoryIds(List.of(category))));
+            cases.put("category+year", request(r -> {
+                r.setCategoryIds(List.of(category));
+                r.setYear(year);
+            }));
+        }
+        return cases;
+    }
+
+    private Map<String, Object> compare(PaperSearchRequest request, int rounds) {
+        Statement before = catchAll(request);
+        Statement after = dynamic(request);
+
+        Map<String, Object> catchAll = new LinkedHashMap<>();
+        catchAll.put("plan", explain(before));
+        long start = System.nanoTime();
+        long total = 0;
+        for (int round = 0; round < rounds; round++) {
+            jdbcTemplate.queryForList(before.select() + before.sql() + ORDER_BY, before.args().toArray());
+            total = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT p.id)" + before.sql(), Long.class,
+                    before.args().toArray());
+        }
+        catchAll.put("avgMs", averageMs(start, rounds));
+        catchAll.put("total", total);
+
+        Map<String, Object> dynamic = new LinkedHashMap<>();
+        dynamic.put("plan", explain(after));
+        start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            total = paperRepository.findAll(PaperSpecifications.matching(request),
+                    PageRequest.of(0, PAGE_SIZE, PaperSpecifications.NEWEST_FIRST)).getTotalElements();
+            entityManager.clear();
+        }
+        dynamic.put("avgMs", averageMs(start, rounds));
+        dynamic.put("total", total);
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("before", catchAll);
+        comparison.put("after", dynamic);
+        return comparison;
+    }
+
+    private Statement catchAll(PaperSearchRequest request) {
+        String query = request.getQuery();
+        byte[] category = request.getCategoryIds() == null ? null
+                : UUIDS.convertToDatabaseColumn(request.getCategoryIds().get(0));
+        String status = request.getStatus() == null ? null : request.getStatus().name();
+        List<Object> args = new ArrayList<>();
+        for (Object value : new Object[]{query, category, request.getYear(), request.getYearFrom(),
+                request.getYearTo(), status, request.getAuthor()}) {
+            args.add(value);
+            args.add(value);
+        }
+        args.add(2, query); // the text is compared twice
+        return new Statement("SELECT DISTINCT p.*", CATCH_ALL_WHERE, args);
+    }
+
+    /**
+     * The SQL the specification produces for the request, written out for {@code EXPLAIN}.
+     */
+    private Statement dynamic(PaperSearchRequest request) {
+        StringBuilder sql = new StringBuilder(" FROM papers p WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (request.getQuery() != null) {
+            sql.append(" AND (LOWER(p.title) LIKE ? OR LOWER(p.abstract_text) LIKE ?)");
+            args.add("%" + request.getQuery().toLowerCase() + "%");
+            args.add("%" + request.getQuery().toLowerCase() + "%");
+        }
+        if (request.getCategoryIds() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM paper_categories pc WHERE pc.paper_id = p.id AND pc.category_id = ?)");
+            args.add(UUIDS.convertToDatabaseColumn(request.getCategoryIds().get(0)));
+        }
+        if (request.getYear() != null) {
+            sql.append(" AND p.publication_year = ?");
+            args.add(request.getYear());
+        }
+        if (request.getYearFrom() != null) {
+            sql.append(" AND p.publication_year >= ?");
+            args.add(request.getYearFrom());
+        }
+        if (request.getYearTo() != null) {
+            sql.append(" AND p.publication_year <= ?");
+            args.add(request.getYearTo());
+        }
+        if (request.getStatus() != null) {
+            sql.append(" AND p.status = ?");
+            args.add(request.getStatus().name());
+        }
+        if (request.getAuthor() != null) {
+            sql.append(" AND LOWER(p.author) LIKE ?");
+            args.add("%" + request.getAuthor().toLowerCase() + "%");
+        }
+        return new Statement("SELECT p.*", sql.toString(), args);
+    }
+
+    private List<Map<String, Object>> explain(Statement statement) {
+        List<Map<String, Object>> plan = new ArrayList<>();
+        String sql = "EXPLAIN " + statement.select() + statement.sql() + ORDER_BY;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql, statement.args().toArray())) {
+            Map<String, Object> step = new LinkedHashMap<>();
+            for (String column : new String[]{"select_type", "table", "type", "key", "rows", "filtered", "Extra"}) {
+                step.put(column, row.get(column));
+            }
+            plan.add(step);
+        }
+        return plan;
+    }
+
+    private static PaperSearchRequest request(Consumer<PaperSearchRequest> filters) {
+        PaperSearchRequest request = new PaperSearchRequest();
+        request.setCategoryMatch(CategoryMatch.ANY);
+        filters.accept(request);
+        return request;
+    }
+
+    private static double averageMs(long start, int rounds) {
+        return Math.round((System.nanoTime() - start) / 1e6 / rounds * 100) / 100.0;
+    }
+}
@@ -6,6 +6,9 @@ import com.researchhub.backend.model.Category;
 import com.researchhub.backend.model.Paper;
 import com.researchhub.backend.model.Profile;
 import com.researchhub.backend.model.User;
+import com.researchhub.backend.repository.PaperCategoryRow;
+import com.researchhub.backend.repository.PaperListRow;
+import com.researchhub.backend.repository.PaperRepository;
 import com.researchhub.backend.repository.ProfileRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -19,9 +22,11 @@ import java.util.stream.Collectors;
 public class PaperResponseService {
 
     private final ProfileRepository profileRepository;
+    private final PaperRepository paperRepository;
 
-    public PaperResponseService(ProfileRepository profileRepository) {
+    public PaperResponseService(ProfileRepository profileRepository, PaperRepository paperRepository) {
         this.profileRepository = profileRepository;
+        this.paperRepository = paperRepository;
     }
 
     // --- Public Conversion Methods (Handling Current User ID) ---
@@ -69,8 +74,75 @@ public class PaperResponseService {
         return toPaperResponse(papers, null);
     }
 
+    // --- List Rows (PaperListRow projections) ---
+
+    /**
+     * Responses for a page of list rows, in the same order. Categories and uploader profiles are read with one
+     * query each for the whole page.
+     */
+    @Transactional(readOnly = true)
+    public List<PaperResponse> toListResponse(List<PaperListRow> rows, UUID currentUserId) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<UUID, Set<Category>> categoryMap = new HashMap<>();
+        List<UUID> paperIds = rows.stream().map(PaperListRow::id).toList();
+        for (PaperCategoryRow row : paperRepository.findCategoryRowsByPaperIdIn(paperIds)) {
+            categoryMap.computeIfAbsent(row.paperId(), id -> new HashSet<>()).add(row.category());
+        }
+
+        Set<UUID> uploaderIds = rows.stream()
+                .map(PaperListRow::uploadedById)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, Profile> profileMap = uploaderIds.isEmpty()
+                ? Collections.emptyMap()
+                : profileRepository.findAllById(uploaderIds).stream()
+                        .collect(Collectors.toMap(Profile::getUserId, profile -> profile));
+
+        return rows.stream()
+                .map(row -> buildResponse(row, categoryMap.getOrDefault(row.id(), new HashSet<>()), currentUserId, profileMap))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PaperResponse> toListResponse(Page<PaperListRow> rows, UUID currentUserId) {
+        return new PageImpl<>(toListResponse(rows.getContent(), currentUserId), rows.getPageable(), rows.getTotalElements());
+    }
+
     // --- Private Helper Methods ---
 
+    private PaperResponse buildResponse(PaperListRow row, Set<Category> categories, UUID currentUserId,
+                                        Map<UUID, Profile> profileMap) {
+        boolean canEdit = currentUserId != null && currentUserId.equals(row.uploadedById());
+
+        // The preview is one character longer than the snippet, so the constructor adds "..." when it was cut
+        PaperResponse response = new PaperResponse(
+                row.id(),
+                row.title(),
+                row.author(),
+                row.abstractPreview(),
+                row.uploadedAt(),
+                row.publicationYear(),
+                normalizeFilePath(row.filePath()),
+                categories,
+                row.uploadedById(),
+                null, // authorInfo is set below
+                canEdit
+        );
+
+        AuthorInfo authorInfo = buildAuthorInfo(row.uploadedById(), row.uploadedByEmail(), profileMap);
+        if (authorInfo != null) {
+            response.setAuthorInfo(authorInfo);
+            response.setUploadedByName(authorInfo.getName() != null
+                    ? authorInfo.getName()
+                    : authorInfo.getMaskedEmail());
+        }
+
+        return response;
+    }
+
     private PaperResponse buildResponse(Paper paper, UUID currentUserId, Map<UUID, Profile> profileMap) {
         String filePath = normalizeFilePath(paper.getFilePath());
         UUID uploadedById = paper.getUploadedBy() != null ? paper.getUploadedBy().getId() : null;
@@ -148,8 +220,14 @@ public class PaperResponseService {
         if (uploader == null) {
             return null;
         }
+        return buildAuthorInfo(uploader.getId(), uploader.getEmail(), profileMap);
+    }
+
+    private AuthorInfo buildAuthorInfo(UUID uploaderId, String uploaderEmail, Map<UUID, Profile> profileMap) {
+        if (uploaderId == null) {
+            return null;
+        }
 
-        UUID uploaderId = uploader.getId();
         Profile profile = null;
         if (profileMap != null && profileMap.containsKey(uploaderId)) {
             profile = profileMap.get(uploaderId);
@@ -160,9 +238,9 @@ public class PaperResponseService {
 
         String displayName = (profile != null && profile.getFullName() != null && !profile.getFullName().isBlank())
                 ? profile.getFullName()
-                : deriveNameFromEmail(uploader.getEmail());
+                : deriveNameFromEmail(uploaderEmail);
 
-        String maskedEmail = maskEmail(uploader.getEmail());
+        String maskedEmail = maskEmail(uploaderEmail);
 
         return new AuthorInfo(uploaderId, displayName, maskedEmail);
     }
@@ -1,19 +1,34 @@
 package com.researchhub.backend.service;
 
+import com.researchhub.backend.dto.CursorPage;
+import com.researchhub.backend.dto.FacetedPage;
 import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SlicePage;
+import com.researchhub.backend.exception.ResourceNotFoundException;
 import com.researchhub.backend.model.Category;
 import com.researchhub.backend.model.Paper;
 import com.researchhub.backend.model.Profile;
+import com.researchhub.backend.repository.PaperListRow;
 import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperSpecifications;
 import com.researchhub.backend.repository.ProfileRepository;
+import com.researchhub.backend.search.SearchResult;
+import com.researchhub.backend.search.SimilarityIndex;
+import com.researchhub.backend.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,17 +44,154 @@ public class PaperSearchService {
     @Autowired
     private ProfileRepository profileRepository;
 
+    @Autowired
+    private PaperIndexService paperIndexService;
+
+    @Autowired
+    private ResultCountCache resultCountCache;
+
+    /**
+     * Runs the search on the in-memory index; the returned page is a {@link FacetedPage} unless the index is
+     * still building, in which case the database query answers without facets.
+     */
     public Page<Paper> searchPapers(PaperSearchRequest request, Pageable pageable) {
-        logger.info("Searching papers with query: {}, categories: {}, year: {}, author: {}",
-                request.getQuery(), request.getCategoryIds(), request.getYear(), request.getAuthor());
-
-        return paperRepository.searchPapers(
-                request.getQuery(),
-                request.getCategoryIds(),
-                request.getYear(),
-                request.getAuthor(),
-                pageable
-        );
+        // Query counts and latency are tracked by SearchAnalytics; this is for tracing single requests
+        logger.debug("Searching papers with query: {}, categories: {} ({}), year: {} ({}-{}), status: {}, author: {}, sort: {}",
+                request.getQuery(), request.getCategoryIds(), request.getCategoryMatch(), request.getYear(),
+                request.getYearFrom(), request.getYearTo(),
+                request.getStatus(), request.getAuthor(), request.getSort());
+
+        if (!paperIndexService.isReady()) {
+            // Index still building after startup: use the database query (newest first)
+            return paperRepository.findAll(PaperSpecifications.matching(request), newestFirst(pageable));
+        }
+
+        SearchResult result = paperIndexService.search(request, pageable);
+        return new FacetedPage<>(hydrate(result.ids()), pageable, result.total(), result.facets());
+    }
+
+    /**
+     * {@link #searchPapers} as list rows, for pages that only show list items (explore).
+     */
+    public Page<PaperListRow> searchPaperList(PaperSearchRequest request, Pageable pageable) {
+        if (!paperIndexService.isReady()) {
+            return paperRepository.findAll(PaperSpecifications.matching(request), newestFirst(pageable)).map(PaperListRow::of);
+        }
+
+        SearchResult result = paperIndexService.search(request, pageable);
+        return new FacetedPage<>(listRows(result.ids()), pageable, result.total(), result.facets());
+    }
+
+    /**
+     * Offset page without the exact count query. When {@code includeTotal} is set the total is an estimate:
+     * the index's match count, or while the index is building a database count cached per filter set.
+     */
+    public SlicePage<PaperListRow> searchPapersSlice(PaperSearchRequest request, Pageable pageable, boolean includeTotal) {
+        if (!paperIndexService.isReady()) {
+            Specification<Paper> filters = PaperSpecifications.matching(request);
+            Slice<Paper> slice = paperRepository.findBy(filters, query -> query.slice(newestFirst(pageable)));
+            Long total = includeTotal
+                    ? resultCountCache.get(request.filterKey(), () -> paperRepository.count(filters))
+                    : null;
+            return new SlicePage<>(slice.getContent().stream().map(PaperListRow::of).toList(),
+                    pageable.getPageNumber(), pageable.getPageSize(), !slice.hasNext(), total);
+        }
+
+        // The index knows its match count anyway, so the "estimate" is exact here
+        SearchResult result = paperIndexService.search(request, pageable);
+        boolean last = pageable.getOffset() + pageable.getPageSize() >= result.total();
+        return new SlicePage<>(listRows(result.ids()), pageable.getPageNumber(), pageable.getPageSize(), last,
+                includeTotal ? result.total() : null);
+    }
+
+    /**
+     * Cursor-paged variant of {@link #searchPaperList}: newest first, no total and no facets.
+     */
+    public CursorPage<PaperListRow> searchPapersAfter(PaperSearchRequest request, PageCursor cursor, int size) {
+        if (!paperIndexService.isReady()) {
+            return PageCursor.rows(paperRepository.findBy(
+                    PaperSpecifications.matching(request).and(PaperSpecifications.after(cursor)),
+                    query -> query.sortBy(PaperSpecifications.NEWEST_FIRST).limit(size + 1).all())
+                    .stream().map(PaperListRow::of).toList(), size);
+        }
+
+        return PageCursor.rows(listRows(paperIndexService.searchAfter(request, cursor, size + 1)), size);
+    }
+
+    private static Pageable newestFirst(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), PaperSpecifications.NEWEST_FIRST);
+    }
+
+    /**
+     * Papers related to the given one: nearest neighbours by text once the similarity index has the paper,
+     * otherwise the newest papers sharing one of its categories.
+     */
+    public List<Paper> getSimilarPapers(UUID paperId, int limit) {
+        List<UUID> ids = paperIndexService.similar(paperId, limit).stream()
+                .map(SimilarityIndex.Match::paperId)
+                .toList();
+        if (!ids.isEmpty()) {
+            return hydrate(ids);
+        }
+
+        Paper paper = paperRepository.findByIdWithCategories(paperId)
+                .orElseThrow(() -> new ResourceNotFoundException("Paper not found with id: " + paperId));
+        List<UUID> categoryIds = paper.getCategories().stream().map(Category::getId).toList();
+        if (categoryIds.isEmpty()) {
+            return List.of();
+        }
+        return paperRepository.findBy(PaperSpecifications.inAnyCategory(categoryIds),
+                        query -> query.sortBy(PaperSpecifications.NEWEST_FIRST).limit(limit + 1).all()).stream()
+                .filter(other -> !other.getId().equals(paperId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Loads the papers for one page of index hits, preserving hit order.
+     * Ids whose row has gone in the meantime are dropped.
+     */
+    private List<Paper> hydrate(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Paper> byId = new HashMap<>();
+        for (Paper paper : paperRepository.findAllWithCategoriesByIdIn(ids)) {
+            byId.put(paper.getId(), paper);
+        }
+
+        List<Paper> ordered = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Paper paper = byId.get(id);
+            if (paper != null) {
+                ordered.add(paper);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * {@link #hydrate} as list rows: one query without the full abstract or the uploader entity.
+     */
+    private List<PaperListRow> listRows(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, PaperListRow> byId = new HashMap<>();
+        for (PaperListRow row : paperRepository.findListRowsByIdIn(ids)) {
+            byId.put(row.id(), row);
+        }
+
+        List<PaperListRow> ordered = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            PaperListRow row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
     }
 
     public Page<Paper> getRecommendedPapers(UUID userId, Pageable pageable) {
@@ -63,7 +215,7 @@ public class PaperSearchService {
                     .collect(Collectors.toList());
 
             logger.info("Found {} interests for user {}", interestIds.size(), userId);
-            return paperRepository.findByCategoryIds(interestIds, pageable);
+            return paperRepository.findAll(PaperSpecifications.inAnyCategory(interestIds), newestFirst(pageable));
         } catch (Exception e) {
             logger.error("Error getting recommended papers for user {}: {}", userId, e.getMessage(), e);
             // Fallback: return recent papers on any error
@@ -71,8 +223,42 @@ public class PaperSearchService {
         }
     }
 
-    public Page<Paper> getAllPapers(Pageable pageable) {
+    /**
+     * Cursor-paged recommendations: papers in the user's interest categories, or recent papers
+     * when the user is anonymous or has no interests.
+     */
+    public CursorPage<Paper> getRecommendedPapersAfter(UUID userId, PageCursor cursor, int size) {
+        List<UUID> interestIds = List.of();
+        if (userId != null) {
+            try {
+                Profile profile = profileRepository.findByUserIdWithInterests(userId).orElse(null);
+                if (profile != null && profile.getInterests() != null) {
+                    interestIds = new ArrayList<>(profile.getInterests()).stream()
+                            .map(Category::getId)
+                            .collect(Collectors.toList());
+                }
+            } catch (Exception e) {
+                logger.error("Error loading interests for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+
+        Specification<Paper> page = PaperSpecifications.after(cursor);
+        if (!interestIds.isEmpty()) {
+            page = PaperSpecifications.inAnyCategory(interestIds).and(page);
+        }
+        return PageCursor.page(paperRepository.findBy(page,
+                query -> query.sortBy(PaperSpecifications.NEWEST_FIRST).limit(size + 1).all()), size);
+    }
+
+    public Page<PaperListRow> getAllPapers(Pageable pageable) {
         logger.info("Getting all papers for public access");
-        return paperRepository.findByOrderByUploadedAtDesc(pageable);
+        return paperRepository.findNewestListRows(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    public CursorPage<PaperListRow> getAllPapersAfter(PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        return PageCursor.rows(cursor == null
+                ? paperRepository.findRecentListRows(limit)
+                : paperRepository.findListRowsAfter(cursor.uploadedAt(), cursor.id(), limit), size);
     }
 }
\ No newline at end of file
@@ -1,32 +1,33 @@
 package com.researchhub.backend.service;
 
+import com.researchhub.backend.dto.CursorPage;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SearchSort;
 import com.researchhub.backend.exception.ResourceNotFoundException;
 import com.researchhub.backend.model.Category;
 import com.researchhub.backend.model.Paper;
 import com.researchhub.backend.model.User;
 import com.researchhub.backend.repository.CategoryRepository;
+import com.researchhub.backend.repository.PaperListRow;
 import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperTextRepository;
 import com.researchhub.backend.repository.UserRepository;
+import com.researchhub.backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 
 @Service
 public class PaperService {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
-
     @Autowired
     private PaperRepository paperRepository;
 
@@ -36,6 +37,30 @@ public class PaperService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PaperIndexService paperIndexService;
+
+    @Autowired
+    private PdfTextExtractionService textExtractionService;
+
+    @Autowired
+    private PaperTextRepository paperTextRepository;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private PaperSearchService paperSearchService;
+
+    @Autowired
+    private SearchAnalytics searchAnalytics;
+
+    @Autowired
+    private PaperFileStore paperFileStore;
+
+    @Value("${app.search.basic.max-results:1000}")
+    private int basicSearchMaxResults;
+
     // --- EXISTING UPLOAD METHODS ---
 
     @Transactional
@@ -54,16 +79,10 @@ public class PaperService {
             throw new IllegalArgumentException("File must not be empty");
         }
 
-        // Ensure directory exists
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Files.createDirectories(uploadPath);
-
-        // Generate filename with UUID to avoid collisions
+        // Stored under its content hash; an identical PDF uploaded before is reused, not copied again
         String original = file.getOriginalFilename();
         String extension = (original != null && original.contains(".")) ? original.substring(original.lastIndexOf('.')) : ".pdf";
-        String filename = UUID.randomUUID() + extension;
-        Path destination = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), destination);
+        PaperFileStore.StoredUpload stored = paperFileStore.store(file.getInputStream(), original);
 
         int currentYear = Calendar.getInstance().get(Calendar.YEAR);
         Integer safeYear = publicationYear;
@@ -83,13 +102,17 @@ public class PaperService {
         paper.setAuthor(author);
         paper.setUploadedBy(uploader);
         // Store relative path for static resource access
-        paper.setFilePath(filename);
+        paper.setFilePath(stored.fileName());
         paper.setPublicationYear(safeYear != null ? safeYear : currentYear); // auto year if missing
         if (abstractText != null && !abstractText.isBlank()) {
             paper.setAbstractText(abstractText.trim());
         }
 
-        return paperRepository.save(paper);
+        Paper saved = paperRepository.save(paper);
+        duplicateDetectionService.checkUpload(saved);
+        paperIndexService.index(saved);
+        textExtractionService.extractAfterCommit(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -97,17 +120,12 @@ public class PaperService {
         Paper paper = paperRepository.findById(paperId)
                 .orElseThrow(() -> new ResourceNotFoundException("Paper not found"));
 
-        // Remove physical file if exists
-        if (paper.getFilePath() != null) {
-            Path path = Paths.get(uploadDir).resolve(paper.getFilePath());
-            try {
-                Files.deleteIfExists(path);
-            } catch (IOException e) {
-                // proceed to delete DB record even if file deletion fails
-            }
-        }
+        // Drop the paper's reference; the file goes after commit if no other paper shares it
+        paperFileStore.release(paper.getFilePath());
 
         paperRepository.delete(paper);
+        paperTextRepository.deleteByPaperId(paperId);
+        paperIndexService.remove(paperId);
     }
 
     // --- NEW METHODS NEEDED FOR CONTROLLER ---
@@ -216,6 +234,7 @@ public class PaperService {
         Paper savedPaper = paperRepository.save(paper);
         paperRepository.flush(); // Force immediate write to database
         System.out.println("Paper saved and flushed to database");
+        paperIndexService.index(savedPaper);
 
         // Verify save by re-fetching
         Paper verifiedPaper = paperRepository.findByIdWithCategories(paperId).orElseThrow();
@@ -236,42 +255,39 @@ public class PaperService {
         return paper.getCategories() != null ? paper.getCategories() : new HashSet<>();
     }
 
-    /**
-     * NEW: Get recent papers (for explore system)
-     * NOTE: This implementation fetches all papers and sorts them in memory. 
-     * For large datasets, a Pageable-based repository method is strongly recommended (like findByOrderByUploadedAtDesc).
-     */
-    public List<Paper> getRecentPapers(int limit) {
-        List<Paper> allPapers = paperRepository.findAll();
-
-        // Sort by uploaded date (newest first) and limit results
-        return allPapers.stream()
-                .sorted((p1, p2) -> p2.getUploadedAt().compareTo(p1.getUploadedAt()))
-                .limit(limit)
-                .toList();
-    }
-
     /**
      * NEW: Search papers by keyword (basic search)
-     * NOTE: This implementation fetches all papers and filters them in memory.
-     * For better performance, the query should be pushed to the database (as done in PaperRepository's searchPapers).
+     * Goes through the search index, best matches first and capped at {@code app.search.basic.max-results}, so the
+     * query gets the same stemming, folding and stop-word handling as the advanced search. Until the index is built
+     * it falls back to filtering every paper in memory by substring.
      */
     public List<Paper> searchPapers(String query) {
         if (query == null || query.trim().isEmpty()) {
             return paperRepository.findAll();
         }
 
-        String searchTerm = query.toLowerCase().trim();
-        List<Paper> allPapers = paperRepository.findAll();
-
-        // Simple search in title, author, and abstract
-        return allPapers.stream()
-                .filter(paper ->
-                        (paper.getTitle() != null && paper.getTitle().toLowerCase().contains(searchTerm)) ||
-                        (paper.getAuthor() != null && paper.getAuthor().toLowerCase().contains(searchTerm)) ||
-                        (paper.getAbstractText() != null && paper.getAbstractText().toLowerCase().contains(searchTerm))
-                )
-                .toList();
+        long start = System.nanoTime();
+        PaperSearchRequest request = new PaperSearchRequest();
+        request.setQuery(query.trim());
+        request.setSort(SearchSort.RELEVANCE);
+        List<Paper> papers;
+        if (paperIndexService.isReady()) {
+            papers = paperSearchService.searchPapers(request, PageRequest.of(0, basicSearchMaxResults)).getContent();
+        } else {
+            String searchTerm = query.toLowerCase().trim();
+            List<Paper> allPapers = paperRepository.findAll();
+
+            // Simple search in title, author, and abstract
+            papers = allPapers.stream()
+                    .filter(paper ->
+                            (paper.getTitle() != null && paper.getTitle().toLowerCase().contains(searchTerm)) ||
+                            (paper.getAuthor() != null && paper.getAuthor().toLowerCase().contains(searchTerm)) ||
+                            (paper.getAbstractText() != null && paper.getAbstractText().toLowerCase().contains(searchTerm))
+                    )
+                    .toList();
+        }
+        searchAnalytics.record(request, "basic", System.nanoTime() - start, papers.isEmpty());
+        return papers;
     }
 
     /**
@@ -290,7 +306,18 @@ public class PaperService {
      * NEW: Get user's uploaded papers
      */
     @Transactional(readOnly = true)
-    public Page<Paper> getUserPapers(UUID userId, Pageable pageable) {
-        return paperRepository.findByUploadedBy_IdOrderByUploadedAtDesc(userId, pageable);
+    public Page<PaperListRow> getUserPapers(UUID userId, Pageable pageable) {
+        return paperRepository.findListRowsByUploader(userId, pageable);
+    }
+
+    /**
+     * Cursor-paged variant of {@link #getUserPapers}, without the count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PaperListRow> getUserPapersAfter(UUID userId, PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        return PageCursor.rows(cursor == null
+                ? paperRepository.findRecentListRowsByUploader(userId, limit)
+                : paperRepository.findListRowsByUploaderAfter(userId, cursor.uploadedAt(), cursor.id(), limit), size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,242 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.model.PaperText;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.PaperTextRepository;
+import com.researchhub.backend.util.TextCompression;
+import com.researchhub.backend.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background stage that pulls the text out of stored PDFs, saves it compressed in {@code paper_texts}
+ * and re-indexes the paper so the body text becomes searchable.
+ *
+ * Work runs on a bounded pool. Uploads hand off with {@link #extractAfterCommit} and never wait: if the queue
+ * is full the paper is skipped and picked up by the next {@link #startBackfill} run instead.
+ */
+@Service
+public class PdfTextExtractionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfTextExtractionService.class);
+
+    @Value("${app.extraction.max-chars:1000000}")
+    private int maxChars;
+
+    private final PaperRepository paperRepository;
+    private final PaperTextRepository paperTextRepository;
+    private final PaperIndexService paperIndexService;
+    private final PaperFileStore paperFileStore;
+    private final TransactionTemplate transaction;
+
+    private final int workers;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    private final LongAdder extractedPapers = new LongAdder();
+    private final LongAdder extractedPages = new LongAdder();
+    private final LongAdder extractionNanos = new LongAdder();
+    private final LongAdder failedPapers = new LongAdder();
+    private final LongAdder skippedPapers = new LongAdder();
+    private volatile Map<String, Object> lastBackfill = Map.of();
+
+    public PdfTextExtractionService(PaperRepository paperRepository,
+                                    PaperTextRepository paperTextRepository,
+                                    PaperIndexService paperIndexService,
+                                    PaperFileStore paperFileStore,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.extraction.workers:2}") int workers,
+                                    @Value("${app.extraction.queue-capacity:200}") int queueCapacity) {
+        this.paperRepository = paperRepository;
+        this.paperTextRepository = paperTextRepository;
+        this.paperIndexService = paperIndexService;
+        this.paperFileStore = paperFileStore;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-extract-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues extraction for a freshly uploaded paper once the upload transaction has committed.
+     */
+    public void extractAfterCommit(UUID paperId) {
+        TransactionHooks.afterCommit(() -> {
+            try {
+                executor.execute(() -> extract(paperId));
+            } catch (RejectedExecutionException e) {
+                skippedPapers.increment();
+                logger.warn("Text extraction queue full, paper {} left for the next backfill", paperId);
+            }
+        });
+    }
+
+    /**
+     * Extracts every paper that has no stored text yet (or every paper when {@code force} is set),
+     * in parallel on the worker pool. Returns false if a backfill is already running.
+     */
+    public boolean startBackfill(boolean force) {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Thread coordinator = new Thread(() -> {
+            try {
+                runBackfill(force);
+            } catch (Exception e) {
+                logger.error("Text extraction backfill failed: {}", e.getMessage(), e);
+            } finally {
+                backfillRunning.set(false);
+            }
+        }, "pdf-extract-backfill");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        long papers = extractedPapers.sum();
+        long pages = extractedPages.sum();
+        double busySeconds = extractionNanos.sum() / 1e9;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", workers);
+        stats.put("queued", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        stats.put("extractedPapers", papers);
+        stats.put("extractedPages", pages);
+        stats.put("failedPapers", failedPapers.sum());
+        stats.put("skippedPapers", skippedPapers.sum());
+        // Per worker, measured over time spent extracting
+        stats.put("pagesPerSecondPerWorker", busySeconds == 0 ? 0 : Math.round(pages / busySeconds * 10) / 10.0);
+        stats.put("backfillRunning", backfillRunning.get());
+        stats.put("lastBackfill", lastBackfill);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runBackfill(boolean force) throws InterruptedException {
+        List<UUID> paperIds = force ? paperRepository.findAllIds() : paperTextRepository.findPaperIdsWithoutText();
+        logger.info("Text extraction backfill started for {} papers on {} workers", paperIds.size(), workers);
+
+        long pagesBefore = extractedPages.sum();
+        long start = System.nanoTime();
+        // Keep a few tasks per worker in flight so uploads still find room in the queue
+        Semaphore inFlight = new Semaphore(workers * 2);
+        for (UUID paperId : paperIds) {
+            inFlight.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        extract(paperId);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                skippedPapers.increment();
+            }
+        }
+        inFlight.acquire(workers * 2); // wait for the tail
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long pages = extractedPages.sum() - pagesBefore;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("papers", paperIds.size());
+        summary.put("pages", pages);
+        summary.put("seconds", Math.round(seconds * 10) / 10.0);
+        summary.put("pagesPerSecond", seconds == 0 ? 0 : Math.round(pages / seconds * 10) / 10.0);
+        summary.put("finishedAt", LocalDateTime.now().toString());
+        lastBackfill = summary;
+        logger.info("Text extraction backfill finished: {}", summary);
+    }
+
+    private void extract(UUID paperId) {
+        Paper paper = paperRepository.findById(paperId).orElse(null);
+        if (paper == null || paper.getFilePath() == null) {
+            return; // deleted before we got to it
+        }
+
+        Path file = paperFileStore.resolve(paper.getFilePath());
+        if (!Files.isRegularFile(file)) {
+            failedPapers.increment();
+            logger.warn("PDF for paper {} not found at {}", paperId, file);
+            return;
+        }
+
+        long start = System.nanoTime();
+        String text;
+        int pageCount;
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            pageCount = document.getNumberOfPages();
+            text = new PDFTextStripper().getText(document);
+        } catch (Exception e) {
+            failedPapers.increment();
+            logger.warn("Text extraction failed for paper {}: {}", paperId, e.getMessage());
+            return;
+        }
+        extractionNanos.add(System.nanoTime() - start);
+
+        if (text.length() > maxChars) {
+            text = text.substring(0, maxChars);
+        }
+
+        PaperText paperText = new PaperText();
+        paperText.setPaperId(paperId);
+        paperText.setContent(TextCompression.compress(text));
+        paperText.setPageCount(pageCount);
+        paperText.setTextLength(text.length());
+        paperText.setExtractedAt(LocalDateTime.now());
+        // The paper may have been deleted while its PDF was read; the lock keeps it from going until the text
+        // is committed, so the delete removes the text too
+        boolean saved = Boolean.TRUE.equals(transaction.execute(status -> {
+            if (paperRepository.findByIdForShare(paperId).isEmpty()) {
+                return false;
+            }
+            paperTextRepository.save(paperText);
+            return true;
+        }));
+        if (!saved) {
+            return;
+        }
+
+        extractedPapers.increment();
+        extractedPages.add(pageCount);
+        paperIndexService.reindex(paperId);
+    }
+}
@@ -0,0 +1,246 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.PaperResponse;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * The newest papers (any status) as ready-made responses, for the landing page's "recent papers".
+ *
+ * Holds up to {@code app.recent-papers.capacity} responses plus {@code app.recent-papers.spare} more in an immutable
+ * list that readers take without locking; writers copy it under a lock (uploads are rare, reads are not). It is
+ * filled on startup from an indexed newest-first list-row query and then kept current by {@link PaperIndexService}
+ * on every upload, edit, moderation and delete, after the transaction commits. A delete leaves the list one short
+ * of knowing the next paper; the spare entries absorb that, and only once fewer than {@code capacity} are left is
+ * the list reloaded, by the next read that needs more. Reads for more papers than the capacity go to the database.
+ *
+ * One reload runs at a time: reads arriving meanwhile wait for it rather than querying too. Changes that come in
+ * while it runs are applied to the current list as usual and recorded, then replayed on top of the reloaded list,
+ * whose query may have run before them.
+ *
+ * The responses are shared between requests and must not be modified.
+ */
+@Component
+public class RecentPapersCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentPapersCache.class);
+
+    private static final Comparator<PaperResponse> NEWEST_FIRST = Comparator
+            .comparing(PaperResponse::getUploadedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(PaperResponse::getId, Comparator.reverseOrder());
+
+    /**
+     * {@code papers} are the newest papers, newest first; {@code allPapers} when there are no others.
+     */
+    private record State(List<PaperResponse> papers, boolean allPapers) {
+    }
+
+    private final PaperRepository paperRepository;
+    private final PaperResponseService paperResponseService;
+    private final int capacity;
+    private final int spare;
+
+    private volatile State state = new State(List.of(), false);
+    // Guarded by this: the running reload, and the changes applied since it started
+    private CompletableFuture<State> reloading;
+    private final List<UnaryOperator<State>> changedDuringReload = new ArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder reloadWaits = new LongAdder();
+    private final LongAdder databaseReads = new LongAdder();
+
+    public RecentPapersCache(PaperRepository paperRepository,
+                             PaperResponseService paperResponseService,
+                             @Value("${app.recent-papers.capacity:50}") int capacity,
+                             @Value("${app.recent-papers.spare:10}") int spare) {
+        this.paperRepository = paperRepository;
+        this.paperResponseService = paperResponseService;
+        this.capacity = capacity;
+        this.spare = Math.max(0, spare);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        reload();
+        logger.info("Recent papers loaded: {} in {} ms", state.papers().size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * The {@code limit} newest papers, newest first.
+     */
+    public List<PaperResponse> get(int limit) {
+        State current = state;
+        if (limit <= current.papers().size() || current.allPapers()) {
+            hits.increment();
+            return head(current.papers(), limit);
+        }
+        if (limit > capacity) {
+            databaseReads.increment();
+            return newest(limit);
+        }
+        return head(reload().papers(), limit);
+    }
+
+    /**
+     * Called while the paper's categories are loadable (inside the writing transaction); applied after commit.
+     */
+    public void paperChanged(Paper paper) {
+        if (!mayHold(paper)) {
+            return;
+        }
+        PaperResponse response = paperResponseService.toPaperResponse(paper);
+        TransactionHooks.afterCommit(() -> change(current -> withPaper(current, response)));
+    }
+
+    public void paperRemoved(UUID paperId) {
+        TransactionHooks.afterCommit(() -> change(current -> withoutPaper(current, paperId)));
+    }
+
+    public Map<String, Object> getStats() {
+        State current = state;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("spare", spare);
+        stats.put("size", current.papers().size());
+        stats.put("allPapers", current.allPapers());
+        stats.put("hits", hits.sum());
+        stats.put("reloads", reloads.sum());
+        // Reads that waited for a reload another read had started
+        stats.put("reloadWaits", reloadWaits.sum());
+        stats.put("databaseReads", databaseReads.sum());
+        return stats;
+    }
+
+    /**
+     * Whether the paper is, or could become, one of the held papers.
+     */
+    private boolean mayHold(Paper paper) {
+        State current = state;
+        List<PaperResponse> papers = current.papers();
+        if (current.allPapers() || reloadingNow() || papers.isEmpty()
+                || papers.stream().anyMatch(response -> response.getId().equals(paper.getId()))) {
+            return true;
+        }
+        PaperResponse oldest = papers.get(papers.size() - 1);
+        return paper.getUploadedAt() == null || oldest.getUploadedAt() == null
+                || !paper.getUploadedAt().isBefore(oldest.getUploadedAt());
+    }
+
+    private synchronized boolean reloadingNow() {
+        return reloading != null;
+    }
+
+    private synchronized void change(UnaryOperator<State> change) {
+        state = change.apply(state);
+        if (reloading != null) {
+            changedDuringReload.add(change);
+        }
+    }
+
+    /**
+     * {@code current} with the paper added or replaced. A paper older than every held one is left out unless all
+     * papers are held, since the papers between it and the oldest held one are unknown.
+     */
+    private State withPaper(State current, PaperResponse response) {
+        List<PaperResponse> papers = new ArrayList<>(current.papers());
+        papers.removeIf(existing -> existing.getId().equals(response.getId()));
+        boolean fits = current.allPapers()
+                || (!papers.isEmpty() && NEWEST_FIRST.compare(response, papers.get(papers.size() - 1)) < 0);
+        if (fits) {
+            papers.add(response);
+            papers.sort(NEWEST_FIRST);
+        }
+        boolean allPapers = current.allPapers();
+        if (papers.size() > capacity + spare) {
+            papers.remove(papers.size() - 1);
+            allPapers = false;
+        }
+        return new State(List.copyOf(papers), allPapers);
+    }
+
+    private static State withoutPaper(State current, UUID paperId) {
+        List<PaperResponse> papers = new ArrayList<>(current.papers());
+        if (!papers.removeIf(existing -> existing.getId().equals(paperId))) {
+            return current;
+        }
+        return new State(List.copyOf(papers), current.allPapers());
+    }
+
+    /**
+     * Reads the newest papers from the database, replays the changes that came in meanwhile and installs the
+     * result. A read finding a reload already running waits for that one instead.
+     */
+    private State reload() {
+        CompletableFuture<State> running;
+        boolean owner = false;
+        synchronized (this) {
+            if (reloading == null) {
+                reloading = new CompletableFuture<>();
+                owner = true;
+            }
+            running = reloading;
+        }
+        if (!owner) {
+            reloadWaits.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            reloads.increment();
+            List<PaperResponse> papers = newest(capacity + spare);
+            State reloaded;
+            synchronized (this) {
+                reloaded = new State(papers, papers.size() < capacity + spare);
+                for (UnaryOperator<State> change : changedDuringReload) {
+                    reloaded = change.apply(reloaded);
+                }
+                state = reloaded;
+                changedDuringReload.clear();
+                reloading = null;
+            }
+            running.complete(reloaded);
+            return reloaded;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringReload.clear();
+                reloading = null;
+            }
+            running.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private List<PaperResponse> newest(int limit) {
+        return List.copyOf(paperResponseService.toListResponse(
+                paperRepository.findRecentListRows(PageRequest.ofSize(limit)), null));
+    }
+
+    private static List<PaperResponse> head(List<PaperResponse> papers, int limit) {
+        return papers.size() > limit ? papers.subList(0, limit) : papers;
+    }
+}
@@ -0,0 +1,41 @@
+package com.researchhub.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Result counts keyed by filter set, reused for a short while as total estimates so that
+ * paging through the same search does not re-run the count query on every page.
+ */
+@Component
+public class ResultCountCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Value("${app.search.count-cache-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private record Count(long value, long computedAt) {
+    }
+
+    private final Map<String, Count> counts = new ConcurrentHashMap<>();
+
+    public long get(String filterKey, LongSupplier exactCount) {
+        long now = System.currentTimeMillis();
+        Count cached = counts.get(filterKey);
+        if (cached != null && now - cached.computedAt() < ttlSeconds * 1000) {
+            return cached.value();
+        }
+
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        long value = exactCount.getAsLong();
+        counts.put(filterKey, new Count(value, now));
+        return value;
+    }
+}
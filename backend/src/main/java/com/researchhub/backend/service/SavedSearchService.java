@@ -0,0 +1,235 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.CategoryMatch;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SavedSearchRequest;
+import com.researchhub.backend.dto.SavedSearchResponse;
+import com.researchhub.backend.exception.BadRequestException;
+import com.researchhub.backend.exception.ResourceNotFoundException;
+import com.researchhub.backend.model.*;
+import com.researchhub.backend.repository.CategoryRepository;
+import com.researchhub.backend.repository.PaperRepository;
+import com.researchhub.backend.repository.SavedSearchRepository;
+import com.researchhub.backend.repository.UserRepository;
+import com.researchhub.backend.search.QueryPercolator;
+import com.researchhub.backend.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saved searches and the alerts they produce.
+ *
+ * Saved searches live in the database and, for matching, in the {@link QueryPercolator}, which is loaded at
+ * startup and updated after each create or delete commits. A paper is matched when a moderator approves it, not
+ * when it is uploaded, so alerts never point at pending or rejected papers: once, on a background thread after
+ * the approval commits, against the paper as stored. Each owner gets one notification per paper however many of
+ * their searches it matches, and no one is alerted about their own upload. Since every alerted paper is approved,
+ * saved searches take no status filter.
+ */
+@Service
+public class SavedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+    @Value("${app.saved-search.max-per-user:50}")
+    private int maxPerUser;
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final PaperRepository paperRepository;
+    private final NotificationService notificationService;
+    private final QueryPercolator percolator;
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder alertsSent = new LongAdder();
+    private final LongAdder skippedPapers = new LongAdder();
+
+    public SavedSearchService(SavedSearchRepository savedSearchRepository,
+                              CategoryRepository categoryRepository,
+                              UserRepository userRepository,
+                              PaperRepository paperRepository,
+                              NotificationService notificationService,
+                              QueryPercolator percolator,
+                              @Value("${app.saved-search.queue-capacity:1000}") int queueCapacity) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.paperRepository = paperRepository;
+        this.notificationService = notificationService;
+        this.percolator = percolator;
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "saved-search-alerts");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadSavedSearches() {
+        percolator.clear();
+        List<SavedSearch> searches = savedSearchRepository.findAllWithCategories();
+        searches.forEach(this::register);
+        logger.info("Saved searches loaded: {}", searches.size());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchResponse> getSavedSearches(UUID userId) {
+        return savedSearchRepository.findByUserIdWithCategories(userId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public SavedSearchResponse createSavedSearch(UUID userId, SavedSearchRequest request) {
+        PaperSearchRequest filters = request.getFilters();
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new BadRequestException("A saved search needs a name");
+        }
+        if (filters == null || !filters.hasFilters()) {
+            throw new BadRequestException("A saved search needs at least a query or a filter");
+        }
+        if (filters.getStatus() != null) {
+            throw new BadRequestException("Saved searches only alert about approved papers and take no status filter");
+        }
+        if (savedSearchRepository.countByUser_Id(userId) >= maxPerUser) {
+            throw new BadRequestException("You can keep at most " + maxPerUser + " saved searches");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        SavedSearch search = new SavedSearch();
+        search.setUser(user);
+        search.setName(request.getName().trim());
+        search.setQuery(filters.getQuery() != null && !filters.getQuery().isBlank() ? filters.getQuery().trim() : null);
+        if (filters.getCategoryIds() != null && !filters.getCategoryIds().isEmpty()) {
+            List<Category> categories = categoryRepository.findByIdIn(filters.getCategoryIds());
+            if (categories.size() != new HashSet<>(filters.getCategoryIds()).size()) {
+                throw new BadRequestException("Some categories were not found");
+            }
+            search.setCategories(new HashSet<>(categories));
+        }
+        search.setMatchAllCategories(filters.getCategoryMatch() == CategoryMatch.ALL);
+        search.setYear(filters.getYear());
+        search.setYearFrom(filters.getYearFrom());
+        search.setYearTo(filters.getYearTo());
+        search.setAuthor(filters.getAuthor() != null && !filters.getAuthor().isBlank() ? filters.getAuthor().trim() : null);
+
+        SavedSearch saved = savedSearchRepository.save(search);
+        TransactionHooks.afterCommit(() -> register(saved));
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public void deleteSavedSearch(UUID userId, UUID searchId) {
+        SavedSearch search = savedSearchRepository.findByIdAndUser_Id(searchId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found"));
+        savedSearchRepository.delete(search);
+        TransactionHooks.afterCommit(() -> percolator.unregister(searchId));
+    }
+
+    /**
+     * Matches a newly approved paper against every saved search once the approval commits. Never blocks the
+     * approval: when the queue is full the paper is skipped and counted.
+     */
+    public void alertAfterCommit(UUID paperId) {
+        TransactionHooks.afterCommit(() -> {
+            try {
+                executor.execute(() -> alert(paperId));
+            } catch (RejectedExecutionException e) {
+                skippedPapers.increment();
+                logger.warn("Saved-search alert queue full, paper {} not matched", paperId);
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(percolator.getStats());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("alertsSent", alertsSent.sum());
+        stats.put("skippedPapers", skippedPapers.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void alert(UUID paperId) {
+        Paper paper = paperRepository.findByIdWithCategories(paperId).orElse(null);
+        if (paper == null || paper.getStatus() != PaperStatus.APPROVED) {
+            return; // deleted or rejected again before we got to it
+        }
+        UUID uploaderId = paper.getUploadedBy() != null ? paper.getUploadedBy().getId() : null;
+
+        Map<UUID, List<QueryPercolator.Match>> byOwner = new LinkedHashMap<>();
+        for (QueryPercolator.Match match : percolator.percolate(PaperIndexService.toDocument(paper, null))) {
+            if (!match.ownerId().equals(uploaderId)) {
+                byOwner.computeIfAbsent(match.ownerId(), owner -> new ArrayList<>()).add(match);
+            }
+        }
+
+        byOwner.forEach((ownerId, matches) -> {
+            String names = matches.stream().map(match -> "\"" + match.name() + "\"").distinct()
+                    .reduce((a, b) -> a + ", " + b).orElse("");
+            try {
+                notificationService.createNotification(
+                        ownerId,
+                        "New Paper Matches Your Saved Search",
+                        "'" + paper.getTitle() + "' matches your saved search " + names + ".",
+                        NotificationType.SAVED_SEARCH_MATCH,
+                        paper.getId(),
+                        RelatedEntityType.PAPER
+                );
+                alertsSent.increment();
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify user {} about paper {}: {}", ownerId, paperId, e.getMessage());
+            }
+        });
+    }
+
+    private void register(SavedSearch search) {
+        percolator.register(search.getId(), search.getUser().getId(), search.getName(), toFilters(search));
+    }
+
+    private static PaperSearchRequest toFilters(SavedSearch search) {
+        PaperSearchRequest filters = new PaperSearchRequest();
+        filters.setQuery(search.getQuery());
+        if (!search.getCategories().isEmpty()) {
+            filters.setCategoryIds(search.getCategories().stream().map(Category::getId).toList());
+        }
+        filters.setCategoryMatch(search.isMatchAllCategories() ? CategoryMatch.ALL : CategoryMatch.ANY);
+        filters.setYear(search.getYear());
+        filters.setYearFrom(search.getYearFrom());
+        filters.setYearTo(search.getYearTo());
+        filters.setAuthor(search.getAuthor());
+        return filters;
+    }
+
+    private SavedSearchResponse toResponse(SavedSearch search) {
+        SavedSearchResponse response = new SavedSearchResponse();
+        response.setId(search.getId());
+        response.setName(search.getName());
+        response.setFilters(toFilters(search));
+        response.setCreatedAt(search.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,176 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.search.LatencyHistogram;
+import com.researchhub.backend.search.SpaceSaving;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What people search for and how it performs: the most frequent query texts and the most frequent queries that
+ * found nothing (Space-Saving sketches), the latest zero-result searches, and a latency histogram per query shape.
+ *
+ * A shape is the request's kind of search without its values ("text+phrase+category|relevance|page"), so there
+ * are a few dozen at most. Recording a search is a few map lookups and atomic increments whatever the traffic,
+ * so it runs inline on every search.
+ */
+@Service
+public class SearchAnalytics {
+
+    // Longer query texts are cut to this many chars before counting
+    private static final int MAX_KEY_CHARS = 200;
+
+    private record ZeroResult(String query, String shape, Instant at) {
+    }
+
+    private final SpaceSaving topQueries;
+    private final SpaceSaving zeroResultQueries;
+    private final Map<String, LatencyHistogram> latencyByShape = new ConcurrentHashMap<>();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder zeroResultSearches = new LongAdder();
+
+    // Ring of the latest zero-result searches
+    private final AtomicReferenceArray<ZeroResult> recentZeroResults;
+    private final AtomicLong zeroResultSequence = new AtomicLong();
+
+    public SearchAnalytics(@Value("${app.search.analytics.top-queries:200}") int topQueryCapacity,
+                           @Value("${app.search.analytics.recent-zero-results:100}") int recentZeroResults) {
+        this.topQueries = new SpaceSaving(topQueryCapacity);
+        this.zeroResultQueries = new SpaceSaving(topQueryCapacity);
+        this.recentZeroResults = new AtomicReferenceArray<>(recentZeroResults);
+    }
+
+    /**
+     * Records one search: {@code view} is how it was paged ("page", "slice", "cursor"), {@code empty} whether it
+     * found nothing at all.
+     */
+    public void record(PaperSearchRequest request, String view, long nanos, boolean empty) {
+        searches.increment();
+        String shape = shape(request, view);
+        latencyByShape.computeIfAbsent(shape, s -> new LatencyHistogram()).record(nanos);
+
+        String query = normalize(request.getQuery());
+        if (!query.isEmpty()) {
+            topQueries.offer(query);
+        }
+        if (empty) {
+            zeroResultSearches.increment();
+            if (!query.isEmpty()) {
+                zeroResultQueries.offer(query);
+            }
+            if (recentZeroResults.length() > 0) {
+                int slot = (int) (zeroResultSequence.getAndIncrement() % recentZeroResults.length());
+                recentZeroResults.set(slot, new ZeroResult(query, shape, Instant.now()));
+            }
+        }
+    }
+
+    public Map<String, Object> getStats(int limit) {
+        long total = searches.sum();
+        long zero = zeroResultSearches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("searches", total);
+        stats.put("queriesWithText", topQueries.total());
+        stats.put("topQueries", items(topQueries, limit));
+
+        Map<String, Object> zeroResults = new LinkedHashMap<>();
+        zeroResults.put("searches", zero);
+        zeroResults.put("rate", total == 0 ? 0 : Math.round(zero * 10000.0 / total) / 10000.0);
+        zeroResults.put("topQueries", items(zeroResultQueries, limit));
+        zeroResults.put("recent", recentZeroResults(limit));
+        stats.put("zeroResults", zeroResults);
+
+        Map<String, Object> shapes = new TreeMap<>();
+        latencyByShape.forEach((shape, histogram) -> shapes.put(shape, histogram.snapshotMicros()));
+        stats.put("latencyByShape", shapes);
+        return stats;
+    }
+
+    public void reset() {
+        topQueries.clear();
+        zeroResultQueries.clear();
+        latencyByShape.clear();
+        searches.reset();
+        zeroResultSearches.reset();
+        for (int i = 0; i < recentZeroResults.length(); i++) {
+            recentZeroResults.set(i, null);
+        }
+    }
+
+    private List<Map<String, Object>> items(SpaceSaving sketch, int limit) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (SpaceSaving.Item item : sketch.top(limit)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("query", item.key());
+            // The true count lies between these two
+            entry.put("count", item.count());
+            entry.put("guaranteed", item.guaranteed());
+            items.add(entry);
+        }
+        return items;
+    }
+
+    /**
+     * Latest zero-result searches, newest first.
+     */
+    private List<Map<String, Object>> recentZeroResults(int limit) {
+        List<Map<String, Object>> recent = new ArrayList<>();
+        long next = zeroResultSequence.get();
+        int size = recentZeroResults.length();
+        for (long i = next - 1; i >= 0 && i >= next - size && recent.size() < limit; i--) {
+            ZeroResult zeroResult = recentZeroResults.get((int) (i % size));
+            if (zeroResult != null) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("query", zeroResult.query());
+                entry.put("shape", zeroResult.shape());
+                entry.put("at", zeroResult.at());
+                recent.add(entry);
+            }
+        }
+        return recent;
+    }
+
+    private static String shape(PaperSearchRequest request, String view) {
+        List<String> parts = new ArrayList<>();
+        String query = request.getQuery();
+        if (query != null && !query.isBlank()) {
+            parts.add(query.indexOf('"') >= 0 ? "text+phrase" : "text");
+        }
+        if (request.getCategoryIds() != null && !request.getCategoryIds().isEmpty()) {
+            parts.add("category");
+        }
+        if (request.getYear() != null) {
+            parts.add("year");
+        }
+        if (request.getYearFrom() != null || request.getYearTo() != null) {
+            parts.add("years");
+        }
+        if (request.getStatus() != null) {
+            parts.add("status");
+        }
+        if (request.getAuthor() != null && !request.getAuthor().isBlank()) {
+            parts.add("author");
+        }
+        String filters = parts.isEmpty() ? "all" : String.join("+", parts);
+        return filters + "|" + String.valueOf(request.getSort()).toLowerCase() + "|" + view;
+    }
+
+    private static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = query.trim().toLowerCase().replaceAll("\\s+", " ");
+        return normalized.length() > MAX_KEY_CHARS ? normalized.substring(0, MAX_KEY_CHARS) : normalized;
+    }
+}
@@ -0,0 +1,316 @@
+package com.researchhub.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.search.SpaceSaving;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warms the explore path after a restart with the queries people actually run.
+ *
+ * First explore pages are counted per normalized request (query text lower-cased and whitespace-collapsed,
+ * categories sorted, blank filters dropped) in a Space-Saving sketch, and the most frequent ones are written to
+ * {@code app.search.warmup.path} periodically and on shutdown. On the next start they are replayed on a background
+ * thread once the search index is ready: the first round fills {@link ExploreResultCache} for anonymous visitors,
+ * later rounds bypass the cache to get the search, mapping and snippet code compiled. The replay stops at the time
+ * budget whatever is left. Spring Boot only reports the application ready (readiness state accepting traffic)
+ * once the warm-up is over, so a load balancer probing readiness keeps traffic on the old instance during a deploy.
+ *
+ * The persisted counts are halved when loaded, so queries that stop being popular fade out over a few restarts.
+ */
+@Service
+public class SearchWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchWarmer.class);
+
+    private record PopularQuery(PaperSearchRequest request, long count) {
+    }
+
+    private record SavedQueries(Instant savedAt, List<PopularQuery> queries) {
+    }
+
+    private final ExplorePageService explorePageService;
+    private final PaperIndexService paperIndexService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.search.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.warmup.path:index/popular-queries.json}")
+    private String path;
+
+    @Value("${app.search.warmup.queries:50}")
+    private int persistedQueries;
+
+    @Value("${app.search.warmup.budget-ms:30000}")
+    private long budgetMs;
+
+    @Value("${app.search.warmup.rounds:3}")
+    private int rounds;
+
+    @Value("${app.search.warmup.save-interval-minutes:10}")
+    private long saveIntervalMinutes;
+
+    private final SpaceSaving popular;
+    // Replays the queries and periodically saves them
+    private final ScheduledExecutorService executor;
+    private volatile List<PopularQuery> loaded = List.of();
+
+    private volatile String state = "pending";
+    private volatile boolean warm;
+    private volatile boolean timedOut;
+    private volatile long timeToWarmMs = -1;
+    private volatile long uptimeAtWarmMs = -1;
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public SearchWarmer(ExplorePageService explorePageService,
+                        PaperIndexService paperIndexService,
+                        ObjectMapper objectMapper,
+                        @Value("${app.search.warmup.tracked-queries:500}") int trackedQueries) {
+        this.explorePageService = explorePageService;
+        this.paperIndexService = paperIndexService;
+        this.objectMapper = objectMapper;
+        this.popular = new SpaceSaving(trackedQueries);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void loadPopularQueries() {
+        Path file = Path.of(path);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            SavedQueries saved = objectMapper.readValue(file.toFile(), SavedQueries.class);
+            List<PopularQuery> queries = saved.queries() == null ? List.of() : saved.queries();
+            for (PopularQuery query : queries) {
+                popular.offer(key(query.request()), Math.max(1, query.count() / 2));
+            }
+            loaded = queries;
+            logger.info("Loaded {} popular explore queries saved at {}", queries.size(), saved.savedAt());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable popular query list {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Counts a first explore page of {@code size} results towards the popular queries.
+     */
+    public void record(PaperSearchRequest request, int size) {
+        try {
+            popular.offer(key(normalize(request, size)));
+        } catch (RuntimeException e) {
+            logger.debug("Could not record explore query for warm-up: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs after the search index build, which is ordered first ({@link PaperIndexService#rebuild()}); listeners
+     * without an order share this precedence and run in no defined order. Spring Boot reports the
+     * application ready once this returns, so the startup thread waits for the replay, at most for the budget;
+     * the web server is already taking requests meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (saveIntervalMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::savePopularQueries,
+                    saveIntervalMinutes, saveIntervalMinutes, TimeUnit.MINUTES);
+        }
+        long start = System.nanoTime();
+        if (enabled && paperIndexService.isReady()) {
+            state = "warming";
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+            Future<?> replay = executor.submit(() -> replay(deadline));
+            try {
+                replay.get(budgetMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // The replay stops before its next query
+                timedOut = true;
+            } catch (ExecutionException e) {
+                logger.error("Search warm-up failed: {}", e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (enabled) {
+            logger.warn("Search index not available, skipping search warm-up");
+        }
+        finish(start);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", state);
+        stats.put("warm", warm);
+        stats.put("budgetMs", budgetMs);
+        stats.put("timedOut", timedOut);
+        // Replay time after startup, and JVM uptime when it ended; -1 while it runs
+        stats.put("timeToWarmMs", timeToWarmMs);
+        stats.put("uptimeAtWarmMs", uptimeAtWarmMs);
+        stats.put("loadedQueries", loaded.size());
+        stats.put("replayed", replayed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("recordedSearches", popular.total());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        savePopularQueries();
+    }
+
+    private void replay(long deadline) {
+        List<PaperSearchRequest> requests = replayList();
+        for (int round = 0; round < rounds; round++) {
+            for (PaperSearchRequest request : requests) {
+                if (System.nanoTime() > deadline || Thread.currentThread().isInterrupted()) {
+                    timedOut = true;
+                    return;
+                }
+                try {
+                    if (round == 0) {
+                        explorePageService.getPage(request, 0, request.getSize(), null);
+                    } else {
+                        explorePageService.loadPage(request, 0, request.getSize(), null);
+                    }
+                    replayed.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    logger.debug("Warm-up query failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void finish(long start) {
+        timeToWarmMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        uptimeAtWarmMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        state = "warm";
+        warm = true;
+        if (enabled) {
+            logger.info("Search warm-up {} in {} ms ({} ms after JVM start): {} queries replayed, {} failed",
+                    timedOut ? "stopped at budget" : "done", timeToWarmMs, uptimeAtWarmMs, replayed.sum(), failed.sum());
+        }
+    }
+
+    /**
+     * The default explore page first, then the saved queries, most popular first.
+     */
+    private List<PaperSearchRequest> replayList() {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(key(normalize(new PaperSearchRequest(), 20)));
+        for (PopularQuery query : loaded) {
+            keys.add(key(query.request()));
+        }
+        List<PaperSearchRequest> requests = new ArrayList<>();
+        for (String key : keys) {
+            requests.add(request(key));
+        }
+        return requests;
+    }
+
+    private synchronized void savePopularQueries() {
+        List<PopularQuery> queries = new ArrayList<>();
+        for (SpaceSaving.Item item : popular.top(persistedQueries)) {
+            queries.add(new PopularQuery(request(item.key()), item.guaranteed()));
+        }
+        if (queries.isEmpty()) {
+            return;
+        }
+        Path file = Path.of(path);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new SavedQueries(Instant.now(), queries));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Saved {} popular explore queries to {}", queries.size(), path);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write popular query list {}: {}", path, e.getMessage());
+        }
+    }
+
+    private String key(PaperSearchRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize search request", e);
+        }
+    }
+
+    private PaperSearchRequest request(String key) {
+        try {
+            return objectMapper.readValue(key, PaperSearchRequest.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read search request", e);
+        }
+    }
+
+    /**
+     * A copy of the request's first page with equivalent spellings made equal, so they count as one query.
+     */
+    private static PaperSearchRequest normalize(PaperSearchRequest request, int size) {
+        PaperSearchRequest normalized = new PaperSearchRequest();
+        normalized.setQuery(blankToNull(request.getQuery() == null ? null
+                : request.getQuery().trim().toLowerCase().replaceAll("\\s+", " ")));
+        List<UUID> categories = request.getCategoryIds() == null ? List.of()
+                : request.getCategoryIds().stream().distinct().sorted().toList();
+        normalized.setCategoryIds(categories.isEmpty() ? null : categories);
+        normalized.setCategoryMatch(request.getCategoryMatch());
+        normalized.setYear(request.getYear());
+        normalized.setYearFrom(request.getYearFrom());
+        normalized.setYearTo(request.getYearTo());
+        normalized.setStatus(request.getStatus());
+        normalized.setAuthor(blankToNull(request.getAuthor() == null ? null : request.getAuthor().trim().toLowerCase()));
+        normalized.setSort(request.getSort());
+        normalized.setPage(0);
+        normalized.setSize(size);
+        return normalized;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,70 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.model.Category;
+import com.researchhub.backend.model.PaperStatus;
+import com.researchhub.backend.util.UuidBinaryConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generated papers for the database benchmarks, inserted with batched JDBC in the caller's transaction (which the
+ * benchmarks roll back). Same seed every run: titles of 6 and abstracts of 60 words, one or two of the given
+ * categories each, and an uploader picked from {@code uploaders} when there are any.
+ */
+final class SyntheticPapers {
+
+    private static final int INSERT_BATCH = 1000;
+    private static final String[] WORDS = {"neural", "network", "learning", "graph", "quantum", "protein", "climate",
+            "language", "model", "optimization", "robust", "sparse", "inference", "vision", "genome", "market"};
+    private static final String[] SURNAMES = {"Garcia", "Chen", "Smith", "Kumar", "Müller", "Rossi", "Tanaka",
+            "Okafor", "Novak", "Silva", "Nguyen", "Cohen"};
+
+    private static final UuidBinaryConverter UUIDS = new UuidBinaryConverter();
+
+    private SyntheticPapers() {
+    }
+
+    static void insert(JdbcTemplate jdbcTemplate, int count, List<Category> categories, List<UUID> uploaders) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        PaperStatus[] statuses = PaperStatus.values();
+        for (int from = 0; from < count; from += INSERT_BATCH) {
+            List<Object[]> papers = new ArrayList<>();
+            List<Object[]> links = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + INSERT_BATCH); i++) {
+                byte[] id = UUIDS.convertToDatabaseColumn(UUID.randomUUID());
+                byte[] uploader = uploaders.isEmpty() ? null
+                        : UUIDS.convertToDatabaseColumn(uploaders.get(random.nextInt(uploaders.size())));
+                papers.add(new Object[]{id, words(random, 6), SURNAMES[random.nextInt(SURNAMES.length)] + ", "
+                        + SURNAMES[random.nextInt(SURNAMES.length)], words(random, 60), 1990 + random.nextInt(36),
+                        Timestamp.valueOf(now.minusMinutes(random.nextInt(10_000_000))), "synthetic/" + i + ".pdf",
+                        statuses[random.nextInt(statuses.length)].name(), uploader});
+                if (!categories.isEmpty()) {
+                    int first = random.nextInt(categories.size());
+                    links.add(new Object[]{id, UUIDS.convertToDatabaseColumn(categories.get(first).getId())});
+                    int second = random.nextInt(categories.size());
+                    if (second != first && random.nextBoolean()) {
+                        links.add(new Object[]{id, UUIDS.convertToDatabaseColumn(categories.get(second).getId())});
+                    }
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO papers (id, title, author, abstract_text, publication_year, "
+                    + "uploaded_at, file_path, status, uploaded_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", papers);
+            jdbcTemplate.batchUpdate("INSERT INTO paper_categories (paper_id, category_id) VALUES (?, ?)", links);
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -1,16 +1,18 @@
 package com.researchhub.backend.service;
 
 import com.researchhub.backend.dto.CategoryResponse;
+import com.researchhub.backend.dto.CursorPage;
 import com.researchhub.backend.dto.PaperResponse;
 import com.researchhub.backend.dto.UserProfileResponse;
 import com.researchhub.backend.exception.ResourceNotFoundException;
 import com.researchhub.backend.model.Category;
-import com.researchhub.backend.model.Paper;
 import com.researchhub.backend.model.Profile;
 import com.researchhub.backend.model.User;
+import com.researchhub.backend.repository.PaperListRow;
 import com.researchhub.backend.repository.PaperRepository;
 import com.researchhub.backend.repository.ProfileRepository;
 import com.researchhub.backend.repository.UserRepository;
+import com.researchhub.backend.util.PageCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -65,8 +67,14 @@ public class UserProfileQueryService {
 
     public Page<PaperResponse> getUserPapers(UUID userId, Pageable pageable, UUID currentUserId) {
         ensureUserExists(userId);
-        Page<Paper> papers = paperService.getUserPapers(userId, pageable);
-        return paperResponseService.toPaperResponse(papers, currentUserId);
+        Page<PaperListRow> papers = paperService.getUserPapers(userId, pageable);
+        return paperResponseService.toListResponse(papers, currentUserId);
+    }
+
+    public CursorPage<PaperResponse> getUserPapersAfter(UUID userId, PageCursor cursor, int size, UUID currentUserId) {
+        ensureUserExists(userId);
+        CursorPage<PaperListRow> papers = paperService.getUserPapersAfter(userId, cursor, size);
+        return papers.map(content -> paperResponseService.toListResponse(content, currentUserId));
     }
 
     private void ensureUserExists(UUID userId) {
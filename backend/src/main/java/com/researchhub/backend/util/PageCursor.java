@@ -0,0 +1,78 @@
+package com.researchhub.backend.util;
+
+import com.researchhub.backend.dto.CursorPage;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.repository.PaperListRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position in a newest-first paper listing: the {@code (uploadedAt, id)} of the last paper already returned.
+ * The next page starts strictly after it, so paging costs an index range scan instead of skipping earlier rows.
+ * Clients only ever see the opaque base64 token.
+ */
+public record PageCursor(LocalDateTime uploadedAt, UUID id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Parses a token from {@link #encode()}; null or blank means "start from the newest".
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = uploadedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor of(Paper paper) {
+        return new PageCursor(paper.getUploadedAt(), paper.getId());
+    }
+
+    public static PageCursor of(PaperListRow row) {
+        return new PageCursor(row.uploadedAt(), row.id());
+    }
+
+    /**
+     * Builds the page from up to {@code size + 1} rows fetched in cursor order; the extra row only signals
+     * that another page exists.
+     */
+    public static CursorPage<Paper> page(List<Paper> rows, int size) {
+        return page(rows, size, PageCursor::of);
+    }
+
+    /**
+     * {@link #page} for list rows.
+     */
+    public static CursorPage<PaperListRow> rows(List<PaperListRow> rows, int size) {
+        return page(rows, size, PageCursor::of);
+    }
+
+    private static <T> CursorPage<T> page(List<T> rows, int size, Function<T, PageCursor> position) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? position.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, next, !hasMore);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -29,7 +29,11 @@ CREATE TABLE IF NOT EXISTS papers (
     rejection_reason TEXT,
     reviewed_at DATETIME,
     reviewed_by BINARY(16),
-    FOREIGN KEY (reviewed_by) REFERENCES users(id)
+    FOREIGN KEY (reviewed_by) REFERENCES users(id),
+    INDEX idx_papers_uploaded (uploaded_at, id),
+    INDEX idx_papers_year_uploaded (publication_year, uploaded_at),
+    INDEX idx_papers_status_uploaded (status, uploaded_at),
+    INDEX idx_papers_uploader_uploaded (uploaded_by, uploaded_at)
 );
 
 -- Ensure legacy databases also have the uploader column + constraint
@@ -59,6 +63,7 @@ CREATE TABLE IF NOT EXISTS paper_categories (
     paper_id BINARY(16),
     category_id BINARY(16),
     PRIMARY KEY (paper_id, category_id),
+    INDEX idx_paper_categories_category (category_id, paper_id),
     FOREIGN KEY (paper_id) REFERENCES papers(id) ON DELETE CASCADE,
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
 );
@@ -0,0 +1,93 @@
+package com.researchhub.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorIndexTest {
+
+    private static final String[] AUTHORS = {
+            "Wei Wang", "Mei Yang", "Neil Young", "Kar Wong",
+            "Li Na", "Bruce Lee", "Yang Liu", "Lu Chen", "Rob Lowe",
+            "Xu Ming", "Xia Lin", "Ma Long", "Mo Farah",
+            "John Smith", "Jane Smyth", "Anna Jonson",
+    };
+
+    private final AuthorIndex index = new AuthorIndex();
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    @BeforeEach
+    void setUp() {
+        for (int doc = 0; doc < AUTHORS.length; doc++) {
+            index.add(doc, AUTHORS[doc]);
+            all.add(doc);
+        }
+    }
+
+    @Test
+    void shortSurnamesThatShareACodeDoNotMatchEachOther() {
+        assertThat(authors("Wang")).containsExactly("Wei Wang");
+        assertThat(authors("Wong")).containsExactly("Kar Wong");
+        assertThat(authors("Young")).containsExactly("Neil Young");
+        assertThat(authors("Lee")).containsExactly("Bruce Lee");
+        assertThat(authors("Lowe")).containsExactly("Rob Lowe");
+        assertThat(authors("Xu")).containsExactly("Xu Ming");
+        assertThat(authors("Xia")).containsExactly("Xia Lin");
+        assertThat(authors("Mo")).containsExactly("Mo Farah");
+        // Exact word anywhere in the name, given or family
+        assertThat(authors("Yang")).containsExactly("Mei Yang", "Yang Liu");
+        assertThat(authors("Li")).containsExactly("Li Na");
+        assertThat(authors("Ma")).containsExactly("Ma Long");
+    }
+
+    @Test
+    void shortSurnamesWithoutAnExactHitMatchNothing() {
+        assertThat(authors("Mei Ma")).isEmpty();
+        assertThat(authors("Lau")).isEmpty();
+        assertThat(authors("Wung")).isEmpty();
+    }
+
+    @Test
+    void exactWordIsPreferredOverSoundAlikes() {
+        assertThat(authors("Smith")).containsExactly("John Smith");
+        assertThat(authors("Smyth")).containsExactly("Jane Smyth");
+    }
+
+    @Test
+    void longerWordsFallBackToCloseSoundAlikes() {
+        index.remove(13, AUTHORS[13]);
+        assertThat(authors("Smith")).containsExactly("Jane Smyth");
+        assertThat(authors("Johnson")).containsExactly("Anna Jonson");
+        assertThat(authors("Schmidt")).isEmpty();
+    }
+
+    @Test
+    void initialsAndAllWordsMustMatch() {
+        assertThat(authors("J. Smith")).containsExactly("John Smith");
+        assertThat(authors("Jane Smith")).isEmpty();
+        assertThat(authors("")).hasSize(AUTHORS.length);
+    }
+
+    @Test
+    void removedWordsNoLongerMatch() {
+        index.remove(0, AUTHORS[0]);
+        assertThat(authors("Wang")).isEmpty();
+        assertThat(authors("Wei")).isEmpty();
+    }
+
+    @Test
+    void singleFieldMatchingFollowsTheSameRules() {
+        assertThat(index.matches("Wang", "Mei Yang")).isFalse();
+        assertThat(index.matches("Li", "Bruce Lee, Yang Liu")).isFalse();
+        assertThat(index.matches("Wang", "Dr. Wei Wang")).isTrue();
+        assertThat(index.matches("Smith", "Jane Smyth")).isTrue();
+        assertThat(index.matches("J. Smith", "John Smith and Kar Wong")).isTrue();
+        assertThat(index.matches("Jose Nunez", "José Núñez")).isTrue();
+    }
+
+    private String[] authors(String filter) {
+        return index.match(filter, all).stream().mapToObj(doc -> AUTHORS[doc]).toArray(String[]::new);
+    }
+}
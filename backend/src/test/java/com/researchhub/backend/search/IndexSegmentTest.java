@@ -0,0 +1,133 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.model.PaperStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexSegmentTest {
+
+    private static final int FIELDS = IndexField.values().length;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenSegmentReadsBackStoredFieldsColumnsAndPostings() throws IOException {
+        UUID category = UUID.randomUUID();
+        PaperDocument[] documents = {
+                new PaperDocument(UUID.randomUUID(), "Graph search", null, null, "Ann Lee",
+                        Set.of(category), List.of("Computer Science"), 2021, 1_000L, PaperStatus.APPROVED),
+                new PaperDocument(UUID.randomUUID(), "Neural nets", null, null, "Bo Wang",
+                        Set.of(), List.of(), null, 2_000L, PaperStatus.PENDING),
+                new PaperDocument(UUID.randomUUID(), "Graph neural nets", null, null, "Cy Xu",
+                        Set.of(), List.of(), 2019, 3_000L, null),
+        };
+        int[] docs = {3, 7, 12};
+        int[] lengths = new int[docs.length * FIELDS];
+        for (int i = 0; i < docs.length; i++) {
+            for (int f = 0; f < FIELDS; f++) {
+                lengths[i * FIELDS + f] = 10 * i + f;
+            }
+        }
+
+        Map<String, Postings[]> terms = new TreeMap<>(IndexSegment.TERM_ORDER);
+        terms.put("graph", postings(IndexField.TITLE, new int[]{3, 12}, new int[]{1, 2}));
+        terms.put("neural", postings(IndexField.TITLE, new int[]{7, 12}, new int[]{1, 1}));
+        terms.put("wang", postings(IndexField.AUTHOR, new int[]{7}, new int[]{1}));
+        // Doc 7 was replaced before the write: still stored, but out of the postings
+        RoaringBitmap live = RoaringBitmap.bitmapOf(3, 12);
+
+        Path path = directory.resolve("seg-1.seg");
+        IndexSegment.write(path, docs, doc -> documents[indexOf(docs, doc)], lengths, List.of(cursor(terms)), live);
+        IndexSegment segment = IndexSegment.open(path);
+
+        assertThat(segment.docCount()).isEqualTo(3);
+        assertThat(segment.minDoc()).isEqualTo(3);
+        assertThat(segment.maxDoc()).isEqualTo(12);
+        assertThat(segment.localIndex(7)).isEqualTo(1);
+        assertThat(segment.localIndex(12, 1)).isEqualTo(2);
+        assertThat(segment.localIndex(8)).isNegative();
+        for (int i = 0; i < docs.length; i++) {
+            assertThat(segment.doc(i)).isEqualTo(docs[i]);
+            assertThat(segment.paperId(i)).isEqualTo(documents[i].id());
+            assertThat(segment.uploadedAt(i)).isEqualTo(documents[i].uploadedAt());
+            assertThat(segment.author(i)).isEqualTo(documents[i].author());
+            assertThat(segment.document(i)).isEqualTo(documents[i]);
+            for (int f = 0; f < FIELDS; f++) {
+                assertThat(segment.fieldLength(i, f)).isEqualTo(10 * i + f);
+            }
+        }
+
+        Postings graph = segment.postings("graph")[IndexField.TITLE.ordinal()];
+        assertThat(graph.size()).isEqualTo(2);
+        assertThat(graph.doc(1)).isEqualTo(12);
+        assertThat(graph.freq(1)).isEqualTo(2);
+        Postings neural = segment.postings("neural")[IndexField.TITLE.ordinal()];
+        assertThat(neural.size()).isEqualTo(1);
+        assertThat(neural.doc(0)).isEqualTo(12);
+        assertThat(segment.postings("wang")).isNull();
+        assertThat(segment.termCount()).isEqualTo(2);
+
+        List<String> walked = new ArrayList<>();
+        IndexSegment.TermCursor cursor = segment.termsFrom("h");
+        while (cursor.next()) {
+            walked.add(cursor.term());
+        }
+        assertThat(walked).containsExactly("neural");
+    }
+
+    private static Postings[] postings(IndexField field, int[] docs, int[] freqs) {
+        PostingList list = new PostingList(false);
+        for (int i = 0; i < docs.length; i++) {
+            list.add(docs[i], freqs[i]);
+        }
+        Postings[] slots = new Postings[FIELDS];
+        slots[field.ordinal()] = list;
+        return slots;
+    }
+
+    private static IndexSegment.TermCursor cursor(Map<String, Postings[]> terms) {
+        Iterator<Map.Entry<String, Postings[]>> entries = terms.entrySet().iterator();
+        return new IndexSegment.TermCursor() {
+            private Map.Entry<String, Postings[]> current;
+
+            @Override
+            public boolean next() {
+                current = entries.hasNext() ? entries.next() : null;
+                return current != null;
+            }
+
+            @Override
+            public String term() {
+                return current.getKey();
+            }
+
+            @Override
+            public Postings[] postings() {
+                return current.getValue();
+            }
+        };
+    }
+
+    private static int indexOf(int[] docs, int doc) {
+        for (int i = 0; i < docs.length; i++) {
+            if (docs[i] == doc) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("doc " + doc);
+    }
+}
@@ -0,0 +1,161 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.dto.PaperSearchRequest;
+import com.researchhub.backend.dto.SearchSort;
+import com.researchhub.backend.model.PaperStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexStorageTest {
+
+    private static final String[] WORDS = {"neural", "network", "graph", "quantum", "protein", "climate", "language",
+            "vision", "genome", "market", "sparse", "robust", "inference", "optimization", "learning", "model"};
+
+    @TempDir
+    Path directory;
+
+    private final List<SearchIndex> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(SearchIndex::close);
+    }
+
+    @Test
+    void flushesAndMergesKeepResultsAndDropReplacedVersions() {
+        SearchIndex index = index();
+        Map<UUID, PaperDocument> papers = churn(index, new Random(7));
+
+        index.close();
+        Map<String, Object> stats = index.storageStats();
+        assertThat((int) stats.get("merges")).isPositive();
+        assertThat(index.size()).isEqualTo(papers.size());
+        // 600 versions were indexed; merges keep only the live ones plus segments not yet worth rewriting
+        assertThat((int) stats.get("segmentDocs")).isLessThan(600);
+        assertNewestFirst(index, papers, "graph");
+        assertNewestFirst(index, papers, "");
+    }
+
+    @Test
+    void reopenedIndexAnswersLikeTheOneThatWasClosed() {
+        SearchIndex index = index();
+        Map<UUID, PaperDocument> papers = churn(index, new Random(11));
+        index.close();
+        List<UUID> relevance = ids(index, "neural network", SearchSort.RELEVANCE);
+
+        SearchIndex reopened = index();
+        assertThat(reopened.open()).isTrue();
+        assertThat(reopened.storageStats().get("openedFromDisk")).isEqualTo(true);
+        assertThat(reopened.size()).isEqualTo(papers.size());
+        assertThat(ids(reopened, "neural network", SearchSort.RELEVANCE)).isEqualTo(relevance);
+        assertNewestFirst(reopened, papers, "graph");
+        PaperDocument any = papers.values().iterator().next();
+        assertThat(reopened.find(any.id())).contains(any.withoutLongText());
+
+        // The manifest is consumed on open, so a second open without a clean close rebuilds
+        SearchIndex crashed = index();
+        assertThat(crashed.open()).isFalse();
+    }
+
+    @Test
+    void partitionedRankingMatchesSingleRanking() {
+        SearchIndex index = index();
+        churn(index, new Random(13));
+        // Waits for the writer, so merges do not change term statistics between the two rankings
+        index.close();
+        List<UUID> single = ids(index, "neural graph model", SearchSort.RELEVANCE);
+
+        ReflectionTestUtils.setField(index, "minPartitionDocs", 1);
+        index.startSearchPool();
+        assertThat(ids(index, "neural graph model", SearchSort.RELEVANCE)).isEqualTo(single);
+        assertThat((long) index.parallelStats().get("partitionedQueries")).isPositive();
+    }
+
+    private SearchIndex index() {
+        SearchIndex index = new SearchIndex(new TextAnalyzer());
+        ReflectionTestUtils.setField(index, "indexPath", directory.toString());
+        ReflectionTestUtils.setField(index, "bufferDocs", 20);
+        ReflectionTestUtils.setField(index, "maxSegments", 3);
+        opened.add(index);
+        return index;
+    }
+
+    /**
+     * Indexes 400 papers, re-indexes 200 of them with a later upload time and removes 30; returns the live ones.
+     */
+    private static Map<UUID, PaperDocument> churn(SearchIndex index, Random random) {
+        Map<UUID, PaperDocument> papers = new LinkedHashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        long clock = 1_000;
+        for (int i = 0; i < 400; i++) {
+            PaperDocument document = document(UUID.randomUUID(), random, clock++);
+            index.upsert(document);
+            papers.put(document.id(), document);
+            ids.add(document.id());
+        }
+        for (int i = 0; i < 200; i++) {
+            PaperDocument document = document(ids.get(random.nextInt(ids.size())), random, clock++);
+            index.upsert(document);
+            papers.put(document.id(), document);
+        }
+        for (int i = 0; i < 30; i++) {
+            UUID id = ids.get(i * 13);
+            index.remove(id);
+            papers.remove(id);
+        }
+        return papers;
+    }
+
+    private static void assertNewestFirst(SearchIndex index, Map<UUID, PaperDocument> papers, String word) {
+        List<UUID> expected = papers.values().stream()
+                .filter(paper -> word.isEmpty() || paper.title().contains(word) || paper.abstractText().contains(word))
+                .sorted(Comparator.comparingLong(PaperDocument::uploadedAt).reversed())
+                .map(PaperDocument::id)
+                .limit(50)
+                .toList();
+        assertThat(ids(index, word, SearchSort.NEWEST)).isEqualTo(expected);
+
+        PaperSearchRequest request = request(word, SearchSort.NEWEST);
+        PaperDocument after = papers.get(expected.get(9));
+        assertThat(index.searchAfter(request, after.uploadedAt(), after.id(), 10))
+                .isEqualTo(expected.subList(10, 20));
+    }
+
+    private static List<UUID> ids(SearchIndex index, String query, SearchSort sort) {
+        return index.search(request(query, sort), 0, 50).ids();
+    }
+
+    private static PaperSearchRequest request(String query, SearchSort sort) {
+        PaperSearchRequest request = new PaperSearchRequest();
+        request.setQuery(query);
+        request.setSort(sort);
+        return request;
+    }
+
+    private static PaperDocument document(UUID id, Random random, long uploadedAt) {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return new PaperDocument(id, title.toString().trim(), text.toString(), null, "Ann Author", Set.of(),
+                List.of(), 2020, uploadedAt, PaperStatus.APPROVED);
+    }
+}
@@ -0,0 +1,92 @@
+package com.researchhub.backend.search;
+
+import com.researchhub.backend.model.PaperStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTest {
+
+    private static final String[] WORDS = {"neural", "network", "graph", "quantum", "protein", "climate", "language",
+            "vision", "genome", "market", "sparse", "robust", "inference", "optimization", "learning", "model"};
+
+    private final SimilarityIndex index = new SimilarityIndex(new TextAnalyzer(), 64, 32);
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void rebuildRunsInTheBackgroundAndKeepsChangesMadeMeanwhile() throws InterruptedException {
+        Random random = new Random(3);
+        List<UUID> papers = new ArrayList<>();
+        for (int i = 0; i < 2400; i++) {
+            PaperDocument document = document(random);
+            index.upsert(document);
+            papers.add(document.id());
+        }
+        // Tombstoning more than half starts a rebuild; the removing thread does not wait for it
+        for (int i = 0; i < 1300; i++) {
+            index.remove(papers.get(i));
+        }
+        assertThat(index.getRebuildStats().get("rebuilding")).isEqualTo(true);
+
+        // Changes while the rebuild runs, and readers against the old graph
+        index.remove(papers.get(1300));
+        PaperDocument added = document(random);
+        index.upsert(added);
+        assertThat(index.similar(papers.get(2000), 5)).hasSize(5);
+
+        awaitRebuild();
+        assertThat(index.getRebuildStats().get("rebuilds")).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(2400 - 1301 + 1);
+        assertThat(index.contains(papers.get(1300))).isFalse();
+        assertThat(index.contains(added.id())).isTrue();
+        assertThat(index.contains(papers.get(2399))).isTrue();
+        assertThat(index.similar(added.id(), 5)).hasSize(5)
+                .noneMatch(match -> papers.subList(0, 1301).contains(match.paperId()));
+    }
+
+    @Test
+    void clearDuringRebuildDiscardsIt() throws InterruptedException {
+        Random random = new Random(5);
+        List<UUID> papers = new ArrayList<>();
+        for (int i = 0; i < 2400; i++) {
+            PaperDocument document = document(random);
+            index.upsert(document);
+            papers.add(document.id());
+        }
+        for (int i = 0; i < 1300; i++) {
+            index.remove(papers.get(i));
+        }
+        index.clear();
+        awaitRebuild();
+        assertThat(index.size()).isZero();
+        assertThat(index.getRebuildStats().get("rebuilds")).isEqualTo(0);
+    }
+
+    private void awaitRebuild() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (Boolean.TRUE.equals(index.getRebuildStats().get("rebuilding"))) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static PaperDocument document(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return new PaperDocument(UUID.randomUUID(), WORDS[random.nextInt(WORDS.length)], text.toString(), null,
+                "Ann Author", Set.of(), List.of(), 2020, 0L, PaperStatus.APPROVED);
+    }
+}
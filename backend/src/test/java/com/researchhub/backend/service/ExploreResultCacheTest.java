@@ -0,0 +1,61 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.PaperSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExploreResultCacheTest {
+
+    private final ExploreResultCache cache = new ExploreResultCache();
+    private final PaperSearchRequest request = new PaperSearchRequest();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "waitMs", 200L);
+        cache.init();
+    }
+
+    @Test
+    void loadFailingWithAnErrorLeavesTheKeyUncached() {
+        assertThatThrownBy(() -> cache.get("page", request, 0, 20, () -> {
+            throw new OutOfMemoryError("test");
+        }, value -> List.of())).isInstanceOf(OutOfMemoryError.class);
+
+        assertThat(cache.get("page", request, 0, 20, () -> "loaded", value -> List.of())).isEqualTo("loaded");
+        assertThat(cache.get("page", request, 0, 20, () -> "again", value -> List.of())).isEqualTo("loaded");
+    }
+
+    @Test
+    void waiterLoadsForItselfWhenTheSharedLoadIsSlow() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> cache.get("page", request, 0, 20, () -> {
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }, value -> List.of()));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(cache.get("page", request, 0, 20, () -> "own", value -> List.of())).isEqualTo("own");
+        assertThat(cache.getStats().get("waitTimeouts")).isEqualTo(1L);
+
+        release.countDown();
+        assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(cache.get("page", request, 0, 20, () -> "other", value -> List.of())).isEqualTo("slow");
+    }
+}
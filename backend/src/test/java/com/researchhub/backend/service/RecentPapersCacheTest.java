@@ -0,0 +1,146 @@
+package com.researchhub.backend.service;
+
+import com.researchhub.backend.dto.PaperResponse;
+import com.researchhub.backend.model.Paper;
+import com.researchhub.backend.repository.PaperRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecentPapersCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final PaperRepository paperRepository = mock(PaperRepository.class);
+    private final PaperResponseService paperResponseService = mock(PaperResponseService.class);
+    private final RecentPapersCache cache = new RecentPapersCache(paperRepository, paperResponseService, 5, 3);
+
+    // Newest first, as the database returns them
+    private final List<PaperResponse> database = new ArrayList<>();
+    private volatile CountDownLatch queryStarted = new CountDownLatch(0);
+    private volatile CountDownLatch releaseQuery = new CountDownLatch(0);
+    private int queries;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            database.add(response(UUID.randomUUID(), NOW.minusHours(i)));
+        }
+        when(paperRepository.findRecentListRows(any())).thenReturn(List.of());
+        when(paperResponseService.toListResponse(anyList(), isNull())).thenAnswer(invocation -> {
+            List<PaperResponse> snapshot;
+            synchronized (this) {
+                queries++;
+                snapshot = List.copyOf(database.subList(0, 8));
+            }
+            queryStarted.countDown();
+            releaseQuery.await(10, TimeUnit.SECONDS);
+            return snapshot;
+        });
+        when(paperResponseService.toPaperResponse(any(Paper.class)))
+                .thenAnswer(invocation -> {
+                    Paper paper = invocation.getArgument(0);
+                    return response(paper.getId(), paper.getUploadedAt());
+                });
+    }
+
+    @Test
+    void deletesWithinTheSpareEntriesDoNotReload() {
+        cache.load();
+        for (int i = 0; i < 3; i++) {
+            cache.paperRemoved(database.get(i).getId());
+        }
+        assertThat(cache.get(5)).containsExactlyElementsOf(database.subList(3, 8));
+        assertThat(cache.getStats().get("reloads")).isEqualTo(1L);
+
+        // One more leaves fewer than the capacity, so the next full read reloads
+        cache.paperRemoved(database.get(3).getId());
+        synchronized (this) {
+            database.subList(0, 4).clear();
+        }
+        assertThat(cache.get(5)).containsExactlyElementsOf(database.subList(0, 5));
+        assertThat(cache.getStats().get("reloads")).isEqualTo(2L);
+    }
+
+    @Test
+    void concurrentReadsShareOneReload() throws Exception {
+        queryStarted = new CountDownLatch(1);
+        releaseQuery = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<PaperResponse>>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(readers.submit(() -> cache.get(5)));
+            }
+            assertThat(queryStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            awaitWaiters(7);
+            releaseQuery.countDown();
+            for (Future<List<PaperResponse>> read : reads) {
+                assertThat(read.get(10, TimeUnit.SECONDS)).containsExactlyElementsOf(database.subList(0, 5));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertThat(queries).isEqualTo(1);
+        assertThat(cache.getStats().get("reloads")).isEqualTo(1L);
+    }
+
+    @Test
+    void changesDuringAReloadAreReplayedOnItsResult() throws Exception {
+        queryStarted = new CountDownLatch(1);
+        releaseQuery = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<PaperResponse>> read = reader.submit(() -> cache.get(5));
+            assertThat(queryStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Committed after the reload's query ran, so its snapshot has neither change
+            Paper uploaded = new Paper();
+            uploaded.setId(UUID.randomUUID());
+            uploaded.setUploadedAt(NOW.plusHours(1));
+            cache.paperChanged(uploaded);
+            cache.paperRemoved(database.get(1).getId());
+            releaseQuery.countDown();
+
+            List<PaperResponse> newest = read.get(10, TimeUnit.SECONDS);
+            assertThat(newest).extracting(PaperResponse::getId)
+                    .containsExactly(uploaded.getId(), database.get(0).getId(), database.get(2).getId(),
+                            database.get(3).getId(), database.get(4).getId());
+            assertThat(cache.get(5)).isEqualTo(newest);
+        } finally {
+            reader.shutdownNow();
+        }
+        assertThat(queries).isEqualTo(1);
+    }
+
+    private void awaitWaiters(long waiters) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((long) cache.getStats().get("reloadWaits") < waiters) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static PaperResponse response(UUID id, LocalDateTime uploadedAt) {
+        PaperResponse response = new PaperResponse();
+        response.setId(id);
+        response.setUploadedAt(uploadedAt);
+        return response;
+    }
+}